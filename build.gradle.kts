@@ -56,6 +56,10 @@ dependencies {
     // JOML library (math computations).
     implementation("org.joml:joml:$jomlVersion")
 
+    // Json serializers generated at compile time.
+    annotationProcessor(project(":processor"))
+    testAnnotationProcessor(project(":processor"))
+
     // JUnit libraries.
     testImplementation("org.junit.jupiter:junit-jupiter-api:$jUnitVersion")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:$jUnitVersion")
@@ -0,0 +1,20 @@
+plugins {
+    java
+}
+
+// Generates the Json serializers of the game at compile time (see `JsonSerializableProcessor`).
+group = "com.ustudents"
+version = "1.0"
+
+tasks {
+    // Force unicode support.
+    compileJava {
+        options.encoding = "UTF-8"
+    }
+}
+
+// Set minimal JDK version.
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
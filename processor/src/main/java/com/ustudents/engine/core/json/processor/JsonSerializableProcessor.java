@@ -0,0 +1,571 @@
+package com.ustudents.engine.core.json.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a serializer (`JsonTypeSerializer`) for each class annotated with `JsonSerializable`, to read and write its
+ * fields without reflection.
+ *
+ * The serializer reads and writes the fields straight from a `JsonReader` and to a `JsonWriter`, and converts the Json
+ * maps of `Json.serialize` and `Json.deserialize`.
+ *
+ * The classes which cannot be handled by a generated serializer (abstract or generic classes, classes without a public
+ * constructor without parameters, final or static serializable fields, fields whose type uses a type parameter, fields
+ * with a path, construction methods taking the Json map) are skipped and keep being serialized through reflection. The
+ * fields the serializer cannot access (private fields, or fields of another package) and the values it cannot convert
+ * itself (lists, maps, vectors, enums, primitives) are handled by the helpers of `JsonReader`, `JsonWriter` and `Json`.
+ */
+@SupportedAnnotationTypes(JsonSerializableProcessor.serializableAnnotation)
+public class JsonSerializableProcessor extends AbstractProcessor {
+    static final String serializableAnnotation = "com.ustudents.engine.core.json.annotation.JsonSerializable";
+
+    static final String constructorAnnotation = "com.ustudents.engine.core.json.annotation.JsonSerializableConstructor";
+
+    static final String json = "com.ustudents.engine.core.json.Json";
+
+    static final String typeSerializer = "com.ustudents.engine.core.json.JsonTypeSerializer";
+
+    static final String jsonReader = "com.ustudents.engine.core.json.JsonReader";
+
+    static final String jsonWriter = "com.ustudents.engine.core.json.JsonWriter";
+
+    /** A serializable field of a class. */
+    private static class SerializableField {
+        VariableElement element;
+
+        /** The field's key (its name, or the key given by its annotation). */
+        String key;
+
+        boolean necessary;
+
+        /** The name of the `JsonSerializableType` constant given by the annotation. */
+        String type;
+
+        /** Defines if the serializer can read and write the field directly. */
+        boolean accessible;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(serializableAnnotation);
+
+        if (annotation == null) {
+            return false;
+        }
+
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+
+            TypeElement type = (TypeElement)element;
+            List<SerializableField> fields = findFields(type);
+            List<ExecutableElement> constructionMethods = findConstructionMethods(type);
+
+            if (fields == null || constructionMethods == null || !isSupported(type)) {
+                continue;
+            }
+
+            try {
+                generate(type, fields, constructionMethods);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Cannot generate the serializer of " + type.getQualifiedName() + ": " + e.getMessage(), type);
+            }
+        }
+
+        return false;
+    }
+
+    /** @return if a class can be created and referenced by its generated serializer. */
+    private boolean isSupported(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || !type.getTypeParameters().isEmpty() ||
+                !isVisible(type)) {
+            return false;
+        }
+
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CONSTRUCTOR && member.getModifiers().contains(Modifier.PUBLIC) &&
+                    ((ExecutableElement)member).getParameters().isEmpty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /** @return if a class can be referenced from any package (public, and only nested within public classes). */
+    private boolean isVisible(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            TypeElement currentType = (TypeElement)element;
+
+            if (!currentType.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+
+            if (currentType.getNestingKind() != NestingKind.TOP_LEVEL &&
+                    (currentType.getNestingKind() != NestingKind.MEMBER ||
+                            !currentType.getModifiers().contains(Modifier.STATIC))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the serializable fields of a class and of its serializable superclasses (in the order used by `Json`).
+     *
+     * @param type The class.
+     * @return the fields (null if one of them cannot be handled by a generated serializer).
+     */
+    private List<SerializableField> findFields(TypeElement type) {
+        List<SerializableField> fields = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        String packageName = getPackageName(type);
+
+        for (TypeElement currentType = type; currentType != null; currentType = getSuperclass(currentType)) {
+            if (findAnnotation(currentType, serializableAnnotation) == null) {
+                continue;
+            }
+
+            for (Element member : currentType.getEnclosedElements()) {
+                AnnotationMirror annotation = findAnnotation(member, serializableAnnotation);
+
+                if (member.getKind() != ElementKind.FIELD || annotation == null) {
+                    continue;
+                }
+
+                Set<Modifier> modifiers = member.getModifiers();
+
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL) ||
+                        usesTypeVariable(member.asType()) || !names.add(member.getSimpleName().toString())) {
+                    return null;
+                }
+
+                SerializableField field = new SerializableField();
+                field.element = (VariableElement)member;
+                field.key = member.getSimpleName().toString();
+                field.necessary = true;
+                field.type = "Both";
+
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value :
+                        annotation.getElementValues().entrySet()) {
+                    String name = value.getKey().getSimpleName().toString();
+
+                    if (name.equals("path") && !value.getValue().getValue().toString().isEmpty()) {
+                        field.key = value.getValue().getValue().toString();
+                    } else if (name.equals("necessary")) {
+                        field.necessary = (Boolean)value.getValue().getValue();
+                    } else if (name.equals("type")) {
+                        field.type = ((VariableElement)value.getValue().getValue()).getSimpleName().toString();
+                    }
+                }
+
+                if (field.key.contains(".")) {
+                    // A field with a path is written within nested maps, through the map of `Json.serialize`.
+                    return null;
+                }
+
+                if (!keys.add(field.key)) {
+                    return null;
+                }
+
+                field.accessible = !modifiers.contains(Modifier.PRIVATE) && (getPackageName(currentType)
+                        .equals(packageName) || (modifiers.contains(Modifier.PUBLIC) && isVisible(currentType)));
+                fields.add(field);
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * Finds the public methods annotated with `JsonSerializableConstructor` (including the inherited ones).
+     *
+     * @param type The class.
+     * @return the methods (null if one of them takes parameters, like the Json map which only the reflection collects).
+     */
+    private List<ExecutableElement> findConstructionMethods(TypeElement type) {
+        List<ExecutableElement> methods = new ArrayList<>();
+
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+            if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.PUBLIC) ||
+                    member.getModifiers().contains(Modifier.STATIC) ||
+                    findAnnotation(member, constructorAnnotation) == null) {
+                continue;
+            }
+
+            ExecutableElement method = (ExecutableElement)member;
+
+            if (!method.getParameters().isEmpty()) {
+                return null;
+            }
+
+            methods.add(method);
+        }
+
+        return methods;
+    }
+
+    private void generate(TypeElement type, List<SerializableField> fields, List<ExecutableElement> constructionMethods)
+            throws IOException {
+        String packageName = getPackageName(type);
+        String typeName = type.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String serializerName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + "JsonSerializer";
+
+        StringBuilder code = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+
+        code.append("/** The serializer of `").append(type.getSimpleName())
+                .append("` (generated by `JsonSerializableProcessor`). */\n");
+        code.append("@SuppressWarnings(\"unchecked\")\n");
+        code.append("public class ").append(serializerName).append(" implements ").append(typeSerializer)
+                .append("<").append(typeName).append("> {\n");
+
+        generateSerialize(code, typeName, fields);
+        code.append("\n");
+        generateDeserialize(code, typeName, fields, constructionMethods);
+        code.append("\n");
+        generateWrite(code, typeName, fields);
+        code.append("\n");
+        generateRead(code, typeName, fields, constructionMethods);
+        code.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile((packageName.isEmpty() ? "" : packageName + ".") + serializerName, type)
+                .openWriter()) {
+            writer.write(code.toString());
+        }
+    }
+
+    private void generateSerialize(StringBuilder code, String typeName, List<SerializableField> fields) {
+        code.append("    @Override\n");
+        code.append("    public java.util.Map<String, Object> serialize(").append(typeName)
+                .append(" object) throws Exception {\n");
+        code.append("        java.util.Map<String, Object> json = new java.util.LinkedHashMap<>();\n");
+        code.append("        Object value;\n");
+
+        for (SerializableField field : fields) {
+            if (field.type.equals("DeserializableOnly")) {
+                continue;
+            }
+
+            String name = field.element.getSimpleName().toString();
+
+            code.append("\n");
+
+            if (field.accessible) {
+                code.append("        value = object.").append(name).append(";\n");
+            } else {
+                code.append("        value = ").append(json).append(".readField(object, ").append(typeName)
+                        .append(".class, ").append(quote(name)).append(");\n");
+            }
+
+            String value = isSerializable(field.element.asType()) ?
+                    "value == null ? null : " + json + ".serialize(value)" : "value";
+
+            code.append("        json.put(").append(quote(field.key)).append(", ").append(value).append(");\n");
+        }
+
+        code.append("\n        return json;\n");
+        code.append("    }\n");
+    }
+
+    private void generateDeserialize(StringBuilder code, String typeName, List<SerializableField> fields,
+                                     List<ExecutableElement> constructionMethods) {
+        code.append("    @Override\n");
+        code.append("    public ").append(typeName)
+                .append(" deserialize(java.util.Map<String, Object> json) throws Exception {\n");
+        code.append("        ").append(typeName).append(" object = new ").append(typeName).append("();\n");
+        code.append("        Object value;\n");
+
+        for (SerializableField field : fields) {
+            if (field.type.equals("SerializableOnly")) {
+                continue;
+            }
+
+            String name = field.element.getSimpleName().toString();
+            String key = quote(field.key);
+
+            code.append("\n");
+            code.append("        if (json.containsKey(").append(key).append(")) {\n");
+            code.append("            value = json.get(").append(key).append(");\n");
+            code.append("            ").append(generateAssignment(typeName, field)).append("\n");
+            code.append("        } else {\n");
+
+            if (field.necessary) {
+                code.append("            throw new Exception(").append(quote("Missing key '" + field.key + "'!"))
+                        .append(");\n");
+            } else {
+                code.append("            ").append(json).append(".setMissingField(object, ").append(typeName)
+                        .append(".class, ").append(quote(name)).append(");\n");
+            }
+
+            code.append("        }\n");
+        }
+
+        if (!constructionMethods.isEmpty()) {
+            code.append("\n");
+        }
+
+        for (ExecutableElement method : constructionMethods) {
+            code.append("        object.").append(method.getSimpleName()).append("();\n");
+        }
+
+        code.append("\n        return object;\n");
+        code.append("    }\n");
+    }
+
+    private void generateWrite(StringBuilder code, String typeName, List<SerializableField> fields) {
+        code.append("    @Override\n");
+        code.append("    public void write(").append(jsonWriter).append(" writer, ").append(typeName)
+                .append(" object) throws Exception {\n");
+
+        for (SerializableField field : fields) {
+            if (field.type.equals("DeserializableOnly")) {
+                continue;
+            }
+
+            String name = field.element.getSimpleName().toString();
+
+            if (field.accessible) {
+                code.append("        writer.writeField(").append(quote(field.key)).append(", object.").append(name)
+                        .append(");\n");
+            } else {
+                code.append("        writer.writeField(object, ").append(typeName).append(".class, ")
+                        .append(quote(name)).append(");\n");
+            }
+        }
+
+        code.append("    }\n");
+    }
+
+    private void generateRead(StringBuilder code, String typeName, List<SerializableField> fields,
+                              List<ExecutableElement> constructionMethods) {
+        List<SerializableField> readFields = new ArrayList<>();
+
+        for (SerializableField field : fields) {
+            if (!field.type.equals("SerializableOnly")) {
+                readFields.add(field);
+            }
+        }
+
+        code.append("    @Override\n");
+        code.append("    public ").append(typeName).append(" read(").append(jsonReader)
+                .append(" reader) throws Exception {\n");
+        code.append("        ").append(typeName).append(" object = new ").append(typeName).append("();\n");
+        code.append("        boolean[] read = new boolean[").append(readFields.size()).append("];\n");
+        code.append("        String key;\n\n");
+        code.append("        while ((key = reader.nextKey()) != null) {\n");
+        code.append("            switch (key) {\n");
+
+        for (int i = 0; i < readFields.size(); i++) {
+            SerializableField field = readFields.get(i);
+
+            code.append("                case ").append(quote(field.key)).append(":\n");
+            code.append("                    ").append(generateRead(typeName, field)).append("\n");
+            code.append("                    read[").append(i).append("] = true;\n");
+            code.append("                    break;\n");
+        }
+
+        code.append("                default:\n");
+        code.append("                    reader.skipValue();\n");
+        code.append("                    break;\n");
+        code.append("            }\n");
+        code.append("        }\n");
+
+        for (int i = 0; i < readFields.size(); i++) {
+            SerializableField field = readFields.get(i);
+
+            code.append("\n");
+            code.append("        if (!read[").append(i).append("]) {\n");
+
+            if (field.necessary) {
+                code.append("            throw new Exception(").append(quote("Missing key '" + field.key + "'!"))
+                        .append(");\n");
+            } else {
+                code.append("            ").append(json).append(".setMissingField(object, ").append(typeName)
+                        .append(".class, ").append(quote(field.element.getSimpleName().toString())).append(");\n");
+            }
+
+            code.append("        }\n");
+        }
+
+        if (!constructionMethods.isEmpty()) {
+            code.append("\n");
+        }
+
+        for (ExecutableElement method : constructionMethods) {
+            code.append("        object.").append(method.getSimpleName()).append("();\n");
+        }
+
+        code.append("\n        return object;\n");
+        code.append("    }\n");
+    }
+
+    /** @return the statement reading the value of the current element of `reader` into a field. */
+    private String generateRead(String typeName, SerializableField field) {
+        String name = field.element.getSimpleName().toString();
+        String fallback = "reader.readField(object, " + typeName + ".class, " + quote(name) + ");";
+        TypeMirror type = field.element.asType();
+
+        if (!field.accessible || type.getKind() != TypeKind.DECLARED) {
+            return fallback;
+        }
+
+        TypeElement fieldType = (TypeElement)((DeclaredType)type).asElement();
+        String fieldTypeName = fieldType.getQualifiedName().toString();
+
+        switch (fieldTypeName) {
+            case "java.lang.String":
+                return "object." + name + " = reader.readString();";
+            case "java.lang.Boolean":
+                return "object." + name + " = reader.readBoolean();";
+            case "java.lang.Integer":
+                return "object." + name + " = reader.readInteger();";
+            case "java.lang.Long":
+                return "object." + name + " = reader.readLong();";
+            case "java.lang.Float":
+                return "object." + name + " = reader.readFloat();";
+            case "java.lang.Double":
+                return "object." + name + " = reader.readDouble();";
+            default:
+                break;
+        }
+
+        if (isSerializable(type) && fieldType.getTypeParameters().isEmpty() && isVisible(fieldType)) {
+            return "object." + name + " = reader.readSerializable(" + fieldTypeName + ".class);";
+        }
+
+        return fallback;
+    }
+
+    /** @return the statement setting a field to the deserialized `value`. */
+    private String generateAssignment(String typeName, SerializableField field) {
+        String name = field.element.getSimpleName().toString();
+        String fallback = json + ".deserializeField(object, " + typeName + ".class, " + quote(name) + ", value);";
+        TypeMirror type = field.element.asType();
+
+        if (!field.accessible || type.getKind() != TypeKind.DECLARED) {
+            return fallback;
+        }
+
+        TypeElement fieldType = (TypeElement)((DeclaredType)type).asElement();
+        String fieldTypeName = fieldType.getQualifiedName().toString();
+
+        switch (fieldTypeName) {
+            case "java.lang.String":
+            case "java.lang.Boolean":
+                return "object." + name + " = (" + fieldTypeName + ")value;";
+            case "java.lang.Integer":
+                return "object." + name + " = " + json + ".toInteger(value);";
+            case "java.lang.Long":
+                return "object." + name + " = " + json + ".toLong(value);";
+            case "java.lang.Float":
+                return "object." + name + " = " + json + ".toFloat(value);";
+            case "java.lang.Double":
+                return "object." + name + " = " + json + ".toDouble(value);";
+            default:
+                break;
+        }
+
+        if (isSerializable(type) && fieldType.getTypeParameters().isEmpty() && isVisible(fieldType)) {
+            TypeElement declaringType = (TypeElement)field.element.getEnclosingElement();
+
+            return "object." + name + " = value == null ? null : " + json + ".deserialize((java.util.Map<String, " +
+                    "Object>)value, " + fieldTypeName + ".class, " + declaringType.getQualifiedName() + ".class, " +
+                    quote(name) + ", null);";
+        }
+
+        return fallback;
+    }
+
+    /** @return if a type is a class annotated with `JsonSerializable` (like `Json`, the superclasses are ignored). */
+    private boolean isSerializable(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED &&
+                findAnnotation(((DeclaredType)type).asElement(), serializableAnnotation) != null;
+    }
+
+    private boolean usesTypeVariable(TypeMirror type) {
+        switch (type.getKind()) {
+            case TYPEVAR:
+            case WILDCARD:
+                return true;
+            case ARRAY:
+                return usesTypeVariable(((ArrayType)type).getComponentType());
+            case DECLARED:
+                for (TypeMirror argument : ((DeclaredType)type).getTypeArguments()) {
+                    if (usesTypeVariable(argument)) {
+                        return true;
+                    }
+                }
+
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement)((DeclaredType)superclass).asElement() : null;
+    }
+
+    private String getPackageName(TypeElement type) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String name) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement)annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)) {
+                return annotation;
+            }
+        }
+
+        return null;
+    }
+
+    private static String quote(String text) {
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -1,2 +1,3 @@
 rootProject.name = "farmland"
 
+include("processor")
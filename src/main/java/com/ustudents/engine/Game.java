@@ -15,6 +15,7 @@ import com.ustudents.engine.graphic.RenderSystemType;
 import com.ustudents.engine.graphic.Spritebatch;
 import com.ustudents.engine.graphic.Texture;
 import com.ustudents.engine.tools.DebugTools;
+import com.ustudents.engine.graphic.GLState;
 import com.ustudents.engine.graphic.imgui.ImGuiManager;
 import com.ustudents.engine.graphic.imgui.tools.ImGuiTools;
 import com.ustudents.engine.input.Input;
@@ -24,6 +25,7 @@ import com.ustudents.engine.network.*;
 import com.ustudents.engine.network.NetMode;
 import com.ustudents.engine.scene.Scene;
 import com.ustudents.engine.scene.SceneManager;
+import com.ustudents.engine.core.FramePacer;
 import com.ustudents.engine.core.Timer;
 import com.ustudents.engine.core.window.Window;
 import imgui.ImGui;
@@ -74,6 +76,9 @@ public abstract class Game extends Runnable {
     @Option(names = "--server", description = "Launches in dedicated server mode.")
     protected boolean dedicatedServerEnabled = false;
 
+    @Option(names = "--pack-assets", description = "Packs the asset files into a single file and quits.")
+    protected boolean packAssets = false;
+
     /** The window manager. */
     protected final Window window = new Window();
 
@@ -89,6 +94,24 @@ public abstract class Game extends Runnable {
     /** The timer (handle delta time management). */
     protected final Timer timer = new Timer();
 
+    /** The frame pacer (limits the game loop's rate). */
+    protected final FramePacer framePacer = new FramePacer();
+
+    /** The number of frames to render after the last render request (enough for ImGui's layout to settle). */
+    private static final int framesToRenderPerRequest = 3;
+
+    /** The maximum time (in nanoseconds) between two rendered frames while idle. */
+    private static final long maximumIdleFrameInterval = 1000000000L;
+
+    /** The number of frames still to render before being idle. */
+    private int remainingFramesToRender = framesToRenderPerRequest;
+
+    /** The time of the last rendered frame (in nanoseconds). */
+    private long lastRenderTime;
+
+    /** The scene of the last rendered frame. */
+    private Scene lastRenderedScene;
+
     /** Defines if we should quit the game. */
     protected boolean shouldQuit = false;
 
@@ -168,7 +191,9 @@ public abstract class Game extends Runnable {
             forceNoSound = true;
         }
 
-        if (!showHelp && !showVersion) {
+        if (packAssets) {
+            Resources.packAssets();
+        } else if (!showHelp && !showVersion) {
             if (preLoadCondition(args)) {
                 initializeInternals(args);
                 startGameLoop();
@@ -199,6 +224,7 @@ public abstract class Game extends Runnable {
     public void changeCursor(String filePath) {
         if (!forceNoCustomCursor) {
             cursorTexture = Resources.loadTexture(filePath);
+            Resources.hold(cursorTexture, this);
         }
     }
 
@@ -287,6 +313,11 @@ public abstract class Game extends Runnable {
         return window.shouldQuit() || shouldQuit;
     }
 
+    /** Requests the next frames to be rendered (to call when something changed on screen, for the idle mode). */
+    public void requestRender() {
+        remainingFramesToRender = framesToRenderPerRequest;
+    }
+
     /**
      * Changes the V-Sync state.
      *
@@ -417,6 +448,12 @@ public abstract class Game extends Runnable {
 
         Input.initialize();
 
+        window.getSizeChanged().add((dataType, data) -> requestRender());
+        window.getKeyStateChanged().add((dataType, data) -> requestRender());
+        window.getMouseButtonStateChanged().add((dataType, data) -> requestRender());
+        window.getCursorMoved().add((dataType, data) -> requestRender());
+        window.getScrollMoved().add((dataType, data) -> requestRender());
+
         soundManager.initialize();
 
         if (canRender()) {
@@ -481,11 +518,18 @@ public abstract class Game extends Runnable {
             } else {
                 sceneManager.startFrame();
                 updateInternal();
-                if (canRender()) {
+                if (Resources.getAssetLoader().update(Resources.getConfig().assetUploadBudget) > 0) {
+                    requestRender();
+                }
+                boolean rendered = canRender() && shouldRenderFrame();
+                if (rendered) {
                     renderInternal();
                 }
+                Resources.evictUnusedResources();
                 sceneManager.endFrame();
                 window.pollEvents();
+                framePacer.sync(rendered ? Resources.getConfig().maximumFramerate :
+                        Resources.getConfig().idleFramerate);
             }
         }
     }
@@ -519,22 +563,51 @@ public abstract class Game extends Runnable {
         if (getNetMode() == NetMode.DedicatedServer || getNetMode() == NetMode.ListenServer) {
             if (!getServer().getMessagesToHandleOnMainThread().isEmpty()) {
                 Objects.requireNonNull(getServer().getMessagesToHandleOnMainThread().poll()).process();
+                requestRender();
             }
         } else if (getNetMode() == NetMode.ListenServer || getNetMode() == NetMode.Client) {
             if (!getClient().getMessagesToHandleOnMainThread().isEmpty()) {
                 Objects.requireNonNull(getClient().getMessagesToHandleOnMainThread().poll()).process();
+                requestRender();
             }
         }
 
         float dt = timer.getDeltaTime();
         sceneManager.update(dt);
         update(dt);
+        soundManager.update();
         Input.update(dt);
     }
 
+    /** @return if the current frame must be rendered (always, unless the idle mode is enabled and nothing changed). */
+    private boolean shouldRenderFrame() {
+        long now = System.nanoTime();
+
+        if (SceneManager.getScene() != lastRenderedScene) {
+            requestRender();
+        }
+
+        // Debugging tools and the console display live data, so they are always rendered.
+        boolean render = !Resources.getConfig().useIdleMode || remainingFramesToRender > 0 ||
+                imGuiToolsEnabled || debugToolsEnabled || Console.visible() ||
+                now - lastRenderTime >= maximumIdleFrameInterval;
+
+        if (render) {
+            lastRenderTime = now;
+            lastRenderedScene = SceneManager.getScene();
+            remainingFramesToRender = Math.max(remainingFramesToRender - 1, 0);
+        }
+
+        return render;
+    }
+
     /** Renders the game. */
     private void renderInternal() {
         timer.render();
+
+        // Other libraries (like ImGui) may have changed the bindings since the last frame.
+        GLState.invalidate();
+
         window.clear();
 
         window.clearBuffer();
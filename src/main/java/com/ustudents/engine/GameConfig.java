@@ -1,10 +1,12 @@
 package com.ustudents.engine;
 
 import com.ustudents.engine.core.json.annotation.JsonSerializable;
+import com.ustudents.engine.core.json.annotation.JsonSerializableConstructor;
 import com.ustudents.engine.core.window.Window;
 import com.ustudents.engine.input.Action;
 import org.joml.Vector2i;
 
+import java.lang.reflect.Field;
 import java.util.*;
 
 @JsonSerializable
@@ -21,6 +23,77 @@ public class GameConfig {
     @JsonSerializable(necessary = false)
     public Boolean useSound = true;
 
+    /** The maximum number of frames per second (zero or less for no limit besides the V-Sync). */
+    @JsonSerializable(necessary = false)
+    public Integer maximumFramerate = 0;
+
+    /** Defines if frames are only rendered when something may have changed on screen. */
+    @JsonSerializable(necessary = false)
+    public Boolean useIdleMode = true;
+
+    /** The number of loop iterations per second while idle (inputs and game logic are still handled). */
+    @JsonSerializable(necessary = false)
+    public Integer idleFramerate = 30;
+
+    /** Defines if the asset pack (`data/assets.pack`) is used instead of the loose asset files when it exists. */
+    @JsonSerializable(necessary = false)
+    public Boolean useAssetPack = true;
+
+    /** The number of threads decoding assets in the background (zero or less to use one per available processor). */
+    @JsonSerializable(necessary = false)
+    public Integer assetLoadingThreads = 0;
+
+    /** The time (in milliseconds) spent per frame uploading the assets decoded in the background. */
+    @JsonSerializable(necessary = false)
+    public Integer assetUploadBudget = 4;
+
+    /** The memory (in megabytes) for the textures and fonts, above which the unused ones are unloaded. */
+    @JsonSerializable(necessary = false)
+    public Integer gpuMemoryBudget = 256;
+
+    /** The memory (in megabytes) for the sounds, above which the unused ones are unloaded. */
+    @JsonSerializable(necessary = false)
+    public Integer heapMemoryBudget = 128;
+
+    /** The number of sounds played at the same time, above which the sounds of lowest priority are cut off. */
+    @JsonSerializable(necessary = false)
+    public Integer maximumSoundSources = 32;
+
+    /** The number of instances of a sound played at the same time (by default), above which the oldest is cut off. */
+    @JsonSerializable(necessary = false)
+    public Integer maximumSoundInstances = 4;
+
+    /** The distance from the listener beyond which sounds are not played (zero to play them at any distance). */
+    @JsonSerializable(necessary = false)
+    public Float soundCullingDistance = 0.0f;
+
+    @JsonSerializable(necessary = false)
+    public Boolean useSharedFontAtlas = true;
+
+    /** Defines if the saves are written in the binary format (`.save`) instead of Json (both are read). */
+    @JsonSerializable(necessary = false)
+    public Boolean useBinarySaves = true;
+
+    /** Defines if a checksum is written at the end of the binary saves (verified when they are read). */
+    @JsonSerializable(necessary = false)
+    public Boolean useSaveChecksums = true;
+
+    /** The number of previous versions kept next to each save (`.backup1` being the most recent). */
+    @JsonSerializable(necessary = false)
+    public Integer saveBackups = 2;
+
+    /** The time (in seconds) between two autosaves of the loaded save (zero or less to disable them). */
+    @JsonSerializable(necessary = false)
+    public Integer autosaveInterval = 120;
+
+    /** Defines if the loaded save is autosaved at the end of every turn. */
+    @JsonSerializable(necessary = false)
+    public Boolean autosaveOnTurnEnd = true;
+
+    /** Defines if the actions are appended to a journal next to the loaded save, replayed if the game stops unsaved. */
+    @JsonSerializable(necessary = false)
+    public Boolean useSaveJournal = true;
+
     @JsonSerializable(necessary = false)
     public String language = "fr";
 
@@ -29,4 +102,25 @@ public class GameConfig {
 
     @JsonSerializable(necessary = false)
     public Map<String, Action> commands = new LinkedHashMap<>();
+
+    /**
+     * Gives back their default value to the settings missing from the file (added after it was written), which Json
+     * sets to the default value of their type.
+     *
+     * @param json The settings read from the file.
+     */
+    @JsonSerializableConstructor
+    public void deserialize(Map<String, Object> json) {
+        GameConfig defaults = new GameConfig();
+
+        try {
+            for (Field field : GameConfig.class.getFields()) {
+                if (field.isAnnotationPresent(JsonSerializable.class) && !json.containsKey(field.getName())) {
+                    field.set(this, field.get(defaults));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+        }
+    }
 }
@@ -8,16 +8,42 @@ public class Sound {
     private EmptySound sound;
 
     public Sound(String filePath) {
+        this(filePath, false, false);
+    }
+
+    public Sound(String filePath, boolean deferred) {
+        this(filePath, deferred, false);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param filePath The file path.
+     * @param deferred Defines if the file is loaded later (by running the upload returned by `decode`), the sound
+     *                 being silent until then.
+     * @param streamed Defines if the sound is decoded progressively while it is played (for long sounds like
+     *                 musics), instead of being decoded once in a single buffer.
+     */
+    public Sound(String filePath, boolean deferred, boolean streamed) {
         switch (Game.get().getSoundSystemType()) {
             case Empty:
                 sound = new EmptySound(filePath);
                 break;
             case OpenAL:
-                sound = new ALSound(filePath);
+                sound = new ALSound(filePath, deferred, streamed);
                 break;
         }
     }
 
+    /**
+     * Decodes the file of a deferred sound (can be called from any thread).
+     *
+     * @return the upload of the decoded sound, to run on the main thread.
+     */
+    public Runnable decode() {
+        return sound.decode();
+    }
+
     public void destroy() {
         sound.destroy();
     }
@@ -26,6 +52,28 @@ public class Sound {
         return sound.getHandle();
     }
 
+    /** @return the memory used by the decoded samples (in bytes). */
+    public long getResidentSize() {
+        return sound.getResidentSize();
+    }
+
+    public int getMaximumInstances() {
+        return sound.getMaximumInstances();
+    }
+
+    /**
+     * Sets the number of instances of the sound played at the same time, above which the oldest is cut off.
+     *
+     * @param maximumInstances The number of instances (zero to use the configuration's default).
+     */
+    public void setMaximumInstances(int maximumInstances) {
+        sound.setMaximumInstances(maximumInstances);
+    }
+
+    public boolean isStreamed() {
+        return sound.isStreamed();
+    }
+
     public boolean isDestroyed() {
         return sound.isDestroyed();
     }
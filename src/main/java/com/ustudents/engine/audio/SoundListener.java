@@ -16,10 +16,10 @@ public class SoundListener {
     public SoundListener(Vector2f position) {
         switch (Game.get().getSoundSystemType()) {
             case Empty:
-                soundListener = new EmptySoundListener();
+                soundListener = new EmptySoundListener(position);
                 break;
             case OpenAL:
-                soundListener = new ALSoundListener();
+                soundListener = new ALSoundListener(position);
                 break;
         }
     }
@@ -36,6 +36,10 @@ public class SoundListener {
         soundListener.setOrientation(at, up);
     }
 
+    public Vector2f getPosition() {
+        return soundListener.getPosition();
+    }
+
     public EmptySoundListener getSoundListener() {
         return soundListener;
     }
@@ -1,14 +1,22 @@
 package com.ustudents.engine.audio;
 
 import com.ustudents.engine.Game;
+import com.ustudents.engine.audio.empty.EmptySoundListener;
 import com.ustudents.engine.audio.empty.EmptySoundManager;
 import com.ustudents.engine.audio.empty.EmptySoundSource;
+import com.ustudents.engine.audio.openal.ALSoundListener;
 import com.ustudents.engine.audio.openal.ALSoundManager;
+import com.ustudents.engine.graphic.Camera;
+import com.ustudents.engine.scene.Scene;
+import com.ustudents.engine.scene.SceneManager;
 
 public class SoundManager {
     private EmptySoundManager soundManager;
     private boolean noSound;
 
+    /** The listener following the world camera of the current scene, used when no other listener is set. */
+    private EmptySoundListener cameraListener;
+
     public void initialize() {
         switch (Game.get().getSoundSystemType()) {
             case Empty:
@@ -23,12 +31,30 @@ public class SoundManager {
 
                 break;
         }
+
+        // Created for the manager actually used (OpenAL may have failed to initialize).
+        cameraListener = soundManager instanceof ALSoundManager ? new ALSoundListener() : new EmptySoundListener();
+        soundManager.setListener(cameraListener);
     }
 
     public void destroy() {
         soundManager.destroy();
     }
 
+    /** Updates the sources being played (called once per frame). */
+    public void update() {
+        if (soundManager.getListener() == cameraListener) {
+            Scene scene = SceneManager.getScene();
+            Camera camera = scene != null ? scene.getWorldCamera() : null;
+
+            if (camera != null && camera.getPosition() != null) {
+                cameraListener.setPosition(camera.getPosition());
+            }
+        }
+
+        soundManager.update();
+    }
+
     public void play(EmptySoundSource source) {
         soundManager.play(source);
         noSound = false;
@@ -43,6 +69,15 @@ public class SoundManager {
         soundManager.removeAll();
     }
 
+    /**
+     * Sets the listener the sources' distances are measured from, to cull the sources too far from it.
+     *
+     * @param listener The listener (null to follow the world camera of the current scene).
+     */
+    public void setListener(SoundListener listener) {
+        soundManager.setListener(listener != null ? listener.getSoundListener() : cameraListener);
+    }
+
     public static SoundManager get() {
         return Game.get().getSoundManager();
     }
@@ -45,7 +45,7 @@ public class SoundSource {
     }
 
     public void destroy() {
-        soundSource.stop();
+        soundSource.destroy();
     }
 
     public void changeSound(EmptySound sound) {
@@ -84,6 +84,14 @@ public class SoundSource {
         return soundSource.getHandle();
     }
 
+    public int getPriority() {
+        return soundSource.getPriority();
+    }
+
+    public void setPriority(int priority) {
+        soundSource.setPriority(priority);
+    }
+
     public EmptySound getSound() {
         return soundSource.getSound();
     }
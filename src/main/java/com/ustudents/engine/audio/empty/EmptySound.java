@@ -9,6 +9,15 @@ public class EmptySound {
 
     protected String path;
 
+    /** The size of the decoded samples (in bytes). */
+    protected long size;
+
+    /** Defines if the sound is decoded progressively while it is played. */
+    protected boolean streamed;
+
+    /** The number of instances of the sound played at the same time (zero to use the configuration's default). */
+    protected int maximumInstances;
+
     public EmptySound(String filePath) {
         this.path = filePath.replace(getSoundsDirectoryName() + "/", "");
         this.handle = -1;
@@ -20,10 +29,36 @@ public class EmptySound {
         }
     }
 
+    /**
+     * Decodes the file of a deferred sound (can be called from any thread).
+     *
+     * @return the upload of the decoded sound, to run on the main thread.
+     */
+    public Runnable decode() {
+        return () -> {};
+    }
+
     public int getHandle() {
         return this.handle;
     }
 
+    /** @return the memory used by the decoded samples (in bytes). */
+    public long getResidentSize() {
+        return isDestroyed ? 0 : size;
+    }
+
+    public int getMaximumInstances() {
+        return maximumInstances;
+    }
+
+    public void setMaximumInstances(int maximumInstances) {
+        this.maximumInstances = maximumInstances;
+    }
+
+    public boolean isStreamed() {
+        return streamed;
+    }
+
     public boolean isDestroyed() {
         return isDestroyed;
     }
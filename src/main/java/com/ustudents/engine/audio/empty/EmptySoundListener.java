@@ -4,12 +4,14 @@ import org.joml.Vector2f;
 import org.joml.Vector3f;
 
 public class EmptySoundListener {
+    protected final Vector2f position;
+
     public EmptySoundListener() {
         this(new Vector2f(0, 0));
     }
 
     public EmptySoundListener(Vector2f position) {
-
+        this.position = new Vector2f(position);
     }
 
     public void setSpeed(Vector2f speed) {
@@ -17,10 +19,14 @@ public class EmptySoundListener {
     }
 
     public void setPosition(Vector2f position) {
-
+        this.position.set(position);
     }
 
     public void setOrientation(Vector3f at, Vector3f up) {
 
     }
+
+    public Vector2f getPosition() {
+        return position;
+    }
 }
@@ -1,5 +1,6 @@
 package com.ustudents.engine.audio.empty;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -10,6 +11,9 @@ public class EmptySoundManager {
 
     protected Set<EmptySoundSource> sources;
 
+    /** The listener the sources' distances are measured from (null to never cull sources by distance). */
+    protected EmptySoundListener listener;
+
     public EmptySoundManager() {
         sources = new HashSet<>();
     }
@@ -22,10 +26,19 @@ public class EmptySoundManager {
         removeAll();
     }
 
+    /** Updates the sources being played (called once per frame). */
+    public void update() {
+
+    }
+
     public void play(EmptySoundSource source) {
         sources.add(source);
     }
 
+    public void remove(EmptySoundSource source) {
+        sources.remove(source);
+    }
+
     public void stopAll() {
         for (EmptySoundSource source : sources) {
             source.stop();
@@ -33,10 +46,19 @@ public class EmptySoundManager {
     }
 
     public void removeAll() {
-        for (EmptySoundSource source : sources) {
+        // Copied as destroying a source removes it from the set.
+        for (EmptySoundSource source : new ArrayList<>(sources)) {
             source.destroy();
         }
 
         sources.clear();
     }
+
+    public EmptySoundListener getListener() {
+        return listener;
+    }
+
+    public void setListener(EmptySoundListener listener) {
+        this.listener = listener;
+    }
 }
\ No newline at end of file
@@ -8,6 +8,9 @@ public class EmptySoundSource {
 
     protected EmptySound sound;
 
+    /** The priority of the source, a source can only cut off sources of lower or equal priority to be played. */
+    protected int priority;
+
     public EmptySoundSource() {
         this(null, false, false);
     }
@@ -74,6 +77,14 @@ public class EmptySoundSource {
         return false;
     }
 
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
     public int getHandle() {
         return handle;
     }
@@ -1,6 +1,7 @@
 package com.ustudents.engine.audio.openal;
 
 import com.ustudents.engine.audio.empty.EmptySound;
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.json.annotation.JsonSerializable;
 import com.ustudents.engine.utility.FileUtil;
 import org.lwjgl.stb.STBVorbisInfo;
@@ -16,12 +17,76 @@ import static org.lwjgl.openal.AL10.*;
 import static org.lwjgl.stb.STBVorbis.*;
 
 public class ALSound extends EmptySound {
+    /** Decoded samples, waiting to be uploaded. */
+    private static class Samples {
+        private final ShortBuffer pcm;
+
+        private final int channels;
+
+        private final int sampleRate;
+
+        private Samples(ShortBuffer pcm, int channels, int sampleRate) {
+            this.pcm = pcm;
+            this.channels = channels;
+            this.sampleRate = sampleRate;
+        }
+    }
+
     @JsonSerializable
     private String path;
 
+    private final String filePath;
+
+    /** The encoded file (only kept for streamed sounds, every source decoding it on its own). */
+    private ByteBuffer encodedData;
+
+    /** Defines if the sound's file is loaded in the background (its buffer only exists once it is uploaded). */
+    private boolean deferred;
+
     public ALSound(String filePath) {
+        this(filePath, false, false);
+    }
+
+    public ALSound(String filePath, boolean deferred) {
+        this(filePath, deferred, false);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param filePath The file path.
+     * @param deferred Defines if the file is loaded later (by running the upload returned by `decode`), the sound
+     *                 being silent until then.
+     * @param streamed Defines if the sound is decoded progressively while it is played (for long sounds like
+     *                 musics), instead of being decoded once in a single buffer.
+     */
+    public ALSound(String filePath, boolean deferred, boolean streamed) {
         super(filePath);
-        loadSound(filePath);
+        this.filePath = filePath;
+        this.streamed = streamed;
+
+        if (streamed) {
+            this.handle = 0;
+            this.encodedData = FileUtil.readFile(Resources.getAssetPack(), filePath);
+
+            if (encodedData == null) {
+                throw new IllegalStateException("Failed to read Ogg Vorbis file: " + filePath);
+            }
+
+            this.size = encodedData.remaining();
+            isDestroyed = false;
+        } else if (deferred) {
+            // The buffer zero is OpenAL's empty buffer.
+            this.handle = 0;
+            this.deferred = true;
+            isDestroyed = false;
+        } else {
+            try {
+                upload(decodeSamples(filePath));
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
     }
 
     @Override
@@ -32,38 +97,81 @@ public class ALSound extends EmptySound {
         }
     }
 
-    private void loadSound(String filePath) {
-        try {
-            this.handle = alGenBuffers();
+    /** @return the buffer (waits for a deferred sound to be loaded, for a source not to bind the empty buffer). */
+    @Override
+    public int getHandle() {
+        if (deferred && !isDestroyed) {
+            // Not deferred anymore, even if the loading failed, for the sources not to wait again.
+            deferred = false;
+            Resources.completeLoading(filePath);
+        }
 
-            try (STBVorbisInfo info = STBVorbisInfo.malloc()) {
-                try (MemoryStack stack = MemoryStack.stackPush()) {
-                    ByteBuffer vorbis = FileUtil.readFile(filePath);
-                    IntBuffer error = stack.mallocInt(1);
-                    assert vorbis != null;
-                    long decoder = stb_vorbis_open_memory(vorbis, error, null);
-                    if (decoder == NULL) {
-                        throw new IllegalStateException("Failed to open Ogg Vorbis file. Error: " + error.get(0));
-                    }
+        return handle;
+    }
 
-                    stb_vorbis_get_info(decoder, info);
+    @Override
+    public Runnable decode() {
+        if (streamed) {
+            return () -> {};
+        }
 
-                    int channels = info.channels();
+        Samples samples = decodeSamples(filePath);
 
-                    int lengthSamples = stb_vorbis_stream_length_in_samples(decoder);
+        return () -> {
+            if (isDestroyed) {
+                MemoryUtil.memFree(samples.pcm);
+            } else {
+                upload(samples);
+            }
+        };
+    }
+
+    /** @return the encoded file of a streamed sound (null if the sound is not streamed). */
+    public ByteBuffer getEncodedData() {
+        return encodedData;
+    }
 
-                    ShortBuffer pcm = MemoryUtil.memAllocShort(lengthSamples);
+    private void upload(Samples samples) {
+        this.handle = alGenBuffers();
+        this.size = samples.pcm.remaining() * 2L;
 
-                    pcm.limit(stb_vorbis_get_samples_short_interleaved(decoder, channels, pcm) * channels);
-                    stb_vorbis_close(decoder);
+        alBufferData(handle, samples.channels == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16, samples.pcm,
+                samples.sampleRate);
 
-                    alBufferData(handle, info.channels() == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16, pcm, info.sample_rate());
+        // OpenAL copies the samples in its own buffer.
+        MemoryUtil.memFree(samples.pcm);
+
+        deferred = false;
+        isDestroyed = false;
+    }
+
+    /** Reads and decodes an Ogg Vorbis file (thread-safe). */
+    private static Samples decodeSamples(String filePath) {
+        try (STBVorbisInfo info = STBVorbisInfo.malloc()) {
+            try (MemoryStack stack = MemoryStack.stackPush()) {
+                ByteBuffer vorbis = FileUtil.readFile(Resources.getAssetPack(), filePath);
+                IntBuffer error = stack.mallocInt(1);
+                if (vorbis == null) {
+                    throw new IllegalStateException("Failed to read Ogg Vorbis file: " + filePath);
+                }
+                long decoder = stb_vorbis_open_memory(vorbis, error, null);
+                if (decoder == NULL) {
+                    throw new IllegalStateException("Failed to open Ogg Vorbis file. Error: " + error.get(0));
                 }
-            }
 
-            isDestroyed = false;
-        } catch (Exception e) {
-            e.printStackTrace();
+                stb_vorbis_get_info(decoder, info);
+
+                int channels = info.channels();
+
+                int lengthSamples = stb_vorbis_stream_length_in_samples(decoder);
+
+                ShortBuffer pcm = MemoryUtil.memAllocShort(lengthSamples);
+
+                pcm.limit(stb_vorbis_get_samples_short_interleaved(decoder, channels, pcm) * channels);
+                stb_vorbis_close(decoder);
+
+                return new Samples(pcm, channels, info.sample_rate());
+            }
         }
     }
 }
@@ -12,6 +12,7 @@ public class ALSoundListener extends EmptySoundListener {
     }
 
     public ALSoundListener(Vector2f position) {
+        super(position);
         alListener3f(AL_POSITION, position.x, position.y, 0);
         alListener3f(AL_VELOCITY, 0, 0, 0);
     }
@@ -23,6 +24,7 @@ public class ALSoundListener extends EmptySoundListener {
 
     @Override
     public void setPosition(Vector2f position) {
+        super.setPosition(position);
         alListener3f(AL_POSITION, position.x, position.y, 0);
     }
 
@@ -1,8 +1,10 @@
 package com.ustudents.engine.audio.openal;
 
 
+import com.ustudents.engine.Game;
 import com.ustudents.engine.audio.empty.EmptySoundManager;
 import com.ustudents.engine.audio.empty.EmptySoundSource;
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.cli.print.Out;
 import org.lwjgl.openal.AL;
 import org.lwjgl.openal.ALC;
@@ -10,14 +12,57 @@ import org.lwjgl.openal.ALCCapabilities;
 
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.sql.Types.NULL;
-import static org.lwjgl.openal.AL10.alSourcePlay;
+import static org.lwjgl.openal.AL10.*;
 import static org.lwjgl.openal.ALC10.*;
 import static org.lwjgl.openal.ALC11.ALC_ALL_DEVICES_SPECIFIER;
 
+/**
+ * Plays the sources on a fixed pool of voices (OpenAL sources) created at initialization.
+ *
+ * A source gets a voice when it is played and gives it back once it stops. When every voice is used, the oldest voice
+ * of lowest priority is cut off (if its priority is not above the new source's one). Each sound can also only be
+ * played a limited number of times at once, and the positioned sources too far from the listener are not played.
+ * Looping sources cut off or culled wait for a voice to be resumed.
+ */
 public class ALSoundManager extends EmptySoundManager {
+    /** A voice of the pool. */
+    private static class Voice {
+        private final int handle;
+
+        /** The source playing on the voice (null if the voice is free). */
+        private ALSoundSource owner;
+
+        /** The order in which the voice was given to its owner (to cut off the oldest voices first). */
+        private long order;
+
+        private Voice(int handle) {
+            this.handle = handle;
+        }
+    }
+
+    /** The time (in milliseconds) between two refills of the streams' buffers. */
+    private static final long streamingInterval = 10;
+
+    /** The streams refilled by the streaming thread. */
+    private final List<ALSoundStream> streams = new CopyOnWriteArrayList<>();
+
+    private Thread streamingThread;
+
+    private final List<Voice> voices = new ArrayList<>();
+
+    /** The looping sources waiting for a voice to be resumed. */
+    private final Set<ALSoundSource> waitingSources = new LinkedHashSet<>();
+
+    private long numberOfVoicesGiven;
+
     @Override
     public boolean initialize() {
         if (Objects.requireNonNull(alcGetString(NULL, ALC_ALL_DEVICES_SPECIFIER)).isEmpty()) {
@@ -42,18 +87,280 @@ public class ALSoundManager extends EmptySoundManager {
         alcMakeContextCurrent(context);
         AL.createCapabilities(deviceCaps);
 
+        // The driver may support fewer sources than asked for.
+        for (int i = 0; i < Resources.getConfig().maximumSoundSources; i++) {
+            int handle = alGenSources();
+
+            if (alGetError() != AL_NO_ERROR) {
+                break;
+            }
+
+            voices.add(new Voice(handle));
+        }
+
+        if (Game.isDebugging()) {
+            Out.printlnDebug("Sound voices: " + voices.size());
+        }
+
+        streamingThread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                for (ALSoundStream stream : streams) {
+                    stream.update();
+                }
+
+                try {
+                    Thread.sleep(streamingInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        streamingThread.setName("SoundStreaming");
+        streamingThread.setDaemon(true);
+        streamingThread.start();
+
         return true;
     }
 
     @Override
     public void destroy() {
+        if (streamingThread != null) {
+            streamingThread.interrupt();
+
+            try {
+                streamingThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
         super.destroy();
+
+        for (Voice voice : voices) {
+            alDeleteSources(voice.handle);
+        }
+
+        voices.clear();
+        waitingSources.clear();
         alcCloseDevice(device);
     }
 
+    /**
+     * Starts refilling the buffers of a stream regularly.
+     *
+     * @param stream The stream.
+     */
+    public void addStream(ALSoundStream stream) {
+        streams.add(stream);
+    }
+
+    /**
+     * Stops refilling the buffers of a stream.
+     *
+     * @param stream The stream.
+     */
+    public void removeStream(ALSoundStream stream) {
+        streams.remove(stream);
+    }
+
+    @Override
+    public void update() {
+        for (Voice voice : voices) {
+            if (voice.owner == null) {
+                continue;
+            }
+
+            if (voice.owner.isStopped()) {
+                // The sound has ended.
+                ALSoundSource owner = voice.owner;
+                voice.owner = null;
+                owner.unbind();
+            } else if (!voice.owner.isPaused() && isCulled(voice.owner)) {
+                cutOff(voice);
+            }
+        }
+
+        if (!waitingSources.isEmpty()) {
+            for (ALSoundSource source : new ArrayList<>(waitingSources)) {
+                if (acquireVoice(source, true)) {
+                    source.start();
+                }
+            }
+        }
+    }
+
     @Override
     public void play(EmptySoundSource source) {
         super.play(source);
-        alSourcePlay(source.getHandle());
+
+        ALSoundSource alSource = (ALSoundSource)source;
+
+        if (alSource.getHandle() == 0 && !acquireVoice(alSource, false)) {
+            if (alSource.isLooping()) {
+                alSource.setWaiting(true);
+                waitingSources.add(alSource);
+            }
+
+            return;
+        }
+
+        alSource.start();
+    }
+
+    @Override
+    public void remove(EmptySoundSource source) {
+        super.remove(source);
+        waitingSources.remove(source);
+    }
+
+    /**
+     * Stops a source from waiting for a voice (when it is paused, it is only resumed by being played again).
+     *
+     * @param source The source.
+     */
+    public void removeWaitingSource(ALSoundSource source) {
+        waitingSources.remove(source);
+    }
+
+    /**
+     * Takes the voice of a source back.
+     *
+     * @param source The source.
+     */
+    public void releaseVoice(ALSoundSource source) {
+        waitingSources.remove(source);
+
+        for (Voice voice : voices) {
+            if (voice.owner == source) {
+                voice.owner = null;
+                source.unbind();
+                return;
+            }
+        }
+    }
+
+    /** @return the number of voices playing a source. */
+    public int getNumberOfVoicesUsed() {
+        int numberOfVoicesUsed = 0;
+
+        for (Voice voice : voices) {
+            if (voice.owner != null) {
+                numberOfVoicesUsed++;
+            }
+        }
+
+        return numberOfVoicesUsed;
+    }
+
+    /** @return the number of voices of the pool. */
+    public int getNumberOfVoices() {
+        return voices.size();
+    }
+
+    /**
+     * Gives a voice to a source, cutting off another source if needed.
+     *
+     * @param source The source.
+     * @param waiting Defines if the source was waiting for a voice, in which case it only cuts off sources of lower
+     *                priority (for two waiting sources not to cut off each other in turn).
+     * @return if the source got a voice.
+     */
+    private boolean acquireVoice(ALSoundSource source, boolean waiting) {
+        if (isCulled(source)) {
+            return false;
+        }
+
+        Voice chosenVoice = null;
+        int maximumInstances = source.getSound() != null && source.getSound().getMaximumInstances() > 0 ?
+                source.getSound().getMaximumInstances() : Resources.getConfig().maximumSoundInstances;
+
+        if (maximumInstances > 0 && source.getSound() != null) {
+            int numberOfInstances = 0;
+            Voice oldestInstance = null;
+
+            for (Voice voice : voices) {
+                if (voice.owner != null && voice.owner.getSound() == source.getSound()) {
+                    numberOfInstances++;
+
+                    if (oldestInstance == null || voice.order < oldestInstance.order) {
+                        oldestInstance = voice;
+                    }
+                }
+            }
+
+            if (numberOfInstances >= maximumInstances) {
+                if (!canCutOff(oldestInstance, source, waiting)) {
+                    return false;
+                }
+
+                chosenVoice = oldestInstance;
+            }
+        }
+
+        if (chosenVoice == null) {
+            for (Voice voice : voices) {
+                if (voice.owner == null || voice.owner.isStopped()) {
+                    chosenVoice = voice;
+                    break;
+                }
+            }
+        }
+
+        if (chosenVoice == null) {
+            for (Voice voice : voices) {
+                if (canCutOff(voice, source, waiting) && (chosenVoice == null ||
+                        voice.owner.getPriority() < chosenVoice.owner.getPriority() ||
+                        (voice.owner.getPriority() == chosenVoice.owner.getPriority() &&
+                                voice.order < chosenVoice.order))) {
+                    chosenVoice = voice;
+                }
+            }
+        }
+
+        if (chosenVoice == null) {
+            return false;
+        }
+
+        if (chosenVoice.owner != null) {
+            cutOff(chosenVoice);
+        }
+
+        waitingSources.remove(source);
+        chosenVoice.owner = source;
+        chosenVoice.order = numberOfVoicesGiven++;
+        source.bind(chosenVoice.handle);
+
+        return true;
+    }
+
+    private boolean canCutOff(Voice voice, ALSoundSource source, boolean waiting) {
+        return waiting ? voice.owner.getPriority() < source.getPriority() :
+                voice.owner.getPriority() <= source.getPriority();
+    }
+
+    /** Takes a voice back from its owner, the owner waits for another voice if it is a looping source. */
+    private void cutOff(Voice voice) {
+        ALSoundSource owner = voice.owner;
+        boolean resume = owner.isLooping() && owner.isPlaying();
+
+        voice.owner = null;
+        owner.unbind();
+
+        if (resume) {
+            owner.setWaiting(true);
+            waitingSources.add(owner);
+        }
+    }
+
+    /** @return if a source is too far from the listener to be played. */
+    private boolean isCulled(ALSoundSource source) {
+        float distance = Resources.getConfig().soundCullingDistance;
+
+        // The relative sources follow the listener and the sources without position (music) are heard everywhere.
+        if (distance <= 0 || listener == null || source.isRelative() || !source.isPositional()) {
+            return false;
+        }
+
+        return source.getPosition().distance(listener.getPosition()) > distance;
     }
 }
\ No newline at end of file
@@ -1,12 +1,44 @@
 package com.ustudents.engine.audio.openal;
 
+import com.ustudents.engine.audio.SoundManager;
 import com.ustudents.engine.audio.empty.EmptySound;
 import com.ustudents.engine.audio.empty.EmptySoundSource;
 import org.joml.Vector2f;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.lwjgl.openal.AL10.*;
 
+/**
+ * A sound source playing on one of the voices (OpenAL sources) of the sound manager.
+ *
+ * The source only has a voice while it is played, its properties are kept to be applied to each voice it gets (the
+ * handle is zero without voice).
+ */
 public class ALSoundSource extends EmptySoundSource {
+    private final boolean loop;
+
+    private final boolean relative;
+
+    private final Vector2f position;
+
+    /** Defines if the source was given a position (the sources without position are never culled by distance). */
+    private boolean positional;
+
+    private final Vector2f speed;
+
+    private float gain;
+
+    /** The properties set with `setProperty`, applied to each voice the source gets. */
+    private final Map<Integer, Float> properties;
+
+    /** Defines if the source is waiting for a voice to be played (a looping source culled or cut off). */
+    private boolean waiting;
+
+    /** The stream playing the sound (null if the sound is not streamed or the source has no voice). */
+    private ALSoundStream stream;
+
     public ALSoundSource() {
         this(null, false, false);
     }
@@ -20,77 +52,200 @@ public class ALSoundSource extends EmptySoundSource {
     }
 
     public ALSoundSource(EmptySound sound, boolean loop, boolean relative) {
-        this.handle = alGenSources();
+        super(sound, loop, relative);
+        this.handle = 0;
+        this.loop = loop;
+        this.relative = relative;
+        this.position = new Vector2f(0, 0);
+        this.speed = new Vector2f(0, 0);
+        this.gain = 1.0f;
+        this.properties = new HashMap<>();
+        this.waiting = false;
+    }
 
-        if (sound != null) {
-            changeSound(sound);
-        }
+    @Override
+    public void pause() {
+        waiting = false;
 
-        if (loop) {
-            alSourcei(handle, AL_LOOPING, AL_TRUE);
+        if (getManager() != null) {
+            getManager().removeWaitingSource(this);
         }
 
-        if (relative) {
-            alSourcei(handle, AL_SOURCE_RELATIVE, AL_TRUE);
+        if (handle != 0) {
+            if (stream != null) {
+                stream.pause();
+            } else {
+                alSourcePause(handle);
+            }
         }
     }
 
-    @Override
-    public void pause() {
-        alSourcePause(handle);
-    }
-
     @Override
     public void stop() {
-        alSourceStop(handle);
+        waiting = false;
+
+        // Also stops the source from waiting for a voice.
+        if (getManager() != null) {
+            getManager().releaseVoice(this);
+        }
     }
 
     @Override
     public void destroy() {
         super.destroy();
-        alSourcei(handle, AL_BUFFER, 0);
-        alDeleteSources(handle);
-    }
 
-    @Override
-    public void changeSound(EmptySound sound) {
-        super.changeSound(sound);
-        alSourcei(handle, AL_BUFFER, sound.getHandle());
+        if (getManager() != null) {
+            getManager().remove(this);
+        }
     }
 
     @Override
     public void setPosition(Vector2f position) {
-        alSource3f(handle, AL_POSITION, position.x, position.y,0);
+        this.position.set(position);
+        this.positional = true;
+
+        if (handle != 0) {
+            alSource3f(handle, AL_POSITION, position.x, position.y, 0);
+        }
     }
 
     @Override
     public void setSpeed(Vector2f speed) {
-        alSource3f(handle, AL_VELOCITY, speed.x, speed.y,0);
+        this.speed.set(speed);
+
+        if (handle != 0) {
+            alSource3f(handle, AL_VELOCITY, speed.x, speed.y, 0);
+        }
     }
 
     @Override
     public void setGain(float gain) {
-        alSourcef(handle, AL_GAIN, gain);
+        this.gain = gain;
+
+        if (handle != 0) {
+            alSourcef(handle, AL_GAIN, gain);
+        }
     }
 
     @Override
     public void setProperty(int param, float value) {
-        alSourcef(handle, param, value);
+        properties.put(param, value);
+
+        if (handle != 0) {
+            alSourcef(handle, param, value);
+        }
     }
 
     @Override
     public boolean isPlaying() {
-        return alGetSourcei(handle, AL_SOURCE_STATE) == AL_PLAYING;
+        if (handle == 0) {
+            return waiting;
+        }
+
+        return alGetSourcei(handle, AL_SOURCE_STATE) == AL_PLAYING || (stream != null && stream.isPlaying());
     }
 
     @Override
     public boolean isPaused() {
-        return alGetSourcei(handle, AL_SOURCE_STATE) == AL_PAUSED;
+        return handle != 0 && alGetSourcei(handle, AL_SOURCE_STATE) == AL_PAUSED;
     }
 
     @Override
     public boolean isStopped() {
+        if (handle == 0) {
+            return !waiting;
+        }
+
         int state = alGetSourcei(handle, AL_SOURCE_STATE);
-        return state == AL_STOPPED || state == AL_INITIAL;
+        return (state == AL_STOPPED || state == AL_INITIAL) && (stream == null || !stream.isPlaying());
+    }
+
+    public boolean isLooping() {
+        return loop;
+    }
+
+    public boolean isRelative() {
+        return relative;
+    }
+
+    public boolean isPositional() {
+        return positional;
+    }
+
+    public Vector2f getPosition() {
+        return position;
+    }
+
+    /**
+     * Gives a voice to the source and applies the source's properties to it.
+     *
+     * @param voice The voice's handle.
+     */
+    void bind(int voice) {
+        handle = voice;
+        waiting = false;
+
+        // Resets what the previous owner of the voice may have changed.
+        alSourcef(handle, AL_PITCH, 1.0f);
+        alSourcef(handle, AL_REFERENCE_DISTANCE, 1.0f);
+        alSourcef(handle, AL_ROLLOFF_FACTOR, 1.0f);
+        alSourcef(handle, AL_MAX_DISTANCE, Float.MAX_VALUE);
+        alSourcef(handle, AL_MIN_GAIN, 0.0f);
+        alSourcef(handle, AL_MAX_GAIN, 1.0f);
+
+        alSourcei(handle, AL_SOURCE_RELATIVE, relative ? AL_TRUE : AL_FALSE);
+        alSource3f(handle, AL_POSITION, position.x, position.y, 0);
+        alSource3f(handle, AL_VELOCITY, speed.x, speed.y, 0);
+        alSourcef(handle, AL_GAIN, gain);
+
+        for (Map.Entry<Integer, Float> property : properties.entrySet()) {
+            alSourcef(handle, property.getKey(), property.getValue());
+        }
+
+        if (sound != null && sound.isStreamed()) {
+            // Streams loop by decoding their sound again, their queue of buffers must not loop.
+            alSourcei(handle, AL_BUFFER, 0);
+            alSourcei(handle, AL_LOOPING, AL_FALSE);
+            stream = new ALSoundStream(handle, (ALSound)sound, loop);
+            getManager().addStream(stream);
+        } else {
+            alSourcei(handle, AL_BUFFER, sound != null ? sound.getHandle() : 0);
+            alSourcei(handle, AL_LOOPING, loop ? AL_TRUE : AL_FALSE);
+        }
+    }
+
+    /** Stops the source and takes its voice back. */
+    void unbind() {
+        if (stream != null) {
+            getManager().removeStream(stream);
+            stream.destroy();
+            stream = null;
+        } else {
+            alSourceStop(handle);
+            alSourcei(handle, AL_BUFFER, 0);
+        }
+
+        handle = 0;
+    }
+
+    /** Starts playing the source on its voice. */
+    void start() {
+        if (stream != null) {
+            stream.prepare();
+        }
+
+        alSourcePlay(handle);
+    }
+
+    void setWaiting(boolean waiting) {
+        this.waiting = waiting;
+    }
+
+    private static ALSoundManager getManager() {
+        if (SoundManager.get().getSoundManager() instanceof ALSoundManager) {
+            return (ALSoundManager)SoundManager.get().getSoundManager();
+        }
+
+        return null;
     }
 }
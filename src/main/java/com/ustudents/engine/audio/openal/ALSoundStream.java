@@ -0,0 +1,188 @@
+package com.ustudents.engine.audio.openal;
+
+import org.lwjgl.stb.STBVorbisInfo;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import static org.lwjgl.openal.AL10.*;
+import static org.lwjgl.stb.STBVorbis.*;
+
+/**
+ * Plays a streamed sound on a source: the sound is decoded progressively into a small ring of buffers, queued on the
+ * source and refilled (by the sound manager's streaming thread) as soon as they are played.
+ *
+ * Every method is synchronized, as the stream is used by both the main thread and the streaming thread.
+ */
+public class ALSoundStream {
+    /** The number of buffers queued on the source. */
+    private static final int numberOfBuffers = 4;
+
+    /** The number of samples (per channel) decoded in each buffer. */
+    private static final int bufferSize = 8192;
+
+    private final int source;
+
+    private final int[] buffers;
+
+    private final long decoder;
+
+    private final int channels;
+
+    private final int sampleRate;
+
+    /** The samples being decoded, before being copied by OpenAL into a buffer. */
+    private final ShortBuffer pcm;
+
+    private boolean loop;
+
+    /** Defines if the source should be playing (to restart it if it ran out of buffers). */
+    private boolean playing;
+
+    private boolean destroyed;
+
+    /**
+     * Class constructor.
+     *
+     * @param source The source's handle.
+     * @param sound The streamed sound.
+     * @param loop Defines if the sound is played again once it ends.
+     */
+    public ALSoundStream(int source, ALSound sound, boolean loop) {
+        this.source = source;
+        this.loop = loop;
+        this.playing = false;
+        this.destroyed = false;
+
+        try (MemoryStack stack = MemoryStack.stackPush(); STBVorbisInfo info = STBVorbisInfo.malloc()) {
+            IntBuffer error = stack.mallocInt(1);
+            decoder = stb_vorbis_open_memory(sound.getEncodedData(), error, null);
+
+            if (decoder == 0) {
+                throw new IllegalStateException("Failed to open Ogg Vorbis file. Error: " + error.get(0));
+            }
+
+            stb_vorbis_get_info(decoder, info);
+            channels = info.channels();
+            sampleRate = info.sample_rate();
+        }
+
+        this.buffers = new int[numberOfBuffers];
+        alGenBuffers(buffers);
+        this.pcm = MemoryUtil.memAllocShort(bufferSize * channels);
+    }
+
+    /** Fills and queues the buffers if none is queued (before the source starts playing). */
+    public synchronized void prepare() {
+        if (destroyed) {
+            return;
+        }
+
+        playing = true;
+
+        if (alGetSourcei(source, AL_BUFFERS_QUEUED) == 0) {
+            for (int buffer : buffers) {
+                if (!fill(buffer)) {
+                    break;
+                }
+
+                alSourceQueueBuffers(source, buffer);
+            }
+        }
+    }
+
+    /** Pauses the source. */
+    public synchronized void pause() {
+        playing = false;
+        alSourcePause(source);
+    }
+
+    /** Stops the source and rewinds the stream. */
+    public synchronized void stop() {
+        playing = false;
+
+        if (destroyed) {
+            return;
+        }
+
+        alSourceStop(source);
+        // Detaching the buffer of a stopped source removes its whole queue.
+        alSourcei(source, AL_BUFFER, 0);
+        stb_vorbis_seek_start(decoder);
+    }
+
+    /** Refills the played buffers (called regularly by the streaming thread). */
+    public synchronized void update() {
+        if (destroyed || !playing) {
+            return;
+        }
+
+        int processed = alGetSourcei(source, AL_BUFFERS_PROCESSED);
+
+        for (int i = 0; i < processed; i++) {
+            int buffer = alSourceUnqueueBuffers(source);
+
+            if (fill(buffer)) {
+                alSourceQueueBuffers(source, buffer);
+            }
+        }
+
+        if (alGetSourcei(source, AL_SOURCE_STATE) != AL_PLAYING) {
+            if (alGetSourcei(source, AL_BUFFERS_QUEUED) > 0) {
+                // The source ran out of buffers before they were refilled.
+                alSourcePlay(source);
+            } else {
+                // The sound has ended.
+                playing = false;
+                stb_vorbis_seek_start(decoder);
+            }
+        }
+    }
+
+    public synchronized void setLoop(boolean loop) {
+        this.loop = loop;
+    }
+
+    public synchronized void destroy() {
+        if (!destroyed) {
+            alSourceStop(source);
+            alSourcei(source, AL_BUFFER, 0);
+            alDeleteBuffers(buffers);
+            stb_vorbis_close(decoder);
+            MemoryUtil.memFree(pcm);
+            destroyed = true;
+        }
+    }
+
+    /** @return if the stream is being played (even while the source waits for its buffers to be refilled). */
+    public synchronized boolean isPlaying() {
+        return playing;
+    }
+
+    public synchronized boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /** Decodes the next samples into a buffer (from the start again if the stream loops). */
+    private boolean fill(int buffer) {
+        pcm.clear();
+
+        int samples = stb_vorbis_get_samples_short_interleaved(decoder, channels, pcm);
+
+        if (samples == 0 && loop) {
+            stb_vorbis_seek_start(decoder);
+            samples = stb_vorbis_get_samples_short_interleaved(decoder, channels, pcm);
+        }
+
+        if (samples == 0) {
+            return false;
+        }
+
+        pcm.limit(samples * channels);
+        alBufferData(buffer, channels == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16, pcm, sampleRate);
+
+        return true;
+    }
+}
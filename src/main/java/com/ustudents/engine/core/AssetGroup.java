@@ -0,0 +1,50 @@
+package com.ustudents.engine.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A group of assets loaded together (like the assets needed by a scene), so their files can be decoded in parallel
+ * before they are first used.
+ */
+public class AssetGroup {
+    private final List<String> textures;
+
+    private final List<String> spritesheets;
+
+    private final List<String> sounds;
+
+    public AssetGroup() {
+        this.textures = new ArrayList<>();
+        this.spritesheets = new ArrayList<>();
+        this.sounds = new ArrayList<>();
+    }
+
+    public AssetGroup addTexture(String filePath) {
+        textures.add(filePath);
+        return this;
+    }
+
+    public AssetGroup addSpritesheet(String filePath) {
+        spritesheets.add(filePath);
+        return this;
+    }
+
+    public AssetGroup addSound(String filePath) {
+        sounds.add(filePath);
+        return this;
+    }
+
+    public List<String> getTextures() {
+        return Collections.unmodifiableList(textures);
+    }
+
+    public List<String> getSpritesheets() {
+        return Collections.unmodifiableList(spritesheets);
+    }
+
+    public List<String> getSounds() {
+        return Collections.unmodifiableList(sounds);
+    }
+}
@@ -0,0 +1,219 @@
+package com.ustudents.engine.core;
+
+import com.ustudents.engine.Game;
+import com.ustudents.engine.core.cli.print.Out;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads assets in two steps: the files are read and decoded by a pool of worker threads, then the decoded data is
+ * uploaded (to OpenGL or OpenAL) by the main thread, within a time budget per frame.
+ *
+ * A loading task runs on a worker and returns the upload to run on the main thread. Every method of this class must
+ * be called from the main thread.
+ */
+public class AssetLoader {
+    /** A loading task started by the loader. */
+    private static class Request {
+        private final String name;
+
+        private final Callable<Runnable> task;
+
+        /** Released once the task has been run by a worker. */
+        private final CountDownLatch decoded;
+
+        private volatile Runnable upload;
+
+        private volatile Exception error;
+
+        private boolean finished;
+
+        private Request(String name, Callable<Runnable> task) {
+            this.name = name;
+            this.task = task;
+            this.decoded = new CountDownLatch(1);
+            this.finished = false;
+        }
+    }
+
+    private final ExecutorService workers;
+
+    /** The requests decoded by the workers, waiting to be uploaded by the main thread. */
+    private final Queue<Request> decodedRequests;
+
+    /** The requests not uploaded yet (by name). */
+    private final Map<String, Request> pendingRequests;
+
+    private boolean destroyed;
+
+    /**
+     * Class constructor.
+     *
+     * @param numberOfThreads The number of worker threads (zero or less to use one per available processor, minus the
+     *                        main thread).
+     */
+    public AssetLoader(int numberOfThreads) {
+        if (numberOfThreads <= 0) {
+            numberOfThreads = Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+        }
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+
+        this.workers = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("AssetLoader" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.decodedRequests = new ConcurrentLinkedQueue<>();
+        this.pendingRequests = new HashMap<>();
+        this.destroyed = false;
+    }
+
+    /**
+     * Starts loading an asset (does nothing if an asset with the same name is already being loaded).
+     *
+     * @param name The name of the asset (usually its file path).
+     * @param task The task decoding the asset on a worker thread and returning the upload to run on the main thread.
+     */
+    public void load(String name, Callable<Runnable> task) {
+        if (destroyed || pendingRequests.containsKey(name)) {
+            return;
+        }
+
+        Request request = new Request(name, task);
+        pendingRequests.put(name, request);
+
+        workers.execute(() -> {
+            try {
+                request.upload = request.task.call();
+            } catch (Exception e) {
+                request.error = e;
+            }
+
+            request.decoded.countDown();
+            decodedRequests.add(request);
+        });
+    }
+
+    /**
+     * Uploads the decoded assets until the time budget is exhausted (at least one asset is uploaded if any is ready).
+     *
+     * @param budget The time budget (in milliseconds).
+     * @return the number of uploaded assets.
+     */
+    public int update(int budget) {
+        long deadline = System.nanoTime() + budget * 1000000L;
+        int numberOfUploads = 0;
+
+        while (!decodedRequests.isEmpty()) {
+            Request request = decodedRequests.poll();
+
+            if (finish(request)) {
+                numberOfUploads++;
+            }
+
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        return numberOfUploads;
+    }
+
+    /**
+     * Waits until an asset is decoded and uploads it right away (does nothing if the asset is not being loaded).
+     *
+     * @param name The name of the asset.
+     */
+    public void complete(String name) {
+        Request request = pendingRequests.get(name);
+
+        if (request == null) {
+            return;
+        }
+
+        try {
+            request.decoded.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading asset '" + name + "'", e);
+        }
+
+        if (request.error != null) {
+            request.finished = true;
+            pendingRequests.remove(name);
+            throw new IllegalStateException("Failed to load asset '" + name + "'", request.error);
+        }
+
+        finish(request);
+    }
+
+    /**
+     * Checks if an asset is still being loaded.
+     *
+     * @param name The name of the asset.
+     * @return if the asset is decoded or waiting to be uploaded.
+     */
+    public boolean isPending(String name) {
+        return pendingRequests.containsKey(name);
+    }
+
+    /** @return the number of assets still being loaded. */
+    public int getNumberOfPendingAssets() {
+        return pendingRequests.size();
+    }
+
+    /** Stops the workers, the assets still being loaded are dropped. */
+    public void destroy() {
+        if (!destroyed) {
+            workers.shutdownNow();
+
+            try {
+                workers.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            decodedRequests.clear();
+            pendingRequests.clear();
+            destroyed = true;
+        }
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /** Runs the upload of a decoded request (once). */
+    private boolean finish(Request request) {
+        if (request.finished) {
+            return false;
+        }
+
+        request.finished = true;
+        pendingRequests.remove(request.name);
+
+        if (request.error != null) {
+            if (Game.isDebugging()) {
+                Out.printlnDebug("Asset failed to load: " + request.name);
+            }
+
+            request.error.printStackTrace();
+            return false;
+        }
+
+        request.upload.run();
+
+        return true;
+    }
+}
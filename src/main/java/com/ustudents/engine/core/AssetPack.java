@@ -0,0 +1,154 @@
+package com.ustudents.engine.core;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only archive of asset files, memory-mapped as a whole so its files are handed out as slices of the mapping
+ * (without any copy or system call per file).
+ *
+ * The archive starts with an index (magic number, version, number of files, then the name, offset and size of each
+ * file) followed by the content of the files. It is created by `AssetPacker`.
+ */
+public class AssetPack {
+    /** The magic number at the start of every pack ("FLPK"). */
+    static final int magicNumber = 0x464C504B;
+
+    /** The version of the format. */
+    static final int formatVersion = 1;
+
+    /** The mapped content of the whole pack. */
+    private final ByteBuffer content;
+
+    /** The offset and size of each file, by name (its path relative to the root directory, with '/' separators). */
+    private final Map<String, int[]> files;
+
+    /** The directory the files' names are relative to. */
+    private final Path rootDirectory;
+
+    /**
+     * Class constructor.
+     *
+     * @param filePath The pack's path.
+     * @param rootDirectory The directory the packed files replace (the data directory).
+     */
+    public AssetPack(String filePath, String rootDirectory) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(filePath, "r"); FileChannel channel = file.getChannel()) {
+            // The mapping stays valid after the channel is closed.
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        this.rootDirectory = Paths.get(rootDirectory).toAbsolutePath().normalize();
+        this.files = new HashMap<>();
+
+        if (content.getInt(0) != magicNumber) {
+            throw new IOException("Invalid asset pack: " + filePath);
+        }
+
+        if (content.getInt(4) != formatVersion) {
+            throw new IOException("Unsupported asset pack version " + content.getInt(4) + ": " + filePath);
+        }
+
+        ByteBuffer index = content.duplicate();
+        index.position(8);
+
+        int numberOfFiles = index.getInt();
+
+        for (int i = 0; i < numberOfFiles; i++) {
+            byte[] name = new byte[index.getShort() & 0xFFFF];
+            index.get(name);
+
+            long offset = index.getLong();
+            long size = index.getLong();
+
+            if (offset < 0 || size < 0 || offset + size > content.capacity()) {
+                throw new IOException("Corrupted asset pack: " + filePath);
+            }
+
+            files.put(new String(name, StandardCharsets.UTF_8), new int[] {(int)offset, (int)size});
+        }
+    }
+
+    /**
+     * Gets the content of a packed file (thread-safe).
+     *
+     * @param filePath The file's path (as it would be on the disk).
+     * @return a read-only view of the file's content (null if the file is not packed).
+     */
+    public ByteBuffer getFile(String filePath) {
+        String name = getName(filePath);
+        int[] file = name != null ? files.get(name) : null;
+
+        if (file == null) {
+            return null;
+        }
+
+        ByteBuffer slice = content.duplicate();
+        slice.position(file[0]);
+        slice.limit(file[0] + file[1]);
+
+        return slice.slice();
+    }
+
+    /**
+     * Checks if a file is packed.
+     *
+     * @param filePath The file's path (as it would be on the disk).
+     * @return if the file is packed.
+     */
+    public boolean contains(String filePath) {
+        String name = getName(filePath);
+
+        return name != null && files.containsKey(name);
+    }
+
+    /**
+     * Lists the packed files directly within a directory.
+     *
+     * @param directoryPath The directory's path (as it would be on the disk).
+     * @return the files' paths (as they would be on the disk).
+     */
+    public List<String> listFiles(String directoryPath) {
+        List<String> filePaths = new ArrayList<>();
+        String directoryName = getName(directoryPath);
+
+        if (directoryName == null) {
+            return filePaths;
+        }
+
+        String prefix = directoryName.isEmpty() ? "" : directoryName + "/";
+
+        for (String name : files.keySet()) {
+            if (name.startsWith(prefix) && name.indexOf('/', prefix.length()) == -1) {
+                filePaths.add(directoryPath + "/" + name.substring(prefix.length()));
+            }
+        }
+
+        return filePaths;
+    }
+
+    /** @return the number of packed files. */
+    public int getNumberOfFiles() {
+        return files.size();
+    }
+
+    /** Converts a path to the name of a packed file (null if the path is outside of the root directory). */
+    private String getName(String filePath) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+
+        if (!path.startsWith(rootDirectory)) {
+            return null;
+        }
+
+        return rootDirectory.relativize(path).toString().replace('\\', '/');
+    }
+}
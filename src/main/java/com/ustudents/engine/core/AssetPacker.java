@@ -0,0 +1,96 @@
+package com.ustudents.engine.core;
+
+import com.ustudents.engine.Game;
+import com.ustudents.engine.core.cli.print.Out;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/** Creates the asset packs read by `AssetPack`. */
+public class AssetPacker {
+    /**
+     * Packs every file within the subdirectories of a directory.
+     *
+     * The files at the root of the directory (like the settings) and the excluded subdirectories (like the saves)
+     * are left out, as they are written by the game.
+     *
+     * @param rootDirectory The directory to pack.
+     * @param excludedDirectories The names of the subdirectories to leave out.
+     * @param outputPath The pack's path.
+     */
+    public static void pack(String rootDirectory, List<String> excludedDirectories, String outputPath)
+            throws IOException {
+        Path root = Paths.get(rootDirectory).toAbsolutePath().normalize();
+        List<Path> filePaths;
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            filePaths = paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> root.relativize(path).getNameCount() > 1)
+                    .filter(path -> !excludedDirectories.contains(root.relativize(path).getName(0).toString()))
+                    .collect(Collectors.toList());
+        }
+
+        List<String> names = new ArrayList<>();
+
+        for (Path path : filePaths) {
+            names.add(root.relativize(path).toString().replace('\\', '/'));
+        }
+
+        // Sorted for the packs to be reproducible.
+        Collections.sort(names);
+
+        long indexSize = 12;
+
+        for (String name : names) {
+            indexSize += 2 + name.getBytes(StandardCharsets.UTF_8).length + 16;
+        }
+
+        // Written next to the destination then moved, for a running game to never map a partially written pack.
+        Path output = Paths.get(outputPath).toAbsolutePath();
+        Path temporaryOutput = Paths.get(outputPath + ".tmp").toAbsolutePath();
+
+        try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(temporaryOutput.toFile())))) {
+            stream.writeInt(AssetPack.magicNumber);
+            stream.writeInt(AssetPack.formatVersion);
+            stream.writeInt(names.size());
+
+            long offset = indexSize;
+
+            for (String name : names) {
+                byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+                long size = Files.size(root.resolve(name));
+
+                stream.writeShort(nameBytes.length);
+                stream.write(nameBytes);
+                stream.writeLong(offset);
+                stream.writeLong(size);
+
+                offset += size;
+            }
+
+            for (String name : names) {
+                Files.copy(root.resolve(name), stream);
+            }
+        }
+
+        Files.move(temporaryOutput, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (Game.isDebugging()) {
+            Out.printlnDebug("Asset pack created: " + outputPath + " (" + names.size() + " files)");
+        }
+    }
+}
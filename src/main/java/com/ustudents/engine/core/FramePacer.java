@@ -0,0 +1,60 @@
+package com.ustudents.engine.core;
+
+/**
+ * Limits the rate of the game loop by waiting until the end of each frame's time slot.
+ *
+ * Sleeping is only precise to a few milliseconds, so the pacer sleeps until shortly before the deadline and yields
+ * for the remaining time.
+ */
+public class FramePacer {
+    /** The time (in nanoseconds) before the deadline from which the pacer stops sleeping and starts yielding. */
+    private static final long yieldThreshold = 2000000L;
+
+    /** The deadline of the current frame (in nanoseconds). */
+    private long deadline;
+
+    public FramePacer() {
+        this.deadline = System.nanoTime();
+    }
+
+    /**
+     * Waits until the end of the current frame's time slot.
+     *
+     * @param framerate The number of frames per second to reach (zero or less to not wait at all).
+     */
+    public void sync(int framerate) {
+        long now = System.nanoTime();
+
+        if (framerate <= 0) {
+            deadline = now;
+            return;
+        }
+
+        long frameDuration = 1000000000L / framerate;
+
+        deadline += frameDuration;
+
+        // If we are late by more than a frame (or the framerate just changed), we start a new schedule from now
+        // instead of rushing frames to catch up.
+        if (deadline < now - frameDuration || deadline > now + frameDuration) {
+            deadline = now;
+            return;
+        }
+
+        try {
+            long remaining = deadline - now;
+
+            while (remaining > yieldThreshold) {
+                long sleepDuration = remaining - yieldThreshold;
+                Thread.sleep(sleepDuration / 1000000L, (int)(sleepDuration % 1000000L));
+                remaining = deadline - System.nanoTime();
+            }
+
+            while (deadline - System.nanoTime() > 0) {
+                Thread.yield();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ustudents.engine.core;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.LongSupplier;
+
+/** The bookkeeping of a cached resource: its references, its holders, its last use and its memory usage. */
+public class ResourceEntry {
+    private final ResourceType type;
+
+    private final String name;
+
+    /** Gives the memory used by the resource (in bytes). */
+    private final LongSupplier sizeSupplier;
+
+    /** Unloads the resource from the cache. */
+    private final Runnable unloader;
+
+    /** The number of owners referencing the resource. */
+    private int references;
+
+    /** The objects holding the resource, weakly referenced for a holder to let go of it once garbage collected. */
+    private final Set<Object> holders;
+
+    /** The last time (in nanoseconds) the resource was loaded. */
+    private long lastUse;
+
+    public ResourceEntry(ResourceType type, String name, LongSupplier sizeSupplier, Runnable unloader) {
+        this.type = type;
+        this.name = name;
+        this.sizeSupplier = sizeSupplier;
+        this.unloader = unloader;
+        this.references = 0;
+        this.holders = Collections.newSetFromMap(new WeakHashMap<>());
+        this.lastUse = System.nanoTime();
+    }
+
+    void addReference() {
+        references++;
+    }
+
+    void removeReference() {
+        references = Math.max(references - 1, 0);
+    }
+
+    void addHolder(Object holder) {
+        holders.add(holder);
+    }
+
+    void removeHolder(Object holder) {
+        holders.remove(holder);
+    }
+
+    void markUsed() {
+        lastUse = System.nanoTime();
+    }
+
+    void unload() {
+        unloader.run();
+    }
+
+    public ResourceType getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return sizeSupplier.getAsLong();
+    }
+
+    public int getReferences() {
+        return references;
+    }
+
+    /** @return if an object still holds the resource (whatever the owners referencing it). */
+    public boolean isHeld() {
+        return !holders.isEmpty();
+    }
+
+    public long getLastUse() {
+        return lastUse;
+    }
+}
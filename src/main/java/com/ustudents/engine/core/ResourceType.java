@@ -0,0 +1,9 @@
+package com.ustudents.engine.core;
+
+/** The types of resources cached by `Resources` (used for the memory metrics). */
+public enum ResourceType {
+    Texture,
+    Font,
+    Sound,
+    Spritesheet
+}
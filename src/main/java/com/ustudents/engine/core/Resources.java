@@ -5,13 +5,15 @@ import com.ustudents.engine.GameConfig;
 import com.ustudents.engine.audio.Sound;
 import com.ustudents.engine.core.cli.print.Out;
 import com.ustudents.engine.core.json.Json;
+import com.ustudents.engine.core.json.JsonReader;
 import com.ustudents.engine.graphic.Font;
+import com.ustudents.engine.graphic.FontAtlas;
 import com.ustudents.engine.graphic.Shader;
 import com.ustudents.engine.graphic.Spritesheet;
 import com.ustudents.engine.graphic.Texture;
 import com.ustudents.engine.i18n.Language;
+import com.ustudents.engine.i18n.LocalizedText;
 import com.ustudents.engine.utility.FileUtil;
-import com.ustudents.engine.utility.StringUtil;
 
 import java.io.File;
 import java.nio.file.Files;
@@ -33,6 +35,7 @@ public class Resources {
     private static final String savesDirectoryName = "saves";
     private static final String localizationsDirectoryName = "i18n";
     private static final String settingsFilename = "settings.json";
+    private static final String assetPackFilename = "assets.pack";
     private static final ReentrantReadWriteLock settingsLock = new ReentrantReadWriteLock();
     private static final Lock settingsReadLock = settingsLock.readLock();
     private static final Lock settingsWriteLock = settingsLock.writeLock();
@@ -41,10 +44,24 @@ public class Resources {
     private static Map<String, Texture> textures;
     private static Map<String, Sound> sounds;
     private static Map<String, Map<Integer, Font>> fonts;
+    private static Map<String, FontAtlas> fontAtlases;
     private static Map<String, Spritesheet> spritesheets;
+    private static Map<String, ResourceEntry> textureEntries;
+    private static Map<String, ResourceEntry> soundEntries;
+    private static Map<String, Map<Integer, ResourceEntry>> fontEntries;
+    private static Map<String, ResourceEntry> spritesheetEntries;
+    private static Map<Object, Set<ResourceEntry>> referencesPerOwner;
+    private static Set<ResourceEntry> ownerReferences;
+    private static Object referenceOwner;
+    private static boolean evictionCheckNeeded;
+    private static AssetLoader assetLoader;
+    private static AssetPack assetPack;
     private static GameConfig config;
     private static List<String> languagesList;
 
+    /** The current language, swapped as a whole when the language changes. */
+    private static volatile Language currentLanguage;
+
     /**
      * Gets the data directory's path.
      *
@@ -103,13 +120,23 @@ public class Resources {
     /** Loads everything. */
     public static void loadAndInitialize() {
         loadConfig();
+        mountAssetPack();
         loadLanguages();
 
         shaders = new HashMap<>();
         textures = new HashMap<>();
         fonts = new HashMap<>();
+        fontAtlases = new HashMap<>();
         sounds = new HashMap<>();
         spritesheets = new HashMap<>();
+        textureEntries = new HashMap<>();
+        soundEntries = new HashMap<>();
+        fontEntries = new HashMap<>();
+        spritesheetEntries = new HashMap<>();
+        referencesPerOwner = new HashMap<>();
+        setReferenceOwner(null);
+        evictionCheckNeeded = false;
+        assetLoader = new AssetLoader(config.assetLoadingThreads);
     }
 
     public static void loadDefaultResources() {
@@ -121,6 +148,8 @@ public class Resources {
 
     /** Saves everything. */
     public static void saveAndUnload(String message) {
+        assetLoader.destroy();
+
         for (Map.Entry<String, Shader> shaderSet : shaders.entrySet()) {
             unloadShader(shaderSet.getKey(), false);
         }
@@ -141,6 +170,12 @@ public class Resources {
 
         fonts.clear();
 
+        for (Map.Entry<String, FontAtlas> fontAtlasSet : fontAtlases.entrySet()) {
+            fontAtlasSet.getValue().destroy();
+        }
+
+        fontAtlases.clear();
+
         for (Map.Entry<String, Sound> soundSet : sounds.entrySet()) {
             unloadSound(soundSet.getKey(), false);
         }
@@ -149,6 +184,13 @@ public class Resources {
 
         spritesheets.clear();
 
+        textureEntries.clear();
+        soundEntries.clear();
+        fontEntries.clear();
+        spritesheetEntries.clear();
+        referencesPerOwner.clear();
+        setReferenceOwner(null);
+
         saveConfig(message);
     }
 
@@ -169,6 +211,40 @@ public class Resources {
         }
     }
 
+    /** Uses the asset pack instead of the loose asset files, if it exists and is enabled. */
+    private static void mountAssetPack() {
+        File file = new File(getDataDirectory() + "/" + assetPackFilename);
+
+        if (config.useAssetPack && file.exists()) {
+            try {
+                assetPack = new AssetPack(file.getPath(), getDataDirectory());
+                JsonReader.setAssetPack(assetPack);
+
+                if (Game.isDebugging()) {
+                    Out.printlnDebug("Asset pack mounted: " + file.getPath() + " (" + assetPack.getNumberOfFiles() +
+                            " files)");
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /** Packs the asset files (every file of the data directory, except the settings, the saves and the logs). */
+    public static void packAssets() {
+        try {
+            AssetPacker.pack(getDataDirectory(), Arrays.asList(savesDirectoryName, logsDirectoryName),
+                    getDataDirectory() + "/" + assetPackFilename);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** @return the mounted asset pack (null if the loose asset files are used). */
+    public static AssetPack getAssetPack() {
+        return assetPack;
+    }
+
     /** Saves the settings on the hard drive. */
     private static void saveConfig(String message) {
         try {
@@ -187,8 +263,10 @@ public class Resources {
             }
 
             try {
-                String vertexShaderCode = FileUtil.readFileToString(getShadersDirectory() + "/" + fileName + ".vert");
-                String fragmentShaderCode = FileUtil.readFileToString(getShadersDirectory() + "/" + fileName + ".frag");
+                String vertexShaderCode = FileUtil.readFileToString(assetPack,
+                        getShadersDirectory() + "/" + fileName + ".vert");
+                String fragmentShaderCode = FileUtil.readFileToString(assetPack,
+                        getShadersDirectory() + "/" + fileName + ".frag");
                 shaders.put(fileName, new Shader(vertexShaderCode, fragmentShaderCode));
             } catch (Exception e) {
                 e.printStackTrace();
@@ -229,12 +307,18 @@ public class Resources {
     }
 
     public static Texture loadTexture(String filePath) {
+        if (assetLoader.isPending(getTexturesDirectory() + "/" + filePath)) {
+            assetLoader.complete(getTexturesDirectory() + "/" + filePath);
+        }
+
         if (!textures.containsKey(filePath)) {
             if (Game.isDebugging()) {
                 Out.printlnDebug("Texture loaded: " + getTexturesDirectory() + "/" + filePath);
             }
 
-            textures.put(filePath, new Texture(getTexturesDirectory() + "/" + filePath));
+            Texture texture = new Texture(getTexturesDirectory() + "/" + filePath);
+            textures.put(filePath, texture);
+            trackTexture(filePath, texture);
         }
 
         Texture texture = textures.get(filePath);
@@ -244,9 +328,56 @@ public class Resources {
             return loadTexture(filePath);
         }
 
+        reference(textureEntries.get(filePath));
+
+        return texture;
+    }
+
+    /**
+     * Starts loading a texture in the background (the returned texture is drawn as a placeholder until it is loaded).
+     *
+     * @param filePath The texture's path.
+     * @return the texture.
+     */
+    public static Texture loadTextureAsync(String filePath) {
+        if (!textures.containsKey(filePath)) {
+            if (Game.isDebugging()) {
+                Out.printlnDebug("Texture loading: " + getTexturesDirectory() + "/" + filePath);
+            }
+
+            Texture texture = new Texture(getTexturesDirectory() + "/" + filePath, true);
+            textures.put(filePath, texture);
+            trackTexture(filePath, texture);
+
+            if (Game.get().canRender()) {
+                assetLoader.load(getTexturesDirectory() + "/" + filePath, texture::decode);
+            }
+        }
+
+        Texture texture = textures.get(filePath);
+
+        if (texture.isDestroyed()) {
+            textures.remove(filePath);
+            return loadTextureAsync(filePath);
+        }
+
+        reference(textureEntries.get(filePath));
+
         return texture;
     }
 
+    /**
+     * Waits for an asset loaded in the background to be decoded, then uploads it right away (does nothing if the asset
+     * is not being loaded).
+     *
+     * @param filePath The asset's file path (including its directory, like the name given to the asset loader).
+     */
+    public static void completeLoading(String filePath) {
+        if (assetLoader != null && assetLoader.isPending(filePath)) {
+            assetLoader.complete(filePath);
+        }
+    }
+
     public static Texture getTexture(String filePath) {
         return textures.get(filePath);
     }
@@ -265,6 +396,7 @@ public class Resources {
 
             if (removeFromList) {
                 textures.remove(filePath);
+                untrack(textureEntries.remove(filePath));
             }
         }
     }
@@ -279,7 +411,23 @@ public class Resources {
                 Out.printlnDebug("Font loaded: " + getFontsDirectory() + "/" + filePath);
             }
 
-            fonts.get(filePath).put(fontSize, new Font(getFontsDirectory() + "/" + filePath, fontSize));
+            Font font;
+
+            if (config.useSharedFontAtlas) {
+                font = new Font(loadFontAtlas(filePath), fontSize);
+            } else {
+                font = new Font(getFontsDirectory() + "/" + filePath, fontSize);
+            }
+
+            fonts.get(filePath).put(fontSize, font);
+
+            if (!fontEntries.containsKey(filePath)) {
+                fontEntries.put(filePath, new HashMap<>());
+            }
+
+            fontEntries.get(filePath).put(fontSize, track(new ResourceEntry(ResourceType.Font,
+                    filePath + " (size " + fontSize + "px)", font::getResidentSize,
+                    () -> unloadFont(filePath, fontSize))));
         }
 
         Font font = fonts.get(filePath).get(fontSize);
@@ -289,9 +437,36 @@ public class Resources {
             return loadFont(filePath, fontSize);
         }
 
+        reference(fontEntries.get(filePath).get(fontSize));
+
         return font;
     }
 
+    /**
+     * Loads the atlas shared by every size of a font (used when `useSharedFontAtlas` is enabled).
+     *
+     * @param filePath The font's path.
+     * @return the atlas.
+     */
+    public static FontAtlas loadFontAtlas(String filePath) {
+        if (!fontAtlases.containsKey(filePath)) {
+            if (Game.isDebugging()) {
+                Out.printlnDebug("Font atlas loaded: " + getFontsDirectory() + "/" + filePath);
+            }
+
+            fontAtlases.put(filePath, new FontAtlas(getFontsDirectory() + "/" + filePath, Font.getDefaultCharacterSet()));
+        }
+
+        FontAtlas fontAtlas = fontAtlases.get(filePath);
+
+        if (fontAtlas.isDestroyed()) {
+            fontAtlases.remove(filePath);
+            return loadFontAtlas(filePath);
+        }
+
+        return fontAtlas;
+    }
+
     public static Font getFont(String filePath, int fontSize) {
         return fonts.get(filePath).get(fontSize);
     }
@@ -314,26 +489,84 @@ public class Resources {
                 if (fonts.get(filePath).isEmpty()) {
                     fonts.remove(filePath);
                 }
+
+                if (fontEntries.containsKey(filePath)) {
+                    untrack(fontEntries.get(filePath).remove(fontSize));
+
+                    if (fontEntries.get(filePath).isEmpty()) {
+                        fontEntries.remove(filePath);
+                    }
+                }
             }
         }
     }
 
     public static Sound loadSound(String filePath) {
+        return loadSound(filePath, false);
+    }
+
+    /**
+     * Loads a sound.
+     *
+     * @param filePath The sound's path.
+     * @param streamed Defines if the sound is decoded progressively while it is played (for long sounds like musics),
+     *                 ignored if the sound is already loaded.
+     * @return the sound.
+     */
+    public static Sound loadSound(String filePath, boolean streamed) {
+        if (assetLoader.isPending(getSoundsDirectoryName() + "/" + filePath)) {
+            assetLoader.complete(getSoundsDirectoryName() + "/" + filePath);
+        }
+
         if (!sounds.containsKey(filePath)) {
             if (Game.isDebugging()) {
                 Out.printlnDebug("Sound loaded: " + getSoundsDirectoryName() + "/" + filePath);
             }
 
-            sounds.put(filePath, new Sound(getSoundsDirectoryName() + "/" + filePath));
+            Sound sound = new Sound(getSoundsDirectoryName() + "/" + filePath, false, streamed);
+            sounds.put(filePath, sound);
+            trackSound(filePath, sound);
         }
 
         Sound sound = sounds.get(filePath);
 
         if (sound.isDestroyed()) {
             sounds.remove(filePath);
-            return loadSound(filePath);
+            return loadSound(filePath, streamed);
         }
 
+        reference(soundEntries.get(filePath));
+
+        return sound;
+    }
+
+    /**
+     * Starts loading a sound in the background (the returned sound is silent until it is loaded).
+     *
+     * @param filePath The sound's path.
+     * @return the sound.
+     */
+    public static Sound loadSoundAsync(String filePath) {
+        if (!sounds.containsKey(filePath)) {
+            if (Game.isDebugging()) {
+                Out.printlnDebug("Sound loading: " + getSoundsDirectoryName() + "/" + filePath);
+            }
+
+            Sound sound = new Sound(getSoundsDirectoryName() + "/" + filePath, true);
+            sounds.put(filePath, sound);
+            trackSound(filePath, sound);
+            assetLoader.load(getSoundsDirectoryName() + "/" + filePath, sound::decode);
+        }
+
+        Sound sound = sounds.get(filePath);
+
+        if (sound.isDestroyed()) {
+            sounds.remove(filePath);
+            return loadSoundAsync(filePath);
+        }
+
+        reference(soundEntries.get(filePath));
+
         return sound;
     }
 
@@ -355,6 +588,7 @@ public class Resources {
 
             if (removeFromList) {
                 sounds.remove(filePath);
+                untrack(soundEntries.remove(filePath));
             }
         }
     }
@@ -366,6 +600,8 @@ public class Resources {
             }
 
             spritesheets.put(filePath, Json.deserialize(getTexturesDirectory() + "/" + filePath, Spritesheet.class));
+            spritesheetEntries.put(filePath, track(new ResourceEntry(ResourceType.Spritesheet, filePath, () -> 0,
+                    () -> unloadSpritesheet(filePath))));
         }
 
         Spritesheet spritesheet = spritesheets.get(filePath);
@@ -377,13 +613,371 @@ public class Resources {
             throw new IllegalStateException("Can't find spritesheet '" + filePath + "'");
         }
 
+        if (spritesheet.getTexture().isDestroyed()) {
+            // Its texture has been evicted.
+            unloadSpritesheet(filePath);
+            return loadSpritesheet(filePath);
+        }
+
+        reference(spritesheetEntries.get(filePath));
+        // The owner also references the texture, for it to stay loaded as long as the spritesheet is used.
+        reference(textureEntries.get(spritesheet.getTexture().getPath()));
+
         return spritesheet;
     }
+
+    public static void unloadSpritesheet(String filePath) {
+        if (spritesheets.containsKey(filePath)) {
+            if (Game.isDebugging()) {
+                Out.printlnDebug("Spritesheet unloaded: " + getTexturesDirectory() + "/" + filePath);
+            }
+
+            spritesheets.remove(filePath);
+            untrack(spritesheetEntries.remove(filePath));
+        }
+    }
     
     public static Spritesheet getSpritesheet(String filePath) {
         return spritesheets.get(filePath);
     }
 
+    /**
+     * Starts loading every asset of a group in the background.
+     *
+     * @param group The group.
+     */
+    public static void preload(AssetGroup group) {
+        for (String filePath : group.getTextures()) {
+            loadTextureAsync(filePath);
+        }
+
+        for (String filePath : group.getSpritesheets()) {
+            if (!spritesheets.containsKey(filePath)) {
+                try {
+                    // Only the texture is worth decoding in the background, the description itself is tiny.
+                    Object texturePath = JsonReader.readMap(getTexturesDirectory() + "/" + filePath).get("path");
+
+                    if (texturePath instanceof String) {
+                        loadTextureAsync((String)texturePath);
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        for (String filePath : group.getSounds()) {
+            loadSoundAsync(filePath);
+        }
+    }
+
+    /**
+     * Loads every asset of a group, their files being decoded in parallel (waits until they are all loaded).
+     *
+     * @param group The group.
+     */
+    public static void load(AssetGroup group) {
+        preload(group);
+
+        for (String filePath : group.getTextures()) {
+            loadTexture(filePath);
+        }
+
+        for (String filePath : group.getSpritesheets()) {
+            loadSpritesheet(filePath);
+        }
+
+        for (String filePath : group.getSounds()) {
+            loadSound(filePath);
+        }
+    }
+
+    /**
+     * Checks if every asset of a group is loaded.
+     *
+     * @param group The group.
+     * @return if no asset of the group is still being loaded.
+     */
+    public static boolean isLoaded(AssetGroup group) {
+        for (String filePath : group.getTextures()) {
+            if (!textures.containsKey(filePath) || assetLoader.isPending(getTexturesDirectory() + "/" + filePath)) {
+                return false;
+            }
+        }
+
+        for (String filePath : group.getSpritesheets()) {
+            if (!spritesheets.containsKey(filePath)) {
+                return false;
+            }
+        }
+
+        for (String filePath : group.getSounds()) {
+            if (!sounds.containsKey(filePath) || assetLoader.isPending(getSoundsDirectoryName() + "/" + filePath)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Sets the owner of the references taken from now on by the `load` functions (a resource stays loaded as long as
+     * an owner references it, then it can be evicted to respect the memory budgets).
+     *
+     * @param owner The owner (usually the current scene, null for the game itself which never releases its
+     *              references).
+     */
+    public static void setReferenceOwner(Object owner) {
+        referenceOwner = owner;
+
+        if (!referencesPerOwner.containsKey(owner)) {
+            referencesPerOwner.put(owner, new HashSet<>());
+        }
+
+        ownerReferences = referencesPerOwner.get(owner);
+    }
+
+    public static Object getReferenceOwner() {
+        return referenceOwner;
+    }
+
+    /**
+     * Releases every reference taken by an owner.
+     *
+     * @param owner The owner.
+     */
+    public static void releaseReferences(Object owner) {
+        if (owner == null || !referencesPerOwner.containsKey(owner)) {
+            return;
+        }
+
+        for (ResourceEntry entry : referencesPerOwner.remove(owner)) {
+            entry.removeReference();
+        }
+
+        if (owner == referenceOwner) {
+            setReferenceOwner(owner);
+        }
+
+        evictionCheckNeeded = true;
+    }
+
+    /**
+     * Marks a texture as held by an object, for it not to be evicted as long as the object is reachable (whichever
+     * owner loaded it). Does nothing for a texture not loaded by `loadTexture`.
+     *
+     * @param texture The texture (or a copy of a loaded texture).
+     * @param holder The holder.
+     */
+    public static void hold(Texture texture, Object holder) {
+        if (texture != null) {
+            hold(textureEntries.get(texture.getPath()), holder);
+        }
+    }
+
+    /**
+     * Marks a font as held by an object, for it not to be evicted as long as the object is reachable.
+     *
+     * @param font The font.
+     * @param holder The holder.
+     */
+    public static void hold(Font font, Object holder) {
+        if (font != null && fontEntries.containsKey(font.getPath())) {
+            hold(fontEntries.get(font.getPath()).get(font.getSize()), holder);
+        }
+    }
+
+    /**
+     * Stops an object from holding a font (the font can then be evicted once no owner references it).
+     *
+     * @param font The font.
+     * @param holder The holder.
+     */
+    public static void release(Font font, Object holder) {
+        if (font != null && fontEntries.containsKey(font.getPath())) {
+            ResourceEntry entry = fontEntries.get(font.getPath()).get(font.getSize());
+
+            if (entry != null) {
+                entry.removeHolder(holder);
+            }
+        }
+    }
+
+    /**
+     * Marks a spritesheet (through its texture) as held by an object, for it not to be evicted as long as the object
+     * is reachable.
+     *
+     * @param spritesheet The spritesheet.
+     * @param holder The holder.
+     */
+    public static void hold(Spritesheet spritesheet, Object holder) {
+        if (spritesheet != null) {
+            hold(spritesheet.getTexture(), holder);
+        }
+    }
+
+    /**
+     * Unloads the resources referenced by no owner and held by no object, least recently used first, until the memory used by the textures
+     * and fonts fits in `gpuMemoryBudget` and the memory used by the sounds fits in `heapMemoryBudget`.
+     *
+     * Must be called between frames, as a resource may still be used by the spritebatch until the end of a frame.
+     */
+    public static void evictUnusedResources() {
+        if (!evictionCheckNeeded) {
+            return;
+        }
+
+        evictionCheckNeeded = false;
+
+        evictUnusedResources(config.gpuMemoryBudget, ResourceType.Texture, ResourceType.Font);
+        evictUnusedResources(config.heapMemoryBudget, ResourceType.Sound);
+
+        for (ResourceEntry entry : new ArrayList<>(spritesheetEntries.values())) {
+            Spritesheet spritesheet = spritesheets.get(entry.getName());
+
+            if (entry.getReferences() == 0 && spritesheet != null && spritesheet.getTexture().isDestroyed()) {
+                entry.unload();
+            }
+        }
+    }
+
+    /**
+     * Gets the memory used by the loaded resources of a type.
+     *
+     * @param type The type.
+     * @return the size (in bytes).
+     */
+    public static long getResidentSize(ResourceType type) {
+        long size = 0;
+
+        for (ResourceEntry entry : getResourceEntries()) {
+            if (entry.getType() == type) {
+                size += entry.getSize();
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets the number of loaded resources of a type.
+     *
+     * @param type The type.
+     * @return the number of resources.
+     */
+    public static int getNumberOfResources(ResourceType type) {
+        int numberOfResources = 0;
+
+        for (ResourceEntry entry : getResourceEntries()) {
+            if (entry.getType() == type) {
+                numberOfResources++;
+            }
+        }
+
+        return numberOfResources;
+    }
+
+    private static void evictUnusedResources(int budget, ResourceType... types) {
+        if (budget <= 0) {
+            return;
+        }
+
+        List<ResourceType> typeList = Arrays.asList(types);
+        List<ResourceEntry> candidates = new ArrayList<>();
+        long limit = budget * 1024L * 1024L;
+        long size = 0;
+
+        for (ResourceEntry entry : getResourceEntries()) {
+            if (typeList.contains(entry.getType())) {
+                size += entry.getSize();
+
+                if (entry.getReferences() == 0 && !entry.isHeld()) {
+                    candidates.add(entry);
+                }
+            }
+        }
+
+        if (size <= limit) {
+            return;
+        }
+
+        candidates.sort(Comparator.comparingLong(ResourceEntry::getLastUse));
+
+        for (ResourceEntry entry : candidates) {
+            if (size <= limit) {
+                break;
+            }
+
+            size -= entry.getSize();
+
+            if (Game.isDebugging()) {
+                Out.printlnDebug("Resource evicted: " + entry.getName());
+            }
+
+            entry.unload();
+        }
+    }
+
+    private static List<ResourceEntry> getResourceEntries() {
+        List<ResourceEntry> entries = new ArrayList<>(textureEntries.values());
+
+        for (Map<Integer, ResourceEntry> entriesPerSize : fontEntries.values()) {
+            entries.addAll(entriesPerSize.values());
+        }
+
+        entries.addAll(soundEntries.values());
+        entries.addAll(spritesheetEntries.values());
+
+        return entries;
+    }
+
+    private static void trackTexture(String filePath, Texture texture) {
+        textureEntries.put(filePath, track(new ResourceEntry(ResourceType.Texture, filePath,
+                texture::getResidentSize, () -> unloadTexture(filePath))));
+    }
+
+    private static void trackSound(String filePath, Sound sound) {
+        soundEntries.put(filePath, track(new ResourceEntry(ResourceType.Sound, filePath,
+                sound::getResidentSize, () -> unloadSound(filePath))));
+    }
+
+    private static ResourceEntry track(ResourceEntry entry) {
+        evictionCheckNeeded = true;
+        return entry;
+    }
+
+    /** Forgets an unloaded resource (the owners still referencing it lose their reference). */
+    private static void untrack(ResourceEntry entry) {
+        if (entry != null) {
+            for (Set<ResourceEntry> references : referencesPerOwner.values()) {
+                references.remove(entry);
+            }
+        }
+    }
+
+    private static void hold(ResourceEntry entry, Object holder) {
+        if (entry != null) {
+            entry.addHolder(holder);
+        }
+    }
+
+    /** Adds a reference from the current owner (once per owner). */
+    private static void reference(ResourceEntry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        entry.markUsed();
+
+        if (ownerReferences.add(entry)) {
+            entry.addReference();
+        }
+    }
+
+    public static AssetLoader getAssetLoader() {
+        return assetLoader;
+    }
+
     public static GameConfig getConfig() {
         return config;
     }
@@ -392,29 +986,70 @@ public class Resources {
         languages = new HashMap<>();
         languagesList = new ArrayList<>();
 
-        for (final File fileEntry : new File(getDataDirectory() + "/" + localizationsDirectoryName).listFiles()) {
-            languagesList.add(FileUtil.getFileNameWithoutExtension(fileEntry));
-            languages.put(FileUtil.getFileNameWithoutExtension(fileEntry), Json.deserialize(fileEntry.getAbsolutePath(), Language.class));
+        for (String filePath : FileUtil.listFiles(assetPack, getDataDirectory() + "/" + localizationsDirectoryName)) {
+            String name = FileUtil.getFileNameWithoutExtension(filePath);
+            Language language = Json.deserialize(filePath, Language.class);
+
+            if (language != null) {
+                language.compile(name);
+            }
+
+            languagesList.add(name);
+            languages.put(name, language);
         }
+
+        setConfigLanguage();
     }
 
     public static String getLocalizedText(String textId, Object... values) {
-        if (languages.containsKey(config.language) && languages.get(config.language).content.containsKey(textId)) {
-            return StringUtil.parseValuesFromString(languages.get(config.language).content.get(textId), values, textId);
+        // The configuration's language may have been changed directly (when loading the settings for example).
+        Language language = currentLanguage;
+
+        if (language == null || !language.getName().equals(config.language)) {
+            setConfigLanguage();
+            language = currentLanguage;
+        }
+
+        LocalizedText text = language.getText(textId);
+
+        if (text != null) {
+            return text.format(values, textId);
         }
 
         return textId;
     }
 
+    /**
+     * Changes the current language, the texts of the new language are used as a whole from then on.
+     *
+     * @param name The language's name.
+     */
+    public static void setLanguage(String name) {
+        if (name == null) {
+            throw new IllegalStateException("Can't set a language without name");
+        }
+
+        Language language = languages.get(name);
+
+        if (language == null) {
+            // Unknown language, the identifiers of the texts are used instead.
+            language = new Language();
+            language.compile(name);
+        }
+
+        config.language = name;
+        currentLanguage = language;
+    }
+
     public static void chooseNextLanguage() {
         for (int i = 0; i < languagesList.size(); i++) {
             if (languagesList.get(i).equals(config.language)) {
                 if (i+1 >= languagesList.size()) {
-                    config.language = languagesList.get(0);
+                    setLanguage(languagesList.get(0));
                     break;
                 }
                 else{
-                    config.language = languagesList.get(i+1);
+                    setLanguage(languagesList.get(i+1));
                     break;
                 }
             }
@@ -422,7 +1057,16 @@ public class Resources {
     }
 
     public static void chooseDefaultLanguage() {
-        config.language = languagesList.get(1);
+        setLanguage(languagesList.get(1));
+    }
+
+    /** Uses the configuration's language, or the default language if the settings have none. */
+    private static void setConfigLanguage() {
+        if (config.language == null) {
+            chooseDefaultLanguage();
+        } else {
+            setLanguage(config.language);
+        }
     }
 
     public static void resetConfig() {
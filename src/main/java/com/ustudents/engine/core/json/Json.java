@@ -1,21 +1,23 @@
 package com.ustudents.engine.core.json;
 
 import com.ustudents.engine.core.json.annotation.JsonSerializable;
-import com.ustudents.engine.core.json.annotation.JsonSerializableConstructor;
-import com.ustudents.engine.core.json.annotation.JsonSerializableType;
+import com.ustudents.engine.utility.ReflectionUtil;
 import org.joml.*;
 
 import java.lang.reflect.Field;
 import java.lang.Class;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.ustudents.engine.utility.ReflectionUtil.*;
 
 /** Contains utility functions to deserialize and serialize Json data format files. */
 @SuppressWarnings({"unchecked", "unused"})
 public class Json {
+    /** The type graphs of the generic fields, by type name (generated on first use). */
+    private static final Map<String, TypeGraph> typeGraphs = new ConcurrentHashMap<>();
+
     /**
      * Serialize a Json file from an object.
      *
@@ -25,7 +27,7 @@ public class Json {
      */
     public static <T> void serialize(String filePath, T object) {
         try {
-            JsonWriter.writeToFile(filePath, serialize(object));
+            JsonWriter.writeObjectToFile(filePath, object);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -33,7 +35,7 @@ public class Json {
 
     public static <T> void serialize(String filePath, T object, String message) {
         try {
-            JsonWriter.writeToFile(filePath, serialize(object), message);
+            JsonWriter.writeObjectToFile(filePath, object, message);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -48,34 +50,41 @@ public class Json {
      * @return the map.
      */
     public static <T> Map<String, Object> serialize(T object) {
+        return serialize(object, Collections.emptySet());
+    }
+
+    /**
+     * Serialize a Json map from an object, without some of its fields (to write them another way).
+     *
+     * @param object The object to serialize.
+     * @param excludedKeys The keys of the fields to leave out.
+     * @param <T> The type of the object.
+     *
+     * @return the map.
+     */
+    public static <T> Map<String, Object> serialize(T object, Set<String> excludedKeys) {
         try {
-            Class<T> type = (Class<T>) object.getClass();
+            SerializationPlan plan = SerializationPlan.of(object.getClass());
+            plan.checkSerializable();
 
-            isSerializable(type);
+            // The generated serializer writes every field.
+            if (plan.generatedSerializer != null && excludedKeys.isEmpty()) {
+                return ((JsonTypeSerializer<Object>)plan.generatedSerializer).serialize(object);
+            }
 
             Map<String, Object> json = new LinkedHashMap<>();
-            List<Field> fields = findSerializableFields(type);
-
-            for (Field field : fields) {
-                JsonSerializable serializable = field.getAnnotation(JsonSerializable.class);
 
-                if (serializable.type() == JsonSerializableType.DeserializableOnly) {
+            for (SerializationPlan.FieldPlan field : plan.serializedFields) {
+                if (excludedKeys.contains(field.key)) {
                     continue;
                 }
 
-                field.setAccessible(true);
+                Object value = field.get(object);
 
-                String key = serializable.path().isEmpty() ? field.getName() : serializable.path();
-                String[] path = key.split("\\.");
-
-                if (field.getType().isAnnotationPresent(JsonSerializable.class)) {
-                    if (field.get(object) == null) {
-                        insertInMapAtSearchPath(json, path, null);
-                    } else {
-                        insertInMapAtSearchPath(json, path, serialize(field.get(object)));
-                    }
+                if (field.serializableType && value != null) {
+                    insertInMapAtSearchPath(json, field.path, serialize(value));
                 } else {
-                    insertInMapAtSearchPath(json, path, field.get(object));
+                    insertInMapAtSearchPath(json, field.path, value);
                 }
             }
 
@@ -94,19 +103,35 @@ public class Json {
      * @param path The path to search in.
      * @param value The value to add.
      */
-    private static void insertInMapAtSearchPath(Map<String, Object> map, String[] path, Object value) {
-        if (path.length == 1) {
-            map.put(path[0], value);
-            return;
+    public static void insertInMapAtSearchPath(Map<String, Object> map, String[] path, Object value) {
+        for (int i = 0; i < path.length - 1; i++) {
+            if (!map.containsKey(path[i])) {
+                map.put(path[i], new LinkedHashMap<String, Object>());
+            }
+
+            map = (Map<String, Object>)map.get(path[i]);
         }
 
-        if (!map.containsKey(path[0])) {
-            insertInMapAtSearchPath(map, new String[] {path[0]}, new LinkedHashMap<String, Object>());
+        map.put(path[path.length - 1], value);
+    }
+
+    /**
+     * Finds the map containing the last key of a path.
+     *
+     * @param map The map to search in.
+     * @param path The path to search for.
+     * @return the map containing the last key.
+     */
+    public static Map<String, Object> findMapAtSearchPath(Map<String, Object> map, String[] path) throws Exception {
+        for (int i = 0; i < path.length - 1; i++) {
+            if (map.get(path[i]) instanceof Map) {
+                map = (Map<String, Object>)map.get(path[i]);
+            } else {
+                throw new Exception("Wrong path!");
+            }
         }
 
-        String[] newPath = new String[path.length - 1];
-        System.arraycopy(path, 1, newPath, 0, path.length - 1);
-        insertInMapAtSearchPath((Map<String, Object>) map.get(path[0]), newPath, value);
+        return map;
     }
 
     /**
@@ -120,8 +145,8 @@ public class Json {
      */
     public static <T> T deserialize(String filePath, Class<T> classType) {
         try {
-            isSerializable(classType);
-            return deserialize(JsonReader.readMap(filePath), classType);
+            SerializationPlan.of(classType).checkSerializable();
+            return JsonReader.readObject(filePath, classType);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -145,70 +170,33 @@ public class Json {
     public static <T ,U> T deserialize(Map<String, Object> json, Class<T> type, Class<U> declaringClass,
                                        String declaringFieldName, TypeGraph remainingTypeGraph) {
         try {
-            isSerializable(type);
-
-            T object = type.getConstructor().newInstance();
-            List<Field> fields = findSerializableFields(type);
-
-            for (Field field : fields) {
-                JsonSerializable annotation = field.getAnnotation(JsonSerializable.class);
-
-                if (annotation.type() == JsonSerializableType.SerializableOnly) {
-                    continue;
-                }
+            SerializationPlan plan = SerializationPlan.of(type);
+            plan.checkSerializable();
 
-                field.setAccessible(true);
+            if (plan.generatedSerializer != null) {
+                return (T)plan.generatedSerializer.deserialize(json);
+            }
 
-                String key = annotation.path().isEmpty() ? field.getName() : annotation.path();
-                String[] path = key.split("\\.");
-                Map<String, Object> search = json;
+            T object = (T)plan.newInstance();
 
-                if (path.length > 1) {
-                    for (int i = 0; i < path.length - 1; i++) {
-                        if (search.get(path[i]) instanceof Map) {
-                            search = (Map<String, Object>)search.get(path[i]);
-                        } else {
-                            throw new Exception("Wrong path!");
-                        }
-                    }
-                }
+            for (SerializationPlan.FieldPlan fieldPlan : plan.deserializedFields) {
+                String[] path = fieldPlan.path;
+                Map<String, Object> search = path.length > 1 ? findMapAtSearchPath(json, path) : json;
 
                 if (!search.containsKey(path[path.length - 1])) {
-                    if (annotation.necessary()) {
-                        throw new Exception("Missing key '" + key + "'!");
-                    } else {
-                        setDefaultValue(field, object);
-                        continue;
+                    if (fieldPlan.necessary) {
+                        throw new Exception("Missing key '" + fieldPlan.key + "'!");
                     }
-                }
 
-                Object value = search.get(path[path.length - 1]);
-
-                if (value == null) {
-                    field.set(object, null);
-                    continue;
-                } else if (field.getType().isAnnotationPresent(JsonSerializable.class)) {
-                    field.set(object, deserialize((Map<String, Object>)value, field.getType(),
-                            field.getDeclaringClass(), field.getName(), null));
-                    continue;
-                }  else if (field.getType().getName().startsWith("java.util.Map")) {
-                    Object obj = tryDeserializeMap(field, value, object, field.getDeclaringClass(), field.getName(), remainingTypeGraph);
-                    field.set(object, obj);
-                    continue;
-                } else if (field.getType().getName().startsWith("java.util.List")) {
-                    Object obj = tryDeserializeList(field, value, object, field.getDeclaringClass(), field.getName(), remainingTypeGraph);
-                    field.set(object, obj);
+                    setMissingField(fieldPlan, object);
                     continue;
                 }
 
-                if (isGeneric(Objects.requireNonNull(findFieldInClass(field.getName(), field.getDeclaringClass())).getGenericType())) {
-                    field.set(object, set(field, value, object, declaringClass, declaringFieldName, remainingTypeGraph));
-                } else {
-                    field.set(object, set(field, value, object, null, field.getName(), remainingTypeGraph));
-                }
+                deserializeField(fieldPlan, object, search.get(path[path.length - 1]), declaringClass,
+                        declaringFieldName, remainingTypeGraph);
             }
 
-            invokeSerializableConstructor(type, object, json);
+            plan.invokeConstructionMethods(object, json);
 
             return object;
         } catch (Exception e) {
@@ -218,11 +206,74 @@ public class Json {
         return null;
     }
 
+    /**
+     * Reads a field of a serializable object (for the generated serializers, when they cannot access the field).
+     *
+     * @param object The object.
+     * @param type The object's serializable class.
+     * @param fieldName The field's name.
+     * @return the field's value.
+     */
+    public static Object readField(Object object, Class<?> type, String fieldName) throws Exception {
+        return SerializationPlan.of(type).getField(fieldName).get(object);
+    }
+
+    /**
+     * Deserializes the value of a field (for the generated serializers, when they cannot convert the value).
+     *
+     * @param object The object.
+     * @param type The object's serializable class.
+     * @param fieldName The field's name.
+     * @param value The value read from the Json map.
+     */
+    public static void deserializeField(Object object, Class<?> type, String fieldName, Object value)
+            throws Exception {
+        deserializeField(SerializationPlan.of(type).getField(fieldName), object, value, null, null, null);
+    }
+
+    /**
+     * Sets the default value of a field missing from a Json map (for the generated serializers).
+     *
+     * @param object The object.
+     * @param type The object's serializable class.
+     * @param fieldName The field's name.
+     */
+    public static void setMissingField(Object object, Class<?> type, String fieldName) throws Exception {
+        setMissingField(SerializationPlan.of(type).getField(fieldName), object);
+    }
+
+    static <U> void deserializeField(SerializationPlan.FieldPlan fieldPlan, Object object, Object value,
+                                     Class<U> declaringClass, String declaringFieldName,
+                                     TypeGraph remainingTypeGraph) throws Exception {
+        Field field = fieldPlan.field;
+
+        if (value == null) {
+            fieldPlan.set(object, null);
+        } else if (fieldPlan.serializableType) {
+            fieldPlan.set(object, deserialize((Map<String, Object>)value, field.getType(),
+                    field.getDeclaringClass(), field.getName(), null));
+        }  else if (fieldPlan.mapType) {
+            Object obj = tryDeserializeMap(field, value, object, field.getDeclaringClass(), field.getName(), remainingTypeGraph);
+            fieldPlan.set(object, obj);
+        } else if (fieldPlan.listType) {
+            Object obj = tryDeserializeList(field, value, object, field.getDeclaringClass(), field.getName(), remainingTypeGraph);
+            fieldPlan.set(object, obj);
+        } else if (fieldPlan.generic) {
+            fieldPlan.set(object, set(field, value, object, declaringClass, declaringFieldName, remainingTypeGraph));
+        } else {
+            fieldPlan.set(object, set(field, value, object, null, field.getName(), remainingTypeGraph));
+        }
+    }
+
+    static void setMissingField(SerializationPlan.FieldPlan fieldPlan, Object object) throws Exception {
+        fieldPlan.set(object, getDefaultValue(fieldPlan.field.getType()));
+    }
+
     public static <T> Object tryDeserializeList(Field field, Object value, Object object, Class<T> declaringClass, String declaringFieldName, TypeGraph remainingTypeGraph)
             throws Exception {
         Type genericType = Objects.requireNonNull(findFieldInClass(declaringFieldName, declaringClass))
                 .getGenericType();
-        TypeGraph completeTypeGraph = remainingTypeGraph == null || remainingTypeGraph.children.isEmpty() ? generateTypeGraph(genericType.getTypeName()) : remainingTypeGraph;
+        TypeGraph completeTypeGraph = remainingTypeGraph == null || remainingTypeGraph.children.isEmpty() ? getTypeGraph(genericType.getTypeName()) : remainingTypeGraph;
         TypeGraph typeGraph = completeTypeGraph.children.get(0);
 
         List<Object> list = new ArrayList<>();
@@ -244,7 +295,7 @@ public class Json {
             throws Exception {
         Type genericType = Objects.requireNonNull(findFieldInClass(declaringFieldName, declaringClass))
                 .getGenericType();
-        TypeGraph completeTypeGraph = remainingTypeGraph == null || remainingTypeGraph.children.isEmpty() ? generateTypeGraph(genericType.getTypeName()) : remainingTypeGraph;
+        TypeGraph completeTypeGraph = remainingTypeGraph == null || remainingTypeGraph.children.isEmpty() ? getTypeGraph(genericType.getTypeName()) : remainingTypeGraph;
         TypeGraph typeGraph = completeTypeGraph.children.get(1);
 
         Map<String, Object> map = new LinkedHashMap<>();
@@ -262,80 +313,87 @@ public class Json {
         return map;
     }
 
+    private static TypeGraph getTypeGraph(String typeName) {
+        return typeGraphs.computeIfAbsent(typeName, ReflectionUtil::generateTypeGraph);
+    }
+
     /**
-     * Check if a class is serializable.
+     * Converts a number read from a Json map (a `Long` or a `Double`) to an integer.
      *
-     * @param type The Java Class to use.
-     * @param <T> The class's type.
+     * @param value The value.
+     * @return the integer (null if the value is null).
      */
-    private static <T> void isSerializable(Class<T> type) throws Exception {
-        boolean isSerializable = false;
-
-        Class<?> currentType = type;
-        while (currentType != null) {
-            if (currentType.isAnnotationPresent(JsonSerializable.class)) {
-                isSerializable = true;
-                break;
-            }
-
-            currentType = currentType.getSuperclass();
-        }
-
-        if (!isSerializable) {
-            throw new Exception("Not a serializable class!");
-        }
+    public static Integer toInteger(Object value) {
+        return value instanceof Number ? (Integer)((Number)value).intValue() : (Integer)value;
     }
 
-    private static <T> List<Field> findSerializableFields(Class<T> type) {
-        ArrayList<Field> fields = new ArrayList<>();
-
-        Class<?> currentType = type;
-        while (currentType != null) {
-            if (currentType.isAnnotationPresent(JsonSerializable.class)) {
-                fields.addAll(Arrays.asList(currentType.getDeclaredFields()));
-            }
-
-            currentType = currentType.getSuperclass();
-        }
-
-        fields.removeIf(field -> !field.isAnnotationPresent(JsonSerializable.class));
+    /**
+     * Converts a number read from a Json map to a long.
+     *
+     * @param value The value.
+     * @return the long (null if the value is null).
+     */
+    public static Long toLong(Object value) {
+        return value instanceof Number ? (Long)((Number)value).longValue() : (Long)value;
+    }
 
-        return fields;
+    /**
+     * Converts a number read from a Json map to a float.
+     *
+     * @param value The value.
+     * @return the float (null if the value is null).
+     */
+    public static Float toFloat(Object value) {
+        return value instanceof Number ? (Float)((Number)value).floatValue() : (Float)value;
     }
 
-    private static void setDefaultValue(Field field, Object object) throws Exception {
-        Type type = field.getType();
+    /**
+     * Converts a number read from a Json map to a double.
+     *
+     * @param value The value.
+     * @return the double (null if the value is null).
+     */
+    public static Double toDouble(Object value) {
+        return value instanceof Number ? (Double)((Number)value).doubleValue() : (Double)value;
+    }
 
+    /**
+     * Gets the value of a field missing from a Json map.
+     *
+     * @param type The field's type.
+     * @return the value.
+     */
+    public static Object getDefaultValue(Class<?> type) {
         if (type.equals(Boolean.class)) {
-            field.set(object, false);
+            return false;
         } else if (type.equals(String.class)) {
-            field.set(object, "");
+            return "";
         } else if (type.equals(Character.class)) {
-            field.set(object, '\u0000');
+            return '\u0000';
         } else if (type.equals(Integer.class)) {
-            field.set(object, 0);
+            return 0;
         } else if (type.equals(Long.class)) {
-            field.set(object, 0L);
+            return 0L;
         } else if (type.equals(Double.class)) {
-            field.set(object, 0.0);
+            return 0.0;
         } else if (type.equals(Float.class)) {
-            field.set(object, 0.0f);
+            return 0.0f;
         } else if (type.equals(Vector2f.class)) {
-            field.set(object, new Vector2f());
+            return new Vector2f();
         } else if (type.equals(Vector3f.class)) {
-            field.set(object, new Vector3f());
+            return new Vector3f();
         } else if (type.equals(Vector4f.class)) {
-            field.set(object, new Vector4f());
+            return new Vector4f();
         } else if (type.equals(Vector2i.class)) {
-            field.set(object, new Vector2i());
+            return new Vector2i();
         } else if (type.equals(Vector3i.class)) {
-            field.set(object, new Vector3i());
+            return new Vector3i();
         } else if (type.equals(Vector4i.class)) {
-            field.set(object, new Vector4i());
+            return new Vector4i();
         } else if (type.equals(Matrix4f.class)) {
-            field.set(object, new Matrix4f());
+            return new Matrix4f();
         } else {
-            field.set(object, null);
+            return null;
         }
     }
 
@@ -355,7 +413,7 @@ public class Json {
         } else {
             Type genericType = Objects.requireNonNull(findFieldInClass(declaringFieldName, declaringClass))
                     .getGenericType();
-            TypeGraph completeTypeGraph = remainingTypeGraph == null ? generateTypeGraph(genericType.getTypeName()) : remainingTypeGraph;
+            TypeGraph completeTypeGraph = remainingTypeGraph == null ? getTypeGraph(genericType.getTypeName()) : remainingTypeGraph;
             TypeGraph typeGraph = searchType(field, genericType, completeTypeGraph);
 
             if (completeTypeGraph.children.isEmpty() && Class.forName(completeTypeGraph.name).isAnnotationPresent(JsonSerializable.class)) {
@@ -384,45 +442,13 @@ public class Json {
         if (value == null) {
             return null;
         } else if (type == Float.class) {
-            if (value instanceof Long) {
-                return ((Long) value).floatValue();
-            } else if (value instanceof Integer) {
-                return ((Integer) value).floatValue();
-            } else if (value instanceof Double) {
-                return ((Double)value).floatValue();
-            }
-
-            return value;
+            return toFloat(value);
         } else if (type == Integer.class) {
-            if (value instanceof Long) {
-                return ((Long)value).intValue();
-            } else if (value instanceof Double) {
-                return ((Double) value).intValue();
-            } else if (value instanceof Float) {
-                return ((Float) value).intValue();
-            }
-
-            return value;
+            return toInteger(value);
         } else if (type == Long.class) {
-            if (value instanceof Integer) {
-                return ((Integer) value).longValue();
-            } else if (value instanceof Double) {
-                return ((Double) value).longValue();
-            } else if (value instanceof Float) {
-                return ((Float) value).longValue();
-            }
-
-            return value;
+            return toLong(value);
         } else if (type == Double.class) {
-            if (value instanceof Long) {
-                return ((Long) value).doubleValue();
-            } else if (value instanceof Integer) {
-                return ((Integer) value).doubleValue();
-            } else if (value instanceof Float) {
-                return ((Float) value).doubleValue();
-            }
-
-            return value;
+            return toDouble(value);
         } else if (type == Vector2f.class) {
             Map<String, Object> map = (Map<String, Object>)value;
 
@@ -548,17 +574,4 @@ public class Json {
             return value;
         }
     }
-
-    private static <T> void invokeSerializableConstructor(Class<T> type, Object object, Map<String, Object> json)
-            throws Exception {
-        for (Method method : type.getMethods()) {
-            if (method.isAnnotationPresent(JsonSerializableConstructor.class)) {
-                if (method.getParameterTypes().length == 0) {
-                    method.invoke(object);
-                } else {
-                    method.invoke(object, json);
-                }
-            }
-        }
-    }
 }
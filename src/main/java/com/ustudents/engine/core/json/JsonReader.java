@@ -1,10 +1,14 @@
 package com.ustudents.engine.core.json;
 
+import com.ustudents.engine.core.AssetPack;
 import com.ustudents.engine.core.cli.print.Out;
+import com.ustudents.engine.utility.FileUtil;
 import com.ustudents.engine.utility.Pair;
 import com.ustudents.engine.core.json.exception.JSonCannotParseException;
 
 import java.io.*;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
@@ -12,7 +16,8 @@ import java.util.*;
  * This class is used to read the Json data format.
  * The Json data format is completely inspired by JSON, but it is NOT JSON,
  * it does not follow any JSON RFC and has a few particularities.
- * The parser uses a recursive descent parser algorithm.
+ * The parser uses a recursive descent parser algorithm, over a window of characters read in large chunks (strings,
+ * numbers and identifiers are copied from the window in bulk).
  *
  * Json's basic data types are:
  * Integer: Can contain an unary minus and an integer number.
@@ -26,6 +31,10 @@ import java.util.*;
  *
  * It also supports comments and multiline comments (same syntax as Java).
  *
+ * A file can either be read as a map (`readMap`), or directly into an object of a serializable class (`readObject`),
+ * in which case the maps of the serializable classes and their lists are bound to their objects as they are parsed
+ * (by their generated serializer through `nextKey` and the `read` methods when they have one).
+ *
  * Example:
  * {
  *     "name": "Json",
@@ -39,9 +48,94 @@ import java.util.*;
  */
 @SuppressWarnings({"unchecked", "unused"})
 public class JsonReader {
+    /** The state of an object being read by `readObject`. */
+    private static class Binding {
+        final SerializationPlan plan;
+
+        final Object object;
+
+        /** Defines for each deserialized field if its key has been read. */
+        final boolean[] read;
+
+        /**
+         * The values read as Json (null if the object's construction methods do not need its map and none of its fields
+         * has a path).
+         */
+        final Map<String, Object> json;
+
+        Binding(SerializationPlan plan) throws Exception {
+            plan.checkSerializable();
+
+            this.plan = plan;
+            this.object = plan.newInstance();
+            this.read = new boolean[plan.deserializedFields.size()];
+            this.json = plan.needsJson || plan.hasPaths ? new LinkedHashMap<>() : null;
+        }
+    }
+
+    /** The number of characters read from the file at once. */
+    private static final int bufferSize = 16384;
+
+    /** Class of the digits (in `characterClasses`). */
+    private static final byte digit = 1;
+
+    /** Class of the letters (in `characterClasses`). */
+    private static final byte letter = 2;
+
+    /** Class of the characters within a number (in `characterClasses`). */
+    private static final byte numberPart = 4;
+
+    /** Class of the characters within an identifier, like an enum or a keyword (in `characterClasses`). */
+    private static final byte identifierPart = 8;
+
+    /** Class of the characters ending a run of plain characters within a string (in `characterClasses`). */
+    private static final byte stringDelimiter = 16;
+
+    /** The classes of the ASCII characters (the other characters have no class). */
+    private static final byte[] characterClasses = new byte[128];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            characterClasses[c] |= digit | numberPart | identifierPart;
+        }
+
+        for (char c = 'a'; c <= 'z'; c++) {
+            characterClasses[c] |= letter | identifierPart;
+            characterClasses[Character.toUpperCase(c)] |= letter | identifierPart;
+        }
+
+        characterClasses['-'] |= numberPart;
+        characterClasses['.'] |= numberPart | identifierPart;
+        characterClasses['E'] |= numberPart;
+        characterClasses[':'] |= identifierPart;
+        characterClasses['$'] |= identifierPart;
+        characterClasses['"'] |= stringDelimiter;
+        characterClasses['\\'] |= stringDelimiter;
+        characterClasses['\r'] |= stringDelimiter;
+        characterClasses['\n'] |= stringDelimiter;
+    }
+
+    /** The asset pack the files are read from when they are packed (null if there is none). */
+    private static AssetPack assetPack;
+
     /** The file reader, used to scan a file. */
     private Reader reader;
 
+    /** The window of characters read from the file. */
+    private final char[] buffer;
+
+    /** The position of the next character to read in the window. */
+    private int position;
+
+    /** The number of characters in the window. */
+    private int limit;
+
+    /** Defines if the end of the file has been reached. */
+    private boolean endOfFile;
+
+    /** The builder reused to parse the strings, numbers and identifiers. */
+    private final StringBuilder contentBuilder;
+
     /** The current column when scanning, could be useful for debugging purposes. */
     private int currentColumn;
 
@@ -51,15 +145,14 @@ public class JsonReader {
     /** The current character when scanning, to keep it easily accessible for any function in the class. */
     private char currentCharacter;
 
-    /** Utility array to use in some functions containing space characters. */
-    private static final char[] spaces = {' ', '\t'};
-
-    /** Utility array to use in some functions containing digit characters. */
-    private static final char[] digits = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+    /** The key read before knowing the class of the object it belongs to (the type key, null if there is none). */
+    private String pendingKey;
 
-    private static final char[] uppercase = {'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z'};
+    /** Defines if the value of the pending key has yet to be read. */
+    private boolean hasPendingValue;
 
-    private static final char[] lowercase = {'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n', 'o', 'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', 'z'};
+    /** The value of the pending key. */
+    private Object pendingValue;
 
     /**
      * Class constructor.
@@ -67,7 +160,7 @@ public class JsonReader {
      * @param filePath The file path to use.
      */
     private JsonReader(String filePath) throws IOException {
-        this(new FileInputStream(filePath));
+        this(FileUtil.openFile(assetPack, filePath));
     }
 
     /**
@@ -76,7 +169,21 @@ public class JsonReader {
      * @param file The input stream to use.
      */
     private JsonReader(InputStream file) throws IOException {
-        reader = new BufferedReader(new InputStreamReader(file, StandardCharsets.UTF_8));
+        this(new InputStreamReader(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param reader The reader to use.
+     */
+    private JsonReader(Reader reader) throws IOException {
+        this.reader = reader;
+        buffer = new char[bufferSize];
+        position = 0;
+        limit = 0;
+        endOfFile = false;
+        contentBuilder = new StringBuilder();
         currentColumn = 1;
         currentLine = 1;
         next();
@@ -140,6 +247,165 @@ public class JsonReader {
         return map;
     }
 
+    /**
+     * Read the file from path into an object.
+     *
+     * @param type The object's serializable class.
+     * @return the object.
+     */
+    public static <T> T readObject(String filePath, Class<T> type) {
+        try {
+            JsonReader reader = new JsonReader(filePath);
+            T object = reader.bindRoot(type, null);
+            reader.reader.close();
+            return object;
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Read the file from input stream into an object.
+     *
+     * @param type The object's serializable class.
+     * @return the object.
+     */
+    public static <T> T readObject(InputStream file, Class<T> type) {
+        try {
+            JsonReader reader = new JsonReader(file);
+            T object = reader.bindRoot(type, null);
+            reader.reader.close();
+            return object;
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Read a string into an object whose class is given by one of its keys (like the network messages).
+     *
+     * @param data The string.
+     * @param type The class the object's class must extend.
+     * @param typeKey The key of the object's class name (read faster if it is the first key of the map).
+     * @return the object.
+     */
+    public static <T> T readObjectFromString(String data, Class<T> type, String typeKey) {
+        try {
+            return new JsonReader(new StringReader(data)).bindRoot(type, typeKey);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the key of the next element of the object being read (for the generated serializers), its value must then
+     * be read by one of the `read` methods or skipped.
+     *
+     * @return the key (null at the end of the object).
+     */
+    public String nextKey() throws JSonCannotParseException, IOException {
+        if (pendingKey != null) {
+            String key = pendingKey;
+            pendingKey = null;
+            return key;
+        }
+
+        if (currentCharacter != '{') {
+            check(currentCharacter, '}', ',');
+        }
+
+        if (currentCharacter != '}') {
+            check(next(), '}', '"');
+        }
+
+        if (currentCharacter == '}') {
+            next();
+            return null;
+        }
+
+        String key = parseString();
+        check(currentCharacter, ':');
+
+        return key;
+    }
+
+    /** @return the value of the element being read, as a string. */
+    public String readString() throws JSonCannotParseException, IOException {
+        return (String)readValue();
+    }
+
+    /** @return the value of the element being read, as a boolean. */
+    public Boolean readBoolean() throws JSonCannotParseException, IOException {
+        return (Boolean)readValue();
+    }
+
+    /** @return the value of the element being read, as an integer. */
+    public Integer readInteger() throws JSonCannotParseException, IOException {
+        return Json.toInteger(readValue());
+    }
+
+    /** @return the value of the element being read, as a long. */
+    public Long readLong() throws JSonCannotParseException, IOException {
+        return Json.toLong(readValue());
+    }
+
+    /** @return the value of the element being read, as a float. */
+    public Float readFloat() throws JSonCannotParseException, IOException {
+        return Json.toFloat(readValue());
+    }
+
+    /** @return the value of the element being read, as a double. */
+    public Double readDouble() throws JSonCannotParseException, IOException {
+        return Json.toDouble(readValue());
+    }
+
+    /**
+     * Reads the value of the element being read into an object.
+     *
+     * @param type The object's serializable class.
+     * @return the object (null if the value is null).
+     */
+    public <T> T readSerializable(Class<T> type) throws Exception {
+        if (hasPendingValue) {
+            Object value = readValue();
+            return value == null ? null : Json.deserialize((Map<String, Object>)value, type);
+        }
+
+        next();
+
+        return type.cast(bindValue(type));
+    }
+
+    /**
+     * Reads the value of the element being read into a field (for the generated serializers, when they cannot access
+     * the field or convert its value).
+     *
+     * @param object The object.
+     * @param type The object's serializable class.
+     * @param fieldName The field's name.
+     */
+    public void readField(Object object, Class<?> type, String fieldName) throws Exception {
+        SerializationPlan.FieldPlan fieldPlan = SerializationPlan.of(type).getField(fieldName);
+
+        if (fieldPlan.bindable && !hasPendingValue) {
+            next();
+            fieldPlan.set(object, bindValue(fieldPlan.field.getGenericType()));
+        } else {
+            Json.deserializeField(fieldPlan, object, readValue(), null, null, null);
+        }
+    }
+
+    /** Skips the value of the element being read (its key being unknown). */
+    public void skipValue() throws JSonCannotParseException, IOException {
+        readValue();
+    }
+
     /**
      * Read the file given in the constructor.
      *
@@ -219,23 +485,25 @@ public class JsonReader {
             next();
         }
 
-        if (is(currentCharacter, '"')) {
-            return parseString();
-        } else if (is(currentCharacter, digits, spaces, '-', '.')) {
+        switch (currentCharacter) {
+            case '"':
+                return parseString();
+            case '-':
+            case '.':
+                return parseNumber();
+            case '{':
+                return parseMap();
+            case '\'':
+                return parseCharacter();
+            case '[':
+                return parseArray();
+        }
+
+        if (hasClass(currentCharacter, digit)) {
             return parseNumber();
-        } else if (is(currentCharacter, '{')) {
-            return parseMap();
-        } else if (is(currentCharacter, lowercase, uppercase)) {
+        } else if (hasClass(currentCharacter, letter)) {
             return parseEnum();
-        } /*else if (is(currentCharacter, 't', 'f')) {
-            return parseBoolean();
-        }*/ else if (is(currentCharacter, '\'')) {
-            return parseCharacter();
-        } else if (is(currentCharacter, '[')) {
-            return parseArray();
-        } /*else if (is(currentCharacter, 'n')) {
-            return parseNull();
-        }*/
+        }
 
         return null;
     }
@@ -245,11 +513,36 @@ public class JsonReader {
      *
      * @return the string.
      */
-    private String parseString() throws IOException {
-        StringBuilder contentBuilder = new StringBuilder();
-        while (!is(next(true), '"')) {
-            contentBuilder.append(getEscaped());
+    private String parseString() throws IOException, JSonCannotParseException {
+        contentBuilder.setLength(0);
+
+        while (true) {
+            if (!fill()) {
+                throw new JSonCannotParseException("Unterminated string at line " + currentLine + ", column " +
+                        currentColumn + "!");
+            }
+
+            // Copies the plain characters in bulk, up to the next quote, escape or line break.
+            int start = position;
+
+            while (position < limit && !hasClass(buffer[position], stringDelimiter)) {
+                position++;
+            }
+
+            contentBuilder.append(buffer, start, position - start);
+            currentColumn += position - start;
+
+            if (position == limit) {
+                continue;
+            }
+
+            if (next(true) == '"') {
+                break;
+            }
+
+            appendEscaped(contentBuilder);
         }
+
         next();
 
         return contentBuilder.toString();
@@ -261,12 +554,13 @@ public class JsonReader {
      * @return the character.
      */
     private char parseCharacter() throws IOException {
-        next();
-        String character = getEscaped();
+        next(true);
+        contentBuilder.setLength(0);
+        appendEscaped(contentBuilder);
         next();
         next();
 
-        return character.charAt(0);
+        return contentBuilder.charAt(0);
     }
 
     /**
@@ -275,53 +569,26 @@ public class JsonReader {
      * @return the number.
      */
     private Object parseNumber() throws IOException {
-        StringBuilder contentBuilder = new StringBuilder(new String(new char[] {currentCharacter}));
-
-        while (is(next(), digits, '-', '.', 'E')) {
-            contentBuilder.append(currentCharacter);
-        }
-        String number = contentBuilder.toString();
+        contentBuilder.setLength(0);
+        contentBuilder.append(currentCharacter);
+        readRun(numberPart);
+        next();
 
-        if (number.contains(".")) {
-            return Double.parseDouble(number);
-        }
+        boolean isDouble = false;
 
-        return Long.parseLong(number);
-    }
-
-    /**
-     * Parses a boolean, either the keyword 'true' or the keyword 'false'.
-     *
-     * @return the boolean.
-     */
-    /*private boolean parseBoolean() throws IOException, JSonCannotParseException {
-        StringBuilder contentBuilder = new StringBuilder(new String(new char[] {currentCharacter}));
-        while (Character.isAlphabetic(next(true))) {
-            if (!"false".startsWith(contentBuilder.toString()) && !"true".startsWith(contentBuilder.toString())) {
-                throw new JSonCannotParseException("A boolean value (true or false) was expected.");
+        for (int i = 0; i < contentBuilder.length(); i++) {
+            if (contentBuilder.charAt(i) == '.') {
+                isDouble = true;
+                break;
             }
-            contentBuilder.append(currentCharacter);
         }
 
-        return contentBuilder.toString().equals("true");
-    }*/
-
-    /**
-     * Parses a null value, meaning the keyword 'null'.
-     *
-     * @return null.
-     */
-    /*private Object parseNull() throws IOException, JSonCannotParseException {
-        StringBuilder contentBuilder = new StringBuilder(new String(new char[] {currentCharacter}));
-        while (Character.isAlphabetic(next(true))) {
-            if (!"null".startsWith(contentBuilder.toString())) {
-                throw new JSonCannotParseException("A null value was expected.");
-            }
-            contentBuilder.append(currentCharacter);
+        if (isDouble) {
+            return Double.parseDouble(contentBuilder.toString());
         }
 
-        return null;
-    }*/
+        return parseLong(contentBuilder);
+    }
 
     /**
      * Parses a map, either empty or with map elements.
@@ -330,8 +597,18 @@ public class JsonReader {
      */
     private Map<String, Object> parseMap() throws JSonCannotParseException, IOException {
         Map<String, Object> elements = new LinkedHashMap<>();
+        parseMapElements(elements);
 
-        do {
+        return elements;
+    }
+
+    /**
+     * Parses the elements of a map, from its opening bracket or from the comma following one of its elements.
+     *
+     * @param elements The map to fill.
+     */
+    private void parseMapElements(Map<String, Object> elements) throws JSonCannotParseException, IOException {
+        while (currentCharacter != '}') {
             check(next(), '}', '"');
             if (currentCharacter == '}') {
                 break;
@@ -339,10 +616,8 @@ public class JsonReader {
             Pair<String, Object> pair = parseMapElement();
             elements.put(pair.getObject1(), pair.getObject2());
             check(currentCharacter, '}', ',');
-        } while (!is(currentCharacter, '}'));
+        }
         next();
-
-        return elements;
     }
 
     /**
@@ -355,38 +630,39 @@ public class JsonReader {
 
         do {
             next();
-            if (is(currentCharacter, ']')) {
+            if (currentCharacter == ']') {
                 break;
             }
             Object element = parseValue(false);
             elements.add(element);
             check(currentCharacter, ']', ',');
-        } while (!is(currentCharacter, ']'));
+        } while (currentCharacter != ']');
         next();
 
         return elements;
     }
 
     private Object parseEnum() throws JSonCannotParseException, IOException {
-        StringBuilder contentBuilder = new StringBuilder(new String(new char[] {currentCharacter}));
-        while (is(next(), digits, lowercase, uppercase, ':', '$', '.')) {
-            contentBuilder.append(currentCharacter);
+        contentBuilder.setLength(0);
+        contentBuilder.append(currentCharacter);
+        readRun(identifierPart);
+        next();
+
+        String content = contentBuilder.toString();
+
+        switch (content) {
+            case "null":
+                return null;
+            case "true":
+                return true;
+            case "false":
+                return false;
         }
-        String[] contentParts = contentBuilder.toString().split(":");
 
-        if (contentParts.length != 3) {
-            if (contentParts.length == 1) {
-                switch (contentParts[0]) {
-                    case "null":
-                        return null;
-                    case "true":
-                        return true;
-                    case "false":
-                        return false;
-                }
-            }
+        String[] contentParts = content.split(":");
 
-            throw new JSonCannotParseException("Invalid enum ");
+        if (contentParts.length != 3) {
+            throw new JSonCannotParseException("Invalid enum at line " + currentLine + "!");
         }
 
         Class type;
@@ -394,12 +670,243 @@ public class JsonReader {
         try {
             type = Class.forName(contentParts[0]);
         } catch (Exception e) {
-            throw new JSonCannotParseException("Invalid enum");
+            throw new JSonCannotParseException("Invalid enum at line " + currentLine + "!");
         }
 
         return Enum.valueOf(type, contentParts[2]);
     }
 
+    /**
+     * Reads the root map into an object.
+     *
+     * @param type The object's serializable class (or the class it must extend if there is a type key).
+     * @param typeKey The key of the object's class name (null to use the given class).
+     * @return the object.
+     */
+    private <T> T bindRoot(Class<T> type, String typeKey) throws Exception {
+        check(currentCharacter, '{');
+
+        if (typeKey == null) {
+            return (T)bindMap(SerializationPlan.of(type));
+        }
+
+        check(next(), '}', '"');
+
+        if (currentCharacter == '"') {
+            String key = parseString();
+            check(currentCharacter, ':');
+            Object value = parseValue();
+
+            if (key.equals(typeKey)) {
+                check(currentCharacter, '}', ',');
+                pendingKey = key;
+                pendingValue = value;
+                hasPendingValue = true;
+
+                return (T)bindMap(SerializationPlan.of(findType(value, type)));
+            }
+
+            // The class name is further in the map, which has to be read entirely.
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put(key, value);
+            check(currentCharacter, '}', ',');
+            parseMapElements(json);
+
+            return (T)Json.deserialize(json, findType(json.get(typeKey), type));
+        }
+
+        next();
+
+        return (T)Json.deserialize(new LinkedHashMap<>(), type);
+    }
+
+    /**
+     * Reads a map into a new object (the current character being its opening bracket, or the comma following the
+     * pending key).
+     *
+     * @param plan The plan of the object's class.
+     * @return the object.
+     */
+    private Object bindMap(SerializationPlan plan) throws Exception {
+        if (plan.generatedSerializer != null) {
+            return plan.generatedSerializer.read(this);
+        }
+
+        Binding binding = new Binding(plan);
+        bindElements(binding);
+
+        return finishBinding(binding);
+    }
+
+    /** Reads the elements of a map into an object, from its opening bracket or from the comma after an element. */
+    private void bindElements(Binding binding) throws Exception {
+        if (pendingKey != null) {
+            bindValue(binding, nextKey(), readValue());
+        }
+
+        while (currentCharacter != '}') {
+            check(next(), '}', '"');
+            if (currentCharacter == '}') {
+                break;
+            }
+            String key = parseString();
+            check(currentCharacter, ':');
+            int index = binding.plan.findDeserializedField(key);
+
+            if (index >= 0 && binding.plan.deserializedFields.get(index).bindable && !binding.plan.needsJson) {
+                next();
+                binding.plan.deserializedFields.get(index).set(binding.object,
+                        bindValue(binding.plan.deserializedFields.get(index).field.getGenericType()));
+                binding.read[index] = true;
+            } else {
+                bindValue(binding, key, parseValue());
+            }
+
+            check(currentCharacter, '}', ',');
+        }
+        next();
+    }
+
+    /**
+     * Reads a value of a bindable type (see `SerializationPlan.isBindable`), the current character being its first one.
+     *
+     * @param type The value's type.
+     * @return the value.
+     */
+    private Object bindValue(Type type) throws Exception {
+        if (currentCharacter == '{' && type instanceof Class) {
+            return bindMap(SerializationPlan.of((Class<?>)type));
+        } else if (currentCharacter == '[' && type instanceof ParameterizedType) {
+            Type elementType = ((ParameterizedType)type).getActualTypeArguments()[0];
+            List<Object> elements = new ArrayList<>();
+
+            while (currentCharacter != ']') {
+                next();
+                if (currentCharacter == ']') {
+                    break;
+                }
+                elements.add(bindValue(elementType));
+                check(currentCharacter, ']', ',');
+            }
+            next();
+
+            return elements;
+        }
+
+        return parseValue(false);
+    }
+
+    /**
+     * Sets a value read as Json to the field of its key (if there is one).
+     *
+     * @param binding The object being read.
+     * @param key The value's key.
+     * @param value The value.
+     */
+    private void bindValue(Binding binding, String key, Object value) throws Exception {
+        if (binding.json != null) {
+            binding.json.put(key, value);
+        }
+
+        int index = binding.plan.findDeserializedField(key);
+
+        if (index >= 0) {
+            Json.deserializeField(binding.plan.deserializedFields.get(index), binding.object, value, null, null,
+                    null);
+            binding.read[index] = true;
+        }
+    }
+
+    /**
+     * Sets the fields whose keys have not been read (the fields with a path, or the missing fields) and calls the
+     * construction methods of an object.
+     *
+     * @param binding The object being read.
+     * @return the object.
+     */
+    private Object finishBinding(Binding binding) throws Exception {
+        for (int i = 0; i < binding.read.length; i++) {
+            if (binding.read[i]) {
+                continue;
+            }
+
+            SerializationPlan.FieldPlan fieldPlan = binding.plan.deserializedFields.get(i);
+            String[] path = fieldPlan.path;
+
+            if (path.length > 1) {
+                Map<String, Object> search = Json.findMapAtSearchPath(binding.json, path);
+
+                if (search.containsKey(path[path.length - 1])) {
+                    Json.deserializeField(fieldPlan, binding.object, search.get(path[path.length - 1]), null, null,
+                            null);
+                    continue;
+                }
+            }
+
+            if (fieldPlan.necessary) {
+                throw new JSonCannotParseException("Missing key '" + fieldPlan.key + "' at line " + currentLine +
+                        "!");
+            }
+
+            Json.setMissingField(fieldPlan, binding.object);
+        }
+
+        binding.plan.invokeConstructionMethods(binding.object, binding.json);
+
+        return binding.object;
+    }
+
+    /** @return the value of the element being read (the value of the pending key, if it has yet to be read). */
+    private Object readValue() throws JSonCannotParseException, IOException {
+        if (hasPendingValue) {
+            Object value = pendingValue;
+            hasPendingValue = false;
+            pendingValue = null;
+
+            return value;
+        }
+
+        return parseValue();
+    }
+
+    /**
+     * Finds the class named by a type key.
+     *
+     * @param name The class name.
+     * @param type The class it must extend.
+     * @return the class.
+     */
+    private <T> Class<? extends T> findType(Object name, Class<T> type) throws JSonCannotParseException {
+        try {
+            return Class.forName((String)name).asSubclass(type);
+        } catch (Exception e) {
+            throw new JSonCannotParseException("Invalid type '" + name + "' at line " + currentLine + "!");
+        }
+    }
+
+    /**
+     * Copies the characters of a class following the current character to the content builder (the current character
+     * is then the last character copied).
+     *
+     * @param characterClass The class of the characters to copy.
+     */
+    private void readRun(byte characterClass) throws IOException {
+        while (fill()) {
+            int start = position;
+
+            while (position < limit && hasClass(buffer[position], characterClass)) {
+                position++;
+            }
+
+            contentBuilder.append(buffer, start, position - start);
+            currentColumn += position - start;
+
+            if (position < limit) {
+                break;
+            }
+        }
+    }
+
     /**
      * Reads the next character (outside of a string literal or a comment).
      *
@@ -410,140 +917,227 @@ public class JsonReader {
     }
 
     /**
-     * Reads the next character.
+     * Reads the next character, skipping the line breaks (as well as the spaces and comments outside of a string
+     * literal).
      *
      * @param isInStringOrComment Defines if we are inside a string literal or a comment.
      * @return the next character.
      */
     private char next(boolean isInStringOrComment) throws IOException {
-        currentCharacter = (char)reader.read();
+        while (true) {
+            currentCharacter = (char)read();
+            currentColumn++;
+
+            switch (currentCharacter) {
+                case '\n':
+                    currentLine++;
+                    currentColumn = 0;
+                    // Continues outside of the string (the indentation after a line break is skipped).
+                    isInStringOrComment = false;
+                    break;
+                case '\r':
+                    isInStringOrComment = false;
+                    break;
+                case ' ':
+                case '\t':
+                    if (isInStringOrComment) {
+                        return currentCharacter;
+                    }
+                    break;
+                case '/':
+                    if (isInStringOrComment || !skipComment()) {
+                        return currentCharacter;
+                    }
+                    break;
+                default:
+                    return currentCharacter;
+            }
+        }
+    }
+
+    /**
+     * Skips a comment (the current character being the slash starting it).
+     *
+     * @return if a comment was skipped (if not, the current character is the one following the slash).
+     */
+    private boolean skipComment() throws IOException {
+        int c = read();
         currentColumn++;
 
-        if (!isInStringOrComment && is(currentCharacter, '/')) {
-            char currChar = next(true);
-            if (is(currChar, '/')) {
-                // Comments
-                int currentLine = this.currentLine;
-                while (currentLine == this.currentLine) {
-                    next();
+        if (c == '/') {
+            // Comments
+            do {
+                c = read();
+                currentColumn++;
+            } while (c != '\n' && c != -1);
+
+            if (c == '\n') {
+                currentLine++;
+                currentColumn = 0;
+            }
+
+            return true;
+        } else if (c == '*') {
+            // Multiline comments
+            int previous = 0;
+
+            while ((c = read()) != -1) {
+                currentColumn++;
+
+                if (c == '\n') {
+                    currentLine++;
+                    currentColumn = 0;
+                } else if (previous == '*' && c == '/') {
+                    break;
                 }
-            } else if (is(currChar, '*')) {
-                // Multiline comments
-                boolean foundFirst = false;
-                do {
-                    if (!foundFirst && next(true) == '*') {
-                        foundFirst = true;
-                    } else if (foundFirst) {
-                        if (next(true) == '/') {
-                            break;
-                        } else {
-                            foundFirst = false;
-                        }
-                    }
-                } while (true);
-                next();
+
+                previous = c;
             }
-        } else if (isLF()) {
-            currentLine++;
-            currentColumn = 0;
-        }
 
-        while (isCRLF() || (!isInStringOrComment && isSpace())) {
-            next();
+            return true;
         }
 
-        return currentCharacter;
+        currentCharacter = (char)c;
+
+        return false;
     }
 
-    /** @return the current character as an escaped string. */
-    private String getEscaped() throws IOException {
+    /** Appends the current character to a builder, unescaping it if it starts an escape sequence. */
+    private void appendEscaped(StringBuilder builder) throws IOException {
         if (currentCharacter == '\\') {
             char oldChar = currentCharacter;
             next();
-            if (currentCharacter == 'b') {
-                return "\b";
-            } else if (currentCharacter == 't') {
-                return "\t";
-            } else if (currentCharacter == 'n') {
-                return "\n";
-            } else if (currentCharacter == 'f') {
-                return "\f";
-            } else if (currentCharacter == 'r') {
-                return "\r";
-            } else if (currentCharacter == '"') {
-                return "\"";
-            } else if (currentCharacter == '\'') {
-                return "'";
-            } else if (currentCharacter == '\\') {
-                return "\\";
+            switch (currentCharacter) {
+                case 'b':
+                    builder.append('\b');
+                    return;
+                case 't':
+                    builder.append('\t');
+                    return;
+                case 'n':
+                    builder.append('\n');
+                    return;
+                case 'f':
+                    builder.append('\f');
+                    return;
+                case 'r':
+                    builder.append('\r');
+                    return;
+                case '"':
+                    builder.append('"');
+                    return;
+                case '\'':
+                    builder.append('\'');
+                    return;
+                case '\\':
+                    builder.append('\\');
+                    return;
             }
 
-            return new String(new char[] {oldChar, currentCharacter});
+            builder.append(oldChar);
         }
 
-        return new String(new char[] {currentCharacter});
+        builder.append(currentCharacter);
     }
 
     /**
-     * Check if c is one of objects, throws an exception if it ain't.
+     * Reads the next character from the window, refilling it if needed.
      *
-     * @param c The character to search for.
-     * @param objects The characters to search in.
+     * @return the character (-1 at the end of the file).
      */
-    private void check(char c, Object... objects) throws JSonCannotParseException {
-        if (!is(c, objects)) {
-            throw new JSonCannotParseException("Unexpected character '" + c + "' instead of '" + Arrays.toString(objects) + "' at line " + currentLine + "!");
-        }
+    private int read() throws IOException {
+        return fill() ? buffer[position++] : -1;
     }
 
     /**
-     * Check if c is one of objects.
+     * Refills the window if every character has been read.
      *
-     * @param c The character to search for.
-     * @param objects The characters to search in.
-     * @return if c is one of objects.
+     * @return if there are characters left to read.
      */
-    private boolean is(char c, Object... objects) {
-        boolean found = false;
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
 
-        for (Object expected : objects) {
-            if (expected instanceof char[]) {
-                char[] values = (char[])expected;
-                for (char value : values) {
-                    found = is(c, value);
+        if (endOfFile) {
+            return false;
+        }
 
-                    if (found) {
-                        break;
-                    }
-                }
-            } else {
-                char value = (char)expected;
+        int numberOfCharacters = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        limit = Math.max(numberOfCharacters, 0);
+        endOfFile = numberOfCharacters < 0;
 
-                if (c == value) {
-                    found = true;
-                }
-            }
+        return limit > 0;
+    }
 
-            if (found) {
-                break;
-            }
+    /**
+     * Check if c is one of the expected characters, throws an exception if it ain't.
+     *
+     * @param c The character to check.
+     * @param expected The expected character.
+     */
+    private void check(char c, char expected) throws JSonCannotParseException {
+        if (c != expected) {
+            throwUnexpected(c, "[" + expected + "]");
+        }
+    }
+
+    /**
+     * Check if c is one of the expected characters, throws an exception if it ain't.
+     *
+     * @param c The character to check.
+     * @param first The first expected character.
+     * @param second The second expected character.
+     */
+    private void check(char c, char first, char second) throws JSonCannotParseException {
+        if (c != first && c != second) {
+            throwUnexpected(c, "[" + first + ", " + second + "]");
         }
+    }
 
-        return found;
+    private void throwUnexpected(char c, String expected) throws JSonCannotParseException {
+        throw new JSonCannotParseException("Unexpected character '" + c + "' instead of '" + expected + "' at line " +
+                currentLine + ", column " + currentColumn + "!");
     }
 
-    /** @return if the current character is a space. */
-    private boolean isSpace() {
-        return currentCharacter == ' ' || currentCharacter == '\t';
+    /**
+     * Sets the asset pack the files are read from when they are packed.
+     *
+     * @param assetPack The asset pack (null to only read the loose files).
+     */
+    public static void setAssetPack(AssetPack assetPack) {
+        JsonReader.assetPack = assetPack;
     }
 
-    /** @return if the current character is a LF (line feed). */
-    private boolean isLF() {
-        return currentCharacter == '\n';
+    /** @return if a character has a class. */
+    private static boolean hasClass(char c, byte characterClass) {
+        return c < 128 && (characterClasses[c] & characterClass) != 0;
     }
 
-    /** @return if the current character is a CRLF (carriage return line feed). */
-    private boolean isCRLF() {
-        return currentCharacter == '\r' || isLF();
+    /** Parses an integer without creating a string (unless it does not fit in a long or is malformed). */
+    private static long parseLong(CharSequence number) {
+        int length = number.length();
+        boolean negative = number.charAt(0) == '-';
+        int start = negative ? 1 : 0;
+
+        // 18 digits always fit in a long.
+        if (length == start || length - start > 18) {
+            return Long.parseLong(number.toString());
+        }
+
+        long value = 0;
+
+        for (int i = start; i < length; i++) {
+            char c = number.charAt(i);
+
+            if (!hasClass(c, digit)) {
+                return Long.parseLong(number.toString());
+            }
+
+            value = value * 10 + (c - '0');
+        }
+
+        return negative ? -value : value;
     }
 }
@@ -0,0 +1,44 @@
+package com.ustudents.engine.core.json;
+
+import java.util.Map;
+
+/**
+ * A serializer of a serializable class, generated at compile time by the `processor` project (`Json` uses it instead
+ * of reflection when it exists).
+ *
+ * @param <T> The serializable class.
+ */
+public interface JsonTypeSerializer<T> {
+    /**
+     * Serializes an object.
+     *
+     * @param object The object.
+     * @return the Json map.
+     */
+    Map<String, Object> serialize(T object) throws Exception;
+
+    /**
+     * Deserializes an object.
+     *
+     * @param json The Json map.
+     * @return the object.
+     */
+    T deserialize(Map<String, Object> json) throws Exception;
+
+    /**
+     * Writes the fields of an object (the writer has already opened its map, and written its type key if any).
+     *
+     * @param writer The writer.
+     * @param object The object.
+     */
+    void write(JsonWriter writer, T object) throws Exception;
+
+    /**
+     * Reads an object from the elements of its map (through `JsonReader.nextKey`, the reader being on the map's opening
+     * bracket).
+     *
+     * @param reader The reader.
+     * @return the object.
+     */
+    T read(JsonReader reader) throws Exception;
+}
@@ -1,12 +1,10 @@
 package com.ustudents.engine.core.json;
 
 import com.ustudents.engine.core.json.annotation.JsonSerializable;
-import com.ustudents.engine.utility.Pair;
-import com.ustudents.engine.utility.StringUtil;
-import com.ustudents.engine.utility.Triplet;
 import org.joml.*;
 
 import java.io.*;
+import java.lang.Math;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
@@ -14,24 +12,42 @@ import java.util.Objects;
 
 /**
  * This class is used to write Json data format.
- * If you need more info on Json, please look at JsonReader. */
+ * If you need more info on Json, please look at JsonReader.
+ *
+ * The text is encoded in UTF-8 into a buffer of bytes, flushed to the file as it fills up (or kept in memory to be
+ * reused). The objects of serializable classes are written field by field, without creating their maps first (by
+ * their generated serializer through `writeField` when they have one).
+ */
 @SuppressWarnings({"unchecked", "unused"})
 public class JsonWriter {
-    /** The output file to print to. */
-    private final PrintWriter file;
+    /** The size of the buffer (when writing to a file, the buffer is flushed once full). */
+    private static final int bufferSize = 16384;
 
-    /** The current prefix (space alignment) to use. */
-    private String prefix = "";
+    /** The output file to write to (null to write in memory). */
+    private final OutputStream file;
+
+    /** The encoded text not yet written to the file. */
+    private byte[] buffer;
+
+    /** The number of bytes in the buffer. */
+    private int size;
+
+    /** The current indentation (space alignment) to use. */
+    private int indentation;
 
     /** Defines if we currently are writing in an array (only useful for a beautification of two-dimensional arrays). */
     private boolean parentIsArray = false;
 
-    /** The data. */
-    private String data = "";
+    /** The key of the class name of the object being written (its field with the same key is left out). */
+    private String typeKey;
+
+    /** Defines if no element of the object being written has been written yet. */
+    private boolean isFirstElement;
 
     /** Class constructor. */
     private JsonWriter() {
         file = null;
+        buffer = new byte[bufferSize];
     }
 
     boolean newLine = true;
@@ -43,11 +59,24 @@ public class JsonWriter {
     /**
      * Class constructor.
      *
-     * @param filepath The file path to use.
+     * @param file The output file to write to (closed by the caller).
      */
-    private JsonWriter(String filepath) throws FileNotFoundException {
-        file = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(filepath), StandardCharsets.UTF_8)));
+    private JsonWriter(OutputStream file) {
+        this.file = file;
+        buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Class constructor, for a writer to a buffer in memory (reused by each call to `writeObject`).
+     *
+     * @param pretty Defines if the text is indented on multiple lines (like the files) or minified (like the network
+     *               messages).
+     */
+    public JsonWriter(boolean pretty) {
+        this();
+        newLine = pretty;
+        tab = pretty;
+        space = pretty;
     }
 
     /**
@@ -57,21 +86,21 @@ public class JsonWriter {
      * @param map The map to write.
      */
     public static void writeToFile(String filepath, Map<String, Object> map) {
-        try {
-            JsonWriter writer = new JsonWriter(filepath);
+        try (OutputStream file = new FileOutputStream(filepath)) {
+            JsonWriter writer = new JsonWriter(file);
             writer.writeMap(map);
-            writer.close();
+            writer.flush();
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
     public static void writeToFile(String filepath, Map<String, Object> map, String message) {
-        try {
-            JsonWriter writer = new JsonWriter(filepath);
+        try (OutputStream file = new FileOutputStream(filepath)) {
+            JsonWriter writer = new JsonWriter(file);
             writer.writeMessage(message);
             writer.writeMap(map);
-            writer.close();
+            writer.flush();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -84,10 +113,46 @@ public class JsonWriter {
      * @param array The array to write.
      */
     public static void writeToFile(String filepath, List<Object> array) {
-        try {
-            JsonWriter writer = new JsonWriter(filepath);
+        try (OutputStream file = new FileOutputStream(filepath)) {
+            JsonWriter writer = new JsonWriter(file);
             writer.writeArray(array);
-            writer.close();
+            writer.flush();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes an object of a serializable class to file in NJSon format.
+     *
+     * @param filepath The file path to use.
+     * @param object The object to write.
+     */
+    public static void writeObjectToFile(String filepath, Object object) {
+        writeObjectToFile(filepath, object, null);
+    }
+
+    /**
+     * Writes an object of a serializable class to file in NJSon format.
+     *
+     * @param filepath The file path to use.
+     * @param object The object to write.
+     * @param message The text written before the object (like a comment, can be null).
+     */
+    public static void writeObjectToFile(String filepath, Object object, String message) {
+        try {
+            SerializationPlan.of(object.getClass()).checkSerializable();
+
+            try (OutputStream file = new FileOutputStream(filepath)) {
+                JsonWriter writer = new JsonWriter(file);
+
+                if (message != null) {
+                    writer.writeMessage(message);
+                }
+
+                writer.writeSerializable(object, null);
+                writer.flush();
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -102,7 +167,7 @@ public class JsonWriter {
         try {
             JsonWriter writer = new JsonWriter();
             writer.writeMap(map);
-            return writer.data;
+            return writer.toString();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -117,7 +182,7 @@ public class JsonWriter {
             writer.tab = tab;
             writer.space = space;
             writer.writeMap(map);
-            return writer.data;
+            return writer.toString();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -134,7 +199,7 @@ public class JsonWriter {
         try {
             JsonWriter writer = new JsonWriter();
             writer.writeArray(array);
-            return writer.data;
+            return writer.toString();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -142,8 +207,70 @@ public class JsonWriter {
         return null;
     }
 
+    /**
+     * Writes an object of a serializable class to the buffer, replacing its previous content.
+     *
+     * @param object The object to write.
+     * @param typeKey The key of the object's class name, written first (null to leave it out).
+     */
+    public void writeObject(Object object, String typeKey) throws Exception {
+        SerializationPlan.of(object.getClass()).checkSerializable();
+        size = 0;
+        indentation = 0;
+        parentIsArray = false;
+        this.typeKey = null;
+        writeSerializable(object, typeKey);
+    }
+
+    /**
+     * Writes an element of the object being written (for the generated serializers).
+     *
+     * @param key The element's key.
+     * @param value The element's value.
+     */
+    public void writeField(String key, Object value) {
+        if (key.equals(typeKey)) {
+            return;
+        }
+
+        if (!isFirstElement) {
+            append(',');
+        }
+
+        writeNewLine();
+        writeMapElement(key, value);
+        isFirstElement = false;
+    }
+
+    /**
+     * Writes a field of the object being written (for the generated serializers, when they cannot access the field).
+     *
+     * @param object The object.
+     * @param type The object's serializable class.
+     * @param fieldName The field's name.
+     */
+    public void writeField(Object object, Class<?> type, String fieldName) throws Exception {
+        SerializationPlan.FieldPlan field = SerializationPlan.of(type).getField(fieldName);
+        writeField(field.key, field.get(object));
+    }
+
+    /**
+     * Copies the content of the buffer to a stream.
+     *
+     * @param output The stream.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        output.write(buffer, 0, size);
+    }
+
+    /** @return the content of the buffer. */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
     private void writeMessage(String message) {
-        write(message, false);
+        append(message);
     }
 
     /**
@@ -154,45 +281,115 @@ public class JsonWriter {
     private void writeMap(Map<String, Object> map) {
         parentIsArray = false;
 
-        if (map.isEmpty()) {
-            write("{", false);
-        } else {
-            write("{" + (newLine ? "\n" : ""), false);
+        append('{');
+
+        if (!map.isEmpty()) {
+            writeNewLine();
         }
 
-        String oldPrefix = prefix;
-        prefix += "" + (tab ? "\t" : "");
+        indentation++;
 
         int i = 1;
         for (Map.Entry<String, Object> entry : map.entrySet()) {
-            writeMapElement(entry);
+            writeMapElement(entry.getKey(), entry.getValue());
 
             if (i != map.size()) {
-                write(",", false);
+                append(',');
             }
 
-            write((newLine ? "\n" : ""), false);
+            writeNewLine();
 
             i++;
         }
 
-        prefix = oldPrefix;
+        indentation--;
+
+        if (!map.isEmpty()) {
+            writePrefix();
+        }
+
+        append('}');
+    }
+
+    /**
+     * Writes an object of a serializable class, like the map `Json.serialize` would create for it.
+     *
+     * @param object The object to write.
+     * @param typeKey The key of the object's class name, written first (null to leave it out).
+     */
+    private void writeSerializable(Object object, String typeKey) throws Exception {
+        SerializationPlan plan = SerializationPlan.of(object.getClass());
+
+        if (plan.hasPaths) {
+            // The fields with a path are merged within nested maps.
+            Map<String, Object> map = Objects.requireNonNull(Json.serialize(object));
+
+            if (typeKey != null) {
+                Map<String, Object> typedMap = new java.util.LinkedHashMap<>();
+                typedMap.put(typeKey, object.getClass().getName());
+                typedMap.putAll(map);
+                map = typedMap;
+            }
+
+            writeMap(map);
+            return;
+        }
+
+        String parentTypeKey = this.typeKey;
+        boolean parentIsFirstElement = isFirstElement;
+
+        parentIsArray = false;
+        this.typeKey = typeKey;
+        isFirstElement = true;
+
+        append('{');
+        indentation++;
 
-        if (map.isEmpty()) {
-            write("}", false);
+        if (typeKey != null) {
+            writeNewLine();
+            writeMapElement(typeKey, object.getClass().getName());
+            isFirstElement = false;
+        }
+
+        if (plan.generatedSerializer != null) {
+            plan.generatedSerializer.write(this, object);
         } else {
-            write("}");
+            for (SerializationPlan.FieldPlan field : plan.serializedFields) {
+                writeField(field.key, field.get(object));
+            }
         }
+
+        indentation--;
+
+        if (!isFirstElement) {
+            writeNewLine();
+            writePrefix();
+        }
+
+        append('}');
+
+        this.typeKey = parentTypeKey;
+        isFirstElement = parentIsFirstElement;
     }
 
     /**
      * Writes a map element.
      *
-     * @param element The element pair (string, object) to write.
+     * @param key The element's key.
+     * @param value The element's value.
      */
-    private void writeMapElement(Map.Entry<String, Object> element) {
-        write("\"" + element.getKey() + "\":" + (space ? " " : ""));
-        writeValue(element.getValue());
+    private void writeMapElement(String key, Object value) {
+        writePrefix();
+        append('"');
+        appendEscaped(key);
+        append('"');
+        append(':');
+
+        if (space) {
+            append(' ');
+        }
+
+        writeValue(value);
     }
 
     /**
@@ -203,71 +400,70 @@ public class JsonWriter {
      */
     private void writeArray(List<Object> array) {
         boolean beforeParentIsArray = parentIsArray;
+        boolean firstIsSerializable = !array.isEmpty() && array.get(0) != null &&
+                array.get(0).getClass().isAnnotationPresent(JsonSerializable.class);
+        boolean firstIsList = !array.isEmpty() && array.get(0) instanceof List;
+
+        append('[');
 
         if (beforeParentIsArray) {
-            if (!array.isEmpty() && array.get(0).getClass().isAnnotationPresent(JsonSerializable.class)) {
-                write("[" + (newLine ? "\n" : "") + prefix + (tab ? "\t" : ""), false);
-            } else {
-                write("[", false);
-            }
-        } else {
-            if (array.isEmpty()) {
-                write("[", false);
-            } else {
-                write("[" + (newLine ? "\n" : ""), false);
+            if (firstIsSerializable) {
+                writeNewLine();
+                indentation++;
+                writePrefix();
+                indentation--;
             }
+        } else if (!array.isEmpty()) {
+            writeNewLine();
         }
 
-        if (!array.isEmpty() && array.get(0) instanceof List) {
+        if (firstIsList) {
             parentIsArray = true;
         }
 
-        String oldPrefix = prefix;
-        prefix += "" + (tab ? "\t" : "");
+        indentation++;
 
         int i = 1;
         for (Object object : array) {
-            if (beforeParentIsArray && array.get(0) instanceof List) {
-                write( (newLine ? "\n" : ""), false);
-                write("");
+            if (beforeParentIsArray && firstIsList) {
+                writeNewLine();
+                writePrefix();
             } else if (!beforeParentIsArray) {
-                write("");
-            } else if (i != 1 && !array.get(0).getClass().isAnnotationPresent(JsonSerializable.class)) {
-                write(" ", false);
+                writePrefix();
+            } else if (i != 1 && !firstIsSerializable) {
+                append(' ');
             }
 
             writeValue(object);
 
             if (i != array.size()) {
-                if (beforeParentIsArray && !array.isEmpty() && array.get(0).getClass().isAnnotationPresent(JsonSerializable.class)) {
-                    write("," + (newLine ? "\n" : "") + prefix, false);
-                } else {
-                    write(",", false);
+                append(',');
+
+                if (beforeParentIsArray && firstIsSerializable) {
+                    writeNewLine();
+                    writePrefix();
                 }
             }
 
             if (!beforeParentIsArray) {
-                write((newLine ? "\n" : "") , false);
+                writeNewLine();
             }
 
             i++;
         }
 
-        prefix = oldPrefix;
+        indentation--;
 
-        if (beforeParentIsArray && !array.isEmpty() && array.get(0) instanceof List) {
-            write((newLine ? "\n" : ""), false);
-            write("]");
-        } else if (beforeParentIsArray && !array.isEmpty() && array.get(0).getClass().isAnnotationPresent(JsonSerializable.class)) {
-            write((newLine ? "\n" : ""), false);
-            write("]");
-        } else if (!beforeParentIsArray && array.isEmpty()) {
-            write("]", false);
-        } else {
-            write("]", !beforeParentIsArray);
+        if (beforeParentIsArray && (firstIsList || firstIsSerializable)) {
+            writeNewLine();
+            writePrefix();
+        } else if (!beforeParentIsArray && !array.isEmpty()) {
+            writePrefix();
         }
 
-        if (!array.isEmpty() && array.get(0) instanceof List) {
+        append(']');
+
+        if (firstIsList) {
             parentIsArray = false;
         }
     }
@@ -278,7 +474,9 @@ public class JsonWriter {
      * @param value The value to write.
      */
     private void writeValue(Object value) {
-        if (value instanceof Integer || value instanceof Double || value instanceof Float || value instanceof Long) {
+        if (value instanceof Integer || value instanceof Long) {
+            append(((Number)value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
             writeNumber(value);
         } else if (value instanceof String) {
             writeString(value);
@@ -309,7 +507,11 @@ public class JsonWriter {
         } else if (value == null) {
             writeNull();
         } else if (value.getClass().isAnnotationPresent(JsonSerializable.class)) {
-            writeMap(Objects.requireNonNull(Json.serialize(value)));
+            try {
+                writeSerializable(value, null);
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot write " + value.getClass().getName(), e);
+            }
         }
     }
 
@@ -319,7 +521,7 @@ public class JsonWriter {
      * @param value The number to write.
      */
     private void writeNumber(Object value) {
-        write(value.toString(), false);
+        append(value.toString());
     }
 
     /**
@@ -328,7 +530,9 @@ public class JsonWriter {
      * @param value The string to write.
      */
     private void writeString(Object value) {
-        write("\"" + StringUtil.getUnescaped(value.toString()) + "\"", false);
+        append('"');
+        appendEscaped(value.toString());
+        append('"');
     }
 
     /**
@@ -337,7 +541,9 @@ public class JsonWriter {
      * @param value The character to write.
      */
     private void writeCharacter(Object value) {
-        write("'" + StringUtil.getUnescaped(value.toString()) + "'", false);
+        append('\'');
+        appendEscaped(value.toString());
+        append('\'');
     }
 
     /**
@@ -346,13 +552,15 @@ public class JsonWriter {
      * @param value The vector to write.
      */
     private void writeVector2f(Object value) {
-        write("{" + (newLine ? "\n" : ""), false);
-        String oldPrefix = prefix;
-        prefix += "" + (tab ? "\t" : "");
-        write("\"x\": " + ((Vector2f)value).x + "," + (newLine ? "\n" : ""));
-        write("\"y\": " + ((Vector2f)value).y + (newLine ? "\n" : ""));
-        prefix = oldPrefix;
-        write("}");
+        append('{');
+        writeNewLine();
+        indentation++;
+        // Always written with a space (even minified).
+        writeComponent("x", ((Vector2f)value).x, true, false);
+        writeComponent("y", ((Vector2f)value).y, true, true);
+        indentation--;
+        writePrefix();
+        append('}');
     }
 
     /**
@@ -361,14 +569,15 @@ public class JsonWriter {
      * @param value The vector to write.
      */
     private void writeVector3f(Object value) {
-        write("{" + (newLine ? "\n" : ""), false);
-        String oldPrefix = prefix;
-        prefix += "" + (tab ? "\t" : "");
-        write("\"x\":" + (space ? " " : "") + ((Vector3f)value).x + "," + (newLine ? "\n" : ""));
-        write("\"y\":" + (space ? " " : "") + ((Vector3f)value).y + "," + (newLine ? "\n" : ""));
-        write("\"z\":" + (space ? " " : "") + ((Vector3f)value).z + (newLine ? "\n" : ""));
-        prefix = oldPrefix;
-        write("}");
+        append('{');
+        writeNewLine();
+        indentation++;
+        writeComponent("x", ((Vector3f)value).x, space, false);
+        writeComponent("y", ((Vector3f)value).y, space, false);
+        writeComponent("z", ((Vector3f)value).z, space, true);
+        indentation--;
+        writePrefix();
+        append('}');
     }
 
     /**
@@ -377,15 +586,16 @@ public class JsonWriter {
      * @param value The vector to write.
      */
     private void writeVector4f(Object value) {
-        write("{" + (newLine ? "\n" : ""), false);
-        String oldPrefix = prefix;
-        prefix += "" + (tab ? "\t" : "");
-        write("\"x\":" + (space ? " " : "") + ((Vector4f)value).x + "," + (newLine ? "\n" : ""));
-        write("\"y\":" + (space ? " " : "") + ((Vector4f)value).y + "," + (newLine ? "\n" : ""));
-        write("\"z\":" + (space ? " " : "") + ((Vector4f)value).z + "," + (newLine ? "\n" : ""));
-        write("\"w\":" + (space ? " " : "") + ((Vector4f)value).w + (newLine ? "\n" : ""));
-        prefix = oldPrefix;
-        write("}");
+        append('{');
+        writeNewLine();
+        indentation++;
+        writeComponent("x", ((Vector4f)value).x, space, false);
+        writeComponent("y", ((Vector4f)value).y, space, false);
+        writeComponent("z", ((Vector4f)value).z, space, false);
+        writeComponent("w", ((Vector4f)value).w, space, true);
+        indentation--;
+        writePrefix();
+        append('}');
     }
 
     /**
@@ -394,13 +604,14 @@ public class JsonWriter {
      * @param value The vector to write.
      */
     private void writeVector2i(Object value) {
-        write("{" + (newLine ? "\n" : ""), false);
-        String oldPrefix = prefix;
-        prefix += "" + (tab ? "\t" : "");
-        write("\"x\":" + (space ? " " : "") + ((Vector2i)value).x + "," + (newLine ? "\n" : ""));
-        write("\"y\":" + (space ? " " : "") + ((Vector2i)value).y + (newLine ? "\n" : ""));
-        prefix = oldPrefix;
-        write("}");
+        append('{');
+        writeNewLine();
+        indentation++;
+        writeComponent("x", ((Vector2i)value).x, space, false);
+        writeComponent("y", ((Vector2i)value).y, space, true);
+        indentation--;
+        writePrefix();
+        append('}');
     }
 
     /**
@@ -409,14 +620,15 @@ public class JsonWriter {
      * @param value The vector to write.
      */
     private void writeVector3i(Object value) {
-        write("{" + (newLine ? "\n" : ""), false);
-        String oldPrefix = prefix;
-        prefix += "" + (tab ? "\t" : "");
-        write("\"x\":" + (space ? " " : "") + ((Vector3i)value).x + "," + (newLine ? "\n" : ""));
-        write("\"y\":" + (space ? " " : "") + ((Vector3i)value).y + "," + (newLine ? "\n" : ""));
-        write("\"z\":" + (space ? " " : "") + ((Vector3i)value).z + (newLine ? "\n" : ""));
-        prefix = oldPrefix;
-        write("}");
+        append('{');
+        writeNewLine();
+        indentation++;
+        writeComponent("x", ((Vector3i)value).x, space, false);
+        writeComponent("y", ((Vector3i)value).y, space, false);
+        writeComponent("z", ((Vector3i)value).z, space, true);
+        indentation--;
+        writePrefix();
+        append('}');
     }
 
     /**
@@ -425,15 +637,16 @@ public class JsonWriter {
      * @param value The vector to write.
      */
     private void writeVector4i(Object value) {
-        write("{" + (newLine ? "\n" : ""), false);
-        String oldPrefix = prefix;
-        prefix += "" + (tab ? "\t" : "");
-        write("\"x\":" + (space ? " " : "") + ((Vector4i)value).x + "," + (newLine ? "\n" : ""));
-        write("\"y\":" + (space ? " " : "") + ((Vector4i)value).y + "," + (newLine ? "\n" : ""));
-        write("\"z\":" + (space ? " " : "") + ((Vector4i)value).z + "," + (newLine ? "\n" : ""));
-        write("\"w\":" + (space ? " " : "") + ((Vector4i)value).w + (newLine ? "\n" : ""));
-        prefix = oldPrefix;
-        write("}");
+        append('{');
+        writeNewLine();
+        indentation++;
+        writeComponent("x", ((Vector4i)value).x, space, false);
+        writeComponent("y", ((Vector4i)value).y, space, false);
+        writeComponent("z", ((Vector4i)value).z, space, false);
+        writeComponent("w", ((Vector4i)value).w, space, true);
+        indentation--;
+        writePrefix();
+        append('}');
     }
 
     /**
@@ -442,68 +655,276 @@ public class JsonWriter {
      * @param value The matrix to write.
      */
     private void writeMatrix4f(Object value) {
-        write("{" + (newLine ? "\n" : ""), false);
-        String oldPrefix = prefix;
-        prefix += "" + (tab ? "\t" : "");
-        write("\"m00\":" + (space ? " " : "") + ((Matrix4f)value).m00() + "," + (newLine ? "\n" : ""));
-        write("\"m01\":" + (space ? " " : "") + ((Matrix4f)value).m01() + "," + (newLine ? "\n" : ""));
-        write("\"m02\":" + (space ? " " : "") + ((Matrix4f)value).m02() + "," + (newLine ? "\n" : ""));
-        write("\"m03\":" + (space ? " " : "") + ((Matrix4f)value).m03() + "," + (newLine ? "\n" : ""));
-        write("\"m10\":" + (space ? " " : "") + ((Matrix4f)value).m10() + "," + (newLine ? "\n" : ""));
-        write("\"m11\":" + (space ? " " : "") + ((Matrix4f)value).m11() + "," + (newLine ? "\n" : ""));
-        write("\"m12\":" + (space ? " " : "") + ((Matrix4f)value).m12() + "," + (newLine ? "\n" : ""));
-        write("\"m13\":" + (space ? " " : "") + ((Matrix4f)value).m13() + "," + (newLine ? "\n" : ""));
-        write("\"m20\":" + (space ? " " : "") + ((Matrix4f)value).m20() + "," + (newLine ? "\n" : ""));
-        write("\"m21\":" + (space ? " " : "") + ((Matrix4f)value).m21() + "," + (newLine ? "\n" : ""));
-        write("\"m22\":" + (space ? " " : "") + ((Matrix4f)value).m22() + "," + (newLine ? "\n" : ""));
-        write("\"m23\":" + (space ? " " : "") + ((Matrix4f)value).m23() + "," + (newLine ? "\n" : ""));
-        write("\"m30\":" + (space ? " " : "") + ((Matrix4f)value).m30() + "," + (newLine ? "\n" : ""));
-        write("\"m31\":" + (space ? " " : "") + ((Matrix4f)value).m31() + "," + (newLine ? "\n" : ""));
-        write("\"m32\":" + (space ? " " : "") + ((Matrix4f)value).m32() + "," + (newLine ? "\n" : ""));
-        write("\"m33\":" + (space ? " " : "") + ((Matrix4f)value).m33() + (newLine ? "\n" : ""));
-        prefix = oldPrefix;
-        write("}");
+        Matrix4f matrix = (Matrix4f)value;
+
+        append('{');
+        writeNewLine();
+        indentation++;
+        writeComponent("m00", matrix.m00(), space, false);
+        writeComponent("m01", matrix.m01(), space, false);
+        writeComponent("m02", matrix.m02(), space, false);
+        writeComponent("m03", matrix.m03(), space, false);
+        writeComponent("m10", matrix.m10(), space, false);
+        writeComponent("m11", matrix.m11(), space, false);
+        writeComponent("m12", matrix.m12(), space, false);
+        writeComponent("m13", matrix.m13(), space, false);
+        writeComponent("m20", matrix.m20(), space, false);
+        writeComponent("m21", matrix.m21(), space, false);
+        writeComponent("m22", matrix.m22(), space, false);
+        writeComponent("m23", matrix.m23(), space, false);
+        writeComponent("m30", matrix.m30(), space, false);
+        writeComponent("m31", matrix.m31(), space, false);
+        writeComponent("m32", matrix.m32(), space, false);
+        writeComponent("m33", matrix.m33(), space, true);
+        indentation--;
+        writePrefix();
+        append('}');
+    }
+
+    /**
+     * Writes a component of a vector or a matrix.
+     *
+     * @param name The component's name.
+     * @param value The component's value.
+     * @param withSpace Defines if a space follows the colon.
+     * @param isLast Defines if this is the last component (not followed by a comma).
+     */
+    private void writeComponent(String name, float value, boolean withSpace, boolean isLast) {
+        writePrefix();
+        append('"');
+        append(name);
+        append("\":");
+
+        if (withSpace) {
+            append(' ');
+        }
+
+        append(Float.toString(value));
+
+        if (!isLast) {
+            append(',');
+        }
+
+        writeNewLine();
+    }
+
+    private void writeComponent(String name, int value, boolean withSpace, boolean isLast) {
+        writePrefix();
+        append('"');
+        append(name);
+        append("\":");
+
+        if (withSpace) {
+            append(' ');
+        }
+
+        append(value);
+
+        if (!isLast) {
+            append(',');
+        }
+
+        writeNewLine();
     }
 
     private void writeEnum(Object value) {
-        write(value.getClass().getName() + "::" + ((Enum)value).name(), false);
+        append(value.getClass().getName());
+        append("::");
+        append(((Enum)value).name());
     }
 
     /** Writes a null value. */
     private void writeBoolean(Object object) {
         boolean bool = (boolean) object;
-        write(bool ? "true" : "false", false);
+        append(bool ? "true" : "false");
     }
 
     /** Writes a null value. */
     private void writeNull() {
-        write("null", false);
+        append("null");
+    }
+
+    /** Writes a line break (if the text is not minified). */
+    private void writeNewLine() {
+        if (newLine) {
+            append('\n');
+        }
+    }
+
+    /** Writes the indentation of the current line (if the text is not minified). */
+    private void writePrefix() {
+        if (tab) {
+            for (int i = 0; i < indentation; i++) {
+                append('\t');
+            }
+        }
     }
 
-    /** Closes the file. */
-    private void close() {
+    /** Writes the rest of the buffer to the file. */
+    private void flush() throws IOException {
         if (file != null) {
-            file.write(data);
-            file.close();
+            file.write(buffer, 0, size);
+            size = 0;
         }
     }
 
     /**
-     * Write a text to file.
+     * Makes room for bytes in the buffer, flushing it to the file or growing it.
      *
-     * @param text The text to print.
+     * @param length The number of bytes to add.
      */
-    private void write(String text) {
-        write(text, true);
+    private void reserve(int length) {
+        if (size + length <= buffer.length) {
+            return;
+        }
+
+        if (file != null && size > 0) {
+            try {
+                file.write(buffer, 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            size = 0;
+
+            if (length <= buffer.length) {
+                return;
+            }
+        }
+
+        byte[] newBuffer = new byte[Math.max(buffer.length * 2, size + length)];
+        System.arraycopy(buffer, 0, newBuffer, 0, size);
+        buffer = newBuffer;
+    }
+
+    /** Writes an ASCII character. */
+    private void append(char c) {
+        reserve(1);
+        buffer[size++] = (byte)c;
+    }
+
+    /** Writes an integer, without creating a string. */
+    private void append(long value) {
+        if (value == Long.MIN_VALUE) {
+            append(Long.toString(value));
+            return;
+        }
+
+        reserve(20);
+
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+
+        int start = size;
+
+        do {
+            buffer[size++] = (byte)('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        // The digits were written from the last one.
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+    }
+
+    /** Writes a text encoded in UTF-8. */
+    private void append(String text) {
+        int length = text.length();
+        reserve(length);
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (c < 0x80) {
+                if (size == buffer.length) {
+                    reserve(1);
+                }
+
+                buffer[size++] = (byte)c;
+            } else {
+                i = appendNonAscii(text, i);
+            }
+        }
+    }
+
+    /** Writes a text encoded in UTF-8, escaping its special characters. */
+    private void appendEscaped(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            switch (c) {
+                case '\b':
+                    append("\\b");
+                    break;
+                case '\t':
+                    append("\\t");
+                    break;
+                case '\n':
+                    append("\\n");
+                    break;
+                case '\f':
+                    append("\\f");
+                    break;
+                case '\r':
+                    append("\\r");
+                    break;
+                case '"':
+                    append("\\\"");
+                    break;
+                case '\'':
+                    append("\\'");
+                    break;
+                case '\\':
+                    append("\\\\");
+                    break;
+                default:
+                    if (c < 0x80) {
+                        append(c);
+                    } else {
+                        i = appendNonAscii(text, i);
+                    }
+            }
+        }
     }
 
     /**
-     * Write a text to file.
+     * Writes a character outside of ASCII encoded in UTF-8.
      *
-     * @param text The text to print.
-     * @param usePrefix Defines if we should write the prefix first.
+     * @param text The text containing the character.
+     * @param index The character's index.
+     * @return the index of the last character written (the character following a high surrogate is also written).
      */
-    private void write(String text, boolean usePrefix) {
-        data += (usePrefix ? prefix : "") + text;
+    private int appendNonAscii(String text, int index) {
+        int codePoint = text.codePointAt(index);
+        reserve(4);
+
+        if (codePoint < 0x800) {
+            buffer[size++] = (byte)(0xC0 | (codePoint >> 6));
+            buffer[size++] = (byte)(0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            if (Character.isSurrogate((char)codePoint)) {
+                // A lone surrogate cannot be encoded.
+                buffer[size++] = '?';
+                return index;
+            }
+
+            buffer[size++] = (byte)(0xE0 | (codePoint >> 12));
+            buffer[size++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[size++] = (byte)(0x80 | (codePoint & 0x3F));
+        } else {
+            buffer[size++] = (byte)(0xF0 | (codePoint >> 18));
+            buffer[size++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[size++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[size++] = (byte)(0x80 | (codePoint & 0x3F));
+
+            return index + 1;
+        }
+
+        return index;
     }
 }
@@ -0,0 +1,374 @@
+package com.ustudents.engine.core.json;
+
+import com.ustudents.engine.core.json.annotation.JsonSerializable;
+import com.ustudents.engine.core.json.annotation.JsonSerializableConstructor;
+import com.ustudents.engine.core.json.annotation.JsonSerializableType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.ustudents.engine.utility.ReflectionUtil.isGeneric;
+
+/**
+ * The reflective metadata needed to serialize and deserialize a class (its serializable fields, their paths and
+ * accessors), computed once per class.
+ */
+class SerializationPlan {
+    /** A serializable field of a class. */
+    static class FieldPlan {
+        final Field field;
+
+        /** The field's key (its name, or the path given by its annotation). */
+        final String key;
+
+        /** The key split at each period, to find the field's value within nested maps. */
+        final String[] path;
+
+        final boolean necessary;
+
+        /** Defines if the field's type is itself a serializable class. */
+        final boolean serializableType;
+
+        final boolean mapType;
+
+        final boolean listType;
+
+        /** Defines if the field's type is a type parameter of its class. */
+        final boolean generic;
+
+        /** Defines if a value can be read directly into the field (see `isBindable`). */
+        final boolean bindable;
+
+        private final MethodHandle getter;
+
+        /** The setter (null if the field cannot be set through a method handle, like a final field). */
+        private final MethodHandle setter;
+
+        private FieldPlan(Field field, JsonSerializable annotation) throws IllegalAccessException {
+            field.setAccessible(true);
+
+            this.field = field;
+            this.key = annotation.path().isEmpty() ? field.getName() : annotation.path();
+            this.path = key.split("\\.");
+            this.necessary = annotation.necessary();
+            this.serializableType = field.getType().isAnnotationPresent(JsonSerializable.class);
+            this.mapType = field.getType().getName().startsWith("java.util.Map");
+            this.listType = field.getType().getName().startsWith("java.util.List");
+            this.generic = isGeneric(field.getGenericType());
+            this.bindable = isBindable(field.getGenericType());
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            this.getter = lookup.unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+
+            MethodHandle setter;
+
+            try {
+                setter = lookup.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException e) {
+                setter = null;
+            }
+
+            this.setter = setter;
+        }
+
+        Object get(Object object) throws Exception {
+            try {
+                return (Object)getter.invokeExact(object);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        void set(Object object, Object value) throws Exception {
+            if (setter == null) {
+                field.set(object, value);
+                return;
+            }
+
+            try {
+                setter.invokeExact(object, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+
+    private static final ClassValue<SerializationPlan> plans = new ClassValue<SerializationPlan>() {
+        @Override
+        protected SerializationPlan computeValue(Class<?> type) {
+            return new SerializationPlan(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    /** Defines if the class (or one of its superclasses) is annotated as serializable. */
+    final boolean serializable;
+
+    /** The fields written when serializing (in the order of the serialized maps). */
+    final List<FieldPlan> serializedFields;
+
+    /** The fields read when deserializing. */
+    final List<FieldPlan> deserializedFields;
+
+    /** The index of the deserialized fields by key (for the fields without path). */
+    private final Map<String, Integer> deserializedFieldIndices;
+
+    /** Defines if one of the serializable fields has a path within nested maps. */
+    final boolean hasPaths;
+
+    /** Defines if one of the construction methods takes the Json map of the object. */
+    final boolean needsJson;
+
+    /** The serializable fields by name (the fields of the class hide the ones of its superclasses). */
+    private final Map<String, FieldPlan> fieldsByName;
+
+    /** The serializer generated for the class at compile time (null if there is none). */
+    final JsonTypeSerializer<Object> generatedSerializer;
+
+    /** The public constructor without parameters (null if there is none). */
+    private final MethodHandle constructor;
+
+    /** The methods to call once an object is deserialized. */
+    private final List<Method> constructionMethods;
+
+    private SerializationPlan(Class<?> type) {
+        this.type = type;
+
+        boolean serializable = false;
+        List<FieldPlan> serializedFields = new ArrayList<>();
+        List<FieldPlan> deserializedFields = new ArrayList<>();
+        Map<String, FieldPlan> fieldsByName = new HashMap<>();
+
+        try {
+            for (Class<?> currentType = type; currentType != null; currentType = currentType.getSuperclass()) {
+                if (!currentType.isAnnotationPresent(JsonSerializable.class)) {
+                    continue;
+                }
+
+                serializable = true;
+
+                for (Field field : currentType.getDeclaredFields()) {
+                    JsonSerializable annotation = field.getAnnotation(JsonSerializable.class);
+
+                    if (annotation == null) {
+                        continue;
+                    }
+
+                    FieldPlan fieldPlan = new FieldPlan(field, annotation);
+                    fieldsByName.putIfAbsent(field.getName(), fieldPlan);
+
+                    if (annotation.type() != JsonSerializableType.DeserializableOnly) {
+                        serializedFields.add(fieldPlan);
+                    }
+
+                    if (annotation.type() != JsonSerializableType.SerializableOnly) {
+                        deserializedFields.add(fieldPlan);
+                    }
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access the fields of " + type.getName(), e);
+        }
+
+        this.serializable = serializable;
+        this.serializedFields = Collections.unmodifiableList(serializedFields);
+        this.deserializedFields = Collections.unmodifiableList(deserializedFields);
+        this.fieldsByName = fieldsByName;
+
+        Map<String, Integer> deserializedFieldIndices = new HashMap<>();
+        boolean hasPaths = false;
+
+        for (int i = 0; i < deserializedFields.size(); i++) {
+            if (deserializedFields.get(i).path.length > 1) {
+                hasPaths = true;
+            } else {
+                deserializedFieldIndices.putIfAbsent(deserializedFields.get(i).key, i);
+            }
+        }
+
+        for (FieldPlan fieldPlan : serializedFields) {
+            hasPaths |= fieldPlan.path.length > 1;
+        }
+
+        this.deserializedFieldIndices = deserializedFieldIndices;
+        this.hasPaths = hasPaths;
+        this.generatedSerializer = serializable ? findGeneratedSerializer(type) : null;
+
+        MethodHandle constructor;
+
+        try {
+            Constructor<?> publicConstructor = type.getConstructor();
+            publicConstructor.setAccessible(true);
+            constructor = MethodHandles.lookup().unreflectConstructor(publicConstructor)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            constructor = null;
+        }
+
+        this.constructor = constructor;
+
+        List<Method> constructionMethods = new ArrayList<>();
+
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(JsonSerializableConstructor.class)) {
+                constructionMethods.add(method);
+            }
+        }
+
+        this.constructionMethods = constructionMethods.isEmpty() ? Collections.emptyList() :
+                Collections.unmodifiableList(constructionMethods);
+
+        boolean needsJson = false;
+
+        for (Method method : constructionMethods) {
+            needsJson |= method.getParameterTypes().length > 0;
+        }
+
+        this.needsJson = needsJson;
+    }
+
+    /**
+     * Gets the plan of a class (computed on first use).
+     *
+     * @param type The class.
+     * @return the plan.
+     */
+    static SerializationPlan of(Class<?> type) {
+        return plans.get(type);
+    }
+
+    /**
+     * Gets a serializable field.
+     *
+     * @param name The field's name.
+     * @return the field.
+     */
+    FieldPlan getField(String name) throws Exception {
+        FieldPlan fieldPlan = fieldsByName.get(name);
+
+        if (fieldPlan == null) {
+            throw new NoSuchFieldException(type.getName() + "." + name);
+        }
+
+        return fieldPlan;
+    }
+
+    /**
+     * Finds a deserialized field (without path) by key.
+     *
+     * @param key The key.
+     * @return the field's index within `deserializedFields` (-1 if there is none).
+     */
+    int findDeserializedField(String key) {
+        Integer index = deserializedFieldIndices.get(key);
+
+        return index == null ? -1 : index;
+    }
+
+    /** Throws if the class is not serializable. */
+    void checkSerializable() throws Exception {
+        if (!serializable) {
+            throw new Exception("Not a serializable class!");
+        }
+    }
+
+    /** @return a new instance of the class, created with its constructor without parameters. */
+    Object newInstance() throws Exception {
+        if (constructor == null) {
+            throw new NoSuchMethodException(type.getName() + ".<init>()");
+        }
+
+        try {
+            return (Object)constructor.invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Calls the methods annotated with `JsonSerializableConstructor` on a deserialized object.
+     *
+     * @param object The object.
+     * @param json The map the object was deserialized from.
+     */
+    void invokeConstructionMethods(Object object, Map<String, Object> json) throws Exception {
+        for (Method method : constructionMethods) {
+            if (method.getParameterTypes().length == 0) {
+                method.invoke(object);
+            } else {
+                method.invoke(object, json);
+            }
+        }
+    }
+
+    /**
+     * Checks if a value can be read directly into a type, without creating its map first: a serializable class without
+     * type parameters, or a list of them (the other types need the map for their conversions).
+     *
+     * @param type The type.
+     * @return if the type is bindable.
+     */
+    static boolean isBindable(Type type) {
+        if (type instanceof Class) {
+            return ((Class<?>)type).isAnnotationPresent(JsonSerializable.class) &&
+                    ((Class<?>)type).getTypeParameters().length == 0;
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType)type;
+
+            return parameterizedType.getRawType() == List.class &&
+                    isBindable(parameterizedType.getActualTypeArguments()[0]);
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds the serializer generated by the `processor` project for a class: `<package>.<Name>JsonSerializer` (with
+     * the names of the enclosing classes joined by underscores for a nested class).
+     *
+     * @param type The class.
+     * @return the serializer (null if the class has none, it is then serialized through reflection).
+     */
+    @SuppressWarnings("unchecked")
+    private static JsonTypeSerializer<Object> findGeneratedSerializer(Class<?> type) {
+        String packageName = type.getPackage() == null ? "" : type.getPackage().getName();
+        String simpleName = packageName.isEmpty() ? type.getName() :
+                type.getName().substring(packageName.length() + 1);
+        String name = (packageName.isEmpty() ? "" : packageName + ".") + simpleName.replace('$', '_') +
+                "JsonSerializer";
+
+        try {
+            Class<?> serializerType = Class.forName(name, true, type.getClassLoader());
+
+            if (!JsonTypeSerializer.class.isAssignableFrom(serializerType)) {
+                return null;
+            }
+
+            return (JsonTypeSerializer<Object>)serializerType.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create the serializer of " + type.getName(), e);
+        }
+    }
+}
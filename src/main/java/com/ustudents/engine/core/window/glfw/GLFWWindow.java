@@ -279,6 +279,14 @@ public class GLFWWindow extends EmptyWindow {
             }
         });
 
+        glfwSetWindowRefreshCallback(windowHandle, new GLFWWindowRefreshCallback() {
+            @Override
+            public void invoke(long window) {
+                // The content of the window has been damaged (e.g. uncovered), it must be rendered again.
+                Game.get().requestRender();
+            }
+        });
+
         glfwSetKeyCallback(windowHandle, new GLFWKeyCallback() {
             @Override
             public void invoke(long window, int key, int scancode, int action, int mods) {
@@ -1,5 +1,6 @@
 package com.ustudents.engine.ecs.component.graphic;
 
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.ecs.component.core.BehaviourComponent;
 import com.ustudents.engine.ecs.component.core.TransformComponent;
 import com.ustudents.engine.graphic.*;
@@ -38,6 +39,7 @@ public class AnimationSpriteComponent extends BehaviourComponent implements Rend
      */
     public AnimationSpriteComponent(Spritesheet sprite, String animationName) {
         this.spritesheet = sprite;
+        Resources.hold(spritesheet, this);
         this.currentAnimation = spritesheet.getAnimation(animationName);
         this.currentFrame = 0;
         this.currentNeededDuration = currentAnimation.getFrames().get(currentFrame).getDuration();
@@ -8,6 +8,8 @@ import com.ustudents.engine.graphic.Spritebatch;
 import com.ustudents.engine.graphic.imgui.annotation.Viewable;
 import org.joml.Vector2f;
 
+import java.util.Objects;
+
 @Viewable
 public class NineSlicedSpriteComponent extends Component implements RenderableComponent {
     /** The color tint to apply on the texture. */
@@ -67,4 +69,17 @@ public class NineSlicedSpriteComponent extends Component implements RenderableCo
 
         spritebatch.drawNineSlicedSprite(nineSlicedSpriteData);
     }
+
+    @Override
+    public int getRenderState() {
+        int state = System.identityHashCode(parts);
+        state = 31 * state + Objects.hashCode(size);
+        state = 31 * state + Float.floatToIntBits(tint.r);
+        state = 31 * state + Float.floatToIntBits(tint.g);
+        state = 31 * state + Float.floatToIntBits(tint.b);
+        state = 31 * state + Float.floatToIntBits(tint.a);
+        state = 31 * state + Objects.hashCode(origin);
+
+        return state;
+    }
 }
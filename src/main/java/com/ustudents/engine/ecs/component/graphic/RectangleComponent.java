@@ -7,6 +7,8 @@ import com.ustudents.engine.graphic.Spritebatch;
 import com.ustudents.engine.graphic.imgui.annotation.Viewable;
 import org.joml.Vector2f;
 
+import java.util.Objects;
+
 @Viewable
 public class RectangleComponent extends Component implements RenderableComponent {
     /** The size. */
@@ -76,4 +78,18 @@ public class RectangleComponent extends Component implements RenderableComponent
 
         spritebatch.drawRectangle(rectangleData);
     }
+
+    @Override
+    public int getRenderState() {
+        int state = Objects.hashCode(size);
+        state = 31 * state + Float.floatToIntBits(color.r);
+        state = 31 * state + Float.floatToIntBits(color.g);
+        state = 31 * state + Float.floatToIntBits(color.b);
+        state = 31 * state + Float.floatToIntBits(color.a);
+        state = 31 * state + Objects.hashCode(thickness);
+        state = 31 * state + Objects.hashCode(origin);
+        state = 31 * state + Objects.hashCode(filled);
+
+        return state;
+    }
 }
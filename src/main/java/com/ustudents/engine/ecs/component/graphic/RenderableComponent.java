@@ -8,4 +8,15 @@ public interface RenderableComponent {
                         TransformComponent transformComponent) {
 
     }
+
+    /**
+     * Summarizes what is rendered, used to know when a cached UI layer must be rendered again.
+     * Implementations should return a different value whenever their rendered output changes. It is called for every
+     * cached element each frame, so it should not allocate (like the varargs `Objects.hash` does).
+     *
+     * @return the render state.
+     */
+    default int getRenderState() {
+        return 0;
+    }
 }
@@ -1,5 +1,6 @@
 package com.ustudents.engine.ecs.component.graphic;
 
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.ecs.Component;
 import com.ustudents.engine.ecs.component.core.TransformComponent;
 import com.ustudents.engine.graphic.Color;
@@ -8,6 +9,8 @@ import com.ustudents.engine.graphic.Spritebatch;
 import com.ustudents.engine.graphic.imgui.annotation.Viewable;
 import org.joml.Vector2f;
 
+import java.util.Objects;
+
 /** Component for a sprite to show on screen. */
 @Viewable
 public class SpriteComponent extends Component implements RenderableComponent {
@@ -32,6 +35,7 @@ public class SpriteComponent extends Component implements RenderableComponent {
         this.sprite = sprite;
         this.tint = Color.WHITE;
         this.origin = new Vector2f();
+        holdSprite();
     }
 
     /**
@@ -44,6 +48,7 @@ public class SpriteComponent extends Component implements RenderableComponent {
         this.sprite = sprite;
         this.tint = tint;
         this.origin = new Vector2f();
+        holdSprite();
     }
 
     /**
@@ -53,6 +58,7 @@ public class SpriteComponent extends Component implements RenderableComponent {
      */
     public void setSprite(Sprite sprite) {
         this.sprite = sprite;
+        holdSprite();
     }
 
     /**
@@ -85,4 +91,24 @@ public class SpriteComponent extends Component implements RenderableComponent {
 
         spritebatch.drawSprite(spriteData);
     }
+
+    @Override
+    public int getRenderState() {
+        int state = System.identityHashCode(sprite.getTexture());
+        state = 31 * state + Objects.hashCode(sprite.getRegion());
+        state = 31 * state + Float.floatToIntBits(tint.r);
+        state = 31 * state + Float.floatToIntBits(tint.g);
+        state = 31 * state + Float.floatToIntBits(tint.b);
+        state = 31 * state + Float.floatToIntBits(tint.a);
+        state = 31 * state + Objects.hashCode(origin);
+
+        return state;
+    }
+
+    /** Holds the sprite's texture, which may come from a spritesheet loaded by another scene. */
+    private void holdSprite() {
+        if (sprite != null) {
+            Resources.hold(sprite.getTexture(), this);
+        }
+    }
 }
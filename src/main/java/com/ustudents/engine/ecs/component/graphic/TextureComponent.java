@@ -1,5 +1,6 @@
 package com.ustudents.engine.ecs.component.graphic;
 
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.ecs.Component;
 import com.ustudents.engine.ecs.component.core.TransformComponent;
 import com.ustudents.engine.graphic.Color;
@@ -9,6 +10,8 @@ import com.ustudents.engine.graphic.imgui.annotation.Viewable;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 
+import java.util.Objects;
+
 /** Component for a texture to show on screen. */
 @Viewable
 public class TextureComponent extends Component implements RenderableComponent {
@@ -42,6 +45,7 @@ public class TextureComponent extends Component implements RenderableComponent {
         this.region = new Vector4f(0, 0, texture.getWidth(), texture.getHeight());
         this.tint = Color.WHITE;
         this.origin = new Vector2f(0.0f, 0.0f);
+        Resources.hold(texture, this);
     }
 
     /**
@@ -51,6 +55,7 @@ public class TextureComponent extends Component implements RenderableComponent {
      */
     public void setTexture(Texture texture) {
         this.texture = texture;
+        Resources.hold(texture, this);
     }
 
     /**
@@ -95,4 +100,17 @@ public class TextureComponent extends Component implements RenderableComponent {
 
         spritebatch.drawTexture(textureData);
     }
+
+    @Override
+    public int getRenderState() {
+        int state = System.identityHashCode(texture);
+        state = 31 * state + Objects.hashCode(region);
+        state = 31 * state + Float.floatToIntBits(tint.r);
+        state = 31 * state + Float.floatToIntBits(tint.g);
+        state = 31 * state + Float.floatToIntBits(tint.b);
+        state = 31 * state + Float.floatToIntBits(tint.a);
+        state = 31 * state + Objects.hashCode(origin);
+
+        return state;
+    }
 }
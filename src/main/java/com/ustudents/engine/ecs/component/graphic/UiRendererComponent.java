@@ -4,6 +4,10 @@ import com.ustudents.engine.graphic.imgui.annotation.Viewable;
 
 @Viewable
 public class UiRendererComponent extends RendererComponent {
+    /** Defines if the element is static and should be rendered within the scene's cached UI layer. */
+    @Viewable
+    public Boolean cached;
+
     /** Class constructor. */
     public UiRendererComponent() {
         this(0);
@@ -15,6 +19,21 @@ public class UiRendererComponent extends RendererComponent {
      * @param zIndex The Z index.
      */
     public UiRendererComponent(Integer zIndex) {
+        this(zIndex, false);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param zIndex The Z index.
+     * @param cached If the element should be rendered within the cached UI layer.
+     */
+    public UiRendererComponent(Integer zIndex, Boolean cached) {
         this.zIndex = zIndex;
+        this.cached = cached;
+    }
+
+    public void setCached(Boolean cached) {
+        this.cached = cached;
     }
 }
@@ -1,5 +1,7 @@
 package com.ustudents.engine.ecs.component.gui;
 
+import com.ustudents.engine.Game;
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.event.EventDispatcher;
 import com.ustudents.engine.ecs.Component;
 import com.ustudents.engine.ecs.component.core.TransformComponent;
@@ -11,6 +13,8 @@ import com.ustudents.engine.graphic.Spritebatch;
 import com.ustudents.engine.graphic.imgui.annotation.Viewable;
 import org.joml.Vector2f;
 
+import java.util.Objects;
+
 @Viewable
 public class TextComponent extends Component implements RenderableComponent {
     /** The text. */
@@ -45,6 +49,7 @@ public class TextComponent extends Component implements RenderableComponent {
         this.text = text;
         this.font = font;
         this.color = Color.WHITE;
+        Resources.hold(font, this);
         this.origin = new Vector2f();
         calculateTextSize();
     }
@@ -54,6 +59,10 @@ public class TextComponent extends Component implements RenderableComponent {
     }
 
     public void setText(String text) {
+        if (Game.get() != null && !Objects.equals(text, this.text)) {
+            Game.get().requestRender();
+        }
+
         this.text = text;
         calculateTextSize();
         textChanged.dispatch();
@@ -61,6 +70,7 @@ public class TextComponent extends Component implements RenderableComponent {
 
     public void setFont(Font font) {
         this.font = font;
+        Resources.hold(font, this);
         calculateTextSize();
     }
 
@@ -96,4 +106,17 @@ public class TextComponent extends Component implements RenderableComponent {
         TransformComponent transformComponent = getEntity().getComponent(TransformComponent.class);
         return font.getScaledTextSize(text, getEntity().getComponent(TransformComponent.class).scale).mul(transformComponent.scale);
     }
+
+    @Override
+    public int getRenderState() {
+        int state = Objects.hashCode(text);
+        state = 31 * state + System.identityHashCode(font);
+        state = 31 * state + Float.floatToIntBits(color.r);
+        state = 31 * state + Float.floatToIntBits(color.g);
+        state = 31 * state + Float.floatToIntBits(color.b);
+        state = 31 * state + Float.floatToIntBits(color.a);
+        state = 31 * state + Objects.hashCode(origin);
+
+        return state;
+    }
 }
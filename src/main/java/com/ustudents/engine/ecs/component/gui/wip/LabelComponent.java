@@ -1,5 +1,6 @@
 package com.ustudents.engine.ecs.component.gui.wip;
 
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.ecs.component.core.TransformComponent;
 import com.ustudents.engine.ecs.component.graphic.RenderableComponent;
 import com.ustudents.engine.ecs.component.graphic.RendererComponent;
@@ -41,6 +42,7 @@ public class LabelComponent extends GuiComponent implements RenderableComponent
         this.text = text;
         this.font = font;
         this.color = Color.WHITE;
+        Resources.hold(font, this);
         this.origin = new Vector2f();
         calculateTextSize();
     }
@@ -56,6 +58,7 @@ public class LabelComponent extends GuiComponent implements RenderableComponent
 
     public void setFont(Font font) {
         this.font = font;
+        Resources.hold(font, this);
         calculateTextSize();
     }
 
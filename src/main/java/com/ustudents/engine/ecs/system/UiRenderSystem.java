@@ -1,8 +1,12 @@
 package com.ustudents.engine.ecs.system;
 
 import com.ustudents.engine.ecs.Entity;
+import com.ustudents.engine.ecs.component.core.TransformComponent;
+import com.ustudents.engine.ecs.component.graphic.RenderableComponent;
 import com.ustudents.engine.ecs.component.graphic.UiRendererComponent;
 import com.ustudents.engine.graphic.Spritebatch;
+import com.ustudents.engine.graphic.UiLayer;
+import com.ustudents.engine.scene.Scene;
 import com.ustudents.engine.scene.SceneManager;
 
 public class UiRenderSystem extends RenderSystem {
@@ -16,16 +20,72 @@ public class UiRenderSystem extends RenderSystem {
             return;
         }
 
-        Spritebatch spritebatch = SceneManager.getScene().getSpritebatch();
+        Scene scene = SceneManager.getScene();
+        Spritebatch spritebatch = scene.getSpritebatch();
+        UiLayer uiLayer = scene.getUiLayer();
 
-        spritebatch.begin(SceneManager.getScene().getUiCamera());
+        long cachedState = 17;
+        int cachedZIndex = Integer.MIN_VALUE;
 
         for (Entity entity : getEntities()) {
-            if (entity.isEnabled()) {
+            UiRendererComponent rendererComponent = entity.getComponent(UiRendererComponent.class);
+
+            if (rendererComponent.cached) {
+                cachedState = 31 * cachedState + getRenderState(entity, rendererComponent);
+
+                if (entity.isEnabled()) {
+                    cachedZIndex = Math.max(cachedZIndex, rendererComponent.zIndex);
+                }
+            }
+        }
+
+        boolean hasCachedElements = cachedZIndex != Integer.MIN_VALUE;
+
+        if (hasCachedElements && !uiLayer.isUpToDate(cachedState)) {
+            uiLayer.begin(spritebatch, scene.getUiCamera(), cachedState);
+
+            for (Entity entity : getEntities()) {
+                if (entity.isEnabled() && entity.getComponent(UiRendererComponent.class).cached) {
+                    renderElement(spritebatch, entity, UiRendererComponent.class);
+                }
+            }
+
+            uiLayer.end(spritebatch);
+        }
+
+        spritebatch.begin(scene.getUiCamera());
+
+        for (Entity entity : getEntities()) {
+            if (entity.isEnabled() && !entity.getComponent(UiRendererComponent.class).cached) {
                 renderElement(spritebatch, entity, UiRendererComponent.class);
             }
         }
 
+        if (hasCachedElements) {
+            // The whole layer is composited at the highest Z index of its elements.
+            uiLayer.draw(spritebatch, cachedZIndex);
+        }
+
         spritebatch.end();
     }
+
+    /** Summarizes everything that can change the rendered output of a cached element. */
+    private static long getRenderState(Entity entity, UiRendererComponent rendererComponent) {
+        TransformComponent transformComponent = entity.getComponent(TransformComponent.class);
+
+        long state = entity.getId();
+        state = 31 * state + (entity.isEnabled() ? 1 : 0);
+        state = 31 * state + rendererComponent.zIndex;
+        state = 31 * state + Float.floatToIntBits(transformComponent.position.x);
+        state = 31 * state + Float.floatToIntBits(transformComponent.position.y);
+        state = 31 * state + Float.floatToIntBits(transformComponent.scale.x);
+        state = 31 * state + Float.floatToIntBits(transformComponent.scale.y);
+        state = 31 * state + Float.floatToIntBits(transformComponent.rotation);
+
+        for (RenderableComponent renderableComponent : entity.getRenderableComponents()) {
+            state = 31 * state + renderableComponent.getRenderState();
+        }
+
+        return state;
+    }
 }
@@ -1,5 +1,7 @@
 package com.ustudents.engine.graphic;
 
+import com.ustudents.engine.Game;
+import com.ustudents.engine.core.Resources;
 import org.joml.Vector2f;
 
 public class AnimatedSprite {
@@ -25,6 +27,7 @@ public class AnimatedSprite {
 
     public AnimatedSprite(Spritesheet sprite, String animationName) {
         this.spritesheet = sprite;
+        Resources.hold(spritesheet, this);
         this.currentAnimation = spritesheet.getAnimation(animationName);
         this.currentFrame = 0;
         this.currentNeededDuration = currentAnimation.getFrames().get(currentFrame).getDuration();
@@ -45,8 +48,13 @@ public class AnimatedSprite {
             }
 
             currentNeededDuration = currentAnimation.getFrames().get(currentFrame).getDuration();
+            Sprite previousSprite = sprite;
             sprite = currentAnimation.getFrames().get(currentFrame).getSprite();
             currentDuration = 0;
+
+            if (Game.get() != null && sprite != previousSprite) {
+                Game.get().requestRender();
+            }
         }
     }
 }
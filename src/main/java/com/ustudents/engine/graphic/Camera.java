@@ -161,6 +161,10 @@ public class Camera {
         viewFrustum = new Vector4f(minX, minY, maxX, maxY);
 
         moved.dispatch(new PositionChanged(getPosition()));
+
+        if (Game.get() != null) {
+            Game.get().requestRender();
+        }
     }
 
     public void centerOnPosition(Vector2f position) {
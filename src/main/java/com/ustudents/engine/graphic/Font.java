@@ -14,8 +14,6 @@ import org.lwjgl.system.MemoryUtil;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
-import java.util.HashMap;
-import java.util.Map;
 
 import static com.ustudents.engine.core.Resources.getFontsDirectory;
 import static org.lwjgl.stb.STBTruetype.*;
@@ -34,6 +32,12 @@ public class Font {
             "\u0152\u00d9\u00da\u00db\u00dc\u00e0\u00e1\u00e2\u00e4\u00e6\u00e7\u00e8\u00e9\u00ea\u00eb\u00ec\u00ed" +
             "\u00ee\u00ef\u00f2\u00f3\u00f4\u00f6\u0153\u00f9\u00fa\u00fb\u00fc ";
 
+    /** The first codepoint packed within the font's bitmap (every glyph index is an offset from it). */
+    private static final char firstCharacter = ' ';
+
+    /** The number of codepoints packed within the font's bitmap (up to the euro sign). */
+    private static final int numberOfCharacters = 8333;
+
     @Viewable
     private Integer fontSize;
 
@@ -46,7 +50,19 @@ public class Font {
 
     private STBTTPackedchar.Buffer characterData;
 
-    private Map<Character, FontGlyphInfo> glyphInfoPerCharacter;
+    /** The shared atlas holding this font's glyphs (null if this font owns its own texture). */
+    private FontAtlas atlas;
+
+    private String characterSet;
+
+    /** Glyphs indexed by their codepoint offset from `firstCharacter` (null if not part of the character set). */
+    private FontGlyphInfo[] glyphInfos;
+
+    /** Glyph widths (in pixels) indexed like `glyphInfos`, to measure texts without any allocation. */
+    private int[] glyphWidths;
+
+    /** Glyph heights (in pixels) indexed like `glyphInfos`, to measure texts without any allocation. */
+    private int[] glyphHeights;
 
     private boolean destroyed;
 
@@ -60,29 +76,45 @@ public class Font {
 
     private int lineGap;
 
-    private Map<String, Integer> widthPerText;
-
-    private Map<String, Integer> heightPerText;
-
     public float averageHeight;
 
     private int spaceWidth = -1;
 
+    /** The last font loaded at a scaled size of this one (see `getScaledFont`). */
+    private Font scaledFont;
+
     public Font(String filePath, int fontSize) {
         this.path = filePath.replace(getFontsDirectory() + "/", "");
         this.fontSize = fontSize;
-        glyphInfoPerCharacter = new HashMap<>();
-        widthPerText = new HashMap<>();
-        heightPerText = new HashMap<>();
+        glyphInfos = new FontGlyphInfo[numberOfCharacters];
+        glyphWidths = new int[numberOfCharacters];
+        glyphHeights = new int[numberOfCharacters];
 
         if (Game.get().canRender()) {
             loadFont(filePath);
         }
     }
 
+    public Font(FontAtlas atlas, int fontSize) {
+        this.path = atlas.getPath();
+        this.fontSize = fontSize;
+        this.atlas = atlas;
+        glyphInfos = new FontGlyphInfo[numberOfCharacters];
+        glyphWidths = new int[numberOfCharacters];
+        glyphHeights = new int[numberOfCharacters];
+
+        if (Game.get().canRender()) {
+            loadFont(null, atlas.getCharacterSet());
+        } else {
+            atlas.addFont(this);
+        }
+    }
+
     public void destroy() {
         if (!destroyed) {
-            if (Game.get().canRender()) {
+            if (atlas != null) {
+                atlas.removeFont(this);
+            } else if (Game.get().canRender()) {
                 texture.destroy();
             }
             destroyed = true;
@@ -95,29 +127,16 @@ public class Font {
 
     private void loadFont(String filePath, String characterSet) {
         kerning = 1;
+        this.characterSet = characterSet;
 
-        try (STBTTPackContext pc = STBTTPackContext.malloc()) {
-            data = FileUtil.readFile(filePath);
-            ByteBuffer bitmap = BufferUtils.createByteBuffer(1024 * 1024);
-            characterData = STBTTPackedchar.malloc(8333);
-
-            if (!stbtt_PackBegin(pc, bitmap, 1024, 1024, 0, 1, MemoryUtil.NULL)) {
-                throw new IllegalStateException("Failed to initialize font");
-            }
-
-            if (!stbtt_PackFontRange(pc, data, 0, fontSize, ' ', characterData)) {
-                throw new IllegalStateException("Failed to pack font");
-            }
-
-            stbtt_PackEnd(pc);
-
-            texture = new Texture(bitmap, 1024, 1024, 1);
-        }
-
-        for (int i = 0; i < characterSet.length(); i++) {
-            char c = characterSet.charAt(i);
-
-            glyphInfoPerCharacter.put(c, makeGlyphInfo(c));
+        if (atlas != null) {
+            // The atlas packs this font's size and then loads the glyphs of every font it holds.
+            data = atlas.getData();
+            atlas.addFont(this);
+            texture = atlas.getTexture();
+        } else {
+            loadStandaloneFont(filePath);
+            loadGlyphs();
         }
 
         info = STBTTFontinfo.create();
@@ -140,6 +159,51 @@ public class Font {
         }
     }
 
+    /** Loads (or updates in place, to keep the regions of queued glyphs valid) the glyphs from the packed data. */
+    void loadGlyphs() {
+        for (int i = 0; i < characterSet.length(); i++) {
+            char c = characterSet.charAt(i);
+            int index = c - firstCharacter;
+
+            if (glyphInfos[index] == null) {
+                glyphInfos[index] = new FontGlyphInfo();
+                glyphInfos[index].position = new Vector4f();
+                glyphInfos[index].region = new Vector4f();
+            }
+
+            FontGlyphInfo glyphInfo = glyphInfos[index];
+
+            if (atlas != null) {
+                makeGlyphInfo(atlas.getCharacterData(fontSize), atlas.getWidth(), atlas.getHeight(), i, glyphInfo);
+            } else {
+                makeGlyphInfo(characterData, 1024, 1024, index, glyphInfo);
+            }
+
+            glyphWidths[index] = (int)glyphInfo.position.z - (int)glyphInfo.position.x;
+            glyphHeights[index] = (int)glyphInfo.position.w - (int)glyphInfo.position.y;
+        }
+    }
+
+    private void loadStandaloneFont(String filePath) {
+        try (STBTTPackContext pc = STBTTPackContext.malloc()) {
+            data = FileUtil.readFile(Resources.getAssetPack(), filePath);
+            ByteBuffer bitmap = BufferUtils.createByteBuffer(1024 * 1024);
+            characterData = STBTTPackedchar.malloc(numberOfCharacters);
+
+            if (!stbtt_PackBegin(pc, bitmap, 1024, 1024, 0, 1, MemoryUtil.NULL)) {
+                throw new IllegalStateException("Failed to initialize font");
+            }
+
+            if (!stbtt_PackFontRange(pc, data, 0, fontSize, firstCharacter, characterData)) {
+                throw new IllegalStateException("Failed to pack font");
+            }
+
+            stbtt_PackEnd(pc);
+
+            texture = new Texture(bitmap, 1024, 1024, 1);
+        }
+    }
+
     // Implementation from: https://github.com/LWJGL/lwjgl3/blob/master/modules/samples/src/test/java/org/lwjgl/demo/stb/Truetype.java
     public int getSpaceWidth() {
         if (!Game.get().canRender()) {
@@ -177,24 +241,21 @@ public class Font {
             return 0;
         }
 
-        if (widthPerText.containsKey(text)) {
-            return widthPerText.get(text);
-        }
-
         int maxWidth = 0;
+        int lineStart = 0;
 
-        String[] lines = text.split("\n");
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == '\n') {
+                int width = getLineWidth(text, lineStart, i);
 
-        for (String line : lines) {
-            int width = getLineWidth(line);
+                if (width > maxWidth) {
+                    maxWidth = width;
+                }
 
-            if (width > maxWidth) {
-                maxWidth = width;
+                lineStart = i + 1;
             }
         }
 
-        widthPerText.put(text, maxWidth);
-
         return maxWidth;
     }
 
@@ -203,22 +264,7 @@ public class Font {
             return 0;
         }
 
-        int width = 0;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
-            if (c == ' ') {
-                width += getSpaceWidth();
-            } else {
-                FontGlyphInfo cInfo = getGlyphInfo(c);
-                width += (int)cInfo.position.z - (int)cInfo.position.x;
-            }
-        }
-
-        width += kerning * line.length();
-
-        return width;
+        return getLineWidth(line, 0, line.length());
     }
 
     public int getTextHeight(String text) {
@@ -226,21 +272,26 @@ public class Font {
             return 0;
         }
 
-        if (heightPerText.containsKey(text)) {
-            return heightPerText.get(text);
-        }
-
         int height = 0;
+        int numberOfLines = text.isEmpty() ? 1 : 0;
+        int lineNumber = 0;
+        int lineStart = 0;
 
-        String[] lines = text.split("\n");
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == '\n') {
+                height += getLineHeight(text, lineStart, i);
+                lineNumber++;
 
-        for (String line : lines) {
-            height += getLineHeight(line);
-        }
+                // Trailing empty lines are not counted (same behaviour as `String.split`).
+                if (i > lineStart) {
+                    numberOfLines = lineNumber;
+                }
 
-        height += getLineSpacing() * lines.length - 1;
+                lineStart = i + 1;
+            }
+        }
 
-        heightPerText.put(text, height);
+        height += getLineSpacing() * numberOfLines - 1;
 
         return height;
     }
@@ -266,9 +317,7 @@ public class Font {
             return 0;
         }
 
-        Font scaledFont = Resources.loadFont(path, fontSize * (int)scale);
-
-        return scaledFont.getTextWidth(text) / (int)scale;
+        return getScaledFont((int)scale).getTextWidth(text) / (int)scale;
     }
 
     public int getScaledTextHeight(String text, float scale) {
@@ -276,9 +325,7 @@ public class Font {
             return 0;
         }
 
-        Font scaledFont = Resources.loadFont(path, fontSize * (int)scale);
-
-        return scaledFont.getTextHeight(text) / (int)scale;
+        return getScaledFont((int)scale).getTextHeight(text) / (int)scale;
     }
 
     public Vector2f getScaledTextSize(String text, Vector2f scale) {
@@ -289,7 +336,7 @@ public class Font {
         Font realFont;
 
         if (scale.x == scale.y) {
-            realFont = Resources.loadFont(getPath(), (int)(getSize() * scale.x));
+            realFont = getScaledFont(scale.x);
         } else {
             realFont = this;
         }
@@ -297,6 +344,33 @@ public class Font {
         return new Vector2f(realFont.getTextWidth(text), realFont.getTextHeight(text));
     }
 
+    /**
+     * Gets this font at a scaled size, loaded once and then kept (and held) for as long as the scale stays the same,
+     * to be callable on every frame.
+     *
+     * @param scale The scale.
+     * @return the scaled font.
+     */
+    public Font getScaledFont(float scale) {
+        int scaledSize = (int)(fontSize * scale);
+
+        if (scaledFont == null || scaledFont.getSize() != scaledSize || scaledFont.isDestroyed()) {
+            // The font at the previous scale is not used by this one anymore.
+            if (scaledFont != null && scaledFont != this) {
+                Resources.release(scaledFont, this);
+            }
+
+            scaledFont = Resources.loadFont(path, scaledSize);
+
+            // A font holding itself would never be evicted (the cache keeps it reachable).
+            if (scaledFont != this) {
+                Resources.hold(scaledFont, this);
+            }
+        }
+
+        return scaledFont;
+    }
+
     /*public int getHeight() {
         return (int) ((ascent - descent + lineGap) * stbtt_ScaleForPixelHeight(info, fontSize));
     }*/
@@ -306,20 +380,7 @@ public class Font {
             return 0;
         }
 
-        int maxHeight = 0;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            FontGlyphInfo cInfo = getGlyphInfo(c);
-
-            int height = (int)cInfo.position.w - (int)cInfo.position.y;
-
-            if (height > maxHeight) {
-                maxHeight = height;
-            }
-        }
-
-        return maxHeight;
+        return getLineHeight(line, 0, line.length());
     }
 
     public float getAverageTextHeight() {
@@ -338,6 +399,23 @@ public class Font {
         return data;
     }
 
+    /**
+     * Gets the memory used by the font on the GPU (estimated from the area of its glyphs when the atlas is shared).
+     *
+     * @return the size (in bytes).
+     */
+    public long getResidentSize() {
+        if (destroyed) {
+            return 0;
+        }
+
+        if (atlas != null) {
+            return (long)fontSize * fontSize * atlas.getCharacterSet().length();
+        }
+
+        return texture != null ? texture.getResidentSize() : 0;
+    }
+
     public int getSize() {
         return fontSize;
     }
@@ -366,23 +444,69 @@ public class Font {
         return path;
     }
 
+    public static String getDefaultCharacterSet() {
+        return defaultCharacterSet;
+    }
+
     public FontGlyphInfo getGlyphInfo(char c) {
-        return glyphInfoPerCharacter.get(c);
+        int index = c - firstCharacter;
+
+        if (index < 0 || index >= numberOfCharacters) {
+            return null;
+        }
+
+        return glyphInfos[index];
     }
 
-    private FontGlyphInfo makeGlyphInfo(char c) {
+    /** Sums the glyph widths of the characters within `[start, end[`, without any allocation. */
+    private int getLineWidth(String text, int start, int end) {
+        int width = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+
+            if (c == ' ') {
+                width += getSpaceWidth();
+            } else {
+                int index = c - firstCharacter;
+
+                if (index >= 0 && index < numberOfCharacters) {
+                    width += glyphWidths[index];
+                }
+            }
+        }
+
+        width += kerning * (end - start);
+
+        return width;
+    }
+
+    /** Finds the highest glyph of the characters within `[start, end[`, without any allocation. */
+    private int getLineHeight(String text, int start, int end) {
+        int maxHeight = 0;
+
+        for (int i = start; i < end; i++) {
+            int index = text.charAt(i) - firstCharacter;
+
+            if (index >= 0 && index < numberOfCharacters && glyphHeights[index] > maxHeight) {
+                maxHeight = glyphHeights[index];
+            }
+        }
+
+        return maxHeight;
+    }
+
+    private static void makeGlyphInfo(STBTTPackedchar.Buffer characterData, int bitmapWidth, int bitmapHeight,
+                                      int packedIndex, FontGlyphInfo info) {
         try (MemoryStack stack = stackPush()) {
             STBTTAlignedQuad q = STBTTAlignedQuad.mallocStack(stack);
             FloatBuffer x = stack.floats(0.0f);
             FloatBuffer y = stack.floats(0.0f);
-            FontGlyphInfo info = new FontGlyphInfo();
-
-            stbtt_GetPackedQuad(characterData, 1024, 1024, c - ' ', x, y, q, true);
 
-            info.position = new Vector4f(q.x0(), q.y0(), q.x1(), q.y1());
-            info.region = new Vector4f(q.s0(), q.t0(), q.s1(), q.t1());
+            stbtt_GetPackedQuad(characterData, bitmapWidth, bitmapHeight, packedIndex, x, y, q, true);
 
-            return info;
+            info.position.set(q.x0(), q.y0(), q.x1(), q.y1());
+            info.region.set(q.s0(), q.t0(), q.s1(), q.t1());
         }
     }
 
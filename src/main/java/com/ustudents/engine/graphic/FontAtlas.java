@@ -0,0 +1,232 @@
+package com.ustudents.engine.graphic;
+
+import com.ustudents.engine.Game;
+import com.ustudents.engine.core.Resources;
+import com.ustudents.engine.graphic.imgui.annotation.Viewable;
+import com.ustudents.engine.utility.FileUtil;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.stb.STBTTPackContext;
+import org.lwjgl.stb.STBTTPackRange;
+import org.lwjgl.stb.STBTTPackedchar;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.ustudents.engine.core.Resources.getFontsDirectory;
+import static org.lwjgl.stb.STBTruetype.*;
+import static org.lwjgl.system.MemoryStack.stackPush;
+
+/**
+ * A single texture page holding the glyphs of every size requested so far for one font file.
+ *
+ * Every time a new size is added, all sizes are packed again within the same texture (growing it if needed) and the
+ * glyphs of every font using the atlas are updated in place, so text of any size can be batched with one texture.
+ */
+@Viewable
+public class FontAtlas {
+    /** The initial size (in pixels) of the atlas' sides. */
+    private static final int initialSideSize = 1024;
+
+    /** The maximum size (in pixels) of the atlas' sides. */
+    private static final int maximumSideSize = 8192;
+
+    @Viewable
+    private String path;
+
+    @Viewable
+    private int width;
+
+    @Viewable
+    private int height;
+
+    private ByteBuffer data;
+
+    private Texture texture;
+
+    private String characterSet;
+
+    private final Map<Integer, STBTTPackedchar.Buffer> characterDataPerSize;
+
+    private final List<Font> fonts;
+
+    private boolean destroyed;
+
+    public FontAtlas(String filePath, String characterSet) {
+        this.path = filePath.replace(getFontsDirectory() + "/", "");
+        this.characterSet = characterSet;
+        this.width = initialSideSize;
+        this.height = initialSideSize;
+        this.characterDataPerSize = new LinkedHashMap<>();
+        this.fonts = new ArrayList<>();
+
+        if (Game.get().canRender()) {
+            data = FileUtil.readFile(Resources.getAssetPack(), filePath);
+        }
+    }
+
+    public void destroy() {
+        if (!destroyed) {
+            for (STBTTPackedchar.Buffer characterData : characterDataPerSize.values()) {
+                characterData.free();
+            }
+
+            characterDataPerSize.clear();
+
+            if (Game.get().canRender() && texture != null) {
+                texture.destroy();
+            }
+
+            destroyed = true;
+        }
+    }
+
+    /**
+     * Adds a font to the atlas, packing its size within the texture if it is not already there (otherwise its glyphs
+     * are loaded from the data already packed for its size).
+     *
+     * @param font The font to add.
+     */
+    public void addFont(Font font) {
+        fonts.add(font);
+
+        if (!Game.get().canRender()) {
+            return;
+        }
+
+        if (!characterDataPerSize.containsKey(font.getSize())) {
+            characterDataPerSize.put(font.getSize(), STBTTPackedchar.calloc(characterSet.length()));
+            pack();
+        } else {
+            font.loadGlyphs();
+        }
+    }
+
+    /**
+     * Removes a font from the atlas (its glyphs are kept until the next packing) and destroys the atlas if it was
+     * the last one.
+     *
+     * @param font The font to remove.
+     */
+    public void removeFont(Font font) {
+        fonts.remove(font);
+
+        boolean sizeStillUsed = false;
+
+        for (Font otherFont : fonts) {
+            if (otherFont.getSize() == font.getSize()) {
+                sizeStillUsed = true;
+                break;
+            }
+        }
+
+        if (!sizeStillUsed && characterDataPerSize.containsKey(font.getSize())) {
+            characterDataPerSize.remove(font.getSize()).free();
+        }
+
+        if (fonts.isEmpty()) {
+            destroy();
+        }
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public ByteBuffer getData() {
+        return data;
+    }
+
+    public Texture getTexture() {
+        return texture;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public String getCharacterSet() {
+        return characterSet;
+    }
+
+    public STBTTPackedchar.Buffer getCharacterData(int fontSize) {
+        return characterDataPerSize.get(fontSize);
+    }
+
+    /** Packs every size within one bitmap, growing it until everything fits, then updates the texture and glyphs. */
+    private void pack() {
+        ByteBuffer bitmap = null;
+
+        while (bitmap == null) {
+            bitmap = tryPack();
+
+            if (bitmap == null) {
+                if (width >= maximumSideSize && height >= maximumSideSize) {
+                    throw new IllegalStateException("Failed to pack font atlas");
+                }
+
+                if (width <= height) {
+                    width *= 2;
+                } else {
+                    height *= 2;
+                }
+            }
+        }
+
+        if (texture == null) {
+            texture = new Texture(bitmap, width, height, 1);
+        } else {
+            texture.update(bitmap, width, height, 1);
+        }
+
+        for (Font font : fonts) {
+            font.loadGlyphs();
+        }
+    }
+
+    /** Tries to pack every size with the current dimensions, returns null if it does not fit. */
+    private ByteBuffer tryPack() {
+        ByteBuffer bitmap = BufferUtils.createByteBuffer(width * height);
+
+        try (MemoryStack stack = stackPush(); STBTTPackContext pc = STBTTPackContext.malloc()) {
+            IntBuffer codepoints = stack.mallocInt(characterSet.length());
+            STBTTPackRange.Buffer ranges = STBTTPackRange.callocStack(characterDataPerSize.size(), stack);
+
+            for (int i = 0; i < characterSet.length(); i++) {
+                codepoints.put(i, characterSet.charAt(i));
+            }
+
+            int i = 0;
+
+            for (Map.Entry<Integer, STBTTPackedchar.Buffer> characterDataSet : characterDataPerSize.entrySet()) {
+                ranges.get(i++)
+                        .font_size(characterDataSet.getKey())
+                        .array_of_unicode_codepoints(codepoints)
+                        .chardata_for_range(characterDataSet.getValue());
+            }
+
+            if (!stbtt_PackBegin(pc, bitmap, width, height, 0, 1, MemoryUtil.NULL)) {
+                throw new IllegalStateException("Failed to initialize font atlas");
+            }
+
+            boolean packed = stbtt_PackFontRanges(pc, data, 0, ranges);
+
+            stbtt_PackEnd(pc);
+
+            return packed ? bitmap : null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ustudents.engine.graphic;
+
+import static org.lwjgl.opengl.GL33.*;
+
+/**
+ * Shadows the OpenGL bindings used by the engine to skip redundant state changes.
+ *
+ * Every binding of a program, a 2D texture (on texture unit 0) or a vertex array done by the engine must go through
+ * this class for the shadowed state to stay valid. Code that changes these bindings behind its back (like external
+ * libraries) must call `invalidate` afterwards.
+ */
+public final class GLState {
+    /** The value used when the real binding is unknown. */
+    private static final int unknown = -1;
+
+    private static int program = unknown;
+
+    private static int texture = unknown;
+
+    private static int vertexArray = unknown;
+
+    private GLState() {
+
+    }
+
+    /** Forgets every shadowed binding, the next binding calls will all reach OpenGL. */
+    public static void invalidate() {
+        program = unknown;
+        texture = unknown;
+        vertexArray = unknown;
+    }
+
+    public static void useProgram(int handle) {
+        if (program != handle) {
+            glUseProgram(handle);
+            program = handle;
+        }
+    }
+
+    public static void bindTexture(int handle) {
+        if (texture != handle) {
+            glBindTexture(GL_TEXTURE_2D, handle);
+            texture = handle;
+        }
+    }
+
+    public static void bindVertexArray(int handle) {
+        if (vertexArray != handle) {
+            glBindVertexArray(handle);
+            vertexArray = handle;
+        }
+    }
+
+    /** Deletes a program (OpenGL may reuse its handle, so it must not be considered bound anymore). */
+    public static void deleteProgram(int handle) {
+        glDeleteProgram(handle);
+
+        if (program == handle) {
+            program = unknown;
+        }
+    }
+
+    /** Deletes a texture (OpenGL unbinds it if it was bound). */
+    public static void deleteTexture(int handle) {
+        glDeleteTextures(handle);
+
+        if (texture == handle) {
+            texture = 0;
+        }
+    }
+
+    /** Deletes a vertex array (OpenGL unbinds it if it was bound). */
+    public static void deleteVertexArray(int handle) {
+        glDeleteVertexArrays(handle);
+
+        if (vertexArray == handle) {
+            vertexArray = 0;
+        }
+    }
+
+    public static int getProgram() {
+        return program;
+    }
+
+    public static int getTexture() {
+        return texture;
+    }
+
+    public static int getVertexArray() {
+        return vertexArray;
+    }
+}
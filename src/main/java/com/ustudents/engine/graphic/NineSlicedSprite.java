@@ -1,10 +1,61 @@
 package com.ustudents.engine.graphic;
 
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.graphic.imgui.annotation.Viewable;
 import org.joml.Vector2f;
+import org.joml.Vector4f;
 
 @Viewable
 public class NineSlicedSprite {
+    /** One of the nine quads of a layout. */
+    public static class Piece {
+        /** The texture of the piece. */
+        public final Texture texture;
+
+        /** The position of the piece relative to the top left corner of the whole sprite (already scaled). */
+        public final Vector2f offset;
+
+        /** The size of the piece's region (in pixels). */
+        public final Vector2f dimensions;
+
+        /** The region of the piece within its texture (normalized with the texture's size when it was computed). */
+        public final Vector4f region;
+
+        /** The scale of the piece (repetitions of the region multiplied by the sprite's scale). */
+        public final Vector2f scale;
+
+        /** The origin of the piece (always zero). */
+        public final Vector2f origin;
+
+        /** The texture's width used to normalize the region. */
+        private final int textureWidth;
+
+        /** The texture's height used to normalize the region. */
+        private final int textureHeight;
+
+        public Piece(Sprite sprite, Vector2f offset, Vector2f scale) {
+            Vector4f spriteRegion = sprite.getRegion();
+
+            this.texture = sprite.getTexture();
+            this.offset = offset;
+            this.dimensions = new Vector2f(spriteRegion.z, spriteRegion.w);
+            this.region = new Vector4f(
+                    spriteRegion.x / texture.getWidth(),
+                    spriteRegion.y / texture.getHeight(),
+                    (spriteRegion.x + spriteRegion.z) / texture.getWidth(),
+                    (spriteRegion.y + spriteRegion.w) / texture.getHeight());
+            this.scale = scale;
+            this.origin = new Vector2f();
+            this.textureWidth = texture.getWidth();
+            this.textureHeight = texture.getHeight();
+        }
+
+        /** @return if the texture's size changed since the region was normalized (like a reloaded texture). */
+        public boolean isOutdated() {
+            return texture.getWidth() != textureWidth || texture.getHeight() != textureHeight;
+        }
+    }
+
     @Viewable
     public Sprite topLeft;
 
@@ -32,6 +83,13 @@ public class NineSlicedSprite {
     @Viewable
     public Sprite bottomRight;
 
+    /** The last computed layout (most nine-sliced sprites are always drawn with the same size and scale). */
+    private Piece[] layout;
+
+    private final Vector2f layoutSize = new Vector2f();
+
+    private final Vector2f layoutScale = new Vector2f();
+
     public NineSlicedSprite(Sprite topLeft, Sprite topMiddle, Sprite topRight, Sprite middleLeft, Sprite middle,
                             Sprite middleRight, Sprite bottomLeft, Sprite bottomMiddle, Sprite bottomRight) {
         this.topLeft = topLeft;
@@ -46,6 +104,7 @@ public class NineSlicedSprite {
     }
 
     public NineSlicedSprite(Spritesheet spritesheet) {
+        Resources.hold(spritesheet, this);
         this.topLeft = spritesheet.getSprite("topLeft");
         this.topMiddle = spritesheet.getSprite("topMiddle");
         this.topRight = spritesheet.getSprite("topRight");
@@ -57,6 +116,29 @@ public class NineSlicedSprite {
         this.bottomRight = spritesheet.getSprite("bottomRight");
     }
 
+    /**
+     * Gets the nine quads needed to draw the sprite with a given size and scale (computed again only if one of them,
+     * or the size of a texture, changed since the last call). The returned pieces must not be modified.
+     *
+     * @param size The size of the content.
+     * @param scale The scale.
+     * @return the pieces, from top left to bottom right.
+     */
+    public Piece[] getLayout(Vector2f size, Vector2f scale) {
+        if (layout == null || !layoutSize.equals(size) || !layoutScale.equals(scale) || isLayoutOutdated()) {
+            layout = computeLayout(size, scale);
+            layoutSize.set(size);
+            layoutScale.set(scale);
+        }
+
+        return layout;
+    }
+
+    /** Forces the layout to be computed again on the next call to `getLayout` (to use if a piece is changed). */
+    public void invalidateLayout() {
+        layout = null;
+    }
+
     public Vector2f getSizeForContent(Vector2f contentSize, Vector2f scale) {
         Vector2f realSize = new Vector2f(
                 contentSize.x == 0 ? 1 : contentSize.x / scale.x,
@@ -68,4 +150,60 @@ public class NineSlicedSprite {
                 topLeft.getRegion().w + realSize.y + bottomLeft.getRegion().w
         );
     }
+
+    private Piece[] computeLayout(Vector2f size, Vector2f scale) {
+        Vector2f realSize = new Vector2f(
+                size.x == 0 ? 1 : size.x / scale.x,
+                size.y == 0 ? 1 : size.y / scale.y);
+        int numWidthNeeded = (int)(realSize.x / middle.getRegion().z);
+        int numHeightNeeded = (int)(realSize.y / middle.getRegion().w);
+        float leftWidth = topLeft.getRegion().z * scale.x;
+        float topHeight = topLeft.getRegion().w * scale.y;
+        float middleWidth = numWidthNeeded * (topMiddle.getRegion().z * scale.x);
+        float middleHeight = numHeightNeeded * (middleLeft.getRegion().w * scale.y);
+
+        return new Piece[] {
+                new Piece(topLeft,
+                        new Vector2f(0, 0),
+                        new Vector2f(1.0f, 1.0f).mul(scale)),
+                new Piece(topMiddle,
+                        new Vector2f(leftWidth, 0),
+                        new Vector2f(numWidthNeeded, 1.0f).mul(scale)),
+                new Piece(topRight,
+                        new Vector2f(leftWidth + middleWidth, 0),
+                        new Vector2f(1.0f, 1.0f).mul(scale)),
+                new Piece(middleLeft,
+                        new Vector2f(0, topHeight),
+                        new Vector2f(1.0f, numHeightNeeded).mul(scale)),
+                new Piece(middle,
+                        new Vector2f(leftWidth, topHeight),
+                        new Vector2f(numWidthNeeded, numHeightNeeded).mul(scale)),
+                new Piece(middleRight,
+                        new Vector2f(leftWidth + middleWidth, topHeight),
+                        new Vector2f(1.0f, numHeightNeeded).mul(scale)),
+                new Piece(bottomLeft,
+                        new Vector2f(0, bottomLeft.getRegion().w * scale.y + middleHeight),
+                        new Vector2f(1.0f, 1.0f).mul(scale)),
+                new Piece(bottomMiddle,
+                        new Vector2f(bottomLeft.getRegion().z * scale.x, topHeight + middleHeight),
+                        new Vector2f(numWidthNeeded, 1.0f).mul(scale)),
+                new Piece(bottomRight,
+                        new Vector2f(
+                                bottomLeft.getRegion().z * scale.x +
+                                        numWidthNeeded * (bottomMiddle.getRegion().z * scale.x),
+                                topRight.getRegion().w * scale.y +
+                                        numHeightNeeded * (middleRight.getRegion().w * scale.y)),
+                        new Vector2f(1.0f, 1.0f).mul(scale))
+        };
+    }
+
+    private boolean isLayoutOutdated() {
+        for (Piece piece : layout) {
+            if (piece.isOutdated()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -7,29 +7,54 @@ import static org.lwjgl.opengl.GL33.*;
 public class RenderTarget {
     int fbo;
     int textureHandle;
+    int width;
+    int height;
+    Texture texture;
 
     public RenderTarget() {
+        this(1280, 720);
+    }
+
+    public RenderTarget(int width, int height) {
         fbo = glGenFramebuffers();
 
         glBindFramebuffer(GL_FRAMEBUFFER, fbo);
 
         textureHandle = glGenTextures();
-        glBindTexture(GL_TEXTURE_2D, textureHandle);
+        GLState.bindTexture(textureHandle);
 
-        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGB, 1280, 720, 0, GL_RGB, GL_UNSIGNED_BYTE, (ByteBuffer)null);
+        allocate(width, height);
 
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
 
         glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, textureHandle, 0);
 
+        GLState.bindTexture(0);
         glBindFramebuffer(GL_FRAMEBUFFER, 0);
     }
 
     public void destroy() {
+        GLState.deleteTexture(textureHandle);
         glDeleteFramebuffers(fbo);
     }
 
+    /**
+     * Resizes the target (its content is lost and must be rendered again).
+     *
+     * @param width The new width.
+     * @param height The new height.
+     */
+    public void resize(int width, int height) {
+        if (width == this.width && height == this.height) {
+            return;
+        }
+
+        GLState.bindTexture(textureHandle);
+        allocate(width, height);
+        GLState.bindTexture(0);
+    }
+
     public void bind() {
         glBindFramebuffer(GL_FRAMEBUFFER, fbo);
 
@@ -49,4 +74,27 @@ public class RenderTarget {
     public int getTextureHandle() {
         return textureHandle;
     }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /** @return the color attachment as a texture usable by the spritebatch (must not be destroyed by the caller). */
+    public Texture getTexture() {
+        return texture;
+    }
+
+    private void allocate(int width, int height) {
+        this.width = width;
+        this.height = height;
+
+        // RGBA to keep the transparency of what is rendered within the target (useful for cached layers).
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer)null);
+
+        texture = new Texture(textureHandle, width, height, 4);
+    }
 }
@@ -6,11 +6,15 @@ import org.joml.*;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.system.MemoryStack;
 
+import java.lang.Math;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static org.lwjgl.opengl.GL32.*;
@@ -27,6 +31,21 @@ public class Shader {
 
     private Set<VertexVariable> uniformVariables;
 
+    /** The location of each attribute per name (resolved once when the program is linked). */
+    private Map<String, Integer> attributeLocations;
+
+    /** The location of each uniform per name (resolved once when the program is linked). */
+    private Map<String, Integer> uniformLocations;
+
+    /** Defines, per uniform location, if the last uploaded value is known (stored in one of the arrays below). */
+    private boolean[] uniformValueKnown;
+
+    private int[] uniformIntValues;
+
+    private float[] uniformFloatValues;
+
+    private Matrix4f[] uniformMatrixValues;
+
     private boolean destroyed;
 
     public Shader(String vertexShader, String fragmentShader) {
@@ -46,11 +65,11 @@ public class Shader {
     }
 
     public void bind() {
-        glUseProgram(programHandle);
+        GLState.useProgram(programHandle);
     }
 
     public void unbind() {
-        glUseProgram(0);
+        GLState.useProgram(0);
     }
 
     public int getProgramHandle() {
@@ -78,6 +97,15 @@ public class Shader {
     }
 
     public void setUniform1i(int location, int value) {
+        if (isUniformIndexable(location)) {
+            if (uniformValueKnown[location] && uniformIntValues[location] == value) {
+                return;
+            }
+
+            uniformValueKnown[location] = true;
+            uniformIntValues[location] = value;
+        }
+
         glUniform1i(location, value);
     }
 
@@ -134,6 +162,16 @@ public class Shader {
     }
 
     public void setUniform1f(int location, float value) {
+        if (isUniformIndexable(location)) {
+            if (uniformValueKnown[location] &&
+                    Float.floatToIntBits(uniformFloatValues[location]) == Float.floatToIntBits(value)) {
+                return;
+            }
+
+            uniformValueKnown[location] = true;
+            uniformFloatValues[location] = value;
+        }
+
         glUniform1f(location, value);
     }
 
@@ -238,6 +276,22 @@ public class Shader {
     }
 
     public void setUniformMatrix4fv(int location, Matrix4f matrix, boolean transpose) {
+        if (isUniformIndexable(location)) {
+            if (transpose) {
+                uniformValueKnown[location] = false;
+            } else if (uniformValueKnown[location] && matrix.equals(uniformMatrixValues[location])) {
+                return;
+            } else {
+                uniformValueKnown[location] = true;
+
+                if (uniformMatrixValues[location] == null) {
+                    uniformMatrixValues[location] = new Matrix4f(matrix);
+                } else {
+                    uniformMatrixValues[location].set(matrix);
+                }
+            }
+        }
+
         try (MemoryStack stack = MemoryStack.stackPush()) {
             FloatBuffer fb = matrix.get(stack.mallocFloat(16));
             glUniformMatrix4fv(location, transpose, fb);
@@ -323,25 +377,46 @@ public class Shader {
     }
 
     public int findAttributeLocation(String name) {
-        for (VertexVariable attribute : vertexAttributes) {
-            if (attribute.name.equals(name)) {
-                return attribute.location;
-            }
-        }
-        
-        return -1;
+        Integer location = attributeLocations.get(name);
+        return location != null ? location : -1;
     }
 
     public int findUniformLocation(String name) {
+        Integer location = uniformLocations.get(name);
+        return location != null ? location : -1;
+    }
+
+    /** Forgets the uploaded uniform values (to use if the program's uniforms are changed outside of this class). */
+    public void invalidateUniformValues() {
+        if (uniformValueKnown != null) {
+            Arrays.fill(uniformValueKnown, false);
+        }
+    }
+
+    private boolean isUniformIndexable(int location) {
+        return location >= 0 && location < uniformValueKnown.length;
+    }
+
+    private void createLocationTables() {
+        attributeLocations = new HashMap<>();
+        uniformLocations = new HashMap<>();
+        int maximumLocation = -1;
+
+        for (VertexVariable attribute : vertexAttributes) {
+            attributeLocations.put(attribute.name, attribute.location);
+        }
+
         for (VertexVariable uniform : uniformVariables) {
-            if (uniform.name.equals(name)) {
-                return uniform.location;
-            }
+            uniformLocations.put(uniform.name, uniform.location);
+            maximumLocation = Math.max(maximumLocation, uniform.location);
         }
 
-        return -1;
+        uniformValueKnown = new boolean[maximumLocation + 1];
+        uniformIntValues = new int[maximumLocation + 1];
+        uniformFloatValues = new float[maximumLocation + 1];
+        uniformMatrixValues = new Matrix4f[maximumLocation + 1];
     }
-    
+
     private void compileProgram(String vertexShader, String fragmentShader) {
         vertexShaderHandle = compileShader(GL_VERTEX_SHADER, vertexShader);
         fragmentShaderHandle = compileShader(GL_FRAGMENT_SHADER, fragmentShader);
@@ -349,6 +424,7 @@ public class Shader {
         linkProgram();
         vertexAttributes = fetchAttributes();
         uniformVariables = fetchUniforms();
+        createLocationTables();
         destroyShader(vertexShaderHandle);
         destroyShader(fragmentShaderHandle);
     }
@@ -450,6 +526,6 @@ public class Shader {
     }
 
     private void destroyProgram() {
-        glDeleteProgram(programHandle);
+        GLState.deleteProgram(programHandle);
     }
 }
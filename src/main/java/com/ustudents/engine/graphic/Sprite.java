@@ -1,5 +1,6 @@
 package com.ustudents.engine.graphic;
 
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.json.annotation.JsonSerializable;
 import com.ustudents.engine.graphic.imgui.annotation.Viewable;
 import org.joml.Vector4f;
@@ -21,13 +22,28 @@ public class Sprite {
     }
 
     public Sprite(Texture texture) {
-        this.texture = texture;
-        this.region = new Vector4f(0, 0, texture.getWidth(), texture.getHeight());
+        this(texture, new Vector4f(0, 0, texture.getWidth(), texture.getHeight()));
     }
 
     public Sprite(Texture texture, Vector4f region) {
+        this(texture, region, true);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param texture The texture.
+     * @param region The region within the texture.
+     * @param held Defines if the sprite holds its texture (not for the sprites of a spritesheet, which would then
+     *             never let it be evicted).
+     */
+    Sprite(Texture texture, Vector4f region, boolean held) {
         this.texture = texture;
         this.region = region;
+
+        if (held) {
+            Resources.hold(texture, this);
+        }
     }
 
     public Texture getTexture() {
@@ -20,7 +20,8 @@ import static org.lwjgl.opengl.GL33.*;
 public class Spritebatch {
     public enum ElementType {
         Sprite,
-        TruetypeFont
+        TruetypeFont,
+        Primitive
     }
 
     public static class Data {
@@ -44,6 +45,9 @@ public class Spritebatch {
 
         ElementType type;
 
+        /** The corners of a primitive quad (top left, top right, bottom left, bottom right), as x/y pairs. */
+        float[] corners;
+
         public int getzIndex() {
             return zIndex;
         }
@@ -51,6 +55,7 @@ public class Spritebatch {
         public int getType() {
             switch (type) {
                 case Sprite:
+                case Primitive:
                     return 0;
                 case TruetypeFont:
                     return 1;
@@ -69,6 +74,12 @@ public class Spritebatch {
 
         private final int ebo;
 
+        private final int alphaLocation;
+
+        private final int projectionLocation;
+
+        private final int typeLocation;
+
         public Renderer(int maxNumberOfSprites, Set<VertexVariable> attributes) {
             vertices = BufferUtils.createFloatBuffer(maxNumberOfSprites * 32);
 
@@ -76,11 +87,15 @@ public class Spritebatch {
             vbo = glGenBuffers();
             ebo = glGenBuffers();
 
+            alphaLocation = shader.findUniformLocation("alpha");
+            projectionLocation = shader.findUniformLocation("projection");
+            typeLocation = shader.findUniformLocation("type");
+
             shader.bind();
 
             // This happens within the shader context.
             {
-                glBindVertexArray(vao);
+                GLState.bindVertexArray(vao);
 
                 // This happens within the VAO context.
                 {
@@ -113,16 +128,16 @@ public class Spritebatch {
                     glBindBuffer(GL_ARRAY_BUFFER, 0);
                 }
 
-                glBindVertexArray(0);
+                GLState.bindVertexArray(0);
             }
 
-            glUseProgram(0);
+            shader.unbind();
         }
 
         public void destroy() {
             glDeleteBuffers(vbo);
             glDeleteBuffers(ebo);
-            glDeleteVertexArrays(vao);
+            GLState.deleteVertexArray(vao);
         }
 
         public void clear() {
@@ -130,7 +145,14 @@ public class Spritebatch {
         }
 
         public void putElement(Data data) {
-            if (data.type == ElementType.Sprite) {
+            if (data.type == ElementType.Primitive) {
+                float[] corners = data.corners;
+
+                putVertex(corners[0], corners[1], 0.0f, 0.0f, data.tint);
+                putVertex(corners[2], corners[3], 1.0f, 0.0f, data.tint);
+                putVertex(corners[4], corners[5], 0.0f, 1.0f, data.tint);
+                putVertex(corners[6], corners[7], 1.0f, 1.0f, data.tint);
+            } else if (data.type == ElementType.Sprite) {
                 data.position = new Vector2f(
                         data.position.x - (data.origin.x * data.scale.x),
                         data.position.y - (data.origin.y * data.scale.y));
@@ -218,10 +240,14 @@ public class Spritebatch {
         }
 
         public void putVertex(Vector4f position, Color colorTint) {
-            vertices.put(position.x);
-            vertices.put(position.y);
-            vertices.put(position.z);
-            vertices.put(position.w);
+            putVertex(position.x, position.y, position.z, position.w, colorTint);
+        }
+
+        public void putVertex(float x, float y, float u, float v, Color colorTint) {
+            vertices.put(x);
+            vertices.put(y);
+            vertices.put(u);
+            vertices.put(v);
             vertices.put(colorTint.r);
             vertices.put(colorTint.g);
             vertices.put(colorTint.b);
@@ -229,20 +255,20 @@ public class Spritebatch {
         }
 
         public void draw() {
+            // Bindings are left in place after drawing: the next flush will most likely use the same ones, and
+            // `GLState` skips them in that case.
             shader.bind();
 
             // This happens within the shader context.
             {
-                shader.setUniform1f("alpha", globalAlpha);
-                shader.setUniformMatrix4fv("projection", projection);
-                shader.setUniform1i("type",  data.get(0).getType());
+                shader.setUniform1f(alphaLocation, globalAlpha);
+                shader.setUniformMatrix4fv(projectionLocation, projection);
 
-                glBindVertexArray(vao);
+                GLState.bindVertexArray(vao);
 
-                // This happens within the VAO context.
+                // This happens within the VAO context (which already references the element buffer).
                 {
                     glBindBuffer(GL_ARRAY_BUFFER, vbo);
-                    glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
 
                     for (int i = 0; i < size; i++) {
                         putElement(data.get(i));
@@ -258,8 +284,8 @@ public class Spritebatch {
                         Data sprite = data.get(i);
 
                         if (sprite.texture != lastTexture) {
-                            shader.setUniform1i("type", lastType);
-                            glBindTexture(GL_TEXTURE_2D, lastTexture.getHandle());
+                            shader.setUniform1i(typeLocation, lastType);
+                            lastTexture.bind();
                             glDrawElements(GL_TRIANGLES, (i - offset) * 6, GL_UNSIGNED_INT,
                                     (long)offset * 6 * 4);
 
@@ -269,19 +295,14 @@ public class Spritebatch {
                         }
                     }
 
-                    shader.setUniform1i("type", lastType);
-                    glBindTexture(GL_TEXTURE_2D, lastTexture.getHandle());
+                    shader.setUniform1i(typeLocation, lastType);
+                    lastTexture.bind();
                     glDrawElements(GL_TRIANGLES, (size - offset) * 6, GL_UNSIGNED_INT,
                             (long)offset * 6 * 4);
 
-                    glBindTexture(GL_TEXTURE_2D, 0);
                     glBindBuffer(GL_ARRAY_BUFFER, 0);
                 }
-
-                glBindVertexArray(0);
             }
-
-            glUseProgram(0);
         }
     }
 
@@ -523,6 +544,15 @@ public class Spritebatch {
 
     private final Texture primitiveTexture;
 
+    /** Primitive quads reused from one frame to another (primitives are drawn in large numbers by debugging tools). */
+    private final List<Data> primitivePool;
+
+    /** The number of primitive quads of the pool used since the last `begin`. */
+    private int usedPrimitives;
+
+    /** The cosine and sine of the points of a unit circle per number of sides (interleaved, first point repeated). */
+    private static final Map<Integer, float[]> unitCircles = new HashMap<>();
+
     private boolean destroyed;
 
     public Spritebatch() {
@@ -543,6 +573,7 @@ public class Spritebatch {
         this.primitiveTexture = new Texture(
                 new byte[] {(byte)255, (byte)255, (byte)255, (byte)255}, 1, 1, 4
         );
+        this.primitivePool = new ArrayList<>();
 
         if (Game.isDebugging()) {
             Out.printlnDebug("Spritebatch created.");
@@ -604,117 +635,29 @@ public class Spritebatch {
     }
 
     public void drawNineSlicedSprite(NineSlicedSpriteData spriteRenderer) {
-        Vector2f realPosition = new Vector2f(
-                spriteRenderer.position.x - spriteRenderer.scale.x * spriteRenderer.origin.x,
-                spriteRenderer.position.y - spriteRenderer.scale.y * spriteRenderer.origin.y);
-        Vector2f realSize = new Vector2f(
-                spriteRenderer.size.x == 0 ? 1 : spriteRenderer.size.x / spriteRenderer.scale.x,
-                spriteRenderer.size.y == 0 ? 1 : spriteRenderer.size.y / spriteRenderer.scale.y);
-        int numWidthNeeded = (int)(realSize.x / spriteRenderer.sprite.middle.getRegion().z);
-        int numHeightNeeded = (int)(realSize.y / spriteRenderer.sprite.middle.getRegion().w);
-
-        // Top left.
-        SpriteData topLeft = new SpriteData(spriteRenderer.sprite.topLeft, realPosition);
-        topLeft.zIndex = spriteRenderer.zIndex;
-        topLeft.tint = spriteRenderer.tint;
-        topLeft.rotation = spriteRenderer.rotation;
-        topLeft.scale = new Vector2f(1.0f, 1.0f).mul(spriteRenderer.scale);
-
-        drawSprite(topLeft);
-
-        // Top middle.
-        SpriteData topMiddle = new SpriteData(spriteRenderer.sprite.topMiddle, new Vector2f(
-                realPosition.x + (spriteRenderer.sprite.topLeft.getRegion().z * spriteRenderer.scale.x),
-                realPosition.y));
-        topMiddle.zIndex = spriteRenderer.zIndex;
-        topMiddle.tint = spriteRenderer.tint;
-        topMiddle.rotation = spriteRenderer.rotation;
-        topMiddle.scale = new Vector2f(numWidthNeeded, 1.0f).mul(spriteRenderer.scale);
-
-        drawSprite(topMiddle);
-
-        // Top right.
-        SpriteData topRight = new SpriteData(spriteRenderer.sprite.topRight, new Vector2f(
-                realPosition.x + (spriteRenderer.sprite.topLeft.getRegion().z * spriteRenderer.scale.x) +
-                        numWidthNeeded * (spriteRenderer.sprite.topMiddle.getRegion().z * spriteRenderer.scale.x),
-                realPosition.y));
-        topRight.zIndex = spriteRenderer.zIndex;
-        topRight.tint = spriteRenderer.tint;
-        topRight.rotation = spriteRenderer.rotation;
-        topRight.scale = new Vector2f(1.0f, 1.0f).mul(spriteRenderer.scale);
-
-        drawSprite(topRight);
-
-        // Middle left.
-        SpriteData middleLeft = new SpriteData(spriteRenderer.sprite.middleLeft, new Vector2f(
-                realPosition.x,
-                realPosition.y + (spriteRenderer.sprite.topLeft.getRegion().w * spriteRenderer.scale.y)));
-        middleLeft.zIndex = spriteRenderer.zIndex;
-        middleLeft.tint = spriteRenderer.tint;
-        middleLeft.rotation = spriteRenderer.rotation;
-        middleLeft.scale = new Vector2f(1.0f, numHeightNeeded).mul(spriteRenderer.scale);
-
-        drawSprite(middleLeft);
-
-        // Middle.
-        SpriteData middle = new SpriteData(spriteRenderer.sprite.middle, new Vector2f(
-                realPosition.x + (spriteRenderer.sprite.topLeft.getRegion().z * spriteRenderer.scale.x),
-                realPosition.y + (spriteRenderer.sprite.topLeft.getRegion().w * spriteRenderer.scale.y)));
-        middle.zIndex = spriteRenderer.zIndex;
-        middle.tint = spriteRenderer.tint;
-        middle.rotation = spriteRenderer.rotation;
-        middle.scale = new Vector2f(numWidthNeeded, numHeightNeeded).mul(spriteRenderer.scale);
-
-        drawSprite(middle);
-
-        // Middle right.
-        SpriteData middleRight = new SpriteData(spriteRenderer.sprite.middleRight, new Vector2f(
-                realPosition.x + (spriteRenderer.sprite.topLeft.getRegion().z * spriteRenderer.scale.x) +
-                        numWidthNeeded * (spriteRenderer.sprite.topMiddle.getRegion().z * spriteRenderer.scale.x),
-                realPosition.y + (spriteRenderer.sprite.topLeft.getRegion().w * spriteRenderer.scale.y)));
-        middleRight.zIndex = spriteRenderer.zIndex;
-        middleRight.tint = spriteRenderer.tint;
-        middleRight.rotation = spriteRenderer.rotation;
-        middleRight.scale = new Vector2f(1.0f, numHeightNeeded).mul(spriteRenderer.scale);
-
-        drawSprite(middleRight);
-
-        // Bottom left.
-        SpriteData bottomLeft = new SpriteData(spriteRenderer.sprite.bottomLeft, new Vector2f(
-                realPosition.x,
-                realPosition.y + (spriteRenderer.sprite.bottomLeft.getRegion().w * spriteRenderer.scale.y) +
-                        numHeightNeeded * (spriteRenderer.sprite.middleLeft.getRegion().w * spriteRenderer.scale.y)));
-        bottomLeft.zIndex = spriteRenderer.zIndex;
-        bottomLeft.tint = spriteRenderer.tint;
-        bottomLeft.rotation = spriteRenderer.rotation;
-        bottomLeft.scale = new Vector2f(1.0f, 1.0f).mul(spriteRenderer.scale);
-
-        drawSprite(bottomLeft);
-
-        // Bottom middle.
-        SpriteData bottomMiddle = new SpriteData(spriteRenderer.sprite.bottomMiddle, new Vector2f(
-                realPosition.x + (spriteRenderer.sprite.bottomLeft.getRegion().z * spriteRenderer.scale.x),
-                realPosition.y + (spriteRenderer.sprite.topLeft.getRegion().w * spriteRenderer.scale.y) +
-                        numHeightNeeded * (spriteRenderer.sprite.middleLeft.getRegion().w * spriteRenderer.scale.y)));
-        bottomMiddle.zIndex = spriteRenderer.zIndex;
-        bottomMiddle.tint = spriteRenderer.tint;
-        bottomMiddle.rotation = spriteRenderer.rotation;
-        bottomMiddle.scale = new Vector2f(numWidthNeeded, 1.0f).mul(spriteRenderer.scale);
-
-        drawSprite(bottomMiddle);
-
-        // Bottom right.
-        SpriteData bottomRight = new SpriteData(spriteRenderer.sprite.bottomRight, new Vector2f(
-                realPosition.x + (spriteRenderer.sprite.bottomLeft.getRegion().z * spriteRenderer.scale.x) +
-                        numWidthNeeded * (spriteRenderer.sprite.bottomMiddle.getRegion().z * spriteRenderer.scale.x),
-                realPosition.y + (spriteRenderer.sprite.topRight.getRegion().w * spriteRenderer.scale.y) +
-                        numHeightNeeded * (spriteRenderer.sprite.middleRight.getRegion().w * spriteRenderer.scale.y)));
-        bottomRight.zIndex = spriteRenderer.zIndex;
-        bottomRight.tint = spriteRenderer.tint;
-        bottomRight.rotation = spriteRenderer.rotation;
-        bottomRight.scale = new Vector2f(1.0f, 1.0f).mul(spriteRenderer.scale);
-
-        drawSprite(bottomRight);
+        NineSlicedSprite.Piece[] pieces = spriteRenderer.sprite.getLayout(spriteRenderer.size, spriteRenderer.scale);
+        float x = spriteRenderer.position.x - spriteRenderer.scale.x * spriteRenderer.origin.x;
+        float y = spriteRenderer.position.y - spriteRenderer.scale.y * spriteRenderer.origin.y;
+        Color tint = spriteRenderer.tint.clone();
+
+        // The pieces' vectors are shared between every element using the layout, they are only read when drawing.
+        for (NineSlicedSprite.Piece piece : pieces) {
+            Data element = new Data();
+            element.texture = piece.texture;
+            element.position = new Vector2f(x + piece.offset.x, y + piece.offset.y);
+            element.dimensions = piece.dimensions;
+            element.region = piece.region;
+            element.zIndex = spriteRenderer.zIndex;
+            element.tint = tint;
+            element.rotation = spriteRenderer.rotation;
+            element.scale = piece.scale;
+            element.origin = piece.origin;
+            element.type = ElementType.Sprite;
+
+            data.add(element);
+        }
+
+        size += pieces.length;
     }
 
     public void drawRectangle(RectangleData rectangleData) {
@@ -729,70 +672,40 @@ public class Spritebatch {
                     rectangleData.scale,
                     rectangleData.origin);
         } else {
-            Vector2f realSize = new Vector2f(
-                    rectangleData.size.x * rectangleData.scale.x,
-                    rectangleData.size.y * rectangleData.scale.y
-            );
-            Vector2f realPosition = new Vector2f(
-                    rectangleData.position.x - rectangleData.scale.x * rectangleData.origin.x,
-                    rectangleData.position.y - rectangleData.scale.y * rectangleData.origin.y
-            );
-            Vector2f rotationOrigin = new Vector2f(
-                    realPosition.x + rectangleData.origin.x * rectangleData.scale.x,
-                    realPosition.y + rectangleData.origin.y * rectangleData.scale.y
-            );
-
-            Vector2f position12 = MathUtil.rotatePosition(
-                    new Vector2f(realPosition.x + realSize.x, realPosition.y),
-                    rotationOrigin,
-                    rectangleData.rotation
-            );
-            Vector2f position21 = new Vector2f(position12.x, position12.y);
-            Vector2f position22 = MathUtil.rotatePosition(
-                    new Vector2f(position12.x, position12.y + realSize.y),
-                    position21,
-                    rectangleData.rotation
-            );
-            Vector2f position31 = new Vector2f(position22.x, position22.y);
-            Vector2f position32 = MathUtil.rotatePosition(
-                    new Vector2f(position22.x + realSize.x, position22.y),
-                    position31,
-                    rectangleData.rotation + 180.0f
-            );
-            Vector2f position41 = new Vector2f(position32.x, position32.y);
-            Vector2f position42 = MathUtil.rotatePosition(
-                    new Vector2f(position32.x, position32.y + realSize.y),
-                    position41,
-                    rectangleData.rotation + 180.0f
-            );
-
-            LineData lineData1 = new LineData(position42, position12);
-            lineData1.zIndex = rectangleData.zIndex;
-            lineData1.color = rectangleData.color;
-            lineData1.thickness = rectangleData.thickness;
-
-            drawLine(lineData1);
-
-            LineData lineData2 = new LineData(position21, position22);
-            lineData2.zIndex = rectangleData.zIndex;
-            lineData2.color = rectangleData.color;
-            lineData2.thickness = rectangleData.thickness;
-
-            drawLine(lineData2);
-
-            LineData lineData3 = new LineData(position31, position32);
-            lineData3.zIndex = rectangleData.zIndex;
-            lineData3.color = rectangleData.color;
-            lineData3.thickness = rectangleData.thickness;
-
-            drawLine(lineData3);
-
-            LineData lineData4 = new LineData(position41, position42);
-            lineData4.zIndex = rectangleData.zIndex;
-            lineData4.color = rectangleData.color;
-            lineData4.thickness = rectangleData.thickness;
-
-            drawLine(lineData4);
+            float width = rectangleData.size.x * rectangleData.scale.x;
+            float height = rectangleData.size.y * rectangleData.scale.y;
+            float x = rectangleData.position.x - rectangleData.scale.x * rectangleData.origin.x;
+            float y = rectangleData.position.y - rectangleData.scale.y * rectangleData.origin.y;
+            float originX = rectangleData.origin.x * rectangleData.scale.x;
+            float originY = rectangleData.origin.y * rectangleData.scale.y;
+            float cos = 1.0f;
+            float sin = 0.0f;
+
+            if (rectangleData.rotation != 0.0f) {
+                double angle = Math.toRadians(rectangleData.rotation);
+                cos = (float)Math.cos(angle);
+                sin = (float)Math.sin(angle);
+            }
+
+            // Corners relative to the rotation origin, rotated, then moved back.
+            float topLeftX = x + originX + (-originX * cos - -originY * sin);
+            float topLeftY = y + originY + (-originX * sin + -originY * cos);
+            float topRightX = x + originX + ((width - originX) * cos - -originY * sin);
+            float topRightY = y + originY + ((width - originX) * sin + -originY * cos);
+            float bottomRightX = x + originX + ((width - originX) * cos - (height - originY) * sin);
+            float bottomRightY = y + originY + ((width - originX) * sin + (height - originY) * cos);
+            float bottomLeftX = x + originX + (-originX * cos - (height - originY) * sin);
+            float bottomLeftY = y + originY + (-originX * sin + (height - originY) * cos);
+
+            // Every side is drawn clockwise, so its thickness goes inside the rectangle.
+            putLine(topLeftX, topLeftY, topRightX, topRightY,
+                    rectangleData.thickness, rectangleData.zIndex, rectangleData.color);
+            putLine(topRightX, topRightY, bottomRightX, bottomRightY,
+                    rectangleData.thickness, rectangleData.zIndex, rectangleData.color);
+            putLine(bottomRightX, bottomRightY, bottomLeftX, bottomLeftY,
+                    rectangleData.thickness, rectangleData.zIndex, rectangleData.color);
+            putLine(bottomLeftX, bottomLeftY, topLeftX, topLeftY,
+                    rectangleData.thickness, rectangleData.zIndex, rectangleData.color);
         }
     }
 
@@ -817,55 +730,35 @@ public class Spritebatch {
             Vector2f startPoint = pointsData.points.get(i - 1);
             Vector2f endPoint = pointsData.points.get(i);
 
-            LineData lineData = new LineData(new Vector2f(
-                    startPoint.x + pointsData.position.x, startPoint.y + pointsData.position.y),
-                    new Vector2f(
-                            endPoint.x + pointsData.position.x,
-                            endPoint.y + pointsData.position.y)
-            );
-            lineData.zIndex = pointsData.zIndex;
-            lineData.color = pointsData.color;
-            lineData.thickness = pointsData.thickness;
-
-            drawLine(lineData);
+            putLine(startPoint.x + pointsData.position.x, startPoint.y + pointsData.position.y,
+                    endPoint.x + pointsData.position.x, endPoint.y + pointsData.position.y,
+                    pointsData.thickness, pointsData.zIndex, pointsData.color);
         }
     }
 
     public void drawLine(LineData lineData) {
-        float length = lineData.point1.distance(lineData.point2);
-        float rotation = (float)Math.atan2(
-                lineData.point2.y - lineData.point1.y,
-                lineData.point2.x - lineData.point1.x
-        );
-
-        drawTexture(
-                primitiveTexture,
-                lineData.point1,
-                new Vector4f(0.0f, 0.0f, length, lineData.thickness),
-                lineData.zIndex,
-                lineData.color,
-                (float)Math.toDegrees(rotation),
-                new Vector2f(1.0f, 1.0f),
-                new Vector2f()
-        );
+        putLine(lineData.point1.x, lineData.point1.y, lineData.point2.x, lineData.point2.y,
+                lineData.thickness, lineData.zIndex, lineData.color);
     }
 
     public void drawCircle(CircleData circleData) {
-        PointsData pointsData = new PointsData(circleData.position,
-                MathUtil.createCircle(circleData.radius, circleData.sides));
-        pointsData.zIndex = circleData.zIndex;
-        pointsData.color = circleData.color;
-        pointsData.thickness = circleData.thickness;
-
-        drawPoints(pointsData);
+        float[] unitCircle = getUnitCircle(circleData.sides);
+        float x = circleData.position.x;
+        float y = circleData.position.y;
+        float radius = circleData.radius;
+
+        for (int i = 2; i < unitCircle.length; i += 2) {
+            putLine(x + unitCircle[i - 2] * radius, y + unitCircle[i - 1] * radius,
+                    x + unitCircle[i] * radius, y + unitCircle[i + 1] * radius,
+                    circleData.thickness, circleData.zIndex, circleData.color);
+        }
     }
 
     public void drawText(TextData textRenderer) {
         Font realFont;
 
         if (textRenderer.scale.x == textRenderer.scale.y) {
-            realFont = Resources.loadFont(
-                    textRenderer.font.getPath(), (int)(textRenderer.font.getSize() * textRenderer.scale.x));
+            realFont = textRenderer.font.getScaledFont(textRenderer.scale.x);
         } else {
             realFont = textRenderer.font;
         }
@@ -948,6 +841,11 @@ public class Spritebatch {
 
     private void drawTexture(Texture texture, Vector2f position, Vector4f region, int zIndex, Color tint, float angle,
                              Vector2f scale, Vector2f origin) {
+        // The placeholder of a texture still being loaded is transparent, and its size would wait for the loading.
+        if (texture.isPending()) {
+            return;
+        }
+
         Data data = new Data();
         data.texture = texture;
         data.position = new Vector2f(position.x, position.y);
@@ -993,8 +891,85 @@ public class Spritebatch {
         size++;
     }
 
+    /**
+     * Adds a line as a quad going from the first point to the second, thickened on the left side of its direction
+     * (the same side as a texture rotated to follow the line).
+     */
+    private void putLine(float x1, float y1, float x2, float y2, float thickness, int zIndex, Color color) {
+        float directionX = x2 - x1;
+        float directionY = y2 - y1;
+        float length = (float)Math.sqrt(directionX * directionX + directionY * directionY);
+
+        if (length == 0.0f) {
+            return;
+        }
+
+        float normalX = -directionY / length * thickness;
+        float normalY = directionX / length * thickness;
+
+        putPrimitive(x1, y1, x2, y2, x1 + normalX, y1 + normalY, x2 + normalX, y2 + normalY, zIndex, color);
+    }
+
+    private void putPrimitive(float topLeftX, float topLeftY, float topRightX, float topRightY,
+                              float bottomLeftX, float bottomLeftY, float bottomRightX, float bottomRightY,
+                              int zIndex, Color color) {
+        Data data;
+
+        if (usedPrimitives < primitivePool.size()) {
+            data = primitivePool.get(usedPrimitives);
+        } else {
+            data = new Data();
+            data.type = ElementType.Primitive;
+            data.corners = new float[8];
+            data.tint = new Color();
+            primitivePool.add(data);
+        }
+
+        usedPrimitives++;
+
+        float[] corners = data.corners;
+        corners[0] = topLeftX;
+        corners[1] = topLeftY;
+        corners[2] = topRightX;
+        corners[3] = topRightY;
+        corners[4] = bottomLeftX;
+        corners[5] = bottomLeftY;
+        corners[6] = bottomRightX;
+        corners[7] = bottomRightY;
+        data.texture = primitiveTexture;
+        data.zIndex = zIndex;
+        // Copied, for a color changed by the caller before the flush not to change the queued primitives.
+        data.tint.set(color);
+
+        this.data.add(data);
+
+        size++;
+    }
+
+    private static float[] getUnitCircle(int sides) {
+        float[] unitCircle = unitCircles.get(sides);
+
+        if (unitCircle == null) {
+            unitCircle = new float[(sides + 1) * 2];
+
+            for (int i = 0; i < sides; i++) {
+                double theta = 2.0 * Math.PI * i / sides;
+                unitCircle[i * 2] = (float)Math.cos(theta);
+                unitCircle[i * 2 + 1] = (float)Math.sin(theta);
+            }
+
+            unitCircle[sides * 2] = unitCircle[0];
+            unitCircle[sides * 2 + 1] = unitCircle[1];
+
+            unitCircles.put(sides, unitCircle);
+        }
+
+        return unitCircle;
+    }
+
     private void clear() {
         size = 0;
+        usedPrimitives = 0;
 
         renderer.clear();
         data.clear();
@@ -36,7 +36,7 @@ public class Spritesheet {
         animations = new HashMap<>();
 
         for (Map.Entry<String, Vector4f> entry : sprites.entrySet()) {
-            spritePerName.put(entry.getKey(), new Sprite(texture, entry.getValue()));
+            spritePerName.put(entry.getKey(), new Sprite(texture, entry.getValue(), false));
         }
 
         if (json.containsKey("animations")) {
@@ -21,6 +21,27 @@ import static org.lwjgl.system.MemoryStack.*;
 @Viewable
 @JsonSerializable
 public class Texture {
+    /** Decoded pixels, waiting to be uploaded. */
+    private static class Image {
+        private final ByteBuffer data;
+
+        private final int width;
+
+        private final int height;
+
+        private final int numberOfComponents;
+
+        private Image(ByteBuffer data, int width, int height, int numberOfComponents) {
+            this.data = data;
+            this.width = width;
+            this.height = height;
+            this.numberOfComponents = numberOfComponents;
+        }
+    }
+
+    /** The 1x1 transparent texture drawn in place of the textures not loaded yet (created on first use). */
+    private static int placeholderHandle = 0;
+
     private ByteBuffer data;
 
     private int width;
@@ -33,6 +54,14 @@ public class Texture {
 
     private boolean destroyed;
 
+    /** Defines if the texture's pixels are uploaded (false while the placeholder is used). */
+    private boolean loaded;
+
+    /** Defines if the texture's file is loaded in the background (its size is only known once it is uploaded). */
+    private boolean deferred;
+
+    private String filePath;
+
     @Viewable
     @JsonSerializable
     private String path;
@@ -43,11 +72,32 @@ public class Texture {
     }
 
     public Texture(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param filePath The file path.
+     * @param deferred Defines if the file is loaded later (by running the upload returned by `decode`), the texture
+     *                 being drawn as a transparent placeholder until then.
+     */
+    public Texture(String filePath, boolean deferred) {
         this.path = filePath.replace(getTexturesDirectory() + "/", "");
+        this.filePath = filePath;
 
         if (Game.get().canRender()) {
-            loadTexture(filePath);
-            handle = createTexture();
+            if (deferred) {
+                this.deferred = true;
+                handle = getPlaceholderHandle();
+                width = 1;
+                height = 1;
+                numberOfComponents = 4;
+            } else {
+                loadTexture(filePath);
+                handle = createTexture();
+                loaded = true;
+            }
         }
 
         destroyed = false;
@@ -59,6 +109,7 @@ public class Texture {
         if (Game.get().canRender()) {
             loadTexture(data, width, height, numberOfComponents);
             handle = createTexture();
+            loaded = true;
         }
 
         destroyed = false;
@@ -68,6 +119,24 @@ public class Texture {
         this(byteArrayToBuffer(data), width, height, numberOfComponents);
     }
 
+    /**
+     * Class constructor for a texture already created on the GPU (like the color attachment of a render target).
+     *
+     * @param handle The OpenGL handle.
+     * @param width The width.
+     * @param height The height.
+     * @param numberOfComponents The number of components per pixel.
+     */
+    public Texture(int handle, int width, int height, int numberOfComponents) {
+        this.path = "from memory (render target)";
+        this.handle = handle;
+        this.width = width;
+        this.height = height;
+        this.numberOfComponents = numberOfComponents;
+        this.loaded = true;
+        destroyed = false;
+    }
+
     @JsonSerializableConstructor
     public void deserialize() {
         if (Game.get().canRender()) {
@@ -78,6 +147,9 @@ public class Texture {
             this.height = texture.height;
             this.numberOfComponents = texture.numberOfComponents;
             this.handle = texture.handle;
+            this.loaded = texture.loaded;
+            // The copy shares the handle of the loaded texture, which must then stay loaded as long as it is used.
+            Resources.hold(texture, this);
         }
 
         destroyed = false;
@@ -85,26 +157,59 @@ public class Texture {
 
     public void destroy() {
         if (!destroyed) {
-            if (Game.get().canRender()) {
-                glDeleteTextures(handle);
+            if (Game.get().canRender() && loaded) {
+                GLState.deleteTexture(handle);
             }
             destroyed = true;
         }
     }
 
+    /**
+     * Replaces the content of the texture while keeping the same handle (useful for atlases that grow over time).
+     *
+     * @param data The new pixels.
+     * @param width The new width.
+     * @param height The new height.
+     * @param numberOfComponents The new number of components per pixel.
+     */
+    public void update(ByteBuffer data, int width, int height, int numberOfComponents) {
+        loadTexture(data, width, height, numberOfComponents);
+
+        if (Game.get().canRender()) {
+            GLState.bindTexture(handle);
+            uploadTexture();
+            GLState.bindTexture(0);
+        }
+    }
+
+    /**
+     * Decodes the file of a deferred texture (can be called from any thread).
+     *
+     * @return the upload of the decoded pixels, to run on the main thread.
+     */
+    public Runnable decode() {
+        Image image = decodeImage(filePath);
+
+        return () -> finishLoading(image);
+    }
+
     public void bind() {
-        glBindTexture(GL_TEXTURE_2D, handle);
+        GLState.bindTexture(handle);
     }
 
     public void unbind() {
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLState.bindTexture(0);
     }
 
+    /** @return the width (waits for a deferred texture to be loaded, the placeholder's size being meaningless). */
     public int getWidth() {
+        resolve();
         return width;
     }
 
+    /** @return the height (waits for a deferred texture to be loaded, the placeholder's size being meaningless). */
     public int getHeight() {
+        resolve();
         return height;
     }
 
@@ -124,6 +229,20 @@ public class Texture {
         return destroyed;
     }
 
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** @return if the texture is still loaded in the background (drawn as the placeholder until then). */
+    public boolean isPending() {
+        return deferred && !loaded && !destroyed;
+    }
+
+    /** @return the memory used by the texture on the GPU (in bytes, zero while the placeholder is used). */
+    public long getResidentSize() {
+        return loaded && !destroyed ? (long)width * height * numberOfComponents : 0;
+    }
+
     public ByteBuffer getData() {
         return data;
     }
@@ -133,34 +252,92 @@ public class Texture {
     }
 
     private void loadTexture(String filePath) {
-        ByteBuffer imageBuffer = FileUtil.readFile(filePath);
-        assert imageBuffer != null;
+        Image image = decodeImage(filePath);
+
+        this.data = image.data;
+        this.width = image.width;
+        this.height = image.height;
+        this.numberOfComponents = image.numberOfComponents;
+    }
+
+    private void loadTexture(ByteBuffer data, int width, int height, int numberOfComponents) {
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.numberOfComponents = numberOfComponents;
+
+        if (numberOfComponents == 4) {
+            premultiplyAlpha(data, width, height);
+        }
+    }
+
+    private void finishLoading(Image image) {
+        if (destroyed) {
+            stbi_image_free(image.data);
+            return;
+        }
+
+        this.data = image.data;
+        this.width = image.width;
+        this.height = image.height;
+        this.numberOfComponents = image.numberOfComponents;
+        this.handle = createTexture();
+        this.loaded = true;
+        this.deferred = false;
+    }
+
+    /** Loads a deferred texture right away if it is not loaded yet (only from the main thread). */
+    private void resolve() {
+        if (isPending()) {
+            // Not deferred anymore, even if the loading failed, for the placeholder not to wait again.
+            deferred = false;
+            Resources.completeLoading(filePath);
+        }
+    }
+
+    /** Reads and decodes an image file (thread-safe, the pixels are premultiplied by their alpha). */
+    private static Image decodeImage(String filePath) {
+        ByteBuffer imageBuffer = FileUtil.readFile(Resources.getAssetPack(), filePath);
+
+        if (imageBuffer == null) {
+            throw new IllegalStateException("Failed to read image: " + filePath);
+        }
 
         try (MemoryStack stack = stackPush()) {
             IntBuffer width = stack.mallocInt(1);
             IntBuffer height = stack.mallocInt(1);
             IntBuffer numberOfComponents = stack.mallocInt(1);
-            data = stbi_load_from_memory(imageBuffer, width, height, numberOfComponents, 0);
+            ByteBuffer data = stbi_load_from_memory(imageBuffer, width, height, numberOfComponents, 0);
             if (data == null) {
                 throw new RuntimeException("Failed to load image: " + stbi_failure_reason());
             }
-            this.width = width.get(0);
-            this.height = height.get(0);
-            this.numberOfComponents = numberOfComponents.get(0);
+
+            if (numberOfComponents.get(0) == 4) {
+                premultiplyAlpha(data, width.get(0), height.get(0));
+            }
+
+            return new Image(data, width.get(0), height.get(0), numberOfComponents.get(0));
         }
     }
 
-    private void loadTexture(ByteBuffer data, int width, int height, int numberOfComponents) {
-        this.data = data;
-        this.width = width;
-        this.height = height;
-        this.numberOfComponents = numberOfComponents;
+    private static int getPlaceholderHandle() {
+        if (placeholderHandle == 0) {
+            placeholderHandle = glGenTextures();
+
+            GLState.bindTexture(placeholderHandle);
+
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, 1, 1, 0, GL_RGBA, GL_UNSIGNED_BYTE, ByteBuffer.allocateDirect(4));
+        }
+
+        return placeholderHandle;
     }
 
     private int createTexture() {
         int id = glGenTextures();
 
-        glBindTexture(GL_TEXTURE_2D, id);
+        GLState.bindTexture(id);
 
         // TODO: Make customizable (for pixel textures and others).
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
@@ -168,6 +345,14 @@ public class Texture {
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
 
+        uploadTexture();
+
+        stbi_image_free(data);
+
+        return id;
+    }
+
+    private void uploadTexture() {
         int format;
         if (numberOfComponents == 3) {
             if ((width & 3) != 0) {
@@ -176,7 +361,6 @@ public class Texture {
             format = GL_RGB;
             glTexImage2D(GL_TEXTURE_2D, 0, format, width, height, 0, format, GL_UNSIGNED_BYTE, data);
         } else if (numberOfComponents == 4) {
-            premultiplyAlpha();
             glEnable(GL_BLEND);
             glBlendFunc(GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
             format = GL_RGBA;
@@ -188,13 +372,9 @@ public class Texture {
             glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
             glTexImage2D(GL_TEXTURE_2D, 0, GL_RGB, width, height, 0, format, GL_UNSIGNED_BYTE, data);
         }
-
-        stbi_image_free(data);
-
-        return id;
     }
 
-    private void premultiplyAlpha() {
+    private static void premultiplyAlpha(ByteBuffer data, int width, int height) {
         int stride = width * 4;
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
@@ -0,0 +1,129 @@
+package com.ustudents.engine.graphic;
+
+import com.ustudents.engine.Game;
+import com.ustudents.engine.core.cli.print.Out;
+import org.joml.Vector2f;
+import org.joml.Vector2i;
+
+import static org.lwjgl.opengl.GL33.*;
+
+/**
+ * A retained layer of UI elements: they are rendered once within a render target (sized like the window) and the
+ * resulting texture is drawn every frame as a single quad, until the layer is invalidated.
+ */
+public class UiLayer {
+    /** The render target holding the layer's content (created on first render). */
+    private RenderTarget renderTarget;
+
+    /** The state of the elements when the layer was last rendered. */
+    private long state;
+
+    /** Defines if the layer must be rendered again, whatever the state of its elements. */
+    private boolean dirty;
+
+    /** The framebuffer bound before rendering the layer (restored afterwards). */
+    private int previousFramebuffer;
+
+    private boolean destroyed;
+
+    public UiLayer() {
+        this.dirty = true;
+        this.destroyed = false;
+    }
+
+    public void destroy() {
+        if (!destroyed) {
+            if (renderTarget != null) {
+                renderTarget.destroy();
+            }
+
+            destroyed = true;
+
+            if (Game.isDebugging()) {
+                Out.printlnDebug("UI layer destroyed.");
+            }
+        }
+    }
+
+    /** Forces the layer to be rendered again on the next frame. */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Checks if the layer's content is still valid.
+     *
+     * @param state The current state of the layer's elements.
+     * @return if the layer can be drawn without rendering its elements again.
+     */
+    public boolean isUpToDate(long state) {
+        Vector2i size = Game.get().getWindow().getSize();
+
+        return !dirty && renderTarget != null && this.state == state &&
+                renderTarget.getWidth() == size.x && renderTarget.getHeight() == size.y;
+    }
+
+    /**
+     * Starts rendering the layer's elements within its render target.
+     *
+     * @param spritebatch The spritebatch to use.
+     * @param camera The UI camera.
+     * @param state The current state of the layer's elements.
+     */
+    public void begin(Spritebatch spritebatch, Camera camera, long state) {
+        Vector2i size = Game.get().getWindow().getSize();
+
+        if (renderTarget == null) {
+            renderTarget = new RenderTarget(size.x, size.y);
+        } else {
+            renderTarget.resize(size.x, size.y);
+        }
+
+        previousFramebuffer = glGetInteger(GL_FRAMEBUFFER_BINDING);
+        renderTarget.bind();
+
+        glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+        glClear(GL_COLOR_BUFFER_BIT);
+
+        spritebatch.begin(camera);
+
+        this.state = state;
+    }
+
+    /**
+     * Ends rendering the layer's elements and goes back to the previous framebuffer.
+     *
+     * @param spritebatch The spritebatch used in `begin`.
+     */
+    public void end(Spritebatch spritebatch) {
+        spritebatch.end();
+
+        glBindFramebuffer(GL_FRAMEBUFFER, previousFramebuffer);
+
+        dirty = false;
+    }
+
+    /**
+     * Draws the cached content as one quad covering the whole window.
+     *
+     * @param spritebatch The spritebatch to use (between its `begin` and `end` calls).
+     * @param zIndex The Z index at which the layer is composited with the other elements.
+     */
+    public void draw(Spritebatch spritebatch, int zIndex) {
+        if (renderTarget == null) {
+            return;
+        }
+
+        // The render target's content is upside down (OpenGL's origin is bottom left), so we flip it vertically.
+        Spritebatch.TextureData textureData = new Spritebatch.TextureData(renderTarget.getTexture(),
+                new Vector2f(0.0f, renderTarget.getHeight()));
+        textureData.zIndex = zIndex;
+        textureData.scale = new Vector2f(1.0f, -1.0f);
+
+        spritebatch.drawTexture(textureData);
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+}
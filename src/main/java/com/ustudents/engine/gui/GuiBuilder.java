@@ -129,6 +129,9 @@ public class GuiBuilder {
 
         public Color tint;
 
+        /** Defines if the image is rendered within the scene's cached UI layer (for images that rarely change). */
+        public boolean cached;
+
         public ImageData(Texture texture) {
             this.texture = texture;
             this.id = "image";
@@ -140,6 +143,7 @@ public class GuiBuilder {
             this.region = new Vector4f(0, 0, texture.getWidth(), texture.getHeight());
             this.zIndex = 0;
             this.tint = Color.WHITE;
+            this.cached = false;
         }
     }
 
@@ -302,7 +306,7 @@ public class GuiBuilder {
         imagePosition(data, transformComponent);
         Window.get().getSizeChanged().add((dataType, windowData) -> imagePosition(data, transformComponent));
         image.addComponent(transformComponent);
-        image.addComponent(new UiRendererComponent(data.zIndex));
+        image.addComponent(new UiRendererComponent(data.zIndex, data.cached));
         image.addComponent(new SpriteComponent(new Sprite(data.texture, data.region), data.tint));
     }
 
@@ -2,10 +2,50 @@ package com.ustudents.engine.i18n;
 
 import com.ustudents.engine.core.json.annotation.JsonSerializable;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @JsonSerializable
 public class Language {
     @JsonSerializable
     public Map<String, String> content;
+
+    /** The language's name (its file name). */
+    private String name;
+
+    /** The compiled texts (by identifier), built by `compile`. */
+    private Map<String, LocalizedText> texts;
+
+    /**
+     * Compiles every text of the language, to format them without parsing them again.
+     *
+     * @param name The language's name.
+     */
+    public void compile(String name) {
+        this.name = name;
+
+        Map<String, LocalizedText> compiledTexts = new HashMap<>();
+
+        if (content != null) {
+            for (Map.Entry<String, String> text : content.entrySet()) {
+                compiledTexts.put(text.getKey(), LocalizedText.compile(text.getValue()));
+            }
+        }
+
+        texts = compiledTexts;
+    }
+
+    /**
+     * Gets a compiled text.
+     *
+     * @param textId The text's identifier.
+     * @return the compiled text (null if the language has no such text or is not compiled).
+     */
+    public LocalizedText getText(String textId) {
+        return texts != null ? texts.get(textId) : null;
+    }
+
+    public String getName() {
+        return name;
+    }
 }
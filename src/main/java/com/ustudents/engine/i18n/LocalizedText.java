@@ -0,0 +1,127 @@
+package com.ustudents.engine.i18n;
+
+import com.ustudents.engine.core.cli.print.Out;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A text template compiled once, so it can be formatted in a single pass.
+ *
+ * The template is split into literal segments around its placeholders: `{}` is replaced by the next value and `{n}` by
+ * the value at index `n` (the following `{}` then uses the value at index `n + 1`), `\{` is a literal brace.
+ */
+public class LocalizedText {
+    /** The builder reused to format the texts (one per thread). */
+    private static final ThreadLocal<StringBuilder> builder = ThreadLocal.withInitial(StringBuilder::new);
+
+    /** The literal segments (one more than the number of slots). */
+    private final String[] segments;
+
+    /** The index of the value to insert after each segment. */
+    private final int[] slots;
+
+    private LocalizedText(String[] segments, int[] slots) {
+        this.segments = segments;
+        this.slots = slots;
+    }
+
+    /**
+     * Compiles a template.
+     *
+     * @param template The template.
+     * @return the compiled template.
+     */
+    public static LocalizedText compile(String template) {
+        List<String> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+        boolean isEscaped = false;
+        int currentValue = 0;
+
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+
+            if (c == '\\') {
+                isEscaped = true;
+            } else if (c == '{') {
+                int end = template.indexOf('}', i);
+
+                if (isEscaped || end == -1) {
+                    segment.append('{');
+                    isEscaped = false;
+                    continue;
+                }
+
+                String valueNumber = template.substring(i + 1, end);
+
+                if (!valueNumber.isEmpty()) {
+                    try {
+                        currentValue = Integer.parseInt(valueNumber);
+                    } catch (NumberFormatException e) {
+                        // Not a placeholder.
+                        segment.append('{');
+                        continue;
+                    }
+                }
+
+                segments.add(segment.toString());
+                slots.add(currentValue);
+                segment.setLength(0);
+                currentValue++;
+                i = end;
+            } else if (isEscaped) {
+                segment.append('\\').append(c);
+                isEscaped = false;
+            } else {
+                segment.append(c);
+            }
+        }
+
+        segments.add(segment.toString());
+
+        int[] slotArray = new int[slots.size()];
+
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+        }
+
+        return new LocalizedText(segments.toArray(new String[0]), slotArray);
+    }
+
+    /**
+     * Formats the text.
+     *
+     * @param values The values to insert.
+     * @param id The text's identifier (for error messages, can be null).
+     * @return the formatted text.
+     */
+    public String format(Object[] values, String id) {
+        if (slots.length == 0) {
+            return segments[0];
+        }
+
+        StringBuilder result = builder.get();
+        result.setLength(0);
+        result.append(segments[0]);
+
+        for (int i = 0; i < slots.length; i++) {
+            if (values.length > slots[i]) {
+                result.append(values[slots[i]]);
+            } else if (id == null) {
+                Out.printlnError("Not enough arguments to get " + slots[i]);
+            } else {
+                Out.printlnError("Not enough arguments to get " + slots[i] + " for string '" + id + "'");
+            }
+
+            result.append(segments[i + 1]);
+        }
+
+        return result.toString();
+    }
+
+    /** @return the number of values inserted in the text. */
+    public int getNumberOfSlots() {
+        return slots.length;
+    }
+}
@@ -80,6 +80,11 @@ public class Input {
         return inputManager.isMouseInWorldViewRect(viewRect);
     }
 
+    /** @return the position of the mouse in world coordinates, or null if there is no mouse. */
+    public static Vector2f getMousePosInWorld() {
+        return inputManager.getMousePosInWorld();
+    }
+
     public static void recalculateMousePosition() {
         inputManager.recalculateMousePosition();
     }
@@ -63,6 +63,10 @@ public class EmptyInput {
         return false;
     }
 
+    public Vector2f getMousePosInWorld() {
+        return null;
+    }
+
     public void recalculateMousePosition() {
 
     }
@@ -128,6 +128,11 @@ public class GLFWInput extends EmptyInput {
         return mousePosInWorld.x > viewRect.x && mousePosInWorld.x < viewRect.z && mousePosInWorld.y > viewRect.y && mousePosInWorld.y < viewRect.w;
     }
 
+    @Override
+    public Vector2f getMousePosInWorld() {
+        return mousePosInWorld;
+    }
+
     @Override
     public void recalculateMousePosition() {
         mousePosInWorld = SceneManager.getScene().getWorldCamera().screenCoordToWorldCoord(mousePos);
@@ -2,18 +2,18 @@ package com.ustudents.engine.network;
 
 import java.io.*;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 
 public class Connection {
     public static final boolean DEFAULT_TCP_NO_DELAY = true;
 
-    public static final boolean DEFAULT_AUTO_FLUSH = true;
-
     public Connection(Socket socket) {
         try {
             this.socket = socket;
             this.socket.setTcpNoDelay(DEFAULT_TCP_NO_DELAY);
-            this.reader = new BufferedReader(new InputStreamReader(this.socket.getInputStream()));
-            this.writer = new PrintWriter(this.socket.getOutputStream(), DEFAULT_AUTO_FLUSH);
+            this.reader = new BufferedReader(new InputStreamReader(this.socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            this.output = new BufferedOutputStream(this.socket.getOutputStream());
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -23,7 +23,7 @@ public class Connection {
         try {
             this.socket.close();
             this.reader.close();
-            this.writer.close();
+            this.output.close();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -37,5 +37,6 @@ public class Connection {
 
     public BufferedReader reader;
 
-    public PrintWriter writer;
+    /** The stream the messages are written to (encoded in UTF-8, one per line). */
+    public OutputStream output;
 }
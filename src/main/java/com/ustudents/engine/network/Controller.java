@@ -2,7 +2,6 @@ package com.ustudents.engine.network;
 
 import com.ustudents.engine.Game;
 import com.ustudents.engine.core.cli.print.Out;
-import com.ustudents.engine.core.json.Json;
 import com.ustudents.engine.core.json.JsonReader;
 import com.ustudents.engine.core.json.JsonWriter;
 import com.ustudents.engine.network.messages.BroadcastMessage;
@@ -10,10 +9,7 @@ import com.ustudents.engine.network.messages.DisconnectMessage;
 import com.ustudents.engine.network.messages.Message;
 import com.ustudents.engine.utility.Pair;
 
-import java.io.ByteArrayInputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
-import java.util.Objects;
+import java.io.IOException;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -135,21 +131,11 @@ public abstract class Controller {
     }
 
     protected Message readMessage(String data) {
-        Map<String, Object> json = JsonReader.readMap(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
-
         if (Game.isDebugging()) {
             Out.println("read: " + data);
         }
 
-        assert json != null;
-
-        try {
-            return (Message)Json.deserialize(json, Class.forName((String)json.get("_type")));
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        return null;
+        return JsonReader.readObjectFromString(data, Message.class, "_type");
     }
 
     private void internalStart() {
@@ -214,6 +200,9 @@ public abstract class Controller {
     }
 
     protected class SenderRunnable implements Runnable {
+        /** The writer of the messages (its buffer is reused for each message). */
+        private final JsonWriter writer = new JsonWriter(false);
+
         @Override
         public void run() {
             while (isAlive()) {
@@ -226,9 +215,12 @@ public abstract class Controller {
                         } else {
                             BroadcastMessage broadcastMessage = (BroadcastMessage)message;
 
-                            for (int clientId : broadcastMessage.receiverIds) {
-                                broadcastMessage.messageToSend.setReceiverId(clientId);
-                                send(broadcastMessage.messageToSend);
+                            // The receiver is not written, the message is written once for every client.
+                            if (write(broadcastMessage.messageToSend)) {
+                                for (int clientId : broadcastMessage.receiverIds) {
+                                    broadcastMessage.messageToSend.setReceiverId(clientId);
+                                    sendWritten(broadcastMessage.messageToSend);
+                                }
                             }
                         }
                     } else {
@@ -249,24 +241,61 @@ public abstract class Controller {
         }
 
         private void send(Message message) {
-            Connection connection = findConnectionToSendMessage(message);
+            if (findConnectionToSendMessage(message) != null && write(message)) {
+                sendWritten(message);
+            }
+        }
 
-            if (connection != null) {
-                message.setType(message.getClass().getName());
-                String minifiedMessage = JsonWriter.writeToString(Json.serialize(message), false, false, false);
+        /**
+         * Writes a message to the writer's buffer.
+         *
+         * @param message The message.
+         * @return if the message has been written.
+         */
+        private boolean write(Message message) {
+            message.setType(message.getClass().getName());
 
-                if (Game.isDebugging()) {
-                    Out.println("sent: " + minifiedMessage);
-                }
+            try {
+                // The type is written first, for the message to be read directly into its class.
+                writer.writeObject(message, "_type");
+            } catch (Exception e) {
+                e.printStackTrace();
+                return false;
+            }
 
-                connection.writer.println(Objects.requireNonNull(minifiedMessage));
+            if (Game.isDebugging()) {
+                Out.println("sent: " + writer);
+            }
 
-                if (Game.isDebugging()) {
-                    if (getType() == Type.Server) {
-                        Out.println("Message sent to client " + message.getReceiverId() + ": ");
-                    } else {
-                        Out.println("Message sent: " + minifiedMessage);
-                    }
+            return true;
+        }
+
+        /**
+         * Sends the message in the writer's buffer.
+         *
+         * @param message The message (to find its receiver).
+         */
+        private void sendWritten(Message message) {
+            Connection connection = findConnectionToSendMessage(message);
+
+            if (connection == null) {
+                return;
+            }
+
+            try {
+                writer.writeTo(connection.output);
+                connection.output.write('\n');
+                connection.output.flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+
+            if (Game.isDebugging()) {
+                if (getType() == Type.Server) {
+                    Out.println("Message sent to client " + message.getReceiverId() + ": ");
+                } else {
+                    Out.println("Message sent: " + writer);
                 }
             }
         }
@@ -1,6 +1,7 @@
 package com.ustudents.engine.scene;
 
 import com.ustudents.engine.Game;
+import com.ustudents.engine.core.AssetGroup;
 import com.ustudents.engine.core.window.Window;
 import com.ustudents.engine.ecs.Entity;
 import com.ustudents.engine.ecs.System;
@@ -8,6 +9,7 @@ import com.ustudents.engine.ecs.system.BehaviourSystem;
 import com.ustudents.engine.ecs.system.WorldRenderSystem;
 import com.ustudents.engine.ecs.system.UiRenderSystem;
 import com.ustudents.engine.graphic.Spritebatch;
+import com.ustudents.engine.graphic.UiLayer;
 import com.ustudents.engine.ecs.Registry;
 import com.ustudents.engine.graphic.Camera;
 import org.joml.Vector2i;
@@ -34,6 +36,9 @@ public abstract class Scene {
     /** The spritebatch (the main renderer). */
     protected Spritebatch spritebatch;
 
+    /** The cached layer of static UI elements (rendered once and drawn as a single quad). */
+    protected UiLayer uiLayer;
+
     protected boolean forceImGui;
 
     /**
@@ -54,10 +59,21 @@ public abstract class Scene {
          this.cursorCamera.resize(size.x, size.y);
          if (Game.get().canRender()) {
              this.spritebatch = new Spritebatch(this.camera);
+             this.uiLayer = new UiLayer();
          }
          this.forceImGui = false;
     }
 
+    /**
+     * Gets the assets needed by the scene, they start loading in the background as soon as the scene is requested and
+     * are all loaded before the scene is created.
+     *
+     * @return the assets (null if none).
+     */
+    public AssetGroup getPreloadGroup() {
+        return null;
+    }
+
     /** Initialize the scene (called when created). */
     public void initialize() {
 
@@ -232,6 +248,11 @@ public abstract class Scene {
         return spritebatch;
     }
 
+    /** @return the cached UI layer. */
+    public UiLayer getUiLayer() {
+        return uiLayer;
+    }
+
     /** Initialize the scene internally. */
     void initializeInternals() {
         registry.addSystem(new BehaviourSystem());
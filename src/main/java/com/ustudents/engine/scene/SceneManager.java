@@ -1,6 +1,8 @@
 package com.ustudents.engine.scene;
 
 import com.ustudents.engine.Game;
+import com.ustudents.engine.core.AssetGroup;
+import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.window.Window;
 import com.ustudents.engine.core.cli.print.Out;
 import com.ustudents.engine.ecs.Component;
@@ -41,6 +43,12 @@ public class SceneManager {
     }
 
     public void changeScene(Scene scene, boolean addLastToTypeStack) {
+        AssetGroup preloadGroup = scene.getPreloadGroup();
+
+        if (preloadGroup != null) {
+            Resources.preload(preloadGroup);
+        }
+
         scenes.add(scene);
         transitioningScene = true;
         this.addLastToTypeStack = addLastToTypeStack;
@@ -100,6 +108,10 @@ public class SceneManager {
                 getCurrentScene().getSpritebatch().destroy();
             }
 
+            if (getCurrentScene().getUiLayer() != null) {
+                getCurrentScene().getUiLayer().destroy();
+            }
+
             getCurrentScene().destroy();
 
             if (Game.isDebugging()) {
@@ -116,6 +128,10 @@ public class SceneManager {
                     scenes.get(currentSceneIndex).getSpritebatch().destroy();
                 }
 
+                if (scenes.get(currentSceneIndex).getUiLayer() != null) {
+                    scenes.get(currentSceneIndex).getUiLayer().destroy();
+                }
+
                 scenes.get(currentSceneIndex).destroy();
             }
 
@@ -136,6 +152,17 @@ public class SceneManager {
                 }
             }
 
+            // The references of the previous scene are released before the new scene takes its own ones, the
+            // resources used by both scenes are only evicted (at the end of the frame) if the new one doesn't use them.
+            Resources.releaseReferences(Resources.getReferenceOwner());
+            Resources.setReferenceOwner(scenes.get(currentSceneIndex));
+
+            AssetGroup preloadGroup = scenes.get(currentSceneIndex).getPreloadGroup();
+
+            if (preloadGroup != null) {
+                Resources.load(preloadGroup);
+            }
+
             scenes.get(currentSceneIndex).create(this);
             scenes.get(currentSceneIndex).initializeInternals();
             scenes.get(currentSceneIndex).registry.updateEntities();
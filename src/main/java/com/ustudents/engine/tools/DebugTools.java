@@ -1,6 +1,9 @@
 package com.ustudents.engine.tools;
 
 import com.ustudents.engine.Game;
+import com.ustudents.engine.audio.SoundManager;
+import com.ustudents.engine.audio.openal.ALSoundManager;
+import com.ustudents.engine.core.ResourceType;
 import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.graphic.Font;
 import com.ustudents.engine.graphic.Spritebatch;
@@ -38,7 +41,8 @@ public class DebugTools {
                 int numEntities = scene.getRegistry().getTotalNumberOfEntities();
 
                 spritebatch.drawText(new Spritebatch.TextData(
-                        "FPS: " + fps + "\nFramerate: " + ms + "\nNumber of entities: " + numEntities,
+                        "FPS: " + fps + "\nFramerate: " + ms + "\nNumber of entities: " + numEntities +
+                                getResourcesStatistics(),
                         debugFont,
                         new Vector2f(10.0f, 10.0f)
                 ) {{
@@ -65,6 +69,27 @@ public class DebugTools {
 
     }
 
+    /** @return the memory used by the loaded resources, per type. */
+    private String getResourcesStatistics() {
+        StringBuilder statistics = new StringBuilder();
+
+        for (ResourceType type : ResourceType.values()) {
+            double megabytes = BigDecimal.valueOf(Resources.getResidentSize(type) / (1024.0 * 1024.0))
+                    .setScale(2, RoundingMode.HALF_UP).doubleValue();
+
+            statistics.append("\n").append(type).append("s: ").append(Resources.getNumberOfResources(type))
+                    .append(" (").append(megabytes).append(" MB)");
+        }
+
+        if (SoundManager.get().getSoundManager() instanceof ALSoundManager) {
+            ALSoundManager soundManager = (ALSoundManager)SoundManager.get().getSoundManager();
+            statistics.append("\nSound voices: ").append(soundManager.getNumberOfVoicesUsed()).append("/")
+                    .append(soundManager.getNumberOfVoices());
+        }
+
+        return statistics.toString();
+    }
+
     public boolean isStatisticsEnabled() {
         return statisticsEnabled;
     }
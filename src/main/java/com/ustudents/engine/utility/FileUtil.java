@@ -1,14 +1,22 @@
 package com.ustudents.engine.utility;
 
+import com.ustudents.engine.core.AssetPack;
+
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.ByteBuffer;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.lwjgl.BufferUtils.createByteBuffer;
 
@@ -37,6 +45,26 @@ public class FileUtil {
      * @return a buffer.
      */
     public static ByteBuffer readFile(String filePath) {
+        return readFile(null, filePath);
+    }
+
+    /**
+     * Read file at path to a memory buffer (taken from the asset pack if it is packed, without any copy).
+     *
+     * @param assetPack The asset pack (null if there is none).
+     * @param filePath The file path.
+     *
+     * @return a buffer.
+     */
+    public static ByteBuffer readFile(AssetPack assetPack, String filePath) {
+        if (assetPack != null) {
+            ByteBuffer packedFile = assetPack.getFile(filePath);
+
+            if (packedFile != null) {
+                return packedFile;
+            }
+        }
+
         ByteBuffer buffer;
         Path path = Paths.get(filePath);
 
@@ -54,11 +82,16 @@ public class FileUtil {
     }
 
     public static String readFileToString(String filePath) {
+        return readFileToString(null, filePath);
+    }
+
+    public static String readFileToString(AssetPack assetPack, String filePath) {
         StringBuilder contentBuilder = new StringBuilder();
 
-        try (Stream<String> stream = Files.lines( Paths.get(filePath), StandardCharsets.UTF_8))
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(openFile(assetPack, filePath),
+                StandardCharsets.UTF_8)))
         {
-            stream.forEach(s -> contentBuilder.append(s).append("\n"));
+            reader.lines().forEach(s -> contentBuilder.append(s).append("\n"));
         }
         catch (IOException e)
         {
@@ -69,6 +102,60 @@ public class FileUtil {
 
     }
 
+    /**
+     * Opens a file for reading (from the asset pack if it is packed).
+     *
+     * @param assetPack The asset pack (null if there is none).
+     * @param filePath The file path.
+     *
+     * @return a stream.
+     */
+    public static InputStream openFile(AssetPack assetPack, String filePath) throws IOException {
+        if (assetPack != null) {
+            ByteBuffer packedFile = assetPack.getFile(filePath);
+
+            if (packedFile != null) {
+                return new ByteBufferInputStream(packedFile);
+            }
+        }
+
+        return new FileInputStream(filePath);
+    }
+
+    /**
+     * Lists the files directly within a directory (packed or not).
+     *
+     * @param assetPack The asset pack (null if there is none).
+     * @param directoryPath The directory path.
+     *
+     * @return the files' paths.
+     */
+    public static List<String> listFiles(AssetPack assetPack, String directoryPath) {
+        List<String> filePaths = new ArrayList<>();
+
+        if (assetPack != null) {
+            filePaths.addAll(assetPack.listFiles(directoryPath));
+        }
+
+        File[] files = new File(directoryPath).listFiles();
+
+        if (files != null) {
+            for (File file : files) {
+                String filePath = directoryPath + "/" + file.getName();
+
+                if (file.isFile() && !filePaths.contains(filePath)) {
+                    filePaths.add(filePath);
+                }
+            }
+        }
+
+        return filePaths.stream().sorted().collect(Collectors.toList());
+    }
+
+    public static String getFileNameWithoutExtension(String filePath) {
+        return new File(filePath).getName().replaceFirst("[.][^.]+$", "");
+    }
+
     public static String getFileNameWithoutExtension(File file) {
         String fileName = "";
 
@@ -85,4 +172,39 @@ public class FileUtil {
         return fileName;
 
     }
-}
\ No newline at end of file
+
+    /** An input stream reading a buffer (like a packed file). */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            length = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, length);
+
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ustudents.farmland;
 
 import com.ustudents.engine.Game;
 import com.ustudents.engine.GameConfig;
+import com.ustudents.engine.core.AssetGroup;
 import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.cli.option.annotation.Command;
 import com.ustudents.engine.core.cli.option.annotation.Option;
@@ -16,6 +17,9 @@ import com.ustudents.engine.input.Mapping;
 import com.ustudents.engine.input.MouseButton;
 import com.ustudents.engine.network.NetMode;
 import com.ustudents.farmland.core.Save;
+import com.ustudents.farmland.core.SaveFile;
+import com.ustudents.farmland.core.SaveJournal;
+import com.ustudents.farmland.core.SaveWriter;
 import com.ustudents.farmland.core.item.*;
 import com.ustudents.farmland.core.player.Avatar;
 import com.ustudents.farmland.core.player.Player;
@@ -41,6 +45,12 @@ public class Farmland extends Game {
 
     public String loadedSaveId = null;
 
+    /** Writes the saves in the background. */
+    private SaveWriter saveWriter;
+
+    /** The time (in seconds) since the last autosave. */
+    private float timeSinceAutosave = 0;
+
     public EventDispatcher loadedSaveChanged = new EventDispatcher();
 
     public FarmlandConfig config;
@@ -84,10 +94,15 @@ public class Farmland extends Game {
                         "// delete this file, a new one will be generated next time you start the game.\n\n";
 
         loadConfig();
-        loadTextures();
+
+        // The assets are decoded in the background while the shaders are compiled.
+        AssetGroup assets = getStartupAssets();
+        Resources.preload(assets);
         loadShaders();
-        loadSounds();
+        Resources.load(assets);
+
         loadItems();
+        saveWriter = new SaveWriter();
         readAllSaves();
 
         if (getNetMode() == NetMode.DedicatedServer || getNetMode() == NetMode.ListenServer) {
@@ -100,9 +115,23 @@ public class Farmland extends Game {
     @Override
     protected void destroy() {
         writeLoadedSave();
+        saveWriter.destroy();
         saveConfig();
     }
 
+    @Override
+    protected void update(float dt) {
+        saveWriter.update();
+
+        if (Resources.getConfig().autosaveInterval > 0 && getLoadedSave() != null) {
+            timeSinceAutosave += dt;
+
+            if (timeSinceAutosave >= Resources.getConfig().autosaveInterval) {
+                autosave();
+            }
+        }
+    }
+
     @Override
     public void beforeServerStarts() {
         readServerConfig();
@@ -146,10 +175,17 @@ public class Farmland extends Game {
         for (File file : listOfFiles) {
             if (file.isFile()) {
                 String path = file.getPath().replace("\\", "/");
-                if (path.endsWith(".json")) {
-                	Save save = Json.deserialize(path, Save.class);
+                if (path.endsWith(".json") || path.endsWith(SaveFile.extension)) {
+                    // Only the header of the binary saves is read, the rest is read when they are loaded.
+                    Save save = path.endsWith(SaveFile.extension) ? SaveFile.readMetadata(path) :
+                            Json.deserialize(path, Save.class);
 	                if (save != null) {
 	                    save.path = path.replace(Resources.getSavesDirectoryName() + "/", "");
+
+	                    if (save.loaded) {
+	                        SaveJournal.replay(SaveJournal.getPath(Resources.getSavesDirectoryName(), save), save);
+	                    }
+
 	                    saves.put(save.name, save);
 	                } else {
 	                    Out.printlnError("Cannot load savegame: " + path);
@@ -161,25 +197,74 @@ public class Farmland extends Game {
 
     public void writeLoadedSave() {
         if (loadedSaveId != null) {
-            Json.serialize(Resources.getSavesDirectoryName() + "/" + getLoadedSave().path, getLoadedSave());
+            writeSave(getLoadedSave());
         }
     }
 
     public void writeAllSaves() {
         if (!noSave) {
             for (Save save : saves.values()) {
-                Json.serialize(Resources.getSavesDirectoryName() + "/" + save.path, save);
+                writeSave(save);
             }
         }
     }
 
+    /** Writes the loaded save in the background if the game has the authority over it (and saving is enabled). */
+    public void autosave() {
+        timeSinceAutosave = 0;
+
+        if (!noSave && hasAuthority() && getLoadedSave() != null) {
+            writeLoadedSave();
+        }
+    }
+
+    /**
+     * Appends an action done on the loaded save to its journal, if the game has the authority over it (and saving is
+     * enabled).
+     *
+     * @param record The action's record (completed with the state left by the action).
+     * @param player The player who did the action.
+     */
+    public void recordAction(SaveJournal.Record record, Player player) {
+        Save save = getLoadedSave();
+
+        if (!noSave && hasAuthority() && save != null && save.loaded && Resources.getConfig().useSaveJournal) {
+            record.complete(save, player);
+            saveWriter.append(save, record);
+        }
+    }
+
+    /** @return the writer of the saves. */
+    public SaveWriter getSaveWriter() {
+        return saveWriter;
+    }
+
+    /**
+     * Writes a save in the background, in the format chosen in the settings (a save in the other format is
+     * converted, then its previous file is removed).
+     *
+     * @param save The save.
+     */
+    private void writeSave(Save save) {
+        if (!save.loaded) {
+            return;
+        }
+
+        String path = save.getId() + (Resources.getConfig().useBinarySaves ? SaveFile.extension : ".json");
+        String previousPath = save.path;
+
+        // The save keeps its previous path until the new file is written.
+        saveWriter.write(save, Resources.getSavesDirectoryName() + "/" + path, path.equals(previousPath) ? null :
+                Resources.getSavesDirectoryName() + "/" + previousPath, () -> save.path = path);
+    }
+
     public Map<String, Save> getSaves() {
         return saves;
     }
 
     public Save getSaveWithFilename(String id) {
         for (Save save : saves.values()) {
-            if (save.path.replace(".json", "").equals(id)) {
+            if (save.getId().equals(id)) {
                 return save;
             }
         }
@@ -205,14 +290,43 @@ public class Farmland extends Game {
         loadedSaveChanged.dispatch();
     }
 
-    public void loadSave(String saveId) {
-        loadSave(saveId, 0);
+    public boolean loadSave(String saveId) {
+        return loadSave(saveId, 0);
     }
 
-    public void loadSave(String saveId, int playerId) {
+    /**
+     * Loads a save, reading it entirely if only its header was read.
+     *
+     * @param saveId The save's identifier.
+     * @param playerId The local player's identifier.
+     * @return if the save is loaded (a save which cannot be read is removed from the list of saves).
+     */
+    public boolean loadSave(String saveId, int playerId) {
+        if (!saves.containsKey(saveId)) {
+            Out.printlnError("Unknown savegame: " + saveId);
+            return false;
+        }
+
+        if (!saves.get(saveId).loaded) {
+            String filePath = Resources.getSavesDirectoryName() + "/" + saves.get(saveId).path;
+            Save save = SaveFile.read(filePath);
+
+            if (save == null) {
+                Out.printlnError("Cannot load savegame: " + filePath);
+                saves.remove(saveId);
+                return false;
+            }
+
+            save.path = saves.get(saveId).path;
+            SaveJournal.replay(SaveJournal.getPath(Resources.getSavesDirectoryName(), save), save);
+            saves.put(saveId, save);
+        }
+
         loadedSaveId = saveId;
         getLoadedSave().localPlayerId = playerId;
         loadedSaveChanged.dispatch();
+
+        return true;
     }
 
     public void unloadSave() {
@@ -489,64 +603,60 @@ public class Farmland extends Game {
         }
     }
 
-    private void loadTextures() {
-        Resources.loadSpritesheet("animals/chicken.json");
-        Resources.loadSpritesheet("animals/cow.json");
-        Resources.loadSpritesheet("animals/goat.json");
-        Resources.loadSpritesheet("animals/pig.json");
-        Resources.loadSpritesheet("animals/sheep.json");
-
-        Resources.loadSpritesheet("crops/corn.json");
-        Resources.loadSpritesheet("crops/grapes.json");
-        Resources.loadSpritesheet("crops/orange.json");
-        Resources.loadSpritesheet("crops/pineapple.json");
-        Resources.loadSpritesheet("crops/shuttle.json");
-        Resources.loadSpritesheet("crops/strawberry.json");
-        Resources.loadSpritesheet("crops/tomato.json");
-        Resources.loadSpritesheet("crops/watermelon.json");
-
-        Resources.loadSpritesheet("decoration/city.json");
-        Resources.loadSpritesheet("decoration/mountain.json");
-
-        Resources.loadSpritesheet("property/crops.json");
-        Resources.loadSpritesheet("property/fence.json");
-
-        Resources.loadTexture("terrain/grass.png");
-
-        Resources.loadTexture("ui/breeder.png");
-        Resources.loadTexture("ui/breeder2.png");
-        Resources.loadSpritesheet("ui/button_default.json");
-        Resources.loadSpritesheet("ui/button_down.json");
-        Resources.loadSpritesheet("ui/button_focused.json");
-        Resources.loadTexture("ui/cursor.png");
-        Resources.loadTexture("ui/farmer.png");
-        Resources.loadTexture("ui/farmer2.png");
-        Resources.loadTexture("ui/farmer2breeder.png");
-        Resources.loadTexture("ui/farmer2breeder2.png");
-        Resources.loadTexture("ui/farmerbreeder.png");
-        Resources.loadTexture("ui/farmerbreeder2.png");
-        Resources.loadTexture("ui/farmland_logo.png");
-        Resources.loadTexture("ui/farmland_title.png");
-        Resources.loadTexture("ui/frame.png");
-        Resources.loadTexture("ui/gold.png");
-        Resources.loadSpritesheet("ui/map_cell_cursor.json");
-        Resources.loadSpritesheet("ui/map_territory_indicator_white.json");
-        Resources.loadTexture("ui/player.png");
-        Resources.loadSpritesheet("ui/window_default.json");
-        Resources.loadTexture("ui/en/defeat.png");
-        Resources.loadTexture("ui/en/victory.png");
-        Resources.loadTexture("ui/fr/defeat.png");
-        Resources.loadTexture("ui/fr/victory.png");
+    private AssetGroup getStartupAssets() {
+        AssetGroup assets = new AssetGroup();
+
+        assets.addSpritesheet("animals/chicken.json");
+        assets.addSpritesheet("animals/cow.json");
+        assets.addSpritesheet("animals/goat.json");
+        assets.addSpritesheet("animals/pig.json");
+        assets.addSpritesheet("animals/sheep.json");
+
+        assets.addSpritesheet("crops/corn.json");
+        assets.addSpritesheet("crops/grapes.json");
+        assets.addSpritesheet("crops/orange.json");
+        assets.addSpritesheet("crops/pineapple.json");
+        assets.addSpritesheet("crops/shuttle.json");
+        assets.addSpritesheet("crops/strawberry.json");
+        assets.addSpritesheet("crops/tomato.json");
+        assets.addSpritesheet("crops/watermelon.json");
+
+        assets.addSpritesheet("decoration/city.json");
+        assets.addSpritesheet("decoration/mountain.json");
+
+        assets.addSpritesheet("property/crops.json");
+        assets.addSpritesheet("property/fence.json");
+
+        assets.addTexture("terrain/grass.png");
+
+        assets.addTexture("ui/breeder.png");
+        assets.addTexture("ui/breeder2.png");
+        assets.addSpritesheet("ui/button_default.json");
+        assets.addSpritesheet("ui/button_down.json");
+        assets.addSpritesheet("ui/button_focused.json");
+        assets.addTexture("ui/cursor.png");
+        assets.addTexture("ui/farmer.png");
+        assets.addTexture("ui/farmer2.png");
+        assets.addTexture("ui/farmer2breeder.png");
+        assets.addTexture("ui/farmer2breeder2.png");
+        assets.addTexture("ui/farmerbreeder.png");
+        assets.addTexture("ui/farmerbreeder2.png");
+        assets.addTexture("ui/farmland_logo.png");
+        assets.addTexture("ui/farmland_title.png");
+        assets.addTexture("ui/frame.png");
+        assets.addTexture("ui/gold.png");
+        assets.addSpritesheet("ui/map_cell_cursor.json");
+        assets.addSpritesheet("ui/map_territory_indicator_white.json");
+        assets.addTexture("ui/player.png");
+        assets.addSpritesheet("ui/window_default.json");
+
+        return assets;
     }
 
     private void loadShaders() {
         Resources.loadShader("spritebatch");
     }
 
-    private void loadSounds() {
-        Resources.loadSound("music/main_menu_background.ogg");
-    }
-
     private void loadOrCreateServerSave() {
         if (!saves.containsKey("save-server.json")) {
             Save save = new Save(serverConfig.name, serverConfig.mapSize,
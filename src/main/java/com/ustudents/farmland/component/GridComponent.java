@@ -12,7 +12,9 @@ import com.ustudents.engine.input.Key;
 import com.ustudents.engine.input.MouseButton;
 import com.ustudents.engine.utility.SeedRandom;
 import com.ustudents.farmland.Farmland;
+import com.ustudents.farmland.core.Save;
 import com.ustudents.farmland.core.grid.Cell;
+import com.ustudents.farmland.core.grid.TerritoryOverlay;
 import com.ustudents.farmland.scene.InGameScene;
 import org.joml.Vector2f;
 import org.joml.Vector2i;
@@ -51,6 +53,8 @@ public class GridComponent extends BehaviourComponent implements RenderableCompo
 
     private boolean showTypeOfTerritory;
 
+    private final TerritoryOverlay territoryOverlay;
+
     public GridComponent(Vector2i gridSize, Vector2i cellSize, NineSlicedSprite gridBackground, Texture cellBackground,
                          AnimatedSprite selectionCursor, Spritesheet territoryTexture) {
         this.gridSize = gridSize;
@@ -63,13 +67,17 @@ public class GridComponent extends BehaviourComponent implements RenderableCompo
         this.gridBackgroundSideSize = new Vector2i(5, 5);
         this.selectionCursorEnabled = true;
         this.showTypeOfTerritory = false;
+        this.territoryOverlay = new TerritoryOverlay();
     }
 
     @Override
     public void initialize() {
         recalculateCells();
 
-        Farmland.get().loadedSaveChanged.add((dataType, data) -> recalculateCells());
+        Farmland.get().loadedSaveChanged.add((dataType, data) -> {
+            recalculateCells();
+            territoryOverlay.invalidate();
+        });
     }
 
     @Override
@@ -114,10 +122,7 @@ public class GridComponent extends BehaviourComponent implements RenderableCompo
 
         showTypeOfTerritory = Input.isActionSuccessful("showTerritory");
 
-        if (currentSelectedCell.x == -1 || !Input.isMouseInWorldViewRect(
-                getCell(currentSelectedCell).viewRectangle)) {
-            updateCurrentSelectedCell();
-        }
+        updateCurrentSelectedCell();
 
         if (selectionDrawingEnabled() && currentSelectedCell.x != -1 &&
                 !Input.isKeyDown(Key.LeftAlt) && !Input.isKeyDown(Key.RightAlt) &&
@@ -151,17 +156,55 @@ public class GridComponent extends BehaviourComponent implements RenderableCompo
         }
     }
 
+    /** Selects the cell under the mouse (the selection is kept while the mouse is outside of the grid). */
     public void updateCurrentSelectedCell() {
-        for (int x = 0; x < getGridSize().x; x++) {
-            for (int y = 0; y < getGridSize().y; y++) {
-                Cell cell = getCell(x, y);
+        Vector2f mousePosition = Input.getMousePosInWorld();
 
-                if (Input.isMouseInWorldViewRect(cell.viewRectangle)) {
-                    currentSelectedCell = new Vector2i(x, y);
-                    return;
-                }
-            }
+        if (mousePosition == null) {
+            return;
         }
+
+        Vector2i cell = worldToCell(mousePosition);
+
+        if (cell != null) {
+            currentSelectedCell = cell;
+        }
+    }
+
+    /**
+     * Finds the cell containing a world position.
+     *
+     * @param worldPosition The world position.
+     * @return the coordinates of the cell, or null if the position is outside of the grid.
+     */
+    public Vector2i worldToCell(Vector2f worldPosition) {
+        Vector2f origin = getCellsOrigin();
+        Vector2i size = getGridSize();
+        int x = (int)Math.floor((worldPosition.x - origin.x) / cellSize.x);
+        int y = (int)Math.floor((worldPosition.y - origin.y) / cellSize.y);
+
+        if (x < 0 || y < 0 || x >= size.x || y >= size.y) {
+            return null;
+        }
+
+        return new Vector2i(x, y);
+    }
+
+    /**
+     * Computes the world position of a cell.
+     *
+     * @param x The X coordinate of the cell.
+     * @param y The Y coordinate of the cell.
+     * @return the world position of the cell's top left corner.
+     */
+    public Vector2f cellToWorld(int x, int y) {
+        Vector2f origin = getCellsOrigin();
+
+        return new Vector2f(origin.x + x * cellSize.x, origin.y + y * cellSize.y);
+    }
+
+    public Vector2f cellToWorld(Vector2i cell) {
+        return cellToWorld(cell.x, cell.y);
     }
 
     @Override
@@ -301,30 +344,42 @@ public class GridComponent extends BehaviourComponent implements RenderableCompo
 
     private void renderTerritory(Spritebatch spritebatch, RendererComponent rendererComponent,
                                  TransformComponent transformComponent) {
-        for (int x = 0; x < getGridSize().x; x++) {
-            for (int y = 0; y < getGridSize().y; y++) {
-                if (cellIsOwned(x, y)) {
-                    renderTerritoryCell("owned", x, y, spritebatch, rendererComponent, transformComponent, getCell(x, y).ownerId);
-                } else if (cellIsClosedToOwnedCellByLocalPlayer(x, y)) {
-                    renderTerritoryCell("notOwned", x, y, spritebatch, rendererComponent, transformComponent, Farmland.get().getLoadedSave().localPlayerId);
-                }
-            }
+        Save save = Farmland.get().getLoadedSave();
+
+        if (save == null) {
+            return;
         }
-    }
 
-    private void renderTerritoryCell(String type, int x, int y, Spritebatch spritebatch,
-                                     RendererComponent rendererComponent, TransformComponent transformComponent, int ownderId) {
-        if (Farmland.get().getLoadedSave() != null) {
-            Spritebatch.SpriteData spriteData = new Spritebatch.SpriteData(
-                    territoryTexture.getSprite(type),
-                    new Vector2f(
-                            transformComponent.position.x + gridBackgroundSideSize.x + x * cellSize.x + 1,
-                            transformComponent.position.y + gridBackgroundSideSize.y + y * cellSize.y + 1));
-            spriteData.tint = Farmland.get().getLoadedSave().players.get(ownderId).bannerColor;
-            spriteData.zIndex = rendererComponent.zIndex + 3;
+        Vector2f origin = getCellsOrigin();
+        int zIndex = rendererComponent.zIndex + 3;
 
-            spritebatch.drawSprite(spriteData);
+        // The overlay only depends on the ownership of the cells, so it is baked again only when it changes.
+        if (!territoryOverlay.isUpToDate(save, origin, cellSize, zIndex)) {
+            territoryOverlay.bake(save, territoryTexture, origin, cellSize, zIndex);
         }
+
+        territoryOverlay.render(spritebatch, getVisibleArea());
+    }
+
+    /** @return the area of the world visible through the world camera (min x, min y, max x, max y). */
+    private Vector4f getVisibleArea() {
+        Camera camera = getScene().getWorldCamera();
+        Vector2i windowSize = Game.get().getWindow().getSize();
+        Vector2f topLeft = camera.screenCoordToWorldCoord(new Vector2f(0, 0));
+        Vector2f bottomRight = camera.screenCoordToWorldCoord(new Vector2f(windowSize.x, windowSize.y));
+
+        return new Vector4f(
+                Math.min(topLeft.x, bottomRight.x), Math.min(topLeft.y, bottomRight.y),
+                Math.max(topLeft.x, bottomRight.x), Math.max(topLeft.y, bottomRight.y));
+    }
+
+    /** @return the world position of the first cell's top left corner. */
+    private Vector2f getCellsOrigin() {
+        TransformComponent transformComponent = getEntity().getComponent(TransformComponent.class);
+
+        return new Vector2f(
+                transformComponent.position.x + gridBackgroundSideSize.x,
+                transformComponent.position.y + gridBackgroundSideSize.y);
     }
 
     private Cell getCell(int x, int y) {
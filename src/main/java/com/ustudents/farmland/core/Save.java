@@ -98,8 +98,18 @@ public class Save {
     @JsonSerializable
     public List<Integer> deadPlayers;
 
+    /** The position in the journal of the last action included in the save (see `SaveJournal`). */
+    @JsonSerializable(necessary = false)
+    public Long journalSequence = 0L;
+
     public String path;
 
+    /** The metadata read from the save's binary header (null for a save read from Json or not written yet). */
+    public SaveFile.Header header;
+
+    /** Defines if the whole save is read (only the headers are read at startup, the rest when a save is loaded). */
+    public boolean loaded = true;
+
     public EventDispatcher<Event> turnEnded = new EventDispatcher<>();
 
     public EventDispatcher<Event> itemUsed = new EventDispatcher<>();
@@ -271,6 +281,11 @@ public class Save {
             if (Game.get().getNetMode() == NetMode.DedicatedServer) {
                 Farmland.get().getServer().broadcast(new LoadSaveResponse(Farmland.get().getLoadedSave()));
             }
+
+            // The end of a turn is not journaled, the save is written instead.
+            if (Resources.getConfig().autosaveOnTurnEnd || Resources.getConfig().useSaveJournal) {
+                Farmland.get().autosave();
+            }
         } else {
             Game.get().getClient().send(new EndTurnMessage());
         }
@@ -512,7 +527,7 @@ public class Save {
                 Cell cell = cells.get(x).get(y);
 
                 if (cell.isOwnedByBot(this)) {
-                    cell.ownerId++;
+                    cell.setOwned(true, cell.ownerId + 1);
                 }
             }
         }
@@ -576,9 +591,84 @@ public class Save {
         return i;
     }
 
+    /**
+     * Creates a copy of the save to write it on another thread while the game goes on. The values modified during the
+     * game are copied, the others are shared: the cells' sprites and view rectangles, and the item histories of the
+     * past turns (only the lists of the current turn are modified).
+     *
+     * @return the copy.
+     */
+    public Save snapshot() {
+        Save save = new Save();
+        save.name = name;
+        save.turn = turn;
+        save.turnTimePassed = turnTimePassed;
+        save.timePassed = timePassed;
+        save.mapSize = mapSize == null ? null : new Vector2i(mapSize);
+        save.seed = seed;
+        save.maxBorrow = maxBorrow;
+        save.debtRate = debtRate;
+        save.currentPlayerId = currentPlayerId;
+        save.capacity = capacity;
+        save.localPlayerId = localPlayerId;
+        save.startWithBots = startWithBots;
+        save.difficulty = difficulty;
+        save.deadPlayers = deadPlayers == null ? null : new LinkedList<>(deadPlayers);
+        save.journalSequence = journalSequence;
+        save.path = path;
+        save.header = header;
+
+        if (players != null) {
+            save.players = new ArrayList<>(players.size());
+
+            for (Player player : players) {
+                save.players.add(new Player(player));
+            }
+        }
+
+        save.buyTurnItemDataBase = Player.copyItems(buyTurnItemDataBase);
+        save.sellTurnItemDataBase = Player.copyItems(sellTurnItemDataBase);
+        save.buyItemDatabasePerTurn = buyItemDatabasePerTurn == null ? null : new ArrayList<>(buyItemDatabasePerTurn);
+        save.sellItemDatabasePerTurn = sellItemDatabasePerTurn == null ? null :
+                new ArrayList<>(sellItemDatabasePerTurn);
+        save.cropItem = Player.copyItems(cropItem);
+        save.animalItem = Player.copyItems(animalItem);
+
+        if (cells != null) {
+            save.cells = new ArrayList<>(cells.size());
+
+            for (List<Cell> column : cells) {
+                List<Cell> columnCopy = new ArrayList<>(column.size());
+
+                for (Cell cell : column) {
+                    columnCopy.add(new Cell(cell));
+                }
+
+                save.cells.add(columnCopy);
+            }
+        }
+
+        return save;
+    }
+
+    /** @return the save's file name without its extension. */
+    public String getId() {
+        int extensionIndex = path.lastIndexOf('.');
+
+        return extensionIndex == -1 ? path : path.substring(0, extensionIndex);
+    }
+
     public void removeFile() {
         String filePath = Resources.getSavesDirectoryName() + "/" + path;
 
+        // Waits for the save to be written (and its journal removed), for the file not to be written again once removed.
+        Farmland.get().getSaveWriter().removeJournal(SaveJournal.getPath(Resources.getSavesDirectoryName(), this));
+        Farmland.get().getSaveWriter().flush();
+
+        for (int i = 1; i <= Resources.getConfig().saveBackups; i++) {
+            new File(SaveWriter.getBackupPath(filePath, i)).delete();
+        }
+
         if(!new File(filePath).exists()) {
             return;
         }
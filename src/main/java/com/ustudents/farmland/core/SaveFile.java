@@ -0,0 +1,634 @@
+package com.ustudents.farmland.core;
+
+import com.ustudents.engine.Game;
+import com.ustudents.engine.core.cli.print.Out;
+import com.ustudents.engine.core.json.Json;
+import com.ustudents.engine.core.json.JsonReader;
+import com.ustudents.engine.core.json.JsonWriter;
+import com.ustudents.engine.graphic.Sprite;
+import com.ustudents.engine.graphic.Texture;
+import com.ustudents.farmland.core.grid.Cell;
+import com.ustudents.farmland.core.item.Item;
+import org.joml.Vector2i;
+import org.joml.Vector4f;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes the saves in their binary format (the Json format is still read, and written when the binary
+ * format is disabled in the settings).
+ *
+ * A binary save starts with its magic number, version and flags, followed by a header (name, turn, number of players,
+ * map size, seed and time of writing) prefixed by its size. Then comes the grid stored by columns, each cell at index
+ * `x * height + y`: a palette of the cells' sprites, the palette index of every cell, the owner of every cell, the
+ * layout of the cells' view rectangles, and the cells with an item as a sparse list (each item in Json). The rest of
+ * the save follows in Json, then the CRC32 of everything before it when the checksum flag is set.
+ */
+public class SaveFile {
+    /** The extension of the binary saves. */
+    public static final String extension = ".save";
+
+    /** The magic number at the start of every binary save ("FLSV"). */
+    static final int magicNumber = 0x464C5356;
+
+    /** The version of the format. */
+    static final int formatVersion = 1;
+
+    /** The flag set when the save ends with a checksum. */
+    static final int checksumFlag = 1;
+
+    /** The key of the items' class names. */
+    private static final String itemTypeKey = "_type";
+
+    /** The layouts of the cells' view rectangles. */
+    private static final int noViewRectangles = 0;
+
+    /** Every cell at `origin + position * size` (only the origin and size are written). */
+    private static final int regularViewRectangles = 1;
+
+    /** A view rectangle written for every cell. */
+    private static final int irregularViewRectangles = 2;
+
+    /** The metadata at the start of a save. */
+    public static class Header {
+        public String name;
+
+        public int turn;
+
+        public int numberOfPlayers;
+
+        public Vector2i mapSize;
+
+        public long seed;
+
+        /** The time the save was written at (in milliseconds since the epoch). */
+        public long savedAt;
+    }
+
+    /**
+     * Reads a binary save.
+     *
+     * @param filePath The save's path.
+     * @return the save (null if it cannot be read).
+     */
+    public static Save read(String filePath) {
+        try {
+            return read(ByteBuffer.wrap(Files.readAllBytes(Paths.get(filePath))));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the header of a binary save, without reading the rest of the file.
+     *
+     * @param filePath The save's path.
+     * @return a save with only the header's values (`Save.loaded` is false), or null if it cannot be read.
+     */
+    public static Save readMetadata(String filePath) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer start = ByteBuffer.allocate(16);
+            readFully(channel, start);
+            start.flip();
+            readStart(start);
+
+            int headerSize = start.getInt();
+
+            if (headerSize < 0 || headerSize > channel.size()) {
+                throw new IOException("Invalid header size!");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(4 + headerSize);
+            buffer.putInt(headerSize);
+            readFully(channel, buffer);
+            buffer.flip();
+
+            Header header = readHeader(buffer);
+            Save save = new Save();
+            save.name = header.name;
+            save.turn = header.turn;
+            save.mapSize = header.mapSize;
+            save.seed = header.seed;
+            save.header = header;
+            save.loaded = false;
+
+            return save;
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Writes a save in the binary format (to a temporary file moved over the previous one once complete).
+     *
+     * @param filePath The save's path.
+     * @param save The save.
+     * @param useChecksum Defines if the checksum is written.
+     * @return if the save was written.
+     */
+    public static boolean write(String filePath, Save save, boolean useChecksum) {
+        try {
+            Path output = Paths.get(filePath).toAbsolutePath();
+            Path temporaryOutput = Paths.get(filePath + ".tmp").toAbsolutePath();
+
+            Files.write(temporaryOutput, write(save, useChecksum));
+            Files.move(temporaryOutput, output, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * Writes a save in the binary format.
+     *
+     * @param save The save.
+     * @param useChecksum Defines if the checksum is written.
+     * @return the save's bytes.
+     */
+    public static byte[] write(Save save, boolean useChecksum) throws Exception {
+        long startTime = System.nanoTime();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream stream = new DataOutputStream(bytes);
+
+        stream.writeInt(magicNumber);
+        stream.writeInt(formatVersion);
+        stream.writeInt(useChecksum ? checksumFlag : 0);
+
+        writeHeader(stream, save);
+        writeGrid(stream, save.cells == null ? Collections.emptyList() : save.cells);
+
+        // The cells are already in the grid (their key is kept, being necessary to read the save).
+        Map<String, Object> json = Json.serialize(save, Collections.singleton("cells"));
+
+        if (json == null) {
+            throw new IOException("Cannot serialize the save!");
+        }
+
+        json.put("cells", Collections.emptyList());
+        writeBytes(stream, JsonWriter.writeToString(json, false, false, false).getBytes(StandardCharsets.UTF_8));
+
+        if (useChecksum) {
+            CRC32 checksum = new CRC32();
+            checksum.update(bytes.toByteArray(), 0, bytes.size());
+            stream.writeLong(checksum.getValue());
+        }
+
+        stream.flush();
+
+        if (Game.isDebugging()) {
+            Out.printlnDebug("Savegame encoded: " + save.name + " (" + bytes.size() + " bytes in " +
+                    (System.nanoTime() - startTime) / 1000000 + "ms)");
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a binary save.
+     *
+     * @param buffer The save's bytes.
+     * @return the save.
+     */
+    public static Save read(ByteBuffer buffer) throws Exception {
+        int flags = readStart(buffer);
+
+        if ((flags & checksumFlag) != 0) {
+            if (buffer.limit() < 20) {
+                throw new IOException("Truncated save!");
+            }
+
+            CRC32 checksum = new CRC32();
+            ByteBuffer content = buffer.duplicate();
+            content.position(0);
+            content.limit(buffer.limit() - 8);
+            checksum.update(content);
+
+            if (checksum.getValue() != buffer.getLong(buffer.limit() - 8)) {
+                throw new IOException("Corrupted save (invalid checksum)!");
+            }
+        }
+
+        Header header = readHeader(buffer);
+        List<List<Cell>> cells = readGrid(buffer);
+
+        Save save = JsonReader.readObjectFromString(new String(readBytes(buffer), StandardCharsets.UTF_8), Save.class,
+                null);
+
+        if (save == null) {
+            throw new IOException("Invalid save content!");
+        }
+
+        save.cells = cells;
+        save.header = header;
+
+        return save;
+    }
+
+    /**
+     * Reads the magic number, version and flags of a binary save.
+     *
+     * @param buffer The save's bytes (positioned after the flags when it returns).
+     * @return the flags.
+     */
+    static int readStart(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 16 || buffer.getInt() != magicNumber) {
+            throw new IOException("Not a binary save!");
+        }
+
+        int version = buffer.getInt();
+
+        if (version != formatVersion) {
+            throw new IOException("Unsupported save version " + version + "!");
+        }
+
+        return buffer.getInt();
+    }
+
+    /**
+     * Reads the header of a binary save.
+     *
+     * @param buffer The save's bytes (positioned at the header).
+     * @return the header.
+     */
+    private static Header readHeader(ByteBuffer buffer) throws IOException {
+        Header header = new Header();
+        int headerEnd = buffer.getInt() + buffer.position();
+
+        if (headerEnd < buffer.position() || headerEnd > buffer.limit()) {
+            throw new IOException("Invalid header size!");
+        }
+
+        header.name = new String(readBytes(buffer), StandardCharsets.UTF_8);
+        header.turn = buffer.getInt();
+        header.numberOfPlayers = buffer.getInt();
+        header.mapSize = new Vector2i(buffer.getInt(), buffer.getInt());
+        header.seed = buffer.getLong();
+        header.savedAt = buffer.getLong();
+
+        // Skips the values added to the header by later versions.
+        buffer.position(headerEnd);
+
+        return header;
+    }
+
+    private static void writeHeader(DataOutputStream stream, Save save) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(bytes);
+
+        writeBytes(header, (save.name == null ? "" : save.name).getBytes(StandardCharsets.UTF_8));
+        header.writeInt(save.turn == null ? 0 : save.turn);
+        header.writeInt(save.players == null ? 0 : save.players.size());
+        header.writeInt(save.mapSize == null ? 0 : save.mapSize.x);
+        header.writeInt(save.mapSize == null ? 0 : save.mapSize.y);
+        header.writeLong(save.seed == null ? 0 : save.seed);
+        header.writeLong(System.currentTimeMillis());
+        header.flush();
+
+        stream.writeInt(bytes.size());
+        bytes.writeTo(stream);
+    }
+
+    private static void writeGrid(DataOutputStream stream, List<List<Cell>> cells) throws Exception {
+        int width = cells.size();
+        int height = width == 0 ? 0 : cells.get(0).size();
+
+        for (List<Cell> column : cells) {
+            if (column.size() != height) {
+                throw new IllegalStateException("The grid is not rectangular!");
+            }
+        }
+
+        stream.writeInt(width);
+        stream.writeInt(height);
+
+        // The palette of the sprites (most cells share a few variants of the same texture).
+        List<Sprite> palette = new ArrayList<>();
+        Map<String, Integer> paletteIndices = new HashMap<>();
+        int[] spriteIndices = new int[width * height];
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Sprite sprite = cells.get(x).get(y).sprite;
+                String key = getPaletteKey(sprite);
+                Integer index = paletteIndices.get(key);
+
+                if (index == null) {
+                    index = palette.size();
+                    palette.add(sprite);
+                    paletteIndices.put(key, index);
+                }
+
+                spriteIndices[x * height + y] = index;
+            }
+        }
+
+        if (palette.size() > 65536) {
+            // The indices are written on two bytes at most.
+            throw new IllegalStateException("Too many sprites in the grid (" + palette.size() + ")!");
+        }
+
+        stream.writeInt(palette.size());
+
+        for (Sprite sprite : palette) {
+            Texture texture = sprite == null ? null : sprite.getTexture();
+            Vector4f region = sprite == null ? null : sprite.getRegion();
+            int presence = (sprite != null ? 1 : 0) | (texture != null ? 2 : 0) | (region != null ? 4 : 0);
+
+            stream.writeByte(presence);
+
+            if (texture != null) {
+                writeBytes(stream, texture.getPath().getBytes(StandardCharsets.UTF_8));
+            }
+
+            if (region != null) {
+                writeVector(stream, region);
+            }
+        }
+
+        boolean wideIndices = palette.size() > 256;
+        stream.writeBoolean(wideIndices);
+
+        for (int index : spriteIndices) {
+            if (wideIndices) {
+                stream.writeShort(index);
+            } else {
+                stream.writeByte(index);
+            }
+        }
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Integer ownerId = cells.get(x).get(y).ownerId;
+                stream.writeInt(ownerId == null ? -1 : ownerId);
+            }
+        }
+
+        writeViewRectangles(stream, cells, width, height);
+
+        List<Integer> itemIndices = new ArrayList<>();
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (cells.get(x).get(y).item != null) {
+                    itemIndices.add(x * height + y);
+                }
+            }
+        }
+
+        stream.writeInt(itemIndices.size());
+
+        JsonWriter writer = new JsonWriter(false);
+
+        for (int index : itemIndices) {
+            writer.writeObject(cells.get(index / height).get(index % height).item, itemTypeKey);
+            stream.writeInt(index);
+            writeBytes(stream, writer.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeViewRectangles(DataOutputStream stream, List<List<Cell>> cells, int width, int height)
+            throws IOException {
+        boolean none = true;
+        boolean regular = width > 0 && height > 0 && cells.get(0).get(0).viewRectangle != null;
+        Vector4f first = regular ? cells.get(0).get(0).viewRectangle : null;
+        float cellWidth = regular ? first.z - first.x : 0;
+        float cellHeight = regular ? first.w - first.y : 0;
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Vector4f viewRectangle = cells.get(x).get(y).viewRectangle;
+                none &= viewRectangle == null;
+                regular &= viewRectangle != null && viewRectangle.equals(getRegularViewRectangle(first, cellWidth,
+                        cellHeight, x, y));
+            }
+        }
+
+        if (none) {
+            stream.writeByte(noViewRectangles);
+        } else if (regular) {
+            stream.writeByte(regularViewRectangles);
+            writeVector(stream, new Vector4f(first.x, first.y, cellWidth, cellHeight));
+        } else {
+            stream.writeByte(irregularViewRectangles);
+
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    Vector4f viewRectangle = cells.get(x).get(y).viewRectangle;
+                    stream.writeBoolean(viewRectangle != null);
+
+                    if (viewRectangle != null) {
+                        writeVector(stream, viewRectangle);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<List<Cell>> readGrid(ByteBuffer buffer) throws Exception {
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+
+        if (width < 0 || height < 0 || (long)width * height > buffer.remaining()) {
+            throw new IOException("Invalid grid size!");
+        }
+
+        // The textures are shared by the cells, like when they are created.
+        Map<String, Texture> textures = new HashMap<>();
+        int paletteSize = buffer.getInt();
+        Texture[] paletteTextures = new Texture[paletteSize];
+        Vector4f[] paletteRegions = new Vector4f[paletteSize];
+        boolean[] paletteSprites = new boolean[paletteSize];
+
+        for (int i = 0; i < paletteSize; i++) {
+            int presence = buffer.get();
+            paletteSprites[i] = (presence & 1) != 0;
+
+            if ((presence & 2) != 0) {
+                String path = new String(readBytes(buffer), StandardCharsets.UTF_8);
+
+                if (!textures.containsKey(path)) {
+                    Map<String, Object> json = new HashMap<>();
+                    json.put("path", path);
+                    textures.put(path, Json.deserialize(json, Texture.class));
+                }
+
+                paletteTextures[i] = textures.get(path);
+            }
+
+            if ((presence & 4) != 0) {
+                paletteRegions[i] = readVector(buffer);
+            }
+        }
+
+        List<List<Cell>> cells = new ArrayList<>(width);
+        boolean wideIndices = buffer.get() != 0;
+
+        for (int x = 0; x < width; x++) {
+            List<Cell> column = new ArrayList<>(height);
+
+            for (int y = 0; y < height; y++) {
+                int index = wideIndices ? buffer.getShort() & 0xFFFF : buffer.get() & 0xFF;
+
+                if (index >= paletteSize) {
+                    throw new IOException("Invalid sprite index!");
+                }
+
+                Cell cell = new Cell();
+
+                if (paletteSprites[index]) {
+                    cell.sprite = new Sprite(paletteTextures[index],
+                            paletteRegions[index] == null ? null : new Vector4f(paletteRegions[index]));
+                }
+
+                column.add(cell);
+            }
+
+            cells.add(column);
+        }
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                cells.get(x).get(y).ownerId = buffer.getInt();
+            }
+        }
+
+        int layout = buffer.get();
+
+        if (layout == regularViewRectangles) {
+            Vector4f layoutVector = readVector(buffer);
+            Vector4f first = new Vector4f(layoutVector.x, layoutVector.y, layoutVector.x + layoutVector.z,
+                    layoutVector.y + layoutVector.w);
+
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    cells.get(x).get(y).viewRectangle = getRegularViewRectangle(first, layoutVector.z,
+                            layoutVector.w, x, y);
+                }
+            }
+        } else if (layout == irregularViewRectangles) {
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    if (buffer.get() != 0) {
+                        cells.get(x).get(y).viewRectangle = readVector(buffer);
+                    }
+                }
+            }
+        } else if (layout != noViewRectangles) {
+            throw new IOException("Invalid view rectangles layout!");
+        }
+
+        int numberOfItems = buffer.getInt();
+
+        for (int i = 0; i < numberOfItems; i++) {
+            int index = buffer.getInt();
+
+            if (index < 0 || index >= width * height) {
+                throw new IOException("Invalid item index!");
+            }
+
+            Item item = JsonReader.readObjectFromString(new String(readBytes(buffer), StandardCharsets.UTF_8),
+                    Item.class, itemTypeKey);
+
+            if (item == null) {
+                throw new IOException("Invalid item!");
+            }
+
+            cells.get(index / height).get(index % height).item = item;
+        }
+
+        return cells;
+    }
+
+    /**
+     * Gets the view rectangle of a cell when the cells are laid out regularly.
+     *
+     * @param first The view rectangle of the first cell.
+     * @param cellWidth The width of a cell.
+     * @param cellHeight The height of a cell.
+     * @param x The cell's column.
+     * @param y The cell's row.
+     * @return the view rectangle.
+     */
+    private static Vector4f getRegularViewRectangle(Vector4f first, float cellWidth, float cellHeight, int x, int y) {
+        return new Vector4f(
+                first.x + x * cellWidth,
+                first.y + y * cellHeight,
+                first.x + x * cellWidth + cellWidth,
+                first.y + y * cellHeight + cellHeight);
+    }
+
+    private static String getPaletteKey(Sprite sprite) {
+        if (sprite == null) {
+            return "";
+        }
+
+        Texture texture = sprite.getTexture();
+        Vector4f region = sprite.getRegion();
+
+        return (texture == null ? "-" : "+" + texture.getPath()) + "|" +
+                (region == null ? "-" : region.x + " " + region.y + " " + region.z + " " + region.w);
+    }
+
+    private static void writeVector(DataOutputStream stream, Vector4f vector) throws IOException {
+        stream.writeFloat(vector.x);
+        stream.writeFloat(vector.y);
+        stream.writeFloat(vector.z);
+        stream.writeFloat(vector.w);
+    }
+
+    private static Vector4f readVector(ByteBuffer buffer) {
+        return new Vector4f(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Truncated save!");
+            }
+        }
+    }
+
+    private static void writeBytes(DataOutputStream stream, byte[] bytes) throws IOException {
+        stream.writeInt(bytes.length);
+        stream.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) throws IOException {
+        int size = buffer.getInt();
+
+        if (size < 0 || size > buffer.remaining()) {
+            throw new IOException("Invalid size!");
+        }
+
+        byte[] bytes = new byte[size];
+        buffer.get(bytes);
+
+        return bytes;
+    }
+}
@@ -0,0 +1,350 @@
+package com.ustudents.farmland.core;
+
+import com.ustudents.engine.Game;
+import com.ustudents.engine.core.cli.print.Out;
+import com.ustudents.engine.core.json.JsonReader;
+import com.ustudents.engine.core.json.annotation.JsonSerializable;
+import com.ustudents.farmland.core.grid.Cell;
+import com.ustudents.farmland.core.item.Item;
+import com.ustudents.farmland.core.player.Player;
+import com.ustudents.farmland.core.system.Caravan;
+import com.ustudents.farmland.core.system.Research;
+import org.joml.Vector2i;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The journal of a save: the actions done since the save was last written, appended to `<save id>.journal` as they
+ * happen (one minified Json record per line) and replayed onto the save when it is read.
+ *
+ * A record only holds what its action changed: the player's money, loan and selected item after the action, and the
+ * item, quantity, cell or research of the action. The values the game computes (prices, loan interests, cell owner,
+ * research upgrade) are recorded as they were left by the action, for the replay not to depend on random values or on
+ * the scene. The replay applies the remaining changes (inventories, cell items and the turn's trades). Writing the save
+ * compacts the journal (see `SaveWriter`), which is why the end of a turn, changing the whole map, always writes the
+ * save.
+ */
+public class SaveJournal {
+    public static final String extension = ".journal";
+
+    /** The actions recorded in the journal. */
+    public enum Action {
+        SelectItem,
+        BuyItem,
+        SellItem,
+        BuyCell,
+        PlaceItem,
+        HarvestItem,
+        TakeLoan,
+        PayLoan,
+        UpgradeResearch,
+        SendCaravan
+    }
+
+    /** A recorded action. */
+    @JsonSerializable
+    public static class Record {
+        /** The record's position in the journal (a save keeps the position of the last action it includes). */
+        @JsonSerializable
+        public Long sequence;
+
+        @JsonSerializable
+        public Action action;
+
+        @JsonSerializable
+        public Integer playerId;
+
+        /** The player's money after the action. */
+        @JsonSerializable
+        public Integer money;
+
+        @JsonSerializable
+        public Integer loan;
+
+        @JsonSerializable
+        public Integer remainingDebt;
+
+        @JsonSerializable(necessary = false)
+        public String selectedItemId;
+
+        /** The item bought, sold, placed or sent with a caravan (null if there is none). */
+        @JsonSerializable(necessary = false)
+        public String itemId;
+
+        /** The number of items bought or sent with a caravan. */
+        @JsonSerializable(necessary = false)
+        public Integer quantity;
+
+        /** The position of the cell bought, planted or harvested (null if there is none). */
+        @JsonSerializable(necessary = false)
+        public Vector2i position;
+
+        /** The owner of the cell at `position` after the action. */
+        @JsonSerializable(necessary = false)
+        public Integer ownerId;
+
+        /** The research upgraded (after the upgrade). */
+        @JsonSerializable(necessary = false)
+        public Research research;
+
+        /** The caravan sent. */
+        @JsonSerializable(necessary = false)
+        public Caravan caravan;
+
+        public Record() {}
+
+        public Record(Action action) {
+            this.action = action;
+        }
+
+        /**
+         * Class constructor.
+         *
+         * @param action The action.
+         * @param position The position of the cell changed by the action.
+         */
+        public Record(Action action, Vector2i position) {
+            this.action = action;
+            this.position = position;
+        }
+
+        /**
+         * Class constructor.
+         *
+         * @param action The action.
+         * @param itemId The item of the action.
+         * @param quantity The number of items (null if the action has no quantity).
+         */
+        public Record(Action action, String itemId, Integer quantity) {
+            this.action = action;
+            this.itemId = itemId;
+            this.quantity = quantity;
+        }
+
+        /**
+         * Completes the record once its action is done, taking the position following the last one of the save and the
+         * state left by the action.
+         *
+         * @param save The save.
+         * @param player The player who did the action.
+         */
+        public void complete(Save save, Player player) {
+            this.sequence = ++save.journalSequence;
+            this.playerId = save.players.indexOf(player);
+            this.money = player.money;
+            this.loan = player.loan;
+            this.remainingDebt = player.remainingDebt;
+            this.selectedItemId = player.selectedItemId;
+
+            if (position != null) {
+                this.ownerId = save.getCell(position).ownerId;
+            }
+        }
+
+        /**
+         * Applies the record to a save.
+         *
+         * @param save The save.
+         */
+        private void apply(Save save) {
+            Player player = save.players.get(playerId);
+            Cell cell = position != null ? save.getCell(position) : null;
+
+            switch (action) {
+                case BuyItem: {
+                    Item item = save.getResourceDatabase().get(itemId);
+
+                    for (int i = 0; i < quantity; i++) {
+                        player.addToInventory(item, Player.InventoryType.WaitingToBePlanted);
+                        save.fillTurnItemDataBase(item, true);
+                    }
+
+                    break;
+                }
+                case SellItem: {
+                    Item item = player.getAllItemOfSellInventory().get(itemId);
+                    save.fillTurnItemDataBase(Item.clone(item), false);
+                    player.deleteFromInventory(item, Player.InventoryType.WaitingToBeSold);
+                    break;
+                }
+                case BuyCell:
+                    cell.setOwned(true, ownerId);
+                    break;
+                case PlaceItem: {
+                    Item item = player.getItemFromInventory(itemId);
+                    Item placedItem = Item.clone(item);
+                    placedItem.quantity = 1;
+                    cell.setItem(placedItem);
+                    player.deleteFromInventory(item, Player.InventoryType.WaitingToBePlanted);
+                    break;
+                }
+                case HarvestItem:
+                    player.addToInventory(cell.item, Player.InventoryType.WaitingToBeSold);
+                    cell.item = null;
+                    break;
+                case UpgradeResearch:
+                    player.researches.set(player.researches.indexOf(player.findResearch(research.type)), research);
+                    break;
+                case SendCaravan:
+                    player.caravans.add(caravan);
+
+                    for (int i = 0; i < quantity; i++) {
+                        player.deleteFromInventory(player.getAllItemOfSellInventory().get(itemId),
+                                Player.InventoryType.WaitingToBeSold);
+                    }
+
+                    break;
+                default:
+                    break;
+            }
+
+            player.money = money;
+            player.loan = loan;
+            player.remainingDebt = remainingDebt;
+            player.selectedItemId = selectedItemId;
+            save.journalSequence = sequence;
+        }
+
+        /**
+         * Checks if the record can be applied to a save (with the save's state left by the previous records).
+         *
+         * @param save The save.
+         * @return if it can.
+         */
+        private boolean canApply(Save save) {
+            if (sequence == null || action == null || playerId == null || playerId < 0 ||
+                    playerId >= save.players.size() || money == null || loan == null || remainingDebt == null) {
+                return false;
+            }
+
+            Player player = save.players.get(playerId);
+            Cell cell = position != null && position.x >= 0 && position.x < save.cells.size() && position.y >= 0 &&
+                    position.y < save.cells.get(position.x).size() ? save.getCell(position) : null;
+
+            switch (action) {
+                case BuyItem:
+                    return quantity != null && itemId != null && save.getResourceDatabase().containsKey(itemId);
+                case SellItem:
+                    return itemId != null && player.getAllItemOfSellInventory().containsKey(itemId);
+                case BuyCell:
+                    return cell != null && ownerId != null;
+                case PlaceItem:
+                    return cell != null && itemId != null && player.getItemFromInventory(itemId) != null;
+                case HarvestItem:
+                    return cell != null && cell.item != null;
+                case UpgradeResearch:
+                    return research != null && player.findResearch(research.type) != null;
+                case SendCaravan:
+                    return caravan != null && quantity != null && itemId != null &&
+                            (quantity == 0 || player.getAllItemOfSellInventory().containsKey(itemId));
+                default:
+                    return true;
+            }
+        }
+    }
+
+    /**
+     * Gets the path of the journal of a save.
+     *
+     * @param directory The directory of the saves.
+     * @param save The save.
+     * @return the journal's path.
+     */
+    public static String getPath(String directory, Save save) {
+        return directory + "/" + save.getId() + extension;
+    }
+
+    /**
+     * Replays a journal onto a save, from the first action the save does not include. The replay stops at the first
+     * invalid or incomplete record (the last one may have been cut off by a crash), the journal is then truncated before
+     * it for the records appended later to be read.
+     *
+     * @param filePath The journal's path.
+     * @param save The save (entirely read).
+     */
+    public static void replay(String filePath, Save save) {
+        Path file = Paths.get(filePath);
+
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        int numberOfRecords = 0;
+
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            int start = 0;
+
+            while (start < bytes.length) {
+                int end = start;
+
+                while (end < bytes.length && bytes[end] != '\n') {
+                    end++;
+                }
+
+                if (end == start) {
+                    start++;
+                    continue;
+                }
+
+                // A record is complete once its line feed is written.
+                Record record = end == bytes.length ? null :
+                        JsonReader.readObjectFromString(new String(bytes, start, end - start, StandardCharsets.UTF_8),
+                                Record.class, null);
+
+                if (!isValid(record, save)) {
+                    Out.printlnError("Invalid record in savegame journal: " + filePath + " (truncated at byte " +
+                            start + ", " + (bytes.length - start) + " bytes dropped)");
+                    truncate(file, start);
+                    break;
+                }
+
+                if (record.sequence > save.journalSequence) {
+                    record.apply(save);
+                    numberOfRecords++;
+                }
+
+                start = end + 1;
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        if (Game.isDebugging()) {
+            Out.printlnDebug("Savegame journal replayed: " + filePath + " (" + numberOfRecords + " actions, " +
+                    (System.nanoTime() - startTime) / 1000 + "us)");
+        }
+    }
+
+    /**
+     * Checks if a record can be applied to a save.
+     *
+     * @param record The record (null if it cannot be read).
+     * @param save The save.
+     * @return if it is valid.
+     */
+    private static boolean isValid(Record record, Save save) {
+        return record != null && record.canApply(save);
+    }
+
+    /**
+     * Truncates a journal.
+     *
+     * @param file The journal's file.
+     * @param size The size to keep (in bytes).
+     */
+    private static void truncate(Path file, long size) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+            channel.force(false);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
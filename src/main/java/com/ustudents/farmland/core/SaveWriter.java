@@ -0,0 +1,379 @@
+package com.ustudents.farmland.core;
+
+import com.ustudents.engine.Game;
+import com.ustudents.engine.core.Resources;
+import com.ustudents.engine.core.cli.print.Out;
+import com.ustudents.engine.core.json.JsonWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the saves on a background thread, from the snapshots taken on the main thread (see `Save.snapshot`), so that
+ * saving never freezes the game.
+ *
+ * The previous versions of a save are kept as rotated backups next to it (`save-1.save.backup1` being the most
+ * recent). Both formats are written to a temporary file moved over the previous one once complete. Every method of this
+ * class must be called from the main thread.
+ *
+ * It also appends the records of the saves' journals (see `SaveJournal`), on the same thread for a journal to be
+ * compacted (removed) once the save including its records is written.
+ */
+public class SaveWriter {
+    /** A snapshot waiting to be written. */
+    private static class Request {
+        private final Save snapshot;
+
+        private final String filePath;
+
+        /** The previous file of the save (when its format changed), removed once the new one is written. */
+        private final String previousFilePath;
+
+        private final String journalFilePath;
+
+        private final int numberOfBackups;
+
+        private final boolean useChecksum;
+
+        /** Called on the main thread once the save is written (can be null). */
+        private final Runnable onWritten;
+
+        private Request(Save snapshot, String filePath, String previousFilePath, String journalFilePath,
+                        int numberOfBackups, boolean useChecksum, Runnable onWritten) {
+            this.snapshot = snapshot;
+            this.filePath = filePath;
+            this.previousFilePath = previousFilePath;
+            this.journalFilePath = journalFilePath;
+            this.numberOfBackups = numberOfBackups;
+            this.useChecksum = useChecksum;
+            this.onWritten = onWritten;
+        }
+    }
+
+    private final ExecutorService worker;
+
+    /** The latest request of each file not written yet (a newer snapshot replaces the older one). */
+    private final Map<String, Request> pendingRequests;
+
+    /** The position of the last record included in the written save of each journal (only used by the worker). */
+    private final Map<String, Long> compactedSequences;
+
+    /** The number of records not written yet (the journal is synchronized to the disk after the last one). */
+    private final AtomicInteger pendingRecords;
+
+    /** Encodes the records (on the main thread, reused by each one). */
+    private final JsonWriter recordWriter;
+
+    /** Encodes the saves in the Json format (only used by the worker). */
+    private final JsonWriter saveWriter;
+
+    /** The callbacks of the written saves, waiting to be called on the main thread. */
+    private final Queue<Runnable> writtenCallbacks;
+
+    private boolean destroyed;
+
+    /** Class constructor. */
+    public SaveWriter() {
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("SaveWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pendingRequests = new ConcurrentHashMap<>();
+        this.compactedSequences = new HashMap<>();
+        this.pendingRecords = new AtomicInteger();
+        this.recordWriter = new JsonWriter(false);
+        this.saveWriter = new JsonWriter(true);
+        this.writtenCallbacks = new ConcurrentLinkedQueue<>();
+        this.destroyed = false;
+    }
+
+    /**
+     * Starts writing a save (its snapshot is taken immediately).
+     *
+     * @param save The save.
+     * @param filePath The save's path (its extension gives the format).
+     * @param previousFilePath The save's previous path, removed once written (null if it did not change).
+     * @param onWritten Called on the main thread once the save is written, not if it fails (can be null).
+     */
+    public void write(Save save, String filePath, String previousFilePath, Runnable onWritten) {
+        if (destroyed) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        Save snapshot = save.snapshot();
+        String journalFilePath = SaveJournal.getPath(Resources.getSavesDirectoryName(), save);
+        int numberOfBackups = Resources.getConfig().saveBackups;
+        boolean useChecksum = Resources.getConfig().useSaveChecksums;
+        boolean[] queued = {false};
+
+        // A request replacing one not written yet keeps the previous file to remove.
+        pendingRequests.compute(filePath, (key, olderRequest) -> {
+            queued[0] = olderRequest != null;
+
+            return new Request(snapshot, filePath, previousFilePath == null && olderRequest != null ?
+                    olderRequest.previousFilePath : previousFilePath, journalFilePath, numberOfBackups, useChecksum,
+                    onWritten);
+        });
+
+        // Only one task per file is queued, it writes the latest snapshot when it runs.
+        if (!queued[0]) {
+            worker.execute(() -> {
+                Request request = pendingRequests.remove(filePath);
+
+                if (request != null) {
+                    writeRequest(request);
+                }
+            });
+        }
+
+        if (Game.isDebugging()) {
+            Out.printlnDebug("Savegame snapshot taken: " + save.name + " (" +
+                    (System.nanoTime() - startTime) / 1000 + "us)");
+        }
+    }
+
+    /**
+     * Appends a record to the journal of a save (it is encoded immediately, then written and synchronized to the disk
+     * in the background).
+     *
+     * @param save The save.
+     * @param record The record.
+     */
+    public void append(Save save, SaveJournal.Record record) {
+        if (destroyed) {
+            return;
+        }
+
+        String journalFilePath = SaveJournal.getPath(Resources.getSavesDirectoryName(), save);
+        long sequence = record.sequence;
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        try {
+            recordWriter.writeObject(record, null);
+            recordWriter.writeTo(stream);
+            stream.write('\n');
+        } catch (Exception e) {
+            e.printStackTrace();
+            return;
+        }
+
+        byte[] bytes = stream.toByteArray();
+        pendingRecords.incrementAndGet();
+        worker.execute(() -> appendRecord(journalFilePath, sequence, bytes));
+    }
+
+    /**
+     * Removes the journal of a save (once the started writes are finished).
+     *
+     * @param journalFilePath The journal's path.
+     */
+    public void removeJournal(String journalFilePath) {
+        if (destroyed) {
+            return;
+        }
+
+        worker.execute(() -> {
+            compactedSequences.remove(journalFilePath);
+
+            try {
+                Files.deleteIfExists(Paths.get(journalFilePath));
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /** Calls the callbacks of the saves written since the last call (on the main thread). */
+    public void update() {
+        while (!writtenCallbacks.isEmpty()) {
+            writtenCallbacks.poll().run();
+        }
+    }
+
+    /** Waits for every started write to be finished, then calls the callbacks of the written saves. */
+    public void flush() {
+        if (destroyed) {
+            return;
+        }
+
+        try {
+            worker.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+
+        update();
+    }
+
+    /** Finishes the started writes, then stops the worker. */
+    public void destroy() {
+        if (!destroyed) {
+            worker.shutdown();
+
+            try {
+                if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+                    Out.printlnError("Savegames still being written after 10 seconds!");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            destroyed = true;
+        }
+    }
+
+    /**
+     * Gets the path of a backup of a save.
+     *
+     * @param filePath The save's path.
+     * @param index The backup's index (1 for the most recent).
+     * @return the backup's path.
+     */
+    public static String getBackupPath(String filePath, int index) {
+        return filePath + ".backup" + index;
+    }
+
+    /** Writes a request (on the worker). */
+    private void writeRequest(Request request) {
+        long startTime = System.nanoTime();
+
+        try {
+            rotateBackups(request.filePath, request.numberOfBackups);
+
+            boolean written = request.filePath.endsWith(SaveFile.extension) ?
+                    SaveFile.write(request.filePath, request.snapshot, request.useChecksum) :
+                    writeJson(request.filePath, request.snapshot);
+
+            // The previous file and the journal are kept, for the save to be read as it was.
+            if (!written) {
+                Out.printlnError("Cannot write savegame: " + request.filePath);
+                return;
+            }
+
+            if (request.previousFilePath != null && !request.previousFilePath.equals(request.filePath)) {
+                Files.deleteIfExists(Paths.get(request.previousFilePath));
+            }
+
+            // The records are included in the written save, the ones of its actions appended later are ignored.
+            compactedSequences.put(request.journalFilePath, request.snapshot.journalSequence);
+            Files.deleteIfExists(Paths.get(request.journalFilePath));
+
+            if (request.onWritten != null) {
+                writtenCallbacks.add(request.onWritten);
+            }
+
+            if (Game.isDebugging()) {
+                Out.printlnDebug("Savegame written: " + request.filePath + " (" +
+                        (System.nanoTime() - startTime) / 1000000 + "ms)");
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes a save in the Json format (on the worker), to a temporary file moved over the previous one once complete.
+     *
+     * @param filePath The save's path.
+     * @param save The save.
+     * @return if the save was written.
+     */
+    private boolean writeJson(String filePath, Save save) {
+        try {
+            Path output = Paths.get(filePath).toAbsolutePath();
+            Path temporaryOutput = Paths.get(filePath + ".tmp").toAbsolutePath();
+
+            saveWriter.writeObject(save, null);
+
+            try (OutputStream stream = Files.newOutputStream(temporaryOutput)) {
+                saveWriter.writeTo(stream);
+            }
+
+            Files.move(temporaryOutput, output, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * Appends a record to a journal (on the worker), unless the written save already includes it.
+     *
+     * @param journalFilePath The journal's path.
+     * @param sequence The record's position.
+     * @param record The encoded record.
+     */
+    private void appendRecord(String journalFilePath, long sequence, byte[] record) {
+        boolean last = pendingRecords.decrementAndGet() == 0;
+        Long compactedSequence = compactedSequences.get(journalFilePath);
+
+        if (compactedSequence != null && sequence <= compactedSequence) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(journalFilePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(record));
+
+            // Synchronized once per batch of records (the actions of a bot's turn are appended together).
+            if (last) {
+                channel.force(false);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Shifts the backups of a save by one (dropping the oldest) and copies the save as the most recent backup.
+     *
+     * @param filePath The save's path.
+     * @param numberOfBackups The number of backups to keep.
+     */
+    private static void rotateBackups(String filePath, int numberOfBackups) throws Exception {
+        Path file = Paths.get(filePath);
+
+        if (numberOfBackups <= 0 || !Files.exists(file)) {
+            return;
+        }
+
+        Files.deleteIfExists(Paths.get(getBackupPath(filePath, numberOfBackups)));
+
+        for (int i = numberOfBackups - 1; i >= 1; i--) {
+            Path backup = Paths.get(getBackupPath(filePath, i));
+
+            if (Files.exists(backup)) {
+                Files.move(backup, Paths.get(getBackupPath(filePath, i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        // Copied rather than moved, for the save to always exist on the disk.
+        Files.copy(file, Paths.get(getBackupPath(filePath, 1)), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -28,6 +28,9 @@ public class Cell {
     @JsonSerializable(necessary = false)
     public Vector4f viewRectangle;
 
+    /** Incremented every time the owner of any cell changes (to know when data derived from ownership is outdated). */
+    private static long ownershipRevision = 0;
+
     public Cell() {
         this.sprite = null;
         this.viewRectangle = null;
@@ -42,6 +45,18 @@ public class Cell {
         this.item = null;
     }
 
+    /**
+     * Copy constructor (the sprite and view rectangle are never modified, so they are shared).
+     *
+     * @param cell The cell to copy.
+     */
+    public Cell(Cell cell) {
+        this.sprite = cell.sprite;
+        this.viewRectangle = cell.viewRectangle;
+        this.ownerId = cell.ownerId;
+        this.item = cell.item == null ? null : cell.item.copy();
+    }
+
     @JsonSerializableConstructor
     public void deserialize(Map<String, Object> map) {
         if (item != null) {
@@ -60,6 +75,10 @@ public class Cell {
     }
 
     public void setOwned(boolean owned, int ownerId) {
+        if (this.ownerId == null || this.ownerId != ownerId) {
+            ownershipRevision++;
+        }
+
         this.ownerId = ownerId;
     }
 
@@ -103,4 +122,8 @@ public class Cell {
         setItem(null);
         setOwned(false, -1);
     }
+
+    public static long getOwnershipRevision() {
+        return ownershipRevision;
+    }
 }
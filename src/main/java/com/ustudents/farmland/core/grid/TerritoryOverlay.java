@@ -0,0 +1,184 @@
+package com.ustudents.farmland.core.grid;
+
+import com.ustudents.engine.graphic.Color;
+import com.ustudents.engine.graphic.Spritebatch;
+import com.ustudents.engine.graphic.Spritesheet;
+import com.ustudents.farmland.core.Save;
+import com.ustudents.farmland.core.player.Player;
+import org.joml.Vector2f;
+import org.joml.Vector2i;
+import org.joml.Vector4f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The territory overlay of a grid (owned cells and cells purchasable by the local player), baked into square chunks
+ * of sprites every time the ownership changes, so drawing it only submits the baked sprites of the visible chunks.
+ */
+public class TerritoryOverlay {
+    /** The number of cells on each side of a chunk. */
+    private static final int chunkSideSize = 16;
+
+    /** The baked sprites per chunk (indexed by `x * chunkCount.y + y`). */
+    private final List<List<Spritebatch.SpriteData>> chunks;
+
+    private final Vector2i chunkCount;
+
+    private final Vector2f origin;
+
+    private final Vector2i cellSize;
+
+    private Save save;
+
+    private List<List<Cell>> cells;
+
+    private Integer localPlayerId;
+
+    private long ownershipRevision;
+
+    private int playersState;
+
+    private int zIndex;
+
+    private boolean baked;
+
+    public TerritoryOverlay() {
+        this.chunks = new ArrayList<>();
+        this.chunkCount = new Vector2i();
+        this.origin = new Vector2f();
+        this.cellSize = new Vector2i();
+        this.baked = false;
+    }
+
+    /**
+     * Checks if the baked overlay still matches the save.
+     *
+     * @param save The loaded save.
+     * @param origin The position of the first cell.
+     * @param cellSize The size of a cell.
+     * @param zIndex The Z index of the overlay.
+     * @return if the overlay can be drawn without being baked again.
+     */
+    public boolean isUpToDate(Save save, Vector2f origin, Vector2i cellSize, int zIndex) {
+        return baked && this.save == save && this.cells == save.cells &&
+                this.localPlayerId != null && this.localPlayerId.equals(save.localPlayerId) &&
+                this.ownershipRevision == Cell.getOwnershipRevision() &&
+                this.playersState == getPlayersState(save) &&
+                this.origin.equals(origin) && this.cellSize.equals(cellSize) && this.zIndex == zIndex;
+    }
+
+    /**
+     * Bakes the overlay of the save.
+     *
+     * @param save The loaded save.
+     * @param territoryTexture The spritesheet holding the `owned` and `notOwned` sprites.
+     * @param origin The position of the first cell.
+     * @param cellSize The size of a cell.
+     * @param zIndex The Z index of the overlay.
+     */
+    public void bake(Save save, Spritesheet territoryTexture, Vector2f origin, Vector2i cellSize, int zIndex) {
+        this.save = save;
+        this.cells = save.cells;
+        this.localPlayerId = save.localPlayerId;
+        this.ownershipRevision = Cell.getOwnershipRevision();
+        this.playersState = getPlayersState(save);
+        this.origin.set(origin);
+        this.cellSize.set(cellSize);
+        this.zIndex = zIndex;
+
+        int width = cells.size();
+        int height = cells.isEmpty() ? 0 : cells.get(0).size();
+
+        chunkCount.set((width + chunkSideSize - 1) / chunkSideSize, (height + chunkSideSize - 1) / chunkSideSize);
+        chunks.clear();
+
+        for (int i = 0; i < chunkCount.x * chunkCount.y; i++) {
+            chunks.add(new ArrayList<>());
+        }
+
+        Color localPlayerColor = save.players.get(save.localPlayerId).bannerColor;
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Cell cell = cells.get(x).get(y);
+
+                if (cell.isOwned()) {
+                    addCell(territoryTexture, "owned", x, y, save.players.get(cell.ownerId).bannerColor);
+                } else if (isNextToLocalPlayerCell(x, y, width, height)) {
+                    addCell(territoryTexture, "notOwned", x, y, localPlayerColor);
+                }
+            }
+        }
+
+        baked = true;
+    }
+
+    /**
+     * Draws the chunks intersecting the visible area.
+     *
+     * @param spritebatch The spritebatch to use.
+     * @param visibleArea The visible area in world coordinates (min x, min y, max x, max y).
+     */
+    public void render(Spritebatch spritebatch, Vector4f visibleArea) {
+        float chunkWidth = (float)chunkSideSize * cellSize.x;
+        float chunkHeight = (float)chunkSideSize * cellSize.y;
+
+        for (int x = 0; x < chunkCount.x; x++) {
+            float chunkX = origin.x + x * chunkWidth;
+
+            if (chunkX > visibleArea.z || chunkX + chunkWidth < visibleArea.x) {
+                continue;
+            }
+
+            for (int y = 0; y < chunkCount.y; y++) {
+                float chunkY = origin.y + y * chunkHeight;
+
+                if (chunkY > visibleArea.w || chunkY + chunkHeight < visibleArea.y) {
+                    continue;
+                }
+
+                for (Spritebatch.SpriteData spriteData : chunks.get(x * chunkCount.y + y)) {
+                    spritebatch.drawSprite(spriteData);
+                }
+            }
+        }
+    }
+
+    /** Forces the overlay to be baked again before its next use. */
+    public void invalidate() {
+        baked = false;
+    }
+
+    private void addCell(Spritesheet territoryTexture, String type, int x, int y, Color tint) {
+        Spritebatch.SpriteData spriteData = new Spritebatch.SpriteData(
+                territoryTexture.getSprite(type),
+                new Vector2f(origin.x + x * cellSize.x + 1, origin.y + y * cellSize.y + 1));
+        spriteData.tint = tint;
+        spriteData.zIndex = zIndex;
+
+        chunks.get((x / chunkSideSize) * chunkCount.y + y / chunkSideSize).add(spriteData);
+    }
+
+    private boolean isNextToLocalPlayerCell(int x, int y, int width, int height) {
+        return (x < width - 1 && cells.get(x + 1).get(y).ownerId.equals(localPlayerId)) ||
+                (x > 0 && cells.get(x - 1).get(y).ownerId.equals(localPlayerId)) ||
+                (y < height - 1 && cells.get(x).get(y + 1).ownerId.equals(localPlayerId)) ||
+                (y > 0 && cells.get(x).get(y - 1).ownerId.equals(localPlayerId));
+    }
+
+    /** Summarizes the banner colors of the players (the only player data used by the overlay). */
+    private static int getPlayersState(Save save) {
+        int state = save.players.size();
+
+        for (Player player : save.players) {
+            Color color = player.bannerColor;
+            state = 31 * state + (color == null ? 0 : Float.floatToIntBits(color.r));
+            state = 31 * state + (color == null ? 0 : Float.floatToIntBits(color.g));
+            state = 31 * state + (color == null ? 0 : Float.floatToIntBits(color.b));
+            state = 31 * state + (color == null ? 0 : Float.floatToIntBits(color.a));
+        }
+
+        return state;
+    }
+}
@@ -5,8 +5,6 @@ import com.ustudents.engine.core.json.annotation.JsonSerializable;
 import com.ustudents.engine.core.json.annotation.JsonSerializableConstructor;
 import com.ustudents.engine.graphic.Sprite;
 
-import java.util.Map;
-
 @JsonSerializable
 public class Animal extends Item {
 
@@ -19,24 +17,35 @@ public class Animal extends Item {
     @JsonSerializable(necessary = false)
     public String babyId;
 
+    public Animal() {
+    }
+
+    public Animal(Animal animal) {
+        super(animal);
+        this.numberOfTurnsToReachMaturity = animal.numberOfTurnsToReachMaturity;
+        this.currentTurn = animal.currentTurn;
+        this.babyId = animal.babyId;
+    }
+
     @JsonSerializableConstructor
     @Override
-    public void deserialize(Map<String, Object> json) {
+    public void deserialize() {
         if (!texture.startsWith("animals/")) {
             texture = "animals/" + texture;
         }
-        this.spritesheet = Resources.loadSpritesheet(texture);
+        loadSpritesheet();
         if (currentTurn == 0) {
             currentTurn = 1;
         }
     }
 
     public static Animal clone(Animal animal) {
-        Animal result = new Animal();
-        result.takeValuesFrom(animal);
-        result.numberOfTurnsToReachMaturity = animal.numberOfTurnsToReachMaturity;
-        result.babyId = animal.babyId;
-        return result;
+        return new Animal(animal);
+    }
+
+    @Override
+    public Animal copy() {
+        return new Animal(this);
     }
 
     @Override
@@ -6,8 +6,6 @@ import com.ustudents.engine.core.json.annotation.JsonSerializable;
 import com.ustudents.engine.core.json.annotation.JsonSerializableConstructor;
 import com.ustudents.engine.graphic.Sprite;
 
-import java.util.Map;
-
 @JsonSerializable
 public class Crop extends Item {
 
@@ -17,23 +15,34 @@ public class Crop extends Item {
     @JsonSerializable(necessary = false)
     public Integer currentTurn = 1;
 
+    public Crop() {
+    }
+
+    public Crop(Crop crop) {
+        super(crop);
+        this.numberOfTurnsToGrow = crop.numberOfTurnsToGrow;
+        this.currentTurn = crop.currentTurn;
+    }
+
     @JsonSerializableConstructor
     @Override
-    public void deserialize(Map<String, Object> json) {
+    public void deserialize() {
         if (!texture.startsWith("crops/")) {
             texture = "crops/" + texture;
         }
-        this.spritesheet = Resources.loadSpritesheet(texture);
+        loadSpritesheet();
         if (currentTurn == 0) {
             currentTurn = 1;
         }
     }
 
     public static Crop clone(Crop crop) {
-        Crop result = new Crop();
-        result.takeValuesFrom(crop);
-        result.numberOfTurnsToGrow = crop.numberOfTurnsToGrow;
-        return result;
+        return new Crop(crop);
+    }
+
+    @Override
+    public Crop copy() {
+        return new Crop(this);
     }
 
     @Override
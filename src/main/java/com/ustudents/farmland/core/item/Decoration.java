@@ -1,26 +1,33 @@
 package com.ustudents.farmland.core.item;
 
-import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.json.annotation.JsonSerializable;
 import com.ustudents.engine.core.json.annotation.JsonSerializableConstructor;
 
-import java.util.Map;
-
 @JsonSerializable
 public class Decoration extends Item {
 
+    public Decoration() {
+    }
+
+    public Decoration(Decoration decoration) {
+        super(decoration);
+    }
+
     @JsonSerializableConstructor
     @Override
-    public void deserialize(Map<String, Object> json) {
+    public void deserialize() {
         if (!texture.startsWith("decoration/")) {
             texture = "decoration/" + texture;
         }
-        this.spritesheet = Resources.loadSpritesheet(texture);
+        loadSpritesheet();
     }
 
     public static Decoration clone(Decoration decoration) {
-        Decoration result = new Decoration();
-        result.takeValuesFrom(decoration);
-        return result;
+        return new Decoration(decoration);
+    }
+
+    @Override
+    public Decoration copy() {
+        return new Decoration(this);
     }
 }
@@ -8,8 +8,6 @@ import com.ustudents.engine.core.json.annotation.JsonSerializableType;
 import com.ustudents.engine.graphic.Sprite;
 import com.ustudents.engine.graphic.Spritesheet;
 
-import java.util.Map;
-
 @JsonSerializable
 public class Item {
     @JsonSerializable
@@ -39,9 +37,25 @@ public class Item {
         this.quantity = 0;
     }
 
+    /**
+     * Copy constructor (the values are immutable and the spritesheet is shared, so the copy is independent).
+     *
+     * @param item The item to copy.
+     */
+    public Item(Item item) {
+        takeValuesFrom(item);
+    }
+
     @JsonSerializableConstructor
-    public void deserialize(Map<String, Object> json) {
+    public void deserialize() {
+        loadSpritesheet();
+    }
+
+    /** Loads the item's spritesheet (called by the deserialization of every kind of item). */
+    protected final void loadSpritesheet() {
         this.spritesheet = Resources.loadSpritesheet(texture);
+        // Items live in the save, beyond the scene which loaded their spritesheet.
+        Resources.hold(spritesheet, this);
     }
 
     public void takeValuesFrom(Item from) {
@@ -53,10 +67,21 @@ public class Item {
         this.quantity = from.quantity;
         this.nameId = from.nameId;
         this.spritesheet = from.spritesheet;
+        Resources.hold(spritesheet, this);
     }
 
     public static Item clone(Item item) {
-        return Json.deserialize(Json.serialize(item), item.getClass());
+        return item.copy();
+    }
+
+    /** @return a copy of the item, of the same class (overridden by the subclasses to copy their own values). */
+    public Item copy() {
+        if (getClass() != Item.class) {
+            // A subclass without its own copy, copied through Json to keep all of its values.
+            return Json.deserialize(Json.serialize(this), getClass());
+        }
+
+        return new Item(this);
     }
 
     public void endTurn() {
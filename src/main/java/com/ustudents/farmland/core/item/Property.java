@@ -1,11 +1,8 @@
 package com.ustudents.farmland.core.item;
 
-import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.json.annotation.JsonSerializable;
 import com.ustudents.engine.core.json.annotation.JsonSerializableConstructor;
 
-import java.util.Map;
-
 @JsonSerializable
 public class Property extends Item {
 
@@ -21,22 +18,32 @@ public class Property extends Item {
     @JsonSerializable
     public Integer maxLevel;
 
+    public Property() {
+    }
+
+    public Property(Property property) {
+        super(property);
+        this.maintenanceCost = property.maintenanceCost;
+        this.initLevel = property.initLevel;
+        this.actualLevel = property.actualLevel;
+        this.maxLevel = property.maxLevel;
+    }
+
     @JsonSerializableConstructor
     @Override
-    public void deserialize(Map<String, Object> json) {
+    public void deserialize() {
         if (!texture.startsWith("property/")) {
             texture = "property/" + super.texture;
         }
-        this.spritesheet = Resources.loadSpritesheet(texture);
+        loadSpritesheet();
     }
 
     public static Property clone(Property property) {
-        Property result = new Property();
-        result.takeValuesFrom(property);
-        result.maintenanceCost = property.maintenanceCost;
-        result.initLevel = property.initLevel;
-        result.actualLevel = property.actualLevel;
-        result.maxLevel = property.maxLevel;
-        return result;
+        return new Property(property);
+    }
+
+    @Override
+    public Property copy() {
+        return new Property(this);
     }
 }
@@ -7,6 +7,7 @@ import com.ustudents.engine.core.json.annotation.JsonSerializable;
 import com.ustudents.engine.graphic.Color;
 import com.ustudents.farmland.Farmland;
 import com.ustudents.farmland.component.GridComponent;
+import com.ustudents.farmland.core.SaveJournal;
 import com.ustudents.farmland.core.grid.Cell;
 import com.ustudents.farmland.core.item.*;
 import com.ustudents.farmland.network.actions.*;
@@ -107,6 +108,76 @@ public class Player {
         this.soldAnimals = new ArrayList<>();
     }
 
+    /**
+     * Copy constructor (every value is copied, the copy is independent).
+     *
+     * @param player The player to copy.
+     */
+    public Player(Player player) {
+        this.name = player.name;
+        this.money = player.money;
+        this.type = player.type;
+        this.loan = player.loan;
+        this.remainingDebt = player.remainingDebt;
+        this.bannerColor = player.bannerColor == null ? null : player.bannerColor.clone();
+        this.position = player.position == null ? null : new Vector2f(player.position);
+        this.selectedItemId = player.selectedItemId;
+
+        if (player.village != null) {
+            this.village = new Village(player.village.name);
+            this.village.position = player.village.position == null ? null : new Vector2f(player.village.position);
+        }
+
+        if (player.avatar != null) {
+            this.avatar = new Avatar(
+                    player.avatar.bracesColor == null ? null : player.avatar.bracesColor.clone(),
+                    player.avatar.shirtColor == null ? null : player.avatar.shirtColor.clone(),
+                    player.avatar.hatColor == null ? null : player.avatar.hatColor.clone(),
+                    player.avatar.buttonsColor == null ? null : player.avatar.buttonsColor.clone());
+        }
+
+        this.boughtCrops = copyItems(player.boughtCrops);
+        this.boughtAnimals = copyItems(player.boughtAnimals);
+        this.soldCrops = copyItems(player.soldCrops);
+        this.soldAnimals = copyItems(player.soldAnimals);
+
+        if (player.caravans != null) {
+            this.caravans = new ArrayList<>();
+
+            for (Caravan caravan : player.caravans) {
+                caravans.add(new Caravan(caravan.reward, caravan.travelTurn, caravan.totalTurn, caravan.product));
+            }
+        }
+
+        if (player.researches != null) {
+            this.researches = new ArrayList<>();
+
+            for (Research research : player.researches) {
+                researches.add(new Research(research.type, research.level, research.price, research.effect));
+            }
+        }
+    }
+
+    /**
+     * Copies a list of items (and the items).
+     *
+     * @param items The items (may be null).
+     * @return the copy.
+     */
+    public static <T extends Item> List<T> copyItems(List<T> items) {
+        if (items == null) {
+            return null;
+        }
+
+        List<T> copy = new ArrayList<>(items.size());
+
+        for (T item : items) {
+            copy.add(item == null ? null : (T)item.copy());
+        }
+
+        return copy;
+    }
+
     public boolean hasLost() {
         return money <= 0;
     }
@@ -399,6 +470,7 @@ public class Player {
                 setSelectedItemId(itemId);
             }
 
+            Farmland.get().recordAction(new SaveJournal.Record(SaveJournal.Action.SelectItem), this);
             Farmland.get().serverBroadcastSave();
         } else {
             Game.get().getClient().send(new SelectItemMessage(itemId));
@@ -415,6 +487,7 @@ public class Player {
                 Farmland.get().getLoadedSave().fillTurnItemDataBase(item, true);
             }
 
+            Farmland.get().recordAction(new SaveJournal.Record(SaveJournal.Action.BuyItem, item.id, quantity), this);
             Farmland.get().serverBroadcastSave();
         } else {
             Game.get().getClient().send(new BuyItemMessage(item.id));
@@ -433,6 +506,7 @@ public class Player {
             Farmland.get().getLoadedSave().fillTurnItemDataBase(item, false);
             deleteFromInventory(getAllItemOfSellInventory().get(itemId), InventoryType.WaitingToBeSold);
 
+            Farmland.get().recordAction(new SaveJournal.Record(SaveJournal.Action.SellItem, itemId, null), this);
             Farmland.get().serverBroadcastSave();
         } else {
             Game.get().getClient().send(new SellItemMessage(itemId));
@@ -445,6 +519,7 @@ public class Player {
 
             Farmland.get().getLoadedSave().getCell(position).setOwned(true, getId());
 
+            Farmland.get().recordAction(new SaveJournal.Record(SaveJournal.Action.BuyCell, position), this);
             Farmland.get().serverBroadcastSave();
         } else {
             Game.get().getClient().send(new BuyCellMessage(position));
@@ -468,6 +543,9 @@ public class Player {
 
             Farmland.get().getLoadedSave().itemUsed.dispatch();
 
+            SaveJournal.Record record = new SaveJournal.Record(SaveJournal.Action.PlaceItem, selectedItem.id, null);
+            record.position = position;
+            Farmland.get().recordAction(record, this);
             Farmland.get().serverBroadcastSave();
         } else {
             Game.get().getClient().send(new PlaceSelectedItemMessage(position));
@@ -480,6 +558,7 @@ public class Player {
             addToInventory(cell.item, Player.InventoryType.WaitingToBeSold);
             cell.item = null;
 
+            Farmland.get().recordAction(new SaveJournal.Record(SaveJournal.Action.HarvestItem, position), this);
             Farmland.get().serverBroadcastSave();
         } else {
             Game.get().getClient().send(new HarvestItemMessage(position));
@@ -492,6 +571,7 @@ public class Player {
             loan = amount + (int)(amount * 0.03f) + 1;
             remainingDebt += amount + (int)(amount * 0.03f) + 1;
 
+            Farmland.get().recordAction(new SaveJournal.Record(SaveJournal.Action.TakeLoan), this);
             Farmland.get().serverBroadcastSave();
         } else {
             Game.get().getClient().send(new TakeLoanMessage(amount));
@@ -515,6 +595,7 @@ public class Player {
             }
 
             if (broadcast) {
+                Farmland.get().recordAction(new SaveJournal.Record(SaveJournal.Action.PayLoan), this);
                 Farmland.get().serverBroadcastSave();
             }
         } else {
@@ -533,6 +614,9 @@ public class Player {
             money -= research.getPrice();
             research.levelUp(10, 1);
 
+            SaveJournal.Record record = new SaveJournal.Record(SaveJournal.Action.UpgradeResearch);
+            record.research = research;
+            Farmland.get().recordAction(record, this);
             Farmland.get().serverBroadcastSave();
         } else {
             Game.get().getClient().send(new UpgradeResearch(type));
@@ -543,13 +627,18 @@ public class Player {
         if (Game.get().hasAuthority()) {
             int itemQuantity = getAllItemOfSellInventory().get(itemId).quantity;
 
+            Caravan caravan = new Caravan(sellValue, travelTime, itemId);
+
             money -= travelPrice;
-            caravans.add(new Caravan(sellValue, travelTime, itemId));
+            caravans.add(caravan);
 
             for (int i = 0; i < itemQuantity / 2; i++) {
                 deleteFromInventory(getAllItemOfSellInventory().get(itemId), InventoryType.WaitingToBeSold);
             }
 
+            SaveJournal.Record record = new SaveJournal.Record(SaveJournal.Action.SendCaravan, itemId, itemQuantity / 2);
+            record.caravan = caravan;
+            Farmland.get().recordAction(record, this);
             Farmland.get().serverBroadcastSave();
         } else {
             Game.get().getClient().send(new SendCaravanMessage(travelPrice, travelTime, sellValue, itemId));
@@ -160,6 +160,7 @@ public class InGameScene extends Scene {
 
         imageDataBank.scale = new Vector2f(3f, 3f);
         imageDataBank.zIndex = 2;
+        imageDataBank.cached = true;
         guiBuilder.addImage(imageDataBank);
 
         Texture researchTexture = Resources.loadTexture("ui/research.png");
@@ -177,6 +178,7 @@ public class InGameScene extends Scene {
 
         imageDataResearch.scale = new Vector2f(3f, 3f);
         imageDataResearch.zIndex = 2;
+        imageDataResearch.cached = true;
         guiBuilder.addImage(imageDataResearch);
 
         Texture caravanTexture = Resources.loadTexture("ui/caravan.png");
@@ -194,6 +196,7 @@ public class InGameScene extends Scene {
 
         imageDataCaravan.scale = new Vector2f(3f, 3f);
         imageDataCaravan.zIndex = 2;
+        imageDataCaravan.cached = true;
         guiBuilder.addImage(imageDataCaravan);
 
 
@@ -212,6 +215,7 @@ public class InGameScene extends Scene {
 
         imageDataMarket.scale = new Vector2f(3f, 3f);
         imageDataMarket.zIndex = 2;
+        imageDataMarket.cached = true;
         guiBuilder.addImage(imageDataMarket);
 
         Texture inventoryTexture = Resources.loadTexture("ui/inventory.png");
@@ -229,6 +233,7 @@ public class InGameScene extends Scene {
 
         imageDataInventory.scale = new Vector2f(3f, 3f);
         imageDataInventory.zIndex = 2;
+        imageDataInventory.cached = true;
         guiBuilder.addImage(imageDataInventory);
 
         Texture turnEndTexture = Resources.loadTexture("ui/time.png");
@@ -246,6 +251,7 @@ public class InGameScene extends Scene {
 
         imageDataTurnEnd.scale = new Vector2f(3f, 3f);
         imageDataTurnEnd.zIndex = 2;
+        imageDataTurnEnd.cached = true;
         guiBuilder.addImage(imageDataTurnEnd);
 
         Texture frameTexture = Resources.loadTexture("ui/frame.png");
@@ -257,6 +263,7 @@ public class InGameScene extends Scene {
         imageDataFrame.position.y = 10;
         imageDataFrame.position.x = 3;
         imageDataFrame.zIndex = 2;
+        imageDataFrame.cached = true;
         guiBuilder.addImage(imageDataFrame);
 
         initializeAvatar(guiBuilder);
@@ -270,6 +277,7 @@ public class InGameScene extends Scene {
         imageDataMoney.position.y = 40;
         imageDataMoney.position.x = 185;
         imageDataMoney.zIndex = 2;
+        imageDataMoney.cached = true;
         guiBuilder.addImage(imageDataMoney);
 
         Texture goldTrophyTexture = Resources.loadTexture("ui/goldtrophy.png");
@@ -280,6 +288,7 @@ public class InGameScene extends Scene {
         imageDataGT.scale = new Vector2f(3f, 3f);
         imageDataGT.position = new Vector2f(-10, 40);
         imageDataGT.zIndex = 2;
+        imageDataGT.cached = true;
         guiBuilder.addImage(imageDataGT);
 
         if (Farmland.get().getLoadedSave().players.size() >= 2) {
@@ -291,6 +300,7 @@ public class InGameScene extends Scene {
             imageDataST.scale = new Vector2f(3f, 3f);
             imageDataST.position = new Vector2f(-10, 85);
             imageDataST.zIndex = 2;
+            imageDataST.cached = true;
             guiBuilder.addImage(imageDataST);
         }
 
@@ -303,6 +313,7 @@ public class InGameScene extends Scene {
             imageDataBT.scale = new Vector2f(3f, 3f);
             imageDataBT.position = new Vector2f(-10, 130);
             imageDataBT.zIndex = 2;
+            imageDataBT.cached = true;
             guiBuilder.addImage(imageDataBT);
         }
 
@@ -314,6 +325,7 @@ public class InGameScene extends Scene {
         imageDataLB.scale = new Vector2f(2f, 2f);
         imageDataLB.position = new Vector2f(-20, -8);
         imageDataLB.zIndex = 2;
+        imageDataLB.cached = true;
         guiBuilder.addImage(imageDataLB);
 
         GuiBuilder.ButtonData buttonData = new GuiBuilder.ButtonData(Resources.getLocalizedText("endTurn"), (dataType, data) -> {
@@ -1,12 +1,9 @@
 package com.ustudents.farmland.scene.menus;
 
-import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.event.EventListener;
 import com.ustudents.farmland.Farmland;
 import com.ustudents.farmland.core.Save;
 
-import java.io.File;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 public class DeleteGameMenu extends MenuScene{
@@ -18,16 +15,10 @@ public class DeleteGameMenu extends MenuScene{
         EventListener[] eventListeners = new EventListener[buttonNames.length];
 
         for (Save save : Farmland.get().getSaves().values()) {
-            int j = i;
             buttonNames[i] = save.name;
-            buttonIds[i] = save.path.replace(".json", "") + "Button";
+            buttonIds[i] = save.getId() + "Button";
             eventListeners[i] = (dataType, data) -> {
-                Farmland.get().loadSave(Farmland.get().getSaveWithFilename(buttonIds[j].replace("Button", "")).name);
-                try {
-                    Files.delete(new File(Resources.getSavesDirectoryName() + "/" + save.path).toPath());
-                }catch (Exception e){
-                    e.printStackTrace();
-                }
+                save.removeFile();
                 Farmland.get().getSaves().remove(save.name);
                 if(Farmland.get().getSaves().isEmpty())
                     changeScene(new SingleplayerMenu());
@@ -17,10 +17,14 @@ public class LoadGameMenu extends MenuScene {
             if (!save.path.startsWith("save-server")) {
                 int j = i;
                 buttonNames[i] = save.name;
-                buttonIds[i] = save.path.replace(".json", "") + "Button";
+                buttonIds[i] = save.getId() + "Button";
                 eventListeners[i] = (dataType, data) -> {
-                    Farmland.get().loadSave(Farmland.get().getSaveWithFilename(buttonIds[j].replace("Button", "")).name);
-                    changeScene(new InGameScene());
+                    if (Farmland.get().loadSave(Farmland.get().getSaveWithFilename(buttonIds[j].replace("Button", "")).name)) {
+                        changeScene(new InGameScene());
+                    } else {
+                        // The save could not be read and has been removed from the list.
+                        changeScene(new LoadGameMenu(), false);
+                    }
                 };
                 i++;
             }
@@ -175,10 +175,16 @@ public abstract class MenuScene extends Scene {
 
     public void initializeMusic() {
         if (!hasEntityWithName("backgroundMusic")) {
-            Sound musicSound = Resources.loadSound("music/main_menu_background.ogg");
+            Sound musicSound = Resources.loadSound("music/main_menu_background.ogg", true);
             Entity music = createEntityWithName("backgroundMusic");
             music.keepOnLoad(true);
-            music.addComponent(new SoundComponent(musicSound, Resources.getConfig().useSound, true));
+            SoundComponent musicComponent = music.addComponent(new SoundComponent(musicSound, false, true));
+            // The music is never cut off by the sound effects.
+            musicComponent.source.setPriority(1);
+
+            if (Resources.getConfig().useSound) {
+                musicComponent.play();
+            }
         }
     }
 }
@@ -163,12 +163,14 @@ public class NewGameMenu extends MenuScene {
                         new Vector2i(size[0], size[1]), seed.get(), numberOfBots[0], maxBorrow.get(), percentDebt.get(), Bot.Difficulty.values()[currentDifficulty.get()]);
 
                 Farmland.get().getSaves().put(save.name, save);
-                Farmland.get().loadSave(save.name);
-                Farmland.get().writeLoadedSave();
 
-                SceneManager.get().popTypeOfLastScene();
+                if (Farmland.get().loadSave(save.name)) {
+                    Farmland.get().writeLoadedSave();
 
-                changeScene(new InGameScene());
+                    SceneManager.get().popTypeOfLastScene();
+
+                    changeScene(new InGameScene());
+                }
             }
         }
 
@@ -1,6 +1,7 @@
 package com.ustudents.farmland.scene.menus;
 
 import com.ustudents.engine.Game;
+import com.ustudents.engine.core.AssetGroup;
 import com.ustudents.engine.core.Resources;
 import com.ustudents.engine.core.event.EventListener;
 import com.ustudents.engine.graphic.Anchor;
@@ -18,6 +19,11 @@ public class ResultMenu extends MenuScene {
     public boolean isWin;
     public boolean comeFromServer;
 
+    @Override
+    public AssetGroup getPreloadGroup() {
+        return new AssetGroup().addTexture(getResultPath());
+    }
+
     @Override
     public void initialize() {
         if (getGame().isConnectedToServer()) {
@@ -30,17 +36,7 @@ public class ResultMenu extends MenuScene {
 
         GuiBuilder guiBuilder = new GuiBuilder();
 
-        String pathStart = "ui/";
-
-        if (Resources.getConfig().language.equals("fr")) {
-            pathStart += "fr/";
-        } else {
-            pathStart += "en/";
-        }
-
-        String resultPath = pathStart + ((isWin) ? "victory.png" : "defeat.png");
-
-        Texture resultTexture = Resources.loadTexture(resultPath);
+        Texture resultTexture = Resources.loadTexture(getResultPath());
         GuiBuilder.ImageData imageData = new GuiBuilder.ImageData(resultTexture);
         imageData.id = "resultImage";
         imageData.origin = new Origin(Origin.Vertical.Top, Origin.Horizontal.Center);
@@ -79,4 +75,16 @@ public class ResultMenu extends MenuScene {
 
         super.initialize();
     }
+
+    private String getResultPath() {
+        String pathStart = "ui/";
+
+        if (Resources.getConfig().language.equals("fr")) {
+            pathStart += "fr/";
+        } else {
+            pathStart += "en/";
+        }
+
+        return pathStart + ((isWin) ? "victory.png" : "defeat.png");
+    }
 }
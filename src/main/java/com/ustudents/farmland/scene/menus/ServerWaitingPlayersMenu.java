@@ -1,6 +1,7 @@
 package com.ustudents.farmland.scene.menus;
 
 import com.ustudents.engine.core.Resources;
+import com.ustudents.engine.core.cli.print.Out;
 import com.ustudents.engine.graphic.*;
 import com.ustudents.engine.gui.GuiBuilder;
 import com.ustudents.engine.scene.Scene;
@@ -45,9 +46,17 @@ public class ServerWaitingPlayersMenu extends Scene {
             Farmland.get().clientAllPlayersPresents.set(false);
             Farmland.get().getClient().request(new LoadSaveRequest(), LoadSaveResponse.class);
             Save save = LoadSaveResponse.getUpdatedSaveGame();
+
+            if (save == null) {
+                Out.printlnError("Cannot receive the server's savegame");
+                return;
+            }
+
             Farmland.get().getSaves().put(save.name, save);
-            Farmland.get().loadSave(save.name);
-            changeScene(new InGameScene());
+
+            if (Farmland.get().loadSave(save.name)) {
+                changeScene(new InGameScene());
+            }
         }
     }
 }
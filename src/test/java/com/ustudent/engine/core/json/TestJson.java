@@ -0,0 +1,229 @@
+package com.ustudent.engine.core.json;
+
+import com.ustudents.engine.GameConfig;
+import com.ustudents.engine.core.json.Json;
+import com.ustudents.engine.core.json.JsonReader;
+import com.ustudents.engine.core.json.JsonWriter;
+import com.ustudents.engine.core.json.annotation.JsonSerializable;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestJson {
+    @JsonSerializable
+    public static class Inner {
+        @JsonSerializable
+        public String text;
+
+        @JsonSerializable
+        public List<Integer> values;
+
+        @JsonSerializable(necessary = false)
+        public Double ratio;
+    }
+
+    @JsonSerializable
+    public static class Outer {
+        @JsonSerializable
+        public Integer id;
+
+        @JsonSerializable
+        public Boolean enabled;
+
+        @JsonSerializable
+        public Inner inner;
+
+        @JsonSerializable
+        public List<Inner> inners;
+
+        @JsonSerializable
+        public Map<String, Integer> counts;
+
+        @JsonSerializable(necessary = false)
+        public Inner missing;
+    }
+
+    @JsonSerializable
+    public static class Shape {
+        @JsonSerializable
+        public String name;
+    }
+
+    @JsonSerializable
+    public static class Circle extends Shape {
+        @JsonSerializable
+        public Double radius;
+    }
+
+    @JsonSerializable
+    public static class Square extends Shape {
+        @JsonSerializable
+        public Integer side;
+    }
+
+    @JsonSerializable
+    public static class Counter {
+        @JsonSerializable(necessary = false)
+        public Integer count = 5;
+
+        @JsonSerializable(necessary = false)
+        public String label = "counter";
+    }
+
+    @Test
+    public void testRoundTripNested() {
+        Outer outer = createOuter("inner");
+
+        Outer read = JsonReader.readObjectFromString(write(outer, null, false), Outer.class, null);
+        assertOuterEquals(outer, read);
+
+        read = JsonReader.readObjectFromString(write(outer, null, true), Outer.class, null);
+        assertOuterEquals(outer, read);
+    }
+
+    @Test
+    public void testWriterParity() {
+        Outer outer = createOuter("inner");
+
+        // The object written directly and through its Json map give the same text, read back the same way.
+        String written = write(outer, null, true);
+        String writtenFromMap = JsonWriter.writeToString(Json.serialize(outer));
+        assertEquals(writtenFromMap, written);
+
+        Map<String, Object> json = JsonReader.readMap(new ByteArrayInputStream(written.getBytes(StandardCharsets.UTF_8)));
+        assertNotNull(json);
+        assertOuterEquals(outer, Json.deserialize(json, Outer.class));
+    }
+
+    @Test
+    public void testRoundTripPolymorphic() {
+        Circle circle = new Circle();
+        circle.name = "circle";
+        circle.radius = 2.5;
+        Square square = new Square();
+        square.name = "square";
+        square.side = 4;
+
+        Shape read = JsonReader.readObjectFromString(write(circle, "type", false), Shape.class, "type");
+        assertTrue(read instanceof Circle);
+        assertEquals("circle", read.name);
+        assertEquals(2.5, ((Circle)read).radius);
+
+        read = JsonReader.readObjectFromString(write(square, "type", true), Shape.class, "type");
+        assertTrue(read instanceof Square);
+        assertEquals("square", read.name);
+        assertEquals(4, ((Square)read).side);
+
+        Map<String, Object> json = JsonReader.readMap(new ByteArrayInputStream(write(square, "type", true)
+                .getBytes(StandardCharsets.UTF_8)));
+        assertNotNull(json);
+        assertEquals(Square.class.getName(), json.get("type"));
+    }
+
+    @Test
+    public void testRoundTripEscaped() {
+        String[] texts = {"\"quoted\"", "back\\slash", "line\nfeed\r\n", "\ttab", "accentué ✓", "{\"key\": [1, 2]}", ""};
+
+        for (String text : texts) {
+            Outer outer = createOuter(text);
+
+            assertOuterEquals(outer, JsonReader.readObjectFromString(write(outer, null, false), Outer.class, null));
+            assertOuterEquals(outer, JsonReader.readObjectFromString(write(outer, null, true), Outer.class, null));
+        }
+    }
+
+    @Test
+    public void testMissingKey() {
+        // A key missing from the file gives its field the default value of its type, not the field's initializer.
+        Counter read = JsonReader.readObjectFromString("{}", Counter.class, null);
+        assertNotNull(read);
+        assertEquals(0, read.count);
+        assertEquals("", read.label);
+
+        read = Json.deserialize(new LinkedHashMap<>(), Counter.class);
+        assertNotNull(read);
+        assertEquals(0, read.count);
+        assertEquals("", read.label);
+
+        read = JsonReader.readObjectFromString("{\"count\": 3}", Counter.class, null);
+        assertNotNull(read);
+        assertEquals(3, read.count);
+        assertEquals("", read.label);
+    }
+
+    @Test
+    public void testMissingSetting() {
+        // The settings keep their own default value when they are missing from the file.
+        GameConfig defaults = new GameConfig();
+        GameConfig read = JsonReader.readObjectFromString("{\"useVsync\": false}", GameConfig.class, null);
+
+        assertNotNull(read);
+        assertFalse(read.useVsync);
+        assertEquals(defaults.gpuMemoryBudget, read.gpuMemoryBudget);
+        assertEquals(defaults.useIdleMode, read.useIdleMode);
+        assertEquals(defaults.language, read.language);
+    }
+
+    private static Outer createOuter(String text) {
+        Outer outer = new Outer();
+        outer.id = 42;
+        outer.enabled = true;
+        outer.inner = createInner(text, 1, 2, 3);
+        outer.inner.ratio = 0.5;
+        outer.inners = new ArrayList<>(Arrays.asList(createInner(text + "1", 4), createInner(text + "2")));
+        outer.counts = new LinkedHashMap<>();
+        outer.counts.put("first", 1);
+        outer.counts.put(text, 2);
+
+        return outer;
+    }
+
+    private static Inner createInner(String text, Integer... values) {
+        Inner inner = new Inner();
+        inner.text = text;
+        inner.values = new ArrayList<>(Arrays.asList(values));
+
+        return inner;
+    }
+
+    private static String write(Object object, String typeKey, boolean pretty) {
+        JsonWriter writer = new JsonWriter(pretty);
+
+        try {
+            writer.writeObject(object, typeKey);
+        } catch (Exception e) {
+            fail(e);
+        }
+
+        return writer.toString();
+    }
+
+    private static void assertOuterEquals(Outer expected, Outer actual) {
+        assertNotNull(actual);
+        assertEquals(expected.id, actual.id);
+        assertEquals(expected.enabled, actual.enabled);
+        assertInnerEquals(expected.inner, actual.inner);
+        assertEquals(expected.inners.size(), actual.inners.size());
+
+        for (int i = 0; i < expected.inners.size(); i++) {
+            assertInnerEquals(expected.inners.get(i), actual.inners.get(i));
+        }
+
+        assertEquals(expected.counts, actual.counts);
+        assertNull(actual.missing);
+    }
+
+    private static void assertInnerEquals(Inner expected, Inner actual) {
+        assertNotNull(actual);
+        assertEquals(expected.text, actual.text);
+        assertEquals(expected.values, actual.values);
+        assertEquals(expected.ratio, actual.ratio);
+    }
+}
@@ -1,6 +1,9 @@
 package com.ustudent.engine.core.json;
 
 import com.ustudents.engine.core.json.JsonReader;
+import com.ustudents.engine.core.json.JsonWriter;
+import com.ustudents.engine.core.json.annotation.JsonSerializable;
+import com.ustudents.engine.network.messages.Message;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -9,6 +12,13 @@ import java.util.Map;
 
 @SuppressWarnings({"unchecked"})
 public class TestJsonReader {
+    /** A message read and written by `TestJsonReader_PingJsonSerializer`. */
+    @JsonSerializable
+    static class Ping extends Message {
+        @JsonSerializable
+        public Integer count;
+    }
+
     @Test
     public void testRead1() {
         Map<String, Object> json = JsonReader.readMap(getClass().getClassLoader().getResourceAsStream("reader-test1.json"));
@@ -43,4 +53,21 @@ public class TestJsonReader {
         assertEquals(map.get("string"), "te\rst");
         assertEquals(map.get("char"), '\n');
     }
+
+    @Test
+    public void testReadMessageWithoutMap() throws Exception {
+        Ping ping = new Ping();
+        ping.count = 3;
+
+        JsonWriter writer = new JsonWriter(false);
+        writer.writeObject(ping, "_type");
+        String data = writer.toString();
+        assertEquals("{\"_type\":\"" + Ping.class.getName() + "\",\"count\":3}", data);
+
+        // The serializer of the message fails if it is given a map, instead of the reader.
+        Message message = JsonReader.readObjectFromString(data, Message.class, "_type");
+        assertTrue(message instanceof Ping);
+        assertEquals(Ping.class.getName(), message.getType());
+        assertEquals(3, ((Ping)message).count);
+    }
 }
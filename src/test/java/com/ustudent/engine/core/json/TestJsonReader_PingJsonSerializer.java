@@ -0,0 +1,52 @@
+package com.ustudent.engine.core.json;
+
+import com.ustudents.engine.core.json.JsonReader;
+import com.ustudents.engine.core.json.JsonTypeSerializer;
+import com.ustudents.engine.core.json.JsonWriter;
+import com.ustudents.engine.network.messages.Message;
+
+import java.util.Map;
+
+/**
+ * The serializer of `TestJsonReader.Ping`, written like the generated ones (the processor skips `Ping`, which is not
+ * public), but failing when it is given a Json map.
+ */
+public class TestJsonReader_PingJsonSerializer implements JsonTypeSerializer<TestJsonReader.Ping> {
+    @Override
+    public Map<String, Object> serialize(TestJsonReader.Ping object) {
+        throw new IllegalStateException("The message should not be written through a map!");
+    }
+
+    @Override
+    public TestJsonReader.Ping deserialize(Map<String, Object> json) {
+        throw new IllegalStateException("The message should not be read through a map!");
+    }
+
+    @Override
+    public void write(JsonWriter writer, TestJsonReader.Ping object) throws Exception {
+        writer.writeField(object, Message.class, "_type");
+        writer.writeField("count", object.count);
+    }
+
+    @Override
+    public TestJsonReader.Ping read(JsonReader reader) throws Exception {
+        TestJsonReader.Ping object = new TestJsonReader.Ping();
+        String key;
+
+        while ((key = reader.nextKey()) != null) {
+            switch (key) {
+                case "_type":
+                    reader.readField(object, Message.class, "_type");
+                    break;
+                case "count":
+                    object.count = reader.readInteger();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+
+        return object;
+    }
+}
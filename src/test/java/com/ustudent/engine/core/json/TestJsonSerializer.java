@@ -0,0 +1,160 @@
+package com.ustudent.engine.core.json;
+
+import com.ustudents.engine.core.json.Json;
+import com.ustudents.engine.core.json.JsonReader;
+import com.ustudents.engine.core.json.JsonWriter;
+import com.ustudents.engine.core.json.annotation.JsonSerializable;
+import org.joml.Vector2i;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestJsonSerializer {
+    public enum Kind {
+        Seed,
+        Tool
+    }
+
+    @JsonSerializable
+    public static class Part {
+        @JsonSerializable
+        public String name;
+    }
+
+    @JsonSerializable
+    public static class Sample {
+        @JsonSerializable
+        public String name;
+
+        @JsonSerializable
+        public Long count;
+
+        @JsonSerializable
+        public Float weight;
+
+        @JsonSerializable(necessary = false)
+        public Boolean sold;
+
+        @JsonSerializable
+        public Part part;
+
+        @JsonSerializable
+        public List<Part> parts;
+
+        @JsonSerializable
+        public Map<String, Double> prices;
+
+        @JsonSerializable
+        public Vector2i position;
+
+        @JsonSerializable
+        public Kind kind;
+
+        @JsonSerializable
+        private Integer secret;
+
+        public void setSecret(Integer secret) {
+            this.secret = secret;
+        }
+    }
+
+    /** The same fields, serialized through reflection (the processor only handles the annotated classes). */
+    public static class ReflectiveSample extends Sample {
+
+    }
+
+    @Test
+    public void testGenerated() throws Exception {
+        String prefix = TestJsonSerializer.class.getName() + "_";
+        assertNotNull(Class.forName(prefix + "SampleJsonSerializer"));
+        assertThrows(ClassNotFoundException.class, () -> Class.forName(prefix + "ReflectiveSampleJsonSerializer"));
+    }
+
+    @Test
+    public void testWriteParity() {
+        assertEquals(write(fill(new ReflectiveSample()), false), write(fill(new Sample()), false));
+        assertEquals(write(fill(new ReflectiveSample()), true), write(fill(new Sample()), true));
+        assertEquals(JsonWriter.writeToString(Json.serialize(fill(new ReflectiveSample()))),
+                JsonWriter.writeToString(Json.serialize(fill(new Sample()))));
+    }
+
+    @Test
+    public void testReadParity() {
+        String text = write(fill(new Sample()), true);
+
+        // Both read the same fields, written back the same way.
+        Sample read = JsonReader.readObjectFromString(text, Sample.class, null);
+        Sample reflectiveRead = JsonReader.readObjectFromString(text, ReflectiveSample.class, null);
+        assertNotNull(read);
+        assertNotNull(reflectiveRead);
+        assertEquals(text, write(read, true));
+        assertEquals(text, write(reflectiveRead, true));
+
+        // Without the optional key.
+        text = text.replace("\t\"sold\": true,\n", "");
+        assertFalse(text.contains("sold"));
+        read = JsonReader.readObjectFromString(text, Sample.class, null);
+        reflectiveRead = JsonReader.readObjectFromString(text, ReflectiveSample.class, null);
+        assertNotNull(read);
+        assertNotNull(reflectiveRead);
+        assertEquals(false, read.sold);
+        assertEquals(write(reflectiveRead, false), write(read, false));
+
+        Map<String, Object> json = JsonReader.readMap(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+        assertNotNull(json);
+        assertEquals(write(Json.deserialize(json, ReflectiveSample.class), false),
+                write(Json.deserialize(json, Sample.class), false));
+    }
+
+    @Test
+    public void testReadMissingKey() {
+        String text = write(fill(new Sample()), true).replace("\t\"count\": 12,\n", "");
+        assertFalse(text.contains("count"));
+
+        assertNull(JsonReader.readObjectFromString(text, Sample.class, null));
+        assertNull(JsonReader.readObjectFromString(text, ReflectiveSample.class, null));
+    }
+
+    private static Sample fill(Sample sample) {
+        sample.name = "Wheat \"seed\"";
+        sample.count = 12L;
+        sample.weight = 0.5f;
+        sample.sold = true;
+        sample.part = createPart("bag");
+        sample.parts = new ArrayList<>(Arrays.asList(createPart("first"), createPart("second")));
+        sample.prices = new LinkedHashMap<>();
+        sample.prices.put("buy", 10.5);
+        sample.prices.put("sell", 20.0);
+        sample.position = new Vector2i(3, 4);
+        sample.kind = Kind.Seed;
+        sample.setSecret(42);
+
+        return sample;
+    }
+
+    private static Part createPart(String name) {
+        Part part = new Part();
+        part.name = name;
+
+        return part;
+    }
+
+    private static String write(Object object, boolean pretty) {
+        JsonWriter writer = new JsonWriter(pretty);
+
+        try {
+            writer.writeObject(object, null);
+        } catch (Exception e) {
+            fail(e);
+        }
+
+        return writer.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package com.ustudent.farmland.core;
+
+import com.ustudents.engine.graphic.Color;
+import com.ustudents.engine.graphic.Sprite;
+import com.ustudents.farmland.core.Save;
+import com.ustudents.farmland.core.SaveFile;
+import com.ustudents.farmland.core.grid.Cell;
+import com.ustudents.farmland.core.player.Player;
+import org.joml.Vector2i;
+import org.joml.Vector4f;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestSaveFile {
+    @Test
+    public void testWriteRead() throws Exception {
+        // 20 * 20 cells with their own sprite region, more than a palette with one byte indices can hold.
+        Save save = createSave(20, 20);
+        Save read = SaveFile.read(ByteBuffer.wrap(SaveFile.write(save, true)));
+
+        assertNotNull(read);
+        assertEquals(save.name, read.name);
+        assertEquals(save.turn, read.turn);
+        assertEquals(save.seed, read.seed);
+        assertEquals(save.mapSize, read.mapSize);
+        assertEquals(save.journalSequence, read.journalSequence);
+        assertEquals(save.players.size(), read.header.numberOfPlayers);
+        assertEquals(save.players.size(), read.players.size());
+
+        for (int i = 0; i < save.players.size(); i++) {
+            assertEquals(save.players.get(i).name, read.players.get(i).name);
+            assertEquals(save.players.get(i).money, read.players.get(i).money);
+        }
+
+        assertEquals(save.mapSize.x, read.cells.size());
+
+        for (int x = 0; x < save.mapSize.x; x++) {
+            assertEquals(save.mapSize.y, read.cells.get(x).size());
+
+            for (int y = 0; y < save.mapSize.y; y++) {
+                Cell expected = save.getCell(x, y);
+                Cell actual = read.getCell(x, y);
+
+                assertNotNull(actual.sprite);
+                assertEquals(expected.sprite.getRegion(), actual.sprite.getRegion());
+                assertEquals(expected.ownerId, actual.ownerId);
+                assertEquals(expected.viewRectangle, actual.viewRectangle);
+            }
+        }
+    }
+
+    @Test
+    public void testChecksumMismatch() throws Exception {
+        byte[] bytes = SaveFile.write(createSave(4, 4), true);
+        bytes[bytes.length / 2] ^= 1;
+
+        IOException exception = assertThrows(IOException.class, () -> SaveFile.read(ByteBuffer.wrap(bytes)));
+        assertTrue(exception.getMessage().contains("checksum"));
+    }
+
+    @Test
+    public void testTruncated() throws Exception {
+        Path file = Files.createTempFile("save", SaveFile.extension);
+
+        try {
+            assertTrue(SaveFile.write(file.toString(), createSave(4, 4), false));
+            assertNotNull(SaveFile.read(file.toString()));
+            assertNotNull(SaveFile.readMetadata(file.toString()));
+
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+            assertNull(SaveFile.read(file.toString()));
+
+            Files.write(file, Arrays.copyOf(bytes, 12));
+            assertNull(SaveFile.read(file.toString()));
+            assertNull(SaveFile.readMetadata(file.toString()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Creates a save without resources (its sprites have no texture and the cells have no item).
+     *
+     * @param width The map's width.
+     * @param height The map's height.
+     * @return the save.
+     */
+    static Save createSave(int width, int height) {
+        Save save = new Save();
+        save.name = "Test";
+        save.turn = 3;
+        save.turnTimePassed = 0;
+        save.timePassed = 0;
+        save.mapSize = new Vector2i(width, height);
+        save.seed = 42L;
+        save.maxBorrow = 1000;
+        save.debtRate = 5;
+        save.currentPlayerId = 0;
+        save.capacity = 2;
+        save.startWithBots = true;
+        save.journalSequence = 7L;
+        save.deadPlayers = new ArrayList<>();
+        save.buyTurnItemDataBase = new ArrayList<>();
+        save.buyItemDatabasePerTurn = new ArrayList<>();
+        save.sellTurnItemDataBase = new ArrayList<>();
+        save.sellItemDatabasePerTurn = new ArrayList<>();
+        save.cropItem = new ArrayList<>();
+        save.animalItem = new ArrayList<>();
+        save.players = new ArrayList<>();
+        save.players.add(new Player("Player", "Village", new Color(1, 0, 0), new Color(0, 1, 0), new Color(0, 0, 1),
+                new Color(1, 1, 0), new Color(0, 1, 1), Player.Type.Human));
+        save.players.add(new Player("Robot 1", "Village de Robot 1", new Color(0, 0, 0), new Color(1, 1, 1),
+                new Color(1, 0, 1), new Color(0.5f, 0.5f, 0.5f), new Color(0.25f, 0.25f, 0.25f), Player.Type.Bot));
+        save.cells = new ArrayList<>();
+
+        for (int x = 0; x < width; x++) {
+            List<Cell> column = new ArrayList<>();
+
+            for (int y = 0; y < height; y++) {
+                Cell cell = new Cell(new Sprite(null, new Vector4f(x, y, 24, 24)),
+                        new Vector4f(5 + x * 24, 5 + y * 24, 5 + x * 24 + 24, 5 + y * 24 + 24));
+
+                if (x < 2 && y < 2) {
+                    cell.setOwned(true, (x + y) % 2);
+                }
+
+                column.add(cell);
+            }
+
+            save.cells.add(column);
+        }
+
+        return save;
+    }
+}
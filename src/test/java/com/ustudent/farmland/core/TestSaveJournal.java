@@ -0,0 +1,188 @@
+package com.ustudent.farmland.core;
+
+import com.ustudents.engine.core.json.JsonWriter;
+import com.ustudents.farmland.core.Save;
+import com.ustudents.farmland.core.SaveJournal;
+import com.ustudents.farmland.core.item.Crop;
+import com.ustudents.farmland.core.item.Item;
+import com.ustudents.farmland.core.player.Player;
+import org.joml.Vector2i;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class TestSaveJournal {
+    @Test
+    public void testAppendReplay() throws Exception {
+        Path file = Files.createTempFile("save", SaveJournal.extension);
+
+        try {
+            Save save = TestSaveFile.createSave(4, 4);
+            Player player = save.players.get(1);
+
+            player.money = 400;
+            save.getCell(3, 3).setOwned(true, 1);
+            append(file, save, player, new SaveJournal.Record(SaveJournal.Action.BuyCell, new Vector2i(3, 3)));
+            player.money = 900;
+            player.loan = 500;
+            player.remainingDebt = 516;
+            append(file, save, player, new SaveJournal.Record(SaveJournal.Action.TakeLoan));
+
+            // The records only hold what the actions changed.
+            String journal = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertFalse(journal.contains(player.name));
+            assertFalse(journal.contains("bannerColor"));
+
+            Save replayed = TestSaveFile.createSave(4, 4);
+            SaveJournal.replay(file.toString(), replayed);
+
+            assertEquals(save.journalSequence, replayed.journalSequence);
+            assertEquals(900, replayed.players.get(1).money);
+            assertEquals(500, replayed.players.get(1).loan);
+            assertEquals(516, replayed.players.get(1).remainingDebt);
+            assertEquals(1, replayed.getCell(3, 3).ownerId);
+            assertEquals(player.name, replayed.players.get(1).name);
+
+            // The records already included in a save are skipped.
+            replayed = TestSaveFile.createSave(4, 4);
+            replayed.journalSequence = save.journalSequence;
+            SaveJournal.replay(file.toString(), replayed);
+
+            assertEquals(-1, replayed.getCell(3, 3).ownerId);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testReplayInventory() throws Exception {
+        Path file = Files.createTempFile("save", SaveJournal.extension);
+
+        try {
+            Save save = createSaveWithCrop();
+            Player player = save.players.get(0);
+            Crop wheat = save.cropItem.get(0);
+
+            // Buys two seeds, then plants one of them.
+            player.money -= wheat.buyingValue * 2;
+
+            for (int i = 0; i < 2; i++) {
+                player.addToInventory(wheat, Player.InventoryType.WaitingToBePlanted);
+                save.fillTurnItemDataBase(wheat, true);
+            }
+
+            append(file, save, player, new SaveJournal.Record(SaveJournal.Action.BuyItem, wheat.id, 2));
+            player.selectedItemId = wheat.id;
+            append(file, save, player, new SaveJournal.Record(SaveJournal.Action.SelectItem));
+
+            Item selectedItem = player.getItemFromInventory(wheat.id);
+            Item placedItem = Item.clone(selectedItem);
+            placedItem.quantity = 1;
+            save.getCell(1, 0).setItem(placedItem);
+            player.deleteFromInventory(selectedItem, Player.InventoryType.WaitingToBePlanted);
+
+            SaveJournal.Record record = new SaveJournal.Record(SaveJournal.Action.PlaceItem, wheat.id, null);
+            record.position = new Vector2i(1, 0);
+            append(file, save, player, record);
+
+            Save replayed = createSaveWithCrop();
+            SaveJournal.replay(file.toString(), replayed);
+            Player replayedPlayer = replayed.players.get(0);
+
+            assertEquals(save.journalSequence, replayed.journalSequence);
+            assertEquals(player.money, replayedPlayer.money);
+            assertEquals(wheat.id, replayedPlayer.selectedItemId);
+            assertEquals(1, replayedPlayer.getItemFromInventory(wheat.id).quantity);
+            assertEquals(1, replayed.buyTurnItemDataBase.size());
+            assertEquals(2, replayed.buyTurnItemDataBase.get(0).quantity);
+            assertNotNull(replayed.getCell(1, 0).item);
+            assertEquals(wheat.id, replayed.getCell(1, 0).item.id);
+            assertEquals(1, replayed.getCell(1, 0).item.quantity);
+
+            // A record which cannot be applied to the save (an item it does not know) stops the replay.
+            append(file, save, player, new SaveJournal.Record(SaveJournal.Action.BuyItem, "unknown", 1));
+            replayed = createSaveWithCrop();
+            SaveJournal.replay(file.toString(), replayed);
+
+            assertEquals(save.journalSequence - 1, replayed.journalSequence);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testCorruptTrailingRecord() throws Exception {
+        Path file = Files.createTempFile("save", SaveJournal.extension);
+
+        try {
+            Save save = TestSaveFile.createSave(4, 4);
+            Player player = save.players.get(0);
+
+            player.money = 100;
+            append(file, save, player, new SaveJournal.Record(SaveJournal.Action.TakeLoan));
+            long validSize = Files.size(file);
+
+            // A record cut off by a crash.
+            Files.write(file, "{\"sequence\":9,\"act".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+            Save replayed = TestSaveFile.createSave(4, 4);
+            SaveJournal.replay(file.toString(), replayed);
+
+            assertEquals(100, replayed.players.get(0).money);
+            assertEquals(save.journalSequence, replayed.journalSequence);
+            assertEquals(validSize, Files.size(file));
+
+            // The records appended after the truncation are read.
+            player.money = 200;
+            append(file, save, player, new SaveJournal.Record(SaveJournal.Action.PayLoan));
+
+            replayed = TestSaveFile.createSave(4, 4);
+            SaveJournal.replay(file.toString(), replayed);
+
+            assertEquals(200, replayed.players.get(0).money);
+            assertEquals(save.journalSequence, replayed.journalSequence);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** @return a save without resources whose resource database has a crop. */
+    private static Save createSaveWithCrop() {
+        Save save = TestSaveFile.createSave(4, 4);
+        Crop wheat = new Crop();
+        wheat.id = "wheat";
+        wheat.initValue = 5;
+        wheat.buyingValue = 10;
+        wheat.sellingValue = 20;
+        wheat.texture = "crops/wheat";
+        wheat.numberOfTurnsToGrow = 3;
+        save.cropItem.add(wheat);
+
+        return save;
+    }
+
+    /**
+     * Completes a record and appends it to a journal, encoded like `SaveWriter` does.
+     *
+     * @param file The journal's file.
+     * @param save The save.
+     * @param player The player who did the action.
+     * @param record The record.
+     */
+    private static void append(Path file, Save save, Player player, SaveJournal.Record record) throws Exception {
+        record.complete(save, player);
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonWriter writer = new JsonWriter(false);
+        writer.writeObject(record, null);
+        writer.writeTo(stream);
+        stream.write('\n');
+
+        Files.write(file, stream.toByteArray(), StandardOpenOption.APPEND);
+    }
+}